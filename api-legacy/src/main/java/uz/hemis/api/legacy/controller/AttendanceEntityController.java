@@ -7,7 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +15,7 @@ import uz.hemis.api.legacy.adapter.LegacyEntityAdapter;
 import uz.hemis.common.dto.AttendanceDto;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.service.AttendanceService;
+import uz.hemis.service.search.CubaSearchRequest;
 
 import java.util.*;
 
@@ -76,20 +77,41 @@ public class AttendanceEntityController {
     @Operation(summary = "Search attendance (GET)")
     public ResponseEntity<List<Map<String, Object>>> searchGet(
             @RequestParam(required = false) String filter, 
+            @RequestParam(required = false) Integer limit, 
+            @RequestParam(required = false) Integer offset, 
+            @RequestParam(required = false) String sort, 
+            @RequestParam(required = false) Boolean returnCount,
             @RequestParam(required = false) Boolean returnNulls) {
         
-        List<AttendanceDto> dtos = attendanceService.findAll(Pageable.unpaged()).getContent();
-        return ResponseEntity.ok(adapter.toMapList(dtos, ENTITY_NAME, returnNulls));
+        return searchResponse(CubaSearchRequest.of(filter, limit, offset, sort), returnCount, returnNulls);
     }
 
     @PostMapping("/search")
     @Operation(summary = "Search attendance (POST)")
     public ResponseEntity<List<Map<String, Object>>> searchPost(
             @RequestBody(required = false) Map<String, Object> filter, 
+            @RequestParam(required = false) Integer limit, 
+            @RequestParam(required = false) Integer offset, 
+            @RequestParam(required = false) String sort, 
+            @RequestParam(required = false) Boolean returnCount,
             @RequestParam(required = false) Boolean returnNulls) {
         
-        List<AttendanceDto> dtos = attendanceService.findAll(Pageable.unpaged()).getContent();
-        return ResponseEntity.ok(adapter.toMapList(dtos, ENTITY_NAME, returnNulls));
+        return searchResponse(CubaSearchRequest.of(filter, limit, offset, sort), returnCount, returnNulls);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> searchResponse(
+            CubaSearchRequest request, Boolean returnCount, Boolean returnNulls) {
+
+        Slice<AttendanceDto> slice = attendanceService.search(request);
+        List<Map<String, Object>> cubaMaps = adapter.toMapList(slice.getContent(), ENTITY_NAME, returnNulls);
+
+        // X-Total-Count only on request (count query only then)
+        if (Boolean.TRUE.equals(returnCount)) {
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(attendanceService.count(request)))
+                .body(cubaMaps);
+        }
+        return ResponseEntity.ok(cubaMaps);
     }
 
     @GetMapping
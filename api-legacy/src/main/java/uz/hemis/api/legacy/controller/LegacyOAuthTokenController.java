@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import uz.hemis.common.dto.TokenResponse;
 import uz.hemis.security.config.LegacyOAuthClientProperties;
+import uz.hemis.security.crypto.PasswordHashingBusyException;
 import uz.hemis.security.service.TokenService;
 
 import java.util.Base64;
@@ -235,6 +237,14 @@ public class LegacyOAuthTokenController {
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(errorResponse("invalid_grant", "Invalid username or password"));
 
+        } catch (PasswordHashingBusyException e) {
+            // Hashing pool saturated (login burst) - fast 503 instead of queueing on Tomcat threads
+            log.warn("Password hashing busy, rejecting token request for user: {}", username);
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(errorResponse("temporarily_unavailable", "Server is busy, please retry later"));
+
         } catch (Exception e) {
             log.error("Token generation error", e);
             return ResponseEntity
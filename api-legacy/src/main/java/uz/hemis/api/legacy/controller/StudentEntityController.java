@@ -12,7 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +20,7 @@ import uz.hemis.api.legacy.adapter.LegacyEntityAdapter;
 import uz.hemis.common.dto.StudentDto;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.service.StudentService;
+import uz.hemis.service.search.CubaSearchRequest;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -284,6 +285,7 @@ public class StudentEntityController {
      *
      * ✅ REFACTORED: Uses service layer
      * ✅ BACKWARD COMPATIBLE: Same response format (List of CUBA Maps)
+     * ✅ FILTER PUSHDOWN: CUBA filter → JPA Specification, one page read from DB
      */
     @GetMapping("/search")
     @Operation(
@@ -295,6 +297,21 @@ public class StudentEntityController {
 
             **Endpoint:** GET /app/rest/v2/entities/hemishe_EStudent/search
             **Auth:** Bearer token (required)
+
+            **filter** (URL-encoded JSON):
+            ```json
+            {"conditions": [
+                {"property": "university", "operator": "=", "value": "520"},
+                {"group": "OR", "conditions": [
+                    {"property": "lastname", "operator": "startsWith", "value": "ALI"},
+                    {"property": "studentStatus", "operator": "in", "value": ["11", "13"]}
+                ]}
+            ]}
+            ```
+            Operatorlar: `=`, `<>`, `>`, `>=`, `<`, `<=`, `startsWith`, `endsWith`, `contains`,
+            `doesNotContain`, `in`, `notIn`, `isNull`, `notEmpty`
+
+            **Pagination:** limit (default 50, max 1000), offset, sort (`lastname`, `-createTs`)
             """
     )
     @ApiResponses({
@@ -305,6 +322,10 @@ public class StudentEntityController {
     public ResponseEntity<List<Map<String, Object>>> searchGet(
             @Parameter(description = "CUBA filter expression")
             @RequestParam(required = false) String filter,
+            @Parameter(description = "Sahifadagi yozuvlar soni (max 1000)") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Boshlang'ich pozitsiya") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Tartiblash (masalan: lastname yoki -createTs)") @RequestParam(required = false) String sort,
+            @Parameter(description = "Umumiy sonni qaytarish (X-Total-Count header)") @RequestParam(required = false) Boolean returnCount,
             @Parameter(description = "Null qiymatlarni qaytarish")
             @RequestParam(required = false) Boolean returnNulls,
             @Parameter(description = "CUBA view nomi")
@@ -312,13 +333,7 @@ public class StudentEntityController {
 
         log.debug("GET search students with filter: {}, view: {}", filter, view);
 
-        // For now, return all (pagination can be added later)
-        List<StudentDto> dtos = studentService.findAll(Pageable.unpaged()).getContent();
-
-        // Convert to CUBA format with view support
-        List<Map<String, Object>> cubaMaps = adapter.toMapList(dtos, ENTITY_NAME, returnNulls, view);
-
-        return ResponseEntity.ok(cubaMaps);
+        return searchResponse(CubaSearchRequest.of(filter, limit, offset, sort), returnCount, returnNulls, view);
     }
 
     /**
@@ -326,6 +341,7 @@ public class StudentEntityController {
      *
      * ✅ REFACTORED: Uses service layer
      * ✅ BACKWARD COMPATIBLE: Same response format
+     * ✅ FILTER PUSHDOWN: CUBA filter → JPA Specification, one page read from DB
      */
     @PostMapping("/search")
     @Operation(
@@ -337,6 +353,9 @@ public class StudentEntityController {
 
             **Endpoint:** POST /app/rest/v2/entities/hemishe_EStudent/search
             **Auth:** Bearer token (required)
+
+            Body: filter (`{"conditions": [...]}`) yoki
+            `{"filter": {"conditions": [...]}, "limit": 50, "offset": 0, "sort": "-createTs"}`
             """
     )
     @ApiResponses({
@@ -346,6 +365,10 @@ public class StudentEntityController {
     })
     public ResponseEntity<List<Map<String, Object>>> searchPost(
             @RequestBody(required = false) Map<String, Object> filter,
+            @Parameter(description = "Sahifadagi yozuvlar soni (max 1000)") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Boshlang'ich pozitsiya") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Tartiblash (masalan: lastname yoki -createTs)") @RequestParam(required = false) String sort,
+            @Parameter(description = "Umumiy sonni qaytarish (X-Total-Count header)") @RequestParam(required = false) Boolean returnCount,
             @Parameter(description = "Null qiymatlarni qaytarish")
             @RequestParam(required = false) Boolean returnNulls,
             @Parameter(description = "CUBA view nomi")
@@ -353,11 +376,23 @@ public class StudentEntityController {
 
         log.debug("POST search students with filter: {}, view: {}", filter, view);
 
-        // For now, return all (complex filtering can be added later)
-        List<StudentDto> dtos = studentService.findAll(Pageable.unpaged()).getContent();
+        return searchResponse(CubaSearchRequest.of(filter, limit, offset, sort), returnCount, returnNulls, view);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> searchResponse(
+            CubaSearchRequest request, Boolean returnCount, Boolean returnNulls, String view) {
+
+        Slice<StudentDto> slice = studentService.search(request);
 
         // Convert to CUBA format with view support
-        List<Map<String, Object>> cubaMaps = adapter.toMapList(dtos, ENTITY_NAME, returnNulls, view);
+        List<Map<String, Object>> cubaMaps = adapter.toMapList(slice.getContent(), ENTITY_NAME, returnNulls, view);
+
+        // Add count header if requested (CUBA compatibility) - count query only then
+        if (Boolean.TRUE.equals(returnCount)) {
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(studentService.count(request)))
+                .body(cubaMaps);
+        }
 
         return ResponseEntity.ok(cubaMaps);
     }
@@ -0,0 +1,111 @@
+package uz.hemis.api.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uz.hemis.service.cache.CachePolicyService;
+import uz.hemis.service.config.TwoLevelCacheProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache Administration Controller
+ *
+ * <p>Runtime management of two-level cache (L1 Caffeine + L2 Redis) policies</p>
+ *
+ * <p><strong>Base Path:</strong> {@code /api/v1/web/system/cache}</p>
+ *
+ * <p><strong>Endpoints:</strong></p>
+ * <ul>
+ *   <li>GET  /policies - effective policy per cache</li>
+ *   <li>POST /policies/reload - re-bind hemis.cache.* and apply to live caches</li>
+ *   <li>PUT  /policies/{cacheName} - runtime override for one cache (this pod)</li>
+ * </ul>
+ *
+ * <p>Reading needs {@code system.view}; reload and override need {@code system.cache.manage}.</p>
+ *
+ * @since 2.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/web/system/cache")
+@Tag(
+    name = "Cache Administration",
+    description = """
+        Two-level cache policy management (L1 Caffeine + L2 Redis).
+
+        **Required Permission:** system.view (read), system.cache.manage (reload / override)
+
+        **Policy fields:** max-size, max-weight, l1-ttl, l2-ttl, soft-ttl, mode
+        (TWO_LEVEL / L1_ONLY / L2_ONLY), lease-time, lease-max-wait
+
+        **Note:** Changes apply to the pod serving the request.
+        """
+)
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasAuthority('system.view')")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheAdminController {
+
+    private final CachePolicyService cachePolicyService;
+
+    @Value("${HOSTNAME:unknown}")
+    private String podName;
+
+    /**
+     * GET /api/v1/web/system/cache/policies
+     */
+    @GetMapping("/policies")
+    @Operation(summary = "Get cache policies", description = "Returns effective L1/L2 policy per cache")
+    public ResponseEntity<Map<String, Object>> getPolicies() {
+        log.info("GET /api/v1/web/system/cache/policies");
+        return ResponseEntity.ok(response(cachePolicyService.getPolicies()));
+    }
+
+    /**
+     * POST /api/v1/web/system/cache/policies/reload
+     */
+    @PostMapping("/policies/reload")
+    @PreAuthorize("hasAuthority('system.cache.manage')")
+    @Operation(
+        summary = "Reload cache policies",
+        description = "Re-binds hemis.cache.* from configuration and applies it to all live caches"
+    )
+    public ResponseEntity<Map<String, Object>> reloadPolicies() {
+        log.info("POST /api/v1/web/system/cache/policies/reload");
+        return ResponseEntity.ok(response(cachePolicyService.reloadFromEnvironment()));
+    }
+
+    /**
+     * PUT /api/v1/web/system/cache/policies/{cacheName}
+     */
+    @PutMapping("/policies/{cacheName}")
+    @PreAuthorize("hasAuthority('system.cache.manage')")
+    @Operation(
+        summary = "Override cache policy",
+        description = "Applies non-null fields of the request body to one cache (kept until next reload)"
+    )
+    public ResponseEntity<Map<String, Object>> overridePolicy(
+            @Parameter(description = "Cache name", example = "i18n")
+            @PathVariable String cacheName,
+            @RequestBody TwoLevelCacheProperties.Policy policy) {
+        log.info("PUT /api/v1/web/system/cache/policies/{}", cacheName);
+        return ResponseEntity.ok(response(cachePolicyService.overridePolicy(cacheName, policy)));
+    }
+
+    private Map<String, Object> response(Map<String, String> policies) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("policies", policies);
+        response.put("pod", podName);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
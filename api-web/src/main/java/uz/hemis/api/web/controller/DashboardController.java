@@ -11,11 +11,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import uz.hemis.service.dashboard.DashboardService;
+import uz.hemis.service.dashboard.StudentStatsCube;
+import uz.hemis.service.dashboard.StudentStatsCubeService;
 import uz.hemis.service.dashboard.dto.DashboardResponse;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,7 +75,13 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class DashboardController {
 
+    // Dashboards spanning several universities
+    private static final String DASHBOARD_ACCESS = "hasAuthority('dashboard.view')"
+            + " or @universityAccessValidator.isAdmin(authentication)"
+            + " or @universityAccessValidator.isSystem(authentication)";
+
     private final DashboardService dashboardService;
+    private final StudentStatsCubeService cubeService;
 
     @GetMapping("/stats")
     @Operation(
@@ -291,4 +305,123 @@ public class DashboardController {
                         .mustRevalidate())                                // Revalidate when stale
                 .body(stats);
     }
+
+    @GetMapping("/stats/university/{code}")
+    @Operation(
+        summary = "Dashboard statistics of one university",
+        description = """
+            ## 🏛️ University Dashboard
+            
+            Same sections as `/stats` restricted to one university (`university_code`).
+            National totals (teachers, diplomas, projects, publications) and top
+            universities are not included.
+            
+            - **Cache:** per university (`tenantStats`), largest universities warmed up at startup
+            - **Access:** ADMIN / SYSTEM role, or a user of that university (`universityAccessValidator`)
+            - **Unknown code:** 404 (checked against the student statistics cube, or the replica
+              while the cube is not built; nothing is computed or cached)
+            """
+    )
+    @PreAuthorize("@universityAccessValidator.canAccessUniversity(authentication, #code)")
+    public ResponseEntity<DashboardResponse> getUniversityStats(@PathVariable String code) {
+        if (!dashboardService.isKnownUniversity(code)) {
+            log.debug("Unknown dashboard university: {}", code);
+            return ResponseEntity.notFound().build();
+        }
+        return tenantResponse(dashboardService.getUniversityStats(code));
+    }
+
+    @GetMapping("/stats/region/{region}")
+    @Operation(
+        summary = "Dashboard statistics of one region",
+        description = """
+            ## 🗺️ Region Dashboard
+            
+            Same sections as `/stats` for universities located in the region
+            (`university_region_name`, as returned in `students.byRegion`), including the
+            region's top universities. Cached per region (`tenantStats`).
+            
+            - **Access:** `dashboard.view` permission or ADMIN / SYSTEM role - a region covers
+              several universities
+            - **Unknown region:** 404 (checked against the student statistics cube, or the replica
+              while the cube is not built; nothing is computed or cached)
+            """
+    )
+    @PreAuthorize(DASHBOARD_ACCESS)
+    public ResponseEntity<DashboardResponse> getRegionStats(@PathVariable String region) {
+        if (!dashboardService.isKnownRegion(region)) {
+            log.debug("Unknown dashboard region: {}", region);
+            return ResponseEntity.notFound().build();
+        }
+        return tenantResponse(dashboardService.getRegionStats(region));
+    }
+
+    @GetMapping("/stats/drilldown")
+    @Operation(
+        summary = "Student counts grouped by one dimension under arbitrary filters",
+        description = """
+            ## 🔎 Drill-down
+            
+            Answered from the in-memory student statistics cube (no database query).
+            Filters on different dimensions are combined with AND, repeated values of
+            one filter with OR. Scope: not expelled students (same as `/stats`).
+            
+            **Dimensions:** STATUS, PAYMENT, GENDER, REGION, LANGUAGE, EDU_TYPE, EDU_FORM, UNIVERSITY
+            
+            **Example:** active grant students of two universities by region
+            ```
+            /stats/drilldown?groupBy=REGION&status=11&payment=11&university=00001&university=00002
+            ```
+            
+            **Access:** `dashboard.view` permission or ADMIN / SYSTEM role.
+            
+            Returns 503 with `Retry-After` until the cube is built after startup, and 503
+            without it when the cube is disabled (`hemis.dashboard.cube.enabled=false`).
+            """
+    )
+    @PreAuthorize(DASHBOARD_ACCESS)
+    public ResponseEntity<List<StudentStatsCube.Group>> drillDown(
+            @RequestParam StudentStatsCube.Dimension groupBy,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> payment,
+            @RequestParam(required = false) List<String> gender,
+            @RequestParam(required = false) List<String> region,
+            @RequestParam(required = false) List<String> language,
+            @RequestParam(required = false) List<String> eduType,
+            @RequestParam(required = false) List<String> eduForm,
+            @RequestParam(required = false) List<String> university) {
+
+        Map<StudentStatsCube.Dimension, List<String>> filters = new EnumMap<>(StudentStatsCube.Dimension.class);
+        putIfPresent(filters, StudentStatsCube.Dimension.STATUS, status);
+        putIfPresent(filters, StudentStatsCube.Dimension.PAYMENT, payment);
+        putIfPresent(filters, StudentStatsCube.Dimension.GENDER, gender);
+        putIfPresent(filters, StudentStatsCube.Dimension.REGION, region);
+        putIfPresent(filters, StudentStatsCube.Dimension.LANGUAGE, language);
+        putIfPresent(filters, StudentStatsCube.Dimension.EDU_TYPE, eduType);
+        putIfPresent(filters, StudentStatsCube.Dimension.EDU_FORM, eduForm);
+        putIfPresent(filters, StudentStatsCube.Dimension.UNIVERSITY, university);
+
+        return cubeService.drillDown(groupBy, filters)
+                .map(groups -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                        .body(groups))
+                .orElseGet(() -> cubeService.isEnabled()
+                        ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "60")
+                                .build()
+                        : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    private static ResponseEntity<DashboardResponse> tenantResponse(DashboardResponse stats) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePrivate())
+                .body(stats);
+    }
+
+    private static void putIfPresent(Map<StudentStatsCube.Dimension, List<String>> filters,
+                                     StudentStatsCube.Dimension dimension, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(dimension, values);
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package uz.hemis.api.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import uz.hemis.service.admin.UserAccountAdminService;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * User Account Administration Controller
+ *
+ * <p><strong>Base Path:</strong> {@code /api/v1/web/admin/users}</p>
+ *
+ * <p><strong>Security:</strong></p>
+ * <ul>
+ *   <li>Password and status: {@code users.edit}</li>
+ *   <li>Delete: {@code users.delete}</li>
+ * </ul>
+ *
+ * <p><strong>Cache Management:</strong></p>
+ * <ul>
+ *   <li>Every change evicts the user's cached UserDetails, permissions and menu
+ *       mapping on all pods after commit - the next login sees the new state</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/web/admin/users")
+@Tag(
+    name = "User Account Administration",
+    description = """
+        Password, status and delete operations for user accounts.
+
+        **Required Permissions:** users.edit, users.delete
+
+        **Side Effects:**
+        - Cached login data of the user is evicted on all pods after commit
+        """
+)
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@Slf4j
+public class UserAccountAdminController {
+
+    private final UserAccountAdminService userAccountAdminService;
+
+    /**
+     * PUT /api/v1/web/admin/users/{id}/password
+     * Set a new password
+     */
+    @PutMapping("/{id}/password")
+    @PreAuthorize("hasAuthority('users.edit')")
+    @Operation(summary = "Change user password", description = "Body: {\"password\": \"...\"} (min 8 characters)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Password changed"),
+        @ApiResponse(responseCode = "400", description = "Password too short"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> changePassword(
+        @Parameter(description = "User UUID")
+        @PathVariable UUID id,
+        @RequestBody Map<String, String> body,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        String requester = requester(jwt);
+        log.info("PUT /api/v1/web/admin/users/{}/password - requester: {}", id, requester);
+
+        userAccountAdminService.changePassword(id, body.get("password"), requester);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * PATCH /api/v1/web/admin/users/{id}/status?enabled=true|false
+     * Enable or disable an account
+     */
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasAuthority('users.edit')")
+    @Operation(summary = "Enable or disable user")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Status updated"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> setEnabled(
+        @Parameter(description = "User UUID")
+        @PathVariable UUID id,
+        @RequestParam boolean enabled,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        String requester = requester(jwt);
+        log.info("PATCH /api/v1/web/admin/users/{}/status?enabled={} - requester: {}", id, enabled, requester);
+
+        userAccountAdminService.setEnabled(id, enabled, requester);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * DELETE /api/v1/web/admin/users/{id}
+     * Soft delete an account
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAuthority('users.delete')")
+    @Operation(summary = "Delete user (soft delete)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "User deleted"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<Void> deleteUser(
+        @Parameter(description = "User UUID")
+        @PathVariable UUID id,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        String requester = requester(jwt);
+        log.info("DELETE /api/v1/web/admin/users/{} - requester: {}", id, requester);
+
+        userAccountAdminService.deleteUser(id, requester);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String requester(Jwt jwt) {
+        return jwt != null ? jwt.getSubject() : "unknown";
+    }
+}
@@ -32,9 +32,7 @@ import uz.hemis.api.web.dto.LoginRequest;
 import uz.hemis.api.web.dto.LoginResponse;
 import uz.hemis.domain.entity.Permission;
 import uz.hemis.domain.entity.Role;
-import uz.hemis.domain.entity.SecUser;
 import uz.hemis.domain.entity.User;
-import uz.hemis.domain.repository.SecUserRepository;
 import uz.hemis.domain.repository.UserRepository;
 import uz.hemis.security.service.UserPermissionCacheService;
 import uz.hemis.web.dto.UserInfoResponse;
@@ -79,7 +77,6 @@ public class WebAuthController {
     private final JwtDecoder jwtDecoder;
     private final UserPermissionCacheService permissionCacheService;
     private final UserRepository userRepository;
-    private final SecUserRepository secUserRepository;
     private final uz.hemis.security.service.TokenBlacklistService tokenBlacklistService;
     private final uz.hemis.security.service.RateLimitService rateLimitService;
 
@@ -101,7 +98,6 @@ public class WebAuthController {
             JwtDecoder jwtDecoder,
             UserPermissionCacheService permissionCacheService,
             UserRepository userRepository,
-            SecUserRepository secUserRepository,
             uz.hemis.security.service.TokenBlacklistService tokenBlacklistService,
             uz.hemis.security.service.RateLimitService rateLimitService
     ) {
@@ -111,7 +107,6 @@ public class WebAuthController {
         this.jwtDecoder = jwtDecoder;
         this.permissionCacheService = permissionCacheService;
         this.userRepository = userRepository;
-        this.secUserRepository = secUserRepository;
         this.tokenBlacklistService = tokenBlacklistService;
         this.rateLimitService = rateLimitService;
     }
@@ -217,8 +212,10 @@ public class WebAuthController {
 
         // ✅ Rate limiting - Brute force protection
         String clientIp = getClientIP(httpRequest);
-        if (!rateLimitService.isAllowed(clientIp)) {
-            int remainingSeconds = (int) rateLimitService.getSecondsUntilReset(clientIp);
+        uz.hemis.security.service.RateLimitService.Decision rateLimit =
+                rateLimitService.tryAcquire(uz.hemis.security.config.RateLimitProperties.LOGIN, clientIp);
+        if (!rateLimit.allowed()) {
+            int remainingSeconds = (int) rateLimit.retryAfterSeconds();
             log.warn("🚨 Rate limit exceeded for IP: {} (try again in {} seconds)", clientIp, remainingSeconds);
 
             return ResponseEntity.status(429) // HTTP 429 Too Many Requests
@@ -392,6 +389,15 @@ public class WebAuthController {
                     .error("invalid_credentials")
                     .errorDescription("Noto'g'ri foydalanuvchi nomi yoki parol.")
                     .build());
+        } catch (uz.hemis.security.crypto.PasswordHashingBusyException e) {
+            // Hashing pool saturated (login burst) - credentials not checked
+            log.warn("Login rejected - password hashing busy: {}", username);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(LoginResponse.builder()
+                    .error("temporarily_unavailable")
+                    .errorDescription("Server band. Iltimos, birozdan keyin qayta urinib ko'ring.")
+                    .build());
         } catch (Exception e) {
             log.error("Web login failed - username: {}", username, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -746,71 +752,61 @@ public class WebAuthController {
             // Problem: Disabled/locked accounts could continue refreshing tokens
             // Solution: Re-validate account status before issuing new tokens
             //
-            // NOTE: This now applies to BOTH new system AND legacy sec_user accounts
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isPresent()) {
-                // NEW SYSTEM: User exists in users table
-                User user = userOpt.get();
-
-                // Check account status flags
-                if (!user.getEnabled()) {
-                    log.warn("🚨 Refresh blocked - account disabled: userId={}", userId);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                            "error", "account_disabled",
-                            "message", "Akkaunt faolsizlantirilgan. Administrator bilan bog'laning."
-                    ));
-                }
-
-                if (!Boolean.TRUE.equals(user.getAccountNonLocked())) {
-                    log.warn("🚨 Refresh blocked - account locked: userId={}", userId);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                            "error", "account_locked",
-                            "message", "Akkaunt bloklangan. Administrator bilan bog'laning."
-                    ));
-                }
-
-                log.info("✅ Account status verified - userId: {}, enabled: {}, locked: {}",
-                    userId, user.getEnabled(), !Boolean.TRUE.equals(user.getAccountNonLocked()));
-            } else {
-                // ✅ SECURITY FIX #6: Legacy sec_user account validation
-                // Problem: Legacy users could continue refreshing even if blocked/deleted in sec_user table
-                // Solution: Check sec_user table active status before issuing new tokens
-
-                // Extract username from refresh token
-                String username = decodedToken.getClaimAsString("username");
-                if (username == null || username.isEmpty()) {
-                    log.warn("🚨 Refresh blocked - no username in token: userId={}", userId);
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
-                            "error", "invalid_token",
-                            "message", "Token'da username ma'lumoti yo'q."
-                    ));
-                }
+            // Applies to BOTH new system AND legacy sec_user accounts (hybrid lookup).
+            // UserDetails come from the short-lived UserDetailsCacheService, evicted on
+            // disable/role/password change, so aggressive refreshers don't hit the DB each time.
+            String username = decodedToken.getClaimAsString("username");
+            if (username == null || username.isEmpty()) {
+                // Refresh tokens rotated before the username claim was carried forward
+                username = userRepository.findById(userId).map(User::getUsername).orElse(null);
+            }
+            if (username == null) {
+                log.warn("🚨 Refresh blocked - no username for token: userId={}", userId);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                        "error", "invalid_token",
+                        "message", "Token'da username ma'lumoti yo'q."
+                ));
+            }
 
-                // Validate legacy user status in sec_user table
-                Optional<SecUser> secUserOpt = secUserRepository.findByLoginAndActiveTrue(username);
-                if (secUserOpt.isEmpty()) {
-                    log.warn("🚨 Refresh blocked - legacy user inactive/deleted: username={}, userId={}", username, userId);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                            "error", "account_disabled",
-                            "message", "Akkaunt faolsizlantirilgan yoki o'chirilgan. Administrator bilan bog'laning."
-                    ));
-                }
+            UserDetails account;
+            try {
+                account = userDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                // ✅ SECURITY FIX #6: legacy sec_user inactive/deleted → not found
+                log.warn("🚨 Refresh blocked - user inactive/deleted: username={}, userId={}", username, userId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "error", "account_disabled",
+                        "message", "Akkaunt faolsizlantirilgan yoki o'chirilgan. Administrator bilan bog'laning."
+                ));
+            }
 
-                SecUser secUser = secUserOpt.get();
+            if (!account.isEnabled()) {
+                log.warn("🚨 Refresh blocked - account disabled: userId={}", userId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "error", "account_disabled",
+                        "message", "Akkaunt faolsizlantirilgan. Administrator bilan bog'laning."
+                ));
+            }
 
-                // Check change password flag (credentials expired)
-                if (Boolean.TRUE.equals(secUser.getChangePasswordAtLogon())) {
-                    log.warn("🚨 Refresh blocked - legacy user must change password: username={}", username);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
-                            "error", "credentials_expired",
-                            "message", "Parolni o'zgartirish talab qilinadi."
-                    ));
-                }
+            if (!account.isAccountNonLocked()) {
+                log.warn("🚨 Refresh blocked - account locked: userId={}", userId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "error", "account_locked",
+                        "message", "Akkaunt bloklangan. Administrator bilan bog'laning."
+                ));
+            }
 
-                log.info("✅ Legacy user status verified - username: {}, userId: {}, active: {}",
-                    username, userId, secUser.getActive());
+            // Legacy change_password_at_logon (credentials expired)
+            if (!account.isCredentialsNonExpired()) {
+                log.warn("🚨 Refresh blocked - user must change password: username={}", username);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "error", "credentials_expired",
+                        "message", "Parolni o'zgartirish talab qilinadi."
+                ));
             }
 
+            log.info("✅ Account status verified - username: {}, userId: {}", username, userId);
+
             log.info("Refresh token valid for userId: {}", userId);
 
             // Generate new access token (15 minutes)
@@ -840,6 +836,7 @@ public class WebAuthController {
                     .subject(userId.toString()) // ✅ userId (UUID), not username
                     .id(newRefreshTokenId) // ✅ JTI for blacklisting
                     .claim("type", "refresh")
+                    .claim("username", username) // ✅ Account validation on the next refresh
                     .build();
 
             String newRefreshToken = jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, refreshTokenClaims)).getTokenValue();
@@ -0,0 +1,41 @@
+package uz.hemis.app.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import uz.hemis.service.cache.L2CircuitBreaker;
+import uz.hemis.service.cache.TwoLevelCacheManager;
+
+/**
+ * Health indicator for the L2 (Redis) cache circuit breaker
+ *
+ * <p>Exposed as {@code /actuator/health} component {@code cacheCircuitBreaker}.</p>
+ *
+ * <p>An open breaker is reported as UP with {@code degraded=true}: the pod keeps
+ * serving menus and translations from L1 (Caffeine), so it must not be removed
+ * from the load balancer during a Redis incident.</p>
+ *
+ * @since 2.0.0
+ */
+@Component("cacheCircuitBreaker")
+@RequiredArgsConstructor
+public class CacheCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public Health health() {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return Health.unknown().withDetail("reason", "TwoLevelCacheManager not active").build();
+        }
+
+        L2CircuitBreaker breaker = twoLevelCacheManager.getCircuitBreaker();
+        return Health.up()
+                .withDetail("degraded", breaker.isDegraded())
+                .withDetail("mode", breaker.isDegraded() ? "L1_ONLY" : "TWO_LEVEL")
+                .withDetails(breaker.getStatistics())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package uz.hemis.app.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import uz.hemis.service.cache.L2CircuitBreaker;
+import uz.hemis.service.cache.TwoLevelCacheManager;
+
+/**
+ * Micrometer meters for the L2 (Redis) cache circuit breaker
+ *
+ * <p><strong>Meters:</strong></p>
+ * <ul>
+ *   <li>hemis.cache.l2.breaker.state - 0 CLOSED, 1 HALF_OPEN, 2 OPEN</li>
+ *   <li>hemis.cache.l2.breaker.trips / failures / slow.calls / short.circuited</li>
+ *   <li>hemis.cache.l2.breaker.pending.writes - queued L2 writes awaiting replay</li>
+ *   <li>hemis.cache.l2.breaker.replayed.writes / dropped.writes</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheCircuitBreakerMetrics implements MeterBinder {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return;
+        }
+        L2CircuitBreaker breaker = twoLevelCacheManager.getCircuitBreaker();
+
+        Gauge.builder("hemis.cache.l2.breaker.state", breaker, b -> switch (b.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("L2 circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .register(registry);
+        Gauge.builder("hemis.cache.l2.breaker.pending.writes", breaker, L2CircuitBreaker::getPendingWrites)
+                .description("L2 writes queued for replay")
+                .register(registry);
+
+        FunctionCounter.builder("hemis.cache.l2.breaker.trips", breaker, L2CircuitBreaker::getTrips)
+                .description("Transitions to OPEN")
+                .register(registry);
+        FunctionCounter.builder("hemis.cache.l2.breaker.failures", breaker, L2CircuitBreaker::getFailures)
+                .description("Failed or slow L2 calls")
+                .register(registry);
+        FunctionCounter.builder("hemis.cache.l2.breaker.slow.calls", breaker, L2CircuitBreaker::getSlowCalls)
+                .description("L2 calls over latency budget")
+                .register(registry);
+        FunctionCounter.builder("hemis.cache.l2.breaker.short.circuited", breaker, L2CircuitBreaker::getShortCircuited)
+                .description("L2 calls skipped while open")
+                .register(registry);
+        FunctionCounter.builder("hemis.cache.l2.breaker.replayed.writes", breaker, L2CircuitBreaker::getReplayedWrites)
+                .description("Queued L2 writes replayed after recovery")
+                .register(registry);
+        FunctionCounter.builder("hemis.cache.l2.breaker.dropped.writes", breaker, L2CircuitBreaker::getDroppedWrites)
+                .description("L2 writes dropped on queue overflow")
+                .register(registry);
+    }
+}
@@ -28,10 +28,8 @@ import java.util.List;
  * # CORS
  * security.cors.allowed-origins=https://university1.uz,https://university2.uz,https://admin.hemis.uz
  *
- * # Rate Limiting
+ * # Rate Limiting (policies: hemis.security.rate-limit.policies)
  * security.rate-limit.enabled=true
- * security.rate-limit.requests-per-minute=100
- * security.rate-limit.burst-capacity=200
  * </pre>
  *
  * @since 1.0.0
@@ -130,20 +128,26 @@ public class SecurityProperties {
 
         /**
          * Requests per minute per university
-         * Default: 100
+         *
+         * @deprecated Superseded by hemis.security.rate-limit.policies (RateLimitProperties)
          */
+        @Deprecated
         private int requestsPerMinute = 100;
 
         /**
          * Burst capacity (max requests in short time)
-         * Default: 200
+         *
+         * @deprecated Superseded by hemis.security.rate-limit.policies (RateLimitProperties)
          */
+        @Deprecated
         private int burstCapacity = 200;
 
         /**
          * Global rate limit (all universities combined)
-         * Default: 1000 requests per minute
+         *
+         * @deprecated Superseded by hemis.security.rate-limit.policies (RateLimitProperties)
          */
+        @Deprecated
         private int globalRequestsPerMinute = 1000;
     }
 
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -21,6 +22,7 @@ import uz.hemis.common.dto.ErrorResponse;
 import uz.hemis.common.exception.BadRequestException;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.common.exception.ValidationException;
+import uz.hemis.security.crypto.PasswordHashingBusyException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -195,6 +197,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
 
+    /**
+     * Handle PasswordHashingBusyException (hashing pool saturated)
+     *
+     * <p>HTTP Status: 503 SERVICE UNAVAILABLE + Retry-After</p>
+     *
+     * @param ex exception
+     * @param request HTTP request
+     * @return error response
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex,
+            HttpServletRequest request
+    ) {
+        log.warn("Password hashing busy - rejecting: {}", request.getRequestURI());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is busy, please retry later",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     // =====================================================
     // Spring Validation Exceptions
     // =====================================================
@@ -12,11 +12,11 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import uz.hemis.app.config.SecurityProperties;
+import uz.hemis.security.config.RateLimitProperties;
+import uz.hemis.security.service.RateLimitService;
 
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Rate Limiting Filter
@@ -24,26 +24,27 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p><strong>Purpose:</strong></p>
  * <ul>
  *   <li>Prevent API abuse</li>
- *   <li>Limit requests per university per minute</li>
- *   <li>Global rate limit for all requests</li>
+ *   <li>Protect heavy legacy services (passport lookups, /app/rest/v2/services/*)</li>
+ *   <li>Limits shared by all pods (Redis token bucket)</li>
  *   <li>Protect system resources</li>
  * </ul>
  *
  * <p><strong>Rate Limiting Strategy:</strong></p>
  * <ul>
- *   <li>Per-university limit: 100 requests/minute (configurable)</li>
- *   <li>Global limit: 1000 requests/minute (configurable)</li>
- *   <li>Burst capacity: 2x normal limit for short bursts</li>
- *   <li>Token bucket algorithm</li>
+ *   <li>Policy = first {@link RateLimitProperties} policy whose paths match the request</li>
+ *   <li>Bucket per IP, client or global (policy {@code key})</li>
+ *   <li>Token bucket: burst capacity + refill rate</li>
+ *   <li>Per-pod pre-limiter rejects floods without a Redis call</li>
  * </ul>
  *
  * <p><strong>Response when rate limit exceeded:</strong></p>
  * <pre>
  * HTTP 429 Too Many Requests
+ * Retry-After: 12
  * {
  *   "error": "rate_limit_exceeded",
  *   "message": "Too many requests. Please try again later.",
- *   "retry_after": 60
+ *   "retry_after": 12
  * }
  * </pre>
  *
@@ -55,27 +56,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final SecurityProperties securityProperties;
-
-    /**
-     * Rate limit counters per university
-     * Key: university_code, Value: request count
-     */
-    private final Map<String, AtomicInteger> universityCounters = new ConcurrentHashMap<>();
-
-    /**
-     * Global rate limit counter
-     */
-    private final AtomicInteger globalCounter = new AtomicInteger(0);
-
-    /**
-     * Last reset timestamp (in milliseconds)
-     */
-    private volatile long lastResetTime = System.currentTimeMillis();
-
-    /**
-     * Reset interval in milliseconds (1 minute)
-     */
-    private static final long RESET_INTERVAL_MS = 60_000;
+    private final RateLimitProperties rateLimitProperties;
+    private final RateLimitService rateLimitService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -88,127 +70,75 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Reset counters every minute
-        resetCountersIfNeeded();
-
-        // Check global rate limit
-        if (isGlobalRateLimitExceeded()) {
-            log.warn("Global rate limit exceeded - Total requests: {}",
-                    globalCounter.get());
-            sendRateLimitExceededResponse(response, "Global rate limit exceeded");
+        Map.Entry<String, RateLimitProperties.Policy> policy =
+                rateLimitProperties.findPolicy(request.getRequestURI());
+        if (policy == null) {
+            filterChain.doFilter(request, response);
             return;
         }
 
-        // Check per-university rate limit
-        String universityCode = getUniversityCode(request);
-        if (universityCode != null && isUniversityRateLimitExceeded(universityCode)) {
-            log.warn("University rate limit exceeded - University: {}, Requests: {}",
-                    universityCode, universityCounters.get(universityCode).get());
-            sendRateLimitExceededResponse(response,
-                    "University rate limit exceeded. Maximum " +
-                            securityProperties.getRateLimit().getRequestsPerMinute() +
-                            " requests per minute allowed.");
+        String identifier = resolveKey(policy.getValue().getKey(), request);
+        RateLimitService.Decision decision = rateLimitService.tryAcquire(policy.getKey(), identifier);
+        if (!decision.allowed()) {
+            log.warn("Rate limit exceeded - Policy: {}, Key: {}, Path: {}",
+                    policy.getKey(), identifier, request.getRequestURI());
+            sendRateLimitExceededResponse(response, decision.retryAfterSeconds());
             return;
         }
 
-        // Increment counters
-        globalCounter.incrementAndGet();
-        if (universityCode != null) {
-            universityCounters
-                    .computeIfAbsent(universityCode, k -> new AtomicInteger(0))
-                    .incrementAndGet();
-        }
-
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
 
     /**
-     * Check if global rate limit is exceeded
-     */
-    private boolean isGlobalRateLimitExceeded() {
-        int globalLimit = securityProperties.getRateLimit().getGlobalRequestsPerMinute();
-        return globalCounter.get() >= globalLimit;
-    }
-
-    /**
-     * Check if university rate limit is exceeded
-     */
-    private boolean isUniversityRateLimitExceeded(String universityCode) {
-        AtomicInteger counter = universityCounters.get(universityCode);
-        if (counter == null) {
-            return false;
-        }
-
-        int perUniversityLimit = securityProperties.getRateLimit().getRequestsPerMinute();
-        return counter.get() >= perUniversityLimit;
-    }
-
-    /**
-     * Reset counters every minute
+     * Resolve bucket key for the policy
+     *
+     * <p>Falls back CLIENT → IP for anonymous requests.</p>
      */
-    private void resetCountersIfNeeded() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastResetTime >= RESET_INTERVAL_MS) {
-            synchronized (this) {
-                if (currentTime - lastResetTime >= RESET_INTERVAL_MS) {
-                    log.debug("Resetting rate limit counters - Global: {}, Universities: {}",
-                            globalCounter.get(), universityCounters.size());
-
-                    globalCounter.set(0);
-                    universityCounters.clear();
-                    lastResetTime = currentTime;
-                }
-            }
-        }
-    }
-
-    /**
-     * Extract university code from JWT token
-     */
-    private String getUniversityCode(HttpServletRequest request) {
+    private String resolveKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
-            return null;
+        switch (keyType) {
+            case GLOBAL:
+                return "global";
+            case CLIENT:
+                if (authentication != null && authentication.isAuthenticated()
+                        && authentication.getPrincipal() instanceof Jwt) {
+                    return "client:" + authentication.getName();
+                }
+                // fall through
+            default:
+                return "ip:" + request.getRemoteAddr();
         }
-
-        return jwt.getClaimAsString("university_code");
     }
 
     /**
      * Send rate limit exceeded response
      */
-    private void sendRateLimitExceededResponse(HttpServletResponse response, String message)
+    private void sendRateLimitExceededResponse(HttpServletResponse response, long retryAfterSeconds)
             throws IOException {
         response.setStatus(429); // HTTP 429 Too Many Requests
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
         String jsonResponse = String.format("""
                 {
                   "error": "rate_limit_exceeded",
-                  "message": "%s",
-                  "retry_after": 60
+                  "message": "Too many requests. Please try again later.",
+                  "retry_after": %d
                 }
-                """, message);
+                """, retryAfterSeconds);
 
         response.getWriter().write(jsonResponse);
     }
 
     /**
-     * Only apply to API endpoints
+     * Don't rate limit health checks
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-
-        // Don't rate limit health checks
-        if (path.startsWith("/actuator/health") || path.startsWith("/actuator/info")) {
-            return true;
-        }
-
-        // Only rate limit API endpoints
-        return !path.startsWith("/app/rest/v2/services");
+        return path.startsWith("/actuator/health") || path.startsWith("/actuator/info");
     }
 }
@@ -140,6 +140,11 @@ public class ContractSignedEvent implements Serializable {
      */
     private String specialtyName;
 
+    /**
+     * University code (dashboard aggregates)
+     */
+    private String universityCode;
+
     /**
      * Timestamp when event was created
      */
@@ -118,6 +118,11 @@ public class DiplomaIssuedEvent implements Serializable {
      */
     private String universityName;
 
+    /**
+     * University code (dashboard aggregates)
+     */
+    private String universityCode;
+
     /**
      * Diploma blank ID (physical blank used)
      */
@@ -26,7 +26,7 @@ import java.util.UUID;
  *
  * <p><strong>Event Flow:</strong></p>
  * <pre>
- * StudentService.enrollStudent()
+ * StudentService.create()
  *   → Save student entity
  *   → Publish StudentEnrolledEvent
  *   → Event listeners react:
@@ -105,6 +105,26 @@ public class StudentEnrolledEvent implements Serializable {
      */
     private String educationForm;
 
+    /**
+     * University code (dashboard aggregates; null = not counted per university)
+     */
+    private String universityCode;
+
+    /**
+     * Student status code (h_student_status, null = not counted)
+     */
+    private String statusCode;
+
+    /**
+     * Payment form code (11 = grant, 12 = contract)
+     */
+    private String paymentFormCode;
+
+    /**
+     * Gender code (11 = male, 12 = female)
+     */
+    private String genderCode;
+
     /**
      * Timestamp when event was created
      */
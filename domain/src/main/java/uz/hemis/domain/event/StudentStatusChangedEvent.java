@@ -0,0 +1,106 @@
+package uz.hemis.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Student Status Changed Event
+ *
+ * <p>Published when a student's status changes (studying → graduated, expelled,
+ * academic leave, etc.) or another counted attribute (university, payment form,
+ * gender) changes. The {@code previous*} fields always describe the student before
+ * the change; {@code statusCode} null = soft deleted, {@code previousStatusCode}
+ * null = restored.</p>
+ *
+ * <p><strong>Use Cases:</strong></p>
+ * <ul>
+ *   <li>Move the student between dashboard status counters</li>
+ *   <li>Notify dean's office</li>
+ *   <li>Audit trail and logging</li>
+ * </ul>
+ *
+ * <p><strong>Event Flow:</strong></p>
+ * <pre>
+ * StudentService.update() / partialUpdate() / softDelete() / restore()
+ *   → Save student entity
+ *   → Publish StudentStatusChangedEvent
+ *   → Event listeners react:
+ *      - DashboardAggregateEventListener (status -1 / +1)
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatusChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Student ID
+     */
+    private UUID studentId;
+
+    /**
+     * Student code
+     */
+    private String studentCode;
+
+    /**
+     * University code before the change
+     */
+    private String previousUniversityCode;
+
+    /**
+     * University code
+     */
+    private String universityCode;
+
+    /**
+     * Status before the change (h_student_status code)
+     */
+    private String previousStatusCode;
+
+    /**
+     * Status after the change
+     */
+    private String statusCode;
+
+    /**
+     * Payment form code before the change
+     */
+    private String previousPaymentFormCode;
+
+    /**
+     * Payment form code (11 = grant, 12 = contract)
+     */
+    private String paymentFormCode;
+
+    /**
+     * Gender code before the change
+     */
+    private String previousGenderCode;
+
+    /**
+     * Gender code (11 = male, 12 = female)
+     */
+    private String genderCode;
+
+    /**
+     * Timestamp when event was created
+     */
+    private Instant timestamp;
+
+    /**
+     * User who changed the status
+     */
+    private String changedBy;
+}
@@ -41,6 +41,7 @@ import java.util.UUID;
  *   <li>Role permissions modified (affects all users with that role)</li>
  *   <li>Direct permission grant/revoke</li>
  *   <li>User account enabled/disabled</li>
+ *   <li>User password changed (UserDetails cache)</li>
  * </ul>
  *
  * <p><strong>Integration Points:</strong></p>
@@ -71,7 +72,7 @@ public class UserPermissionsChangedEvent implements Serializable {
     private String username;
 
     /**
-     * Change type: ROLE_ADDED, ROLE_REMOVED, ROLE_MODIFIED, PERMISSION_GRANTED, PERMISSION_REVOKED, USER_DISABLED, USER_ENABLED
+     * Change type: ROLE_ADDED, ROLE_REMOVED, ROLE_MODIFIED, PERMISSION_GRANTED, PERMISSION_REVOKED, USER_DISABLED, USER_ENABLED, PASSWORD_CHANGED
      */
     private ChangeType changeType;
 
@@ -133,6 +134,12 @@ public class UserPermissionsChangedEvent implements Serializable {
         USER_DISABLED,
 
         /** User account enabled */
-        USER_ENABLED
+        USER_ENABLED,
+
+        /** User password changed (no permission change) */
+        PASSWORD_CHANGED,
+
+        /** User account soft-deleted */
+        USER_DELETED
     }
 }
@@ -3,6 +3,7 @@ package uz.hemis.domain.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +16,7 @@ import java.util.UUID;
 
 @Repository
 @Transactional(readOnly = true)
-public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
+public interface AttendanceRepository extends JpaRepository<Attendance, UUID>, JpaSpecificationExecutor<Attendance> {
 
     @Query("SELECT a FROM Attendance a WHERE a.student = :studentId")
     Page<Attendance> findByStudent(@Param("studentId") UUID studentId, Pageable pageable);
@@ -0,0 +1,23 @@
+-- =====================================================
+-- M005: SEED system.cache.manage PERMISSION
+-- =====================================================
+-- Author: hemis-team
+-- Purpose: Separate permission for mutating cache administration endpoints
+--          (POST /system/cache/policies/reload, PUT /system/cache/policies/{cacheName})
+--          - system.view only allows reading the effective cache policies
+-- Assigned Roles: SUPER_ADMIN
+-- =====================================================
+
+INSERT INTO permissions (resource, action, code, name, description, category, created_by)
+VALUES
+('system.cache', 'manage', 'system.cache.manage', 'Manage Cache', 'Reload and override cache policies', 'ADMIN', 'system')
+ON CONFLICT (code) DO UPDATE SET
+    name = EXCLUDED.name, description = EXCLUDED.description, updated_at = CURRENT_TIMESTAMP;
+
+INSERT INTO role_permissions (role_id, permission_id, assigned_by)
+SELECT r.id, p.id, 'system'
+FROM roles r
+CROSS JOIN permissions p
+WHERE r.code = 'SUPER_ADMIN'
+  AND p.code = 'system.cache.manage'
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,10 @@
+-- =====================================================
+-- M005 ROLLBACK: Remove system.cache.manage permission
+-- =====================================================
+
+DELETE FROM role_permissions
+WHERE permission_id IN (
+    SELECT id FROM permissions WHERE code = 'system.cache.manage'
+);
+
+DELETE FROM permissions WHERE code = 'system.cache.manage';
@@ -5,6 +5,10 @@
 // Dependencies: common, domain
 // =====================================================
 
+plugins {
+    id("me.champeau.jmh") version "0.7.3"  // Microbenchmarks: ./gradlew :security:jmh
+}
+
 dependencies {
     // Internal dependencies
     api(project(":common"))
@@ -41,6 +45,9 @@ dependencies {
     // Caffeine for L1 JVM cache (per-pod, ultra-fast)
     api("com.github.ben-manes.caffeine:caffeine:3.1.8")
 
+    // Micrometer for password hashing pool metrics (registry provided by app/actuator)
+    implementation("io.micrometer:micrometer-core")
+
     // Testing
     testImplementation("org.springframework.security:spring-security-test")
     
@@ -51,6 +58,16 @@ dependencies {
     testImplementation("it.ozimov:embedded-redis:0.7.3")
 }
 
+// =====================================================
+// JMH Benchmarks (src/jmh/java)
+// =====================================================
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 // =====================================================
 // Module Role
 // =====================================================
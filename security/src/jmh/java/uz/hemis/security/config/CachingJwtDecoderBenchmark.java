@@ -0,0 +1,110 @@
+package uz.hemis.security.config;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT decode cost with and without CachingJwtDecoder
+ *
+ * <p>Decodes one access token repeatedly (the SPA / integration pattern): the plain
+ * Nimbus decoder verifies the signature and validates claims every time, the caching
+ * decoder does it once and then only hashes the token. HS256 matches the secret-key
+ * setup, RS256 a JWK Set URI setup.</p>
+ *
+ * <pre>
+ * ./gradlew :security:jmh
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CachingJwtDecoderBenchmark {
+
+    @Param({"HS256", "RS256"})
+    public String algorithm;
+
+    private JwtDecoder plainDecoder;
+    private JwtDecoder cachingDecoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JwtEncoder encoder;
+        JwsHeader header;
+        if ("HS256".equals(algorithm)) {
+            SecretKeySpec key = new SecretKeySpec(
+                    "benchmark-secret-key-minimum-256-bits-for-hs256".getBytes(), "HmacSHA256");
+            encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+            plainDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+            header = JwsHeader.with(MacAlgorithm.HS256).build();
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                    .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                    .keyID("benchmark")
+                    .build();
+            encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+            plainDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+            header = JwsHeader.with(SignatureAlgorithm.RS256).keyId("benchmark").build();
+        }
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("hemis-backend")
+                .subject("admin")
+                .id(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(12)))
+                .claim("authorities", List.of("ROLE_ADMIN", "students.view", "dashboard.view"))
+                .build();
+        token = encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+
+        cachingDecoder = new CachingJwtDecoder(plainDecoder, 10_000, Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public Jwt decodeWithoutCache() {
+        return plainDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeWithCache() {
+        return cachingDecoder.decode(token);
+    }
+}
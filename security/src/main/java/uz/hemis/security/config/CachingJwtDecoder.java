@@ -0,0 +1,131 @@
+package uz.hemis.security.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JwtDecoder with a bounded cache of verified tokens
+ *
+ * <p>The SPA and university integrations send the same access token many times a
+ * minute; each request used to run full signature verification and claim validation
+ * (twice: CookieJwtAuthenticationFilter and the resource server filter). Successfully
+ * decoded tokens are cached by SHA-256 digest of the compact token string.</p>
+ *
+ * <p><strong>Entry lifetime:</strong></p>
+ * <ul>
+ *   <li>Expires at the token's {@code exp} (never serves an expired token)</li>
+ *   <li>Capped at {@code maxTtl}</li>
+ *   <li>{@link #invalidateTokenId} - revoked token (TokenBlacklistService listener)</li>
+ * </ul>
+ *
+ * <p><strong>Key rotation:</strong> the cache is not cleared when signing keys change.
+ * Tokens verified under a rotated-out key (new secret on redeploy, or a key removed
+ * from the remote JWK set) stay accepted by a running pod for at most {@code maxTtl}
+ * (hemis.security.jwt.decode-cache.max-ttl-seconds). If a key is compromised,
+ * restart the pods or lower that TTL.</p>
+ *
+ * <p>Failures are never cached: an invalid token is verified (and rejected) every time.</p>
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        log.info("✅ Verified JWT cache enabled (maxSize={}, maxTtl={})", maxSize, maxTtl);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String digest = digest(token);
+        Jwt jwt = verified.getIfPresent(digest);
+        if (jwt != null) {
+            return jwt;
+        }
+
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+            verified.put(digest, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * Drop cached tokens with the given JWT ID (revocation)
+     */
+    public void invalidateTokenId(String jti) {
+        if (jti == null) {
+            return;
+        }
+        verified.asMap().values().removeIf(jwt -> jti.equals(jwt.getId()));
+    }
+
+    /**
+     * Cache statistics (for monitoring)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", verified.estimatedSize());
+        stats.put("hitRate", verified.stats().hitRate());
+        stats.put("hits", verified.stats().hitCount());
+        stats.put("misses", verified.stats().missCount());
+        return stats;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Per-entry TTL = min(exp - now, maxTtl); reads do not extend it
+     */
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            long untilExp = expiresAt != null
+                    ? Duration.between(Instant.now(), expiresAt).toNanos()
+                    : 0L;
+            return Math.max(0L, Math.min(untilExp, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -29,9 +28,9 @@ import java.util.stream.Collectors;
  *
  * Permissions Loading Pipeline:
  * 1. JWT decode → extract 'sub' (userId UUID)
- * 2. Redis GET user:permissions:{userId}
- * 3. If cache HIT → return permissions
- * 4. If cache MISS → DB query → cache (TTL: 1h) → return
+ * 2. L1 (per pod): userId + permissions version → pre-built authority list
+ * 3. L1 MISS → Redis GET user:permissions:{userId}
+ * 4. Redis MISS → DB query → cache (TTL: 1h) → return
  * </pre>
  *
  * <p><strong>Performance Benefits:</strong></p>
@@ -127,14 +126,12 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
         // ✅ NEW: Load permissions from Redis cache (or DB)
         if (permissionCacheService != null) {
             try {
-                Set<String> permissions = permissionCacheService.getUserPermissions(userId);
+                // Immutable list shared across requests (L1 hit = map lookup, no Redis call)
+                List<GrantedAuthority> authorities = permissionCacheService.getUserAuthorities(userId);
 
-                if (permissions != null && !permissions.isEmpty()) {
-                    log.debug("Loaded {} permissions from cache for userId: {}", permissions.size(), userId);
-
-                    return permissions.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
+                if (!authorities.isEmpty()) {
+                    log.debug("Loaded {} authorities from cache for userId: {}", authorities.size(), userId);
+                    return authorities;
                 }
 
             } catch (Exception e) {
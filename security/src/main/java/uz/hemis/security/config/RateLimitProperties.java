@@ -0,0 +1,197 @@
+package uz.hemis.security.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit policy registry
+ *
+ * <p>Named token-bucket policies enforced by {@link uz.hemis.security.service.RateLimitService}.
+ * A policy is used either explicitly by name (login) or by the rate limit filter for
+ * requests whose path matches one of its {@code paths} (first match in declaration order).</p>
+ *
+ * <p><strong>Configuration (application.yml):</strong></p>
+ * <pre>
+ * hemis:
+ *   security:
+ *     rate-limit:
+ *       policies:
+ *         passport:
+ *           paths: /app/rest/v2/services/passport-data/**
+ *           key: CLIENT
+ *           limit: 60
+ *           window: 1m
+ *         legacy-services:
+ *           paths: /app/rest/v2/services/**
+ *           key: CLIENT
+ *           limit: 600
+ *           window: 1m
+ *           burst: 200
+ *         api:                    # catch-all, declared last
+ *           paths: /api/**, /app/rest/**
+ *           key: CLIENT
+ *           limit: 1000
+ *           window: 1m
+ * </pre>
+ *
+ * <p><strong>Bucket semantics:</strong></p>
+ * <ul>
+ *   <li>{@code burst} tokens available at once (default: {@code limit})</li>
+ *   <li>Refill at {@code limit} tokens per {@code window}</li>
+ *   <li>One bucket per (policy, key value) - e.g. per client</li>
+ * </ul>
+ *
+ * <p>Policies are validated at startup ({@code limit} > 0, {@code window} > 0,
+ * {@code burst} >= 1): a zero rate would make the bucket script divide by zero.</p>
+ *
+ * @since 2.0.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "hemis.security.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    /**
+     * Login brute force policy name (OWASP: 5 attempts / 15 minutes per IP)
+     */
+    public static final String LOGIN = "login";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final Policy DEFAULT_LOGIN = new Policy(5, Duration.ofMinutes(15), KeyType.IP, false);
+
+    /**
+     * Maximum keys tracked by the per-pod pre-limiter
+     */
+    private int localMaxKeys = 100_000;
+
+    /**
+     * Policy name → policy (declaration order = path match order)
+     */
+    private Map<String, @Valid Policy> policies = new LinkedHashMap<>();
+
+    /**
+     * What a policy bucket is keyed by
+     */
+    public enum KeyType {
+        /** Client IP address */
+        IP,
+        /** Authenticated client (JWT subject), IP when anonymous */
+        CLIENT,
+        /** One bucket for the whole policy */
+        GLOBAL
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * Requests per window (refill rate)
+         */
+        @Positive
+        private int limit;
+
+        /**
+         * Refill window
+         */
+        @NotNull
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * Bucket capacity (null = limit)
+         */
+        @Min(1)
+        private Integer burst;
+
+        /**
+         * Bucket key
+         */
+        private KeyType key = KeyType.IP;
+
+        /**
+         * Ant path patterns handled by the rate limit filter
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * On Redis failure: true = rely on per-pod pre-limiter, false = reject
+         */
+        private boolean failOpen = true;
+
+        public Policy() {
+        }
+
+        public Policy(int limit, Duration window, KeyType key, boolean failOpen) {
+            this.limit = limit;
+            this.window = window;
+            this.key = key;
+            this.failOpen = failOpen;
+        }
+
+        @AssertTrue(message = "window must be positive")
+        public boolean isWindowPositive() {
+            return window == null || (!window.isNegative() && !window.isZero());
+        }
+
+        public int capacity() {
+            return burst != null ? burst : limit;
+        }
+
+        /**
+         * Tokens added per millisecond
+         */
+        public double refillPerMilli() {
+            return (double) limit / Math.max(1, window.toMillis());
+        }
+    }
+
+    /**
+     * Get policy by name
+     *
+     * <p>Login falls back to the OWASP default when not configured.</p>
+     *
+     * @return Policy or null if unknown
+     */
+    public Policy getPolicy(String name) {
+        Policy policy = policies.get(name);
+        if (policy == null && LOGIN.equals(name)) {
+            return DEFAULT_LOGIN;
+        }
+        return policy;
+    }
+
+    /**
+     * Find the first policy whose paths match the request path
+     *
+     * @param path Request URI
+     * @return (name, policy) or null if the path is not rate limited
+     */
+    public Map.Entry<String, Policy> findPolicy(String path) {
+        for (Map.Entry<String, Policy> entry : policies.entrySet()) {
+            for (String pattern : entry.getValue().getPaths()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+}
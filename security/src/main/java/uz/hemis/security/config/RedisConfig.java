@@ -159,9 +159,9 @@ public class RedisConfig {
      *
      * <p><strong>Use Case:</strong></p>
      * <ul>
-     *   <li>Admin triggers cache refresh → Publishes "refresh" signal</li>
-     *   <li>All 10 pods subscribe → Receive signal → Clear L1 cache</li>
-     *   <li>Channel: cache:invalidate:all</li>
+     *   <li>Cache write/evict → Publishes keyed invalidation (JSON)</li>
+     *   <li>All 10 pods subscribe → Evict only affected L1 entries</li>
+     *   <li>Channels: cache:keys:invalidate, cache:invalidate:{namespace} (versions)</li>
      * </ul>
      */
     @Bean
@@ -199,34 +199,31 @@ public class RedisConfig {
      * POD-7 ─┤                   └─────────────┘
      * POD-8 ─┤                         ↑
      * POD-9 ─┤                         │
-     * POD-10─┘                   Admin publishes
-     *                            "cache:invalidate:all"
+     * POD-10─┘                  Writing pod publishes
+     *                            "cache:keys:invalidate"
      * </pre>
      *
      * <p><strong>Channels:</strong></p>
      * <ul>
-     *   <li>cache:invalidate:all - Barcha cache tozalash</li>
-     *   <li>cache:invalidate:i18n - Faqat tarjimalar</li>
-     *   <li>cache:invalidate:menu - Faqat menular</li>
-     *   <li>cache:invalidate:permissions - Faqat permissionlar</li>
+     *   <li>cache:keys:invalidate - {cache, keys | prefix, version, origin} (keyed L1 eviction)</li>
+     *   <li>cache:invalidate:{namespace} - version bumps ("v{N}-{ts}", CacheVersionService)</li>
+     *   <li>token:revoked - logout revocations ("{jti}:{exp}", TokenBlacklistService Bloom filter)</li>
      * </ul>
      *
      * <p><strong>Flow:</strong></p>
      * <pre>
-     * 1. Admin POST /api/v1/web/system/translation/cache/clear (or other cache action)
-     * 2. Backend publishes Redis message: "refresh-{timestamp}"
-     * 3. All 10 pods receive message (MessageListener)
-     * 4. Each pod clears L1 cache (JVM Caffeine)
-     * 5. Leader pod loads from DB → Redis (L2)
-     * 6. Other 9 pods load from Redis → L1
-     * 7. All pods synchronized ✅
+     * 1. Admin edits menu / translation / role permissions
+     * 2. TwoLevelCache evict → L1 + L2 on the writing pod
+     * 3. Publishes {"cache":"menu","keys":["{userId}:uz-UZ",...],"origin":"pod-3-..."}
+     * 4. Other pods drop only those keys from L1 (own messages ignored)
+     * 5. Next request on any pod: L1 miss → L2 / single loader
      * </pre>
      *
      * <p><strong>@Primary Annotation:</strong></p>
      * <ul>
      *   <li>Primary bean for distributed cache management</li>
      *   <li>Resolves conflict with legacy translationCacheListenerContainer</li>
-     *   <li>Used by CacheInvalidationListener for enterprise cache</li>
+     *   <li>Used by service CacheInvalidationListener (keyed L1 invalidation)</li>
      * </ul>
      */
     @Bean
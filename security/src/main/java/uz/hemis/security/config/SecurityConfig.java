@@ -1,6 +1,8 @@
 package uz.hemis.security.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +35,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import uz.hemis.security.crypto.PasswordHashingExecutor;
 import uz.hemis.security.filter.CookieJwtAuthenticationFilter;
 import uz.hemis.security.service.TokenBlacklistService;
 import uz.hemis.security.service.UserPermissionCacheService;
@@ -40,6 +43,7 @@ import uz.hemis.security.service.UserPermissionCacheService;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -89,6 +93,23 @@ public class SecurityConfig {
     @Value("${hemis.security.jwt.secret}")
     private String jwtSecret;
 
+    // Verified JWT cache (CachingJwtDecoder)
+    @Value("${hemis.security.jwt.decode-cache.max-size:10000}")
+    private long jwtDecodeCacheMaxSize;
+
+    @Value("${hemis.security.jwt.decode-cache.max-ttl-seconds:300}")
+    private long jwtDecodeCacheMaxTtlSeconds;
+
+    // Bounded password hashing pool (PasswordHashingExecutor), threads 0 = half the cores
+    @Value("${hemis.security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${hemis.security.password-hashing.queue-capacity:100}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${hemis.security.password-hashing.max-wait-ms:5000}")
+    private long passwordHashingMaxWaitMs;
+
     // ✅ SECURITY FIX #7: CORS allowed origins from environment
     @Value("${CORS_ALLOWED_ORIGINS:http://localhost:5173,http://localhost:3000,http://localhost:9000}")
     private String corsAllowedOrigins;
@@ -239,10 +260,21 @@ public class SecurityConfig {
      *   <li>Secret Key: hemis.security.jwt.secret (development/simple mode)</li>
      * </ul>
      *
+     * <p>Wrapped in {@link CachingJwtDecoder}: a token verified once is served from memory
+     * until its exp (max hemis.security.jwt.decode-cache.max-ttl-seconds).</p>
+     *
      * @return JwtDecoder
      */
     @Bean
     public JwtDecoder jwtDecoder() {
+        return new CachingJwtDecoder(verifyingJwtDecoder(), jwtDecodeCacheMaxSize,
+                java.time.Duration.ofSeconds(jwtDecodeCacheMaxTtlSeconds));
+    }
+
+    /**
+     * Signature-verifying decoder (JWK Set URI, issuer URI or secret key)
+     */
+    private JwtDecoder verifyingJwtDecoder() {
         if (jwkSetUri != null && !jwkSetUri.isEmpty()) {
             // Use JWK Set URI for token validation
             return NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
@@ -454,11 +486,28 @@ public class SecurityConfig {
      *   <li>CUBA Platform format: hash:salt:iteration (old system - sec_user table)</li>
      * </ul>
      *
+     * <p>Hashes run on the bounded {@link PasswordHashingExecutor} pool, not on request threads.</p>
+     *
      * @see uz.hemis.security.crypto.LegacyPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new uz.hemis.security.crypto.LegacyPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new uz.hemis.security.crypto.LegacyPasswordEncoder(passwordHashingExecutor);
+    }
+
+    /**
+     * Password Hashing Pool
+     *
+     * <p>Caps CPU spent on BCrypt/PBKDF2 during login bursts; overflow is rejected
+     * with {@link uz.hemis.security.crypto.PasswordHashingBusyException} (503).</p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(ObjectProvider<MeterRegistry> meterRegistry) {
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PasswordHashingExecutor(threads, passwordHashingQueueCapacity,
+                Duration.ofMillis(passwordHashingMaxWaitMs), meterRegistry.getIfAvailable());
     }
 
     /**
@@ -518,7 +567,12 @@ public class SecurityConfig {
     public CookieJwtAuthenticationFilter cookieJwtAuthenticationFilter(
             TokenBlacklistService tokenBlacklistService
     ) {
-        return new CookieJwtAuthenticationFilter(jwtDecoder(), tokenBlacklistService);
+        JwtDecoder decoder = jwtDecoder();
+        if (decoder instanceof CachingJwtDecoder cachingDecoder) {
+            // Revoked tokens leave the verified JWT cache on every pod
+            tokenBlacklistService.addRevocationListener(cachingDecoder::invalidateTokenId);
+        }
+        return new CookieJwtAuthenticationFilter(decoder, tokenBlacklistService);
     }
 
     /**
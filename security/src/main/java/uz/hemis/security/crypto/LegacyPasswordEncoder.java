@@ -9,6 +9,7 @@ import javax.crypto.spec.PBEKeySpec;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
+import java.util.function.Supplier;
 
 /**
  * Legacy Password Encoder - Supports both CUBA Platform and BCrypt formats
@@ -25,6 +26,9 @@ import java.util.Base64;
  *   <li>Format: $2a$10$... (standard BCrypt)</li>
  *   <li>Used in new system (users table)</li>
  * </ul>
+ *
+ * <p><strong>Threading:</strong> with a {@link PasswordHashingExecutor} every hash runs on
+ * the bounded hashing pool instead of the calling request thread.</p>
  */
 @Slf4j
 public class LegacyPasswordEncoder implements PasswordEncoder {
@@ -33,10 +37,35 @@ public class LegacyPasswordEncoder implements PasswordEncoder {
     private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA1";
     private static final int KEY_LENGTH = 160; // 160 bits = 20 bytes
 
+    // SecretKeyFactory is not thread-safe; getInstance walks the provider list on every call
+    private static final ThreadLocal<SecretKeyFactory> PBKDF2_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(PBKDF2_ALGORITHM + " not available", e);
+        }
+    });
+
+    private final PasswordHashingExecutor hashingExecutor;
+
+    /**
+     * Inline hashing on the calling thread
+     */
+    public LegacyPasswordEncoder() {
+        this(null);
+    }
+
+    /**
+     * @param hashingExecutor Bounded hashing pool (null = inline)
+     */
+    public LegacyPasswordEncoder(PasswordHashingExecutor hashingExecutor) {
+        this.hashingExecutor = hashingExecutor;
+    }
+
     @Override
     public String encode(CharSequence rawPassword) {
         // Always encode new passwords with BCrypt
-        return bcryptEncoder.encode(rawPassword);
+        return hash("bcrypt", () -> bcryptEncoder.encode(rawPassword));
     }
 
     @Override
@@ -51,12 +80,16 @@ public class LegacyPasswordEncoder implements PasswordEncoder {
             encodedPassword.startsWith("$2b$") ||
             encodedPassword.startsWith("$2y$")) {
             log.debug("Using BCrypt encoder for password verification");
-            return bcryptEncoder.matches(rawPassword, encodedPassword);
+            return hash("bcrypt", () -> bcryptEncoder.matches(rawPassword, encodedPassword));
         }
 
         // Otherwise, assume CUBA Platform format (hash:salt:iteration)
         log.debug("Using CUBA Platform encoder for password verification");
-        return matchesCubaFormat(rawPassword, encodedPassword);
+        return hash("pbkdf2", () -> matchesCubaFormat(rawPassword, encodedPassword));
+    }
+
+    private <T> T hash(String algorithm, Supplier<T> task) {
+        return hashingExecutor != null ? hashingExecutor.execute(algorithm, task) : task.get();
     }
 
     /**
@@ -105,7 +138,7 @@ public class LegacyPasswordEncoder implements PasswordEncoder {
      * @return hashed password bytes
      */
     private byte[] hashPassword(String password, byte[] salt, int iterations)
-            throws NoSuchAlgorithmException, InvalidKeySpecException {
+            throws InvalidKeySpecException {
 
         PBEKeySpec spec = new PBEKeySpec(
                 password.toCharArray(),
@@ -114,8 +147,11 @@ public class LegacyPasswordEncoder implements PasswordEncoder {
                 KEY_LENGTH
         );
 
-        SecretKeyFactory factory = SecretKeyFactory.getInstance(PBKDF2_ALGORITHM);
-        return factory.generateSecret(spec).getEncoded();
+        try {
+            return PBKDF2_FACTORY.get().generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
     }
 
     @Override
@@ -0,0 +1,27 @@
+package uz.hemis.security.crypto;
+
+/**
+ * Password hashing pool saturated - request should be answered with 503
+ *
+ * <p>Thrown by {@link PasswordHashingExecutor} when the queue is full or the
+ * hash did not start within the configured wait. Not an AuthenticationException:
+ * the credentials were never checked, so it must not be reported as 401.</p>
+ *
+ * @since 2.0.0
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Suggested Retry-After value (seconds)
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,178 @@
+package uz.hemis.security.crypto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for password hashing (BCrypt, CUBA PBKDF2)
+ *
+ * <p>Hashing is deliberately CPU-expensive. Run inline on Tomcat threads, a login
+ * burst (exam registration morning, 200+ legacy clients re-authenticating) takes
+ * every core and starves all other endpoints. Here it is capped at a fixed number
+ * of threads; callers wait for their hash, everything else keeps its CPU.</p>
+ *
+ * <p><strong>Overload:</strong></p>
+ * <ul>
+ *   <li>Queue full → {@link PasswordHashingBusyException} immediately (503, no hashing)</li>
+ *   <li>Hash not started within {@code maxWait} → task cancelled, same exception</li>
+ * </ul>
+ *
+ * <p><strong>Metrics (when a MeterRegistry is available):</strong></p>
+ * <ul>
+ *   <li>{@code hemis.password.hash.queue.wait} - time from submit to start</li>
+ *   <li>{@code hemis.password.hash.duration} - hash time, tag {@code algorithm}</li>
+ *   <li>{@code hemis.password.hash.rejected} - fast rejections, tag {@code reason}</li>
+ *   <li>{@code hemis.password.hash.queue.size} - queued hashes</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+
+    private final Timer queueWait;
+    private final Map<String, Timer> hashTimers = new ConcurrentHashMap<>();
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param threads       Hashing threads (CPU cores reserved for hashing)
+     * @param queueCapacity Hashes allowed to wait for a thread
+     * @param maxWait       Maximum time a caller waits for its hash to start and finish
+     * @param meterRegistry Metrics registry (nullable)
+     */
+    public PasswordHashingExecutor(int threads, int queueCapacity, Duration maxWait, MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+
+        if (meterRegistry != null) {
+            this.queueWait = Timer.builder("hemis.password.hash.queue.wait")
+                    .description("Time a password hash waits for a hashing thread")
+                    .register(meterRegistry);
+            this.rejectedQueueFull = rejectedCounter(meterRegistry, "queue_full");
+            this.rejectedTimeout = rejectedCounter(meterRegistry, "timeout");
+            Gauge.builder("hemis.password.hash.queue.size", executor, e -> e.getQueue().size())
+                    .description("Password hashes waiting for a thread")
+                    .register(meterRegistry);
+        } else {
+            this.queueWait = null;
+            this.rejectedQueueFull = null;
+            this.rejectedTimeout = null;
+        }
+
+        log.info("✅ PasswordHashingExecutor initialized - threads: {}, queue: {}, max wait: {}",
+                threads, queueCapacity, maxWait);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("hemis.password.hash.rejected")
+                .description("Password hashes rejected without running (503)")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Run a hash on the pool and wait for its result
+     *
+     * @param algorithm Metric tag (bcrypt, pbkdf2)
+     * @param task      Hash computation
+     * @return Task result
+     * @throws PasswordHashingBusyException if the pool is saturated
+     */
+    public <T> T execute(String algorithm, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueWait, startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    record(hashTimer(algorithm), System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            increment(rejectedQueueFull);
+            log.warn("🚨 Password hashing queue full ({} queued) - rejecting", executor.getQueue().size());
+            throw new PasswordHashingBusyException("Password hashing queue full", 1);
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            increment(rejectedTimeout);
+            log.warn("🚨 Password hash not completed within {} - rejecting", maxWait);
+            throw new PasswordHashingBusyException("Password hashing timed out", Math.max(1, maxWait.toSeconds()));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hash", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Timer hashTimer(String algorithm) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return hashTimers.computeIfAbsent(algorithm, a -> Timer.builder("hemis.password.hash.duration")
+                .description("Password hash computation time")
+                .tag("algorithm", a)
+                .register(meterRegistry));
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Stop hashing threads (bean destroy)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -49,9 +49,8 @@ import java.io.IOException;
  *
  * <p><strong>Performance:</strong></p>
  * <ul>
- *   <li>JWT decode: ~1ms</li>
- *   <li>Redis blacklist check: ~1ms</li>
- *   <li>Total overhead: ~2-3ms per authenticated request</li>
+ *   <li>JWT decode: verified once, then served by CachingJwtDecoder (digest lookup)</li>
+ *   <li>Blacklist check: local Bloom filter, Redis only on a probable hit</li>
  * </ul>
  *
  * @author HEMIS Development Team
@@ -7,7 +7,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Hybrid UserDetailsService - Supports Both Old and New Authentication Systems
@@ -54,6 +53,8 @@ import org.springframework.transaction.annotation.Transactional;
  *   <li>NEW system checked first (most users already migrated)</li>
  *   <li>OLD system fallback only for unmigrated users (~1%)</li>
  *   <li>Average overhead: < 5ms for unmigrated users</li>
+ *   <li>Found users cached for 60s ({@link UserDetailsCacheService}) - repeated password
+ *       grants and refreshes skip both lookups</li>
  * </ul>
  *
  * <p><strong>Future Decommissioning:</strong></p>
@@ -77,6 +78,7 @@ public class HybridUserDetailsService implements UserDetailsService {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final SecUserDetailsService secUserDetailsService;
+    private final UserDetailsCacheService userDetailsCache;
 
     /**
      * Load user by username - Hybrid approach (new + old systems)
@@ -137,13 +139,20 @@ public class HybridUserDetailsService implements UserDetailsService {
      * → Result: FAIL (UsernameNotFoundException)
      * </pre>
      *
+     * <p><strong>Caching:</strong> found users are served from {@link UserDetailsCacheService}
+     * (no transaction, no query on a hit); each delegate runs its own read-only transaction
+     * on a miss.</p>
+     *
      * @param username login username
      * @return UserDetails from either new or old system
      * @throws UsernameNotFoundException if user not found in both systems
      */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
         log.info("🔐 HYBRID AUTH: Attempting to load user: {}", username);
 
         // ========================================
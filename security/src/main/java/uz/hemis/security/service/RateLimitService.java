@@ -1,11 +1,16 @@
 package uz.hemis.security.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import uz.hemis.security.config.RateLimitProperties;
+import uz.hemis.security.config.RateLimitProperties.Policy;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,17 +26,27 @@ import java.util.concurrent.TimeUnit;
  *   <li>Automatic reset after time window</li>
  * </ul>
  *
- * <p><strong>Algorithm: Sliding Window Counter</strong></p>
+ * <p><strong>Algorithm: Token Bucket (Redis Lua, one round trip)</strong></p>
  * <pre>
- * How it works:
+ * How it works (policy "login": burst 5, refill 5 per 15 minutes):
  * 1. User attempts login from IP: 192.168.1.1
- * 2. Increment counter: login:192.168.1.1 = 1
- * 3. Set TTL: 15 minutes
- * 4. Each attempt increments counter
- * 5. If counter > 5 → reject (429 Too Many Requests)
- * 6. After 15 minutes → counter expires, user can try again
+ * 2. EVALSHA on ratelimit:bucket:login:192.168.1.1 (HASH tokens, ts)
+ *    → refill by elapsed time, take one token, PEXPIRE - atomically
+ * 3. Bucket empty → reject (429 Too Many Requests), retry-after = time to next token
+ * 4. Successful login → bucket deleted
  * </pre>
  *
+ * <p><strong>Local pre-limiter:</strong></p>
+ * <ul>
+ *   <li>Per-pod bucket per key with the same capacity/rate - a pod never sees more
+ *       traffic than the cluster, so a local rejection is always a global rejection</li>
+ *   <li>Redis rejection blocks the key locally until the retry-after elapses</li>
+ *   <li>Floods are rejected in memory, without a Redis call</li>
+ * </ul>
+ *
+ * <p><strong>Policies:</strong> {@link RateLimitProperties} (login, passport lookups,
+ * legacy {@code /app/rest/v2/services/*} per university, ...)</p>
+ *
  * <p><strong>Industry Standards:</strong></p>
  * <ul>
  *   <li>OWASP: 5 attempts / 15 minutes</li>
@@ -44,89 +59,153 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li>Google: Uses distributed counters (similar to Redis)</li>
  *   <li>Cloudflare: Rate limiting at edge (similar approach)</li>
- *   <li>GitHub: Token bucket algorithm (more complex)</li>
- *   <li>Stripe: Sliding window (what we use)</li>
+ *   <li>GitHub: Token bucket algorithm (what we use)</li>
+ *   <li>Stripe: Sliding window</li>
  * </ul>
  *
  * @since 2.0.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String BUCKET_PREFIX = "ratelimit:bucket:";
+
+    /**
+     * Token bucket: refill by elapsed time (Redis clock), take one token, set TTL
+     *
+     * <p>KEYS[1] = bucket, ARGV = capacity, tokens per ms.
+     * Returns {allowed (0/1), remaining tokens, retry-after ms}.</p>
+     */
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = RedisScript.of(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local rate = tonumber(ARGV[2]) "
+                    + "local time = redis.call('TIME') "
+                    + "local now = time[1] * 1000 + math.floor(time[2] / 1000) "
+                    + "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(state[1]) or capacity "
+                    + "local ts = tonumber(state[2]) or now "
+                    + "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) "
+                    + "local allowed = 0 "
+                    + "local retry = 0 "
+                    + "if tokens >= 1 then tokens = tokens - 1 allowed = 1 "
+                    + "else retry = math.ceil((1 - tokens) / rate) end "
+                    + "redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', now) "
+                    + "redis.call('PEXPIRE', KEYS[1], math.max(1, math.ceil((capacity - tokens) / rate))) "
+                    + "return {allowed, math.floor(tokens), retry}",
+            List.class);
 
-    private static final String RATE_LIMIT_PREFIX = "ratelimit:login:";
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final RateLimitProperties properties;
 
-    // ✅ OWASP Recommendation: 5 attempts / 15 minutes
-    private static final int MAX_ATTEMPTS = 5;
-    private static final long WINDOW_DURATION_MINUTES = 15;
+    // policy:key → per-pod bucket (pre-limiter)
+    private final Cache<String, LocalBucket> localBuckets;
 
     /**
-     * Check if request is allowed (rate limit not exceeded)
+     * Rate limit check result
+     *
+     * @param allowed           Request may proceed
+     * @param remaining         Tokens left after this request
+     * @param retryAfterSeconds Seconds until the next token (0 if allowed)
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+
+        static Decision allow(long remaining) {
+            return new Decision(true, remaining, 0);
+        }
+
+        static Decision reject(long retryAfterMillis) {
+            return new Decision(false, 0, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999)));
+        }
+    }
+
+    public RateLimitService(RedisTemplate<String, String> redisMessageTemplate,
+                            RateLimitProperties properties) {
+        this.redisMessageTemplate = redisMessageTemplate;
+        this.properties = properties;
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxKeys())
+                .expireAfterAccess(Duration.ofMinutes(15))
+                .build();
+    }
+
+    /**
+     * Take one token from the policy bucket of the identifier
      *
      * <p><strong>Performance:</strong></p>
      * <ul>
-     *   <li>Redis INCR: O(1) complexity</li>
-     *   <li>Average latency: ~1ms</li>
-     *   <li>Called before authentication (fast path)</li>
+     *   <li>Local pre-limiter: in-memory, rejects floods without Redis</li>
+     *   <li>Redis: one EVALSHA (refill + take + TTL atomically), ~1ms</li>
      * </ul>
      *
-     * <p><strong>SECURITY FIX #4a: Fail Closed</strong></p>
+     * <p><strong>Redis unavailable:</strong></p>
      * <ul>
-     *   <li>Previous behavior: Fail open (allow requests when Redis down)</li>
-     *   <li>New behavior: Fail closed (reject requests when Redis unavailable)</li>
-     *   <li>Rationale: Security > Availability for authentication</li>
-     *   <li>Alternative: If Redis is critical infra, use Redis Sentinel/Cluster</li>
+     *   <li>failOpen=false (login): reject - Security &gt; Availability for authentication</li>
+     *   <li>failOpen=true (throughput policies): per-pod pre-limiter decision</li>
      * </ul>
      *
-     * @param identifier Unique identifier (IP address, username, etc.)
-     * @return true if allowed, false if rate limit exceeded or Redis unavailable
+     * @param policyName Policy name (see {@link RateLimitProperties})
+     * @param identifier Key value (IP address, client, university code, ...)
+     * @return Decision (rejected for null identifier or unknown policy)
      */
-    public boolean isAllowed(String identifier) {
-        if (identifier == null || identifier.isEmpty()) {
-            log.error("🚨 Rate limit check with null identifier - REJECTED (fail closed)");
-            return false; // ✅ FIX: Fail closed (reject if no identifier)
+    public Decision tryAcquire(String policyName, String identifier) {
+        Policy policy = properties.getPolicy(policyName);
+        if (policy == null || identifier == null || identifier.isEmpty()) {
+            log.error("🚨 Rate limit check with unknown policy '{}' or null identifier - REJECTED (fail closed)",
+                policyName);
+            return Decision.reject(0);
         }
 
-        String key = RATE_LIMIT_PREFIX + identifier;
-
-        try {
-            // Increment counter atomically
-            Long currentAttempts = redisTemplate.opsForValue().increment(key);
+        String key = policyName + ":" + identifier;
+        LocalBucket local = localBuckets.get(key, k -> new LocalBucket(policy.capacity()));
+        long now = System.currentTimeMillis();
 
-            if (currentAttempts == null) {
-                log.error("🚨 Redis increment returned null for key: {} - REJECTED (fail closed)", key);
-                return false; // ✅ FIX: Fail closed if Redis error
-            }
+        long localRetry = local.tryTake(policy.capacity(), policy.refillPerMilli(), now);
+        if (localRetry > 0) {
+            log.debug("Rate limit exceeded (local): {}", key);
+            return Decision.reject(localRetry);
+        }
 
-            // First attempt → set TTL
-            if (currentAttempts == 1) {
-                redisTemplate.expire(key, WINDOW_DURATION_MINUTES, TimeUnit.MINUTES);
-                log.debug("First attempt from {}, TTL set to {} minutes", identifier, WINDOW_DURATION_MINUTES);
+        try {
+            List<?> result = redisMessageTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(BUCKET_PREFIX + key),
+                String.valueOf(policy.capacity()), String.valueOf(policy.refillPerMilli()));
+            if (result == null || result.size() < 3) {
+                throw new IllegalStateException("Token bucket script returned no result");
             }
 
-            // Check if limit exceeded
-            if (currentAttempts > MAX_ATTEMPTS) {
-                log.warn("🚨 Rate limit exceeded: {} ({} attempts in {} min window)",
-                    identifier, currentAttempts, WINDOW_DURATION_MINUTES);
-                return false;
+            if (((Number) result.get(0)).longValue() == 1) {
+                log.debug("✅ Rate limit OK: {} ({} left)", key, result.get(1));
+                return Decision.allow(((Number) result.get(1)).longValue());
             }
 
-            log.debug("✅ Rate limit OK: {} ({}/{} attempts)",
-                identifier, currentAttempts, MAX_ATTEMPTS);
-            return true;
+            // Cluster bucket empty: give the local token back, block key locally until refill
+            long retryAfterMillis = ((Number) result.get(2)).longValue();
+            local.block(now + retryAfterMillis);
+            log.warn("🚨 Rate limit exceeded: {} (retry in {} ms)", key, retryAfterMillis);
+            return Decision.reject(retryAfterMillis);
 
         } catch (Exception e) {
-            log.error("🚨 Rate limit check FAILED for {}: {} - REJECTED (fail closed)",
-                identifier, e.getMessage());
-            return false; // ✅ FIX: Fail closed (reject request if Redis unavailable)
+            if (policy.isFailOpen()) {
+                log.warn("⚠️ Rate limit Redis check failed for {}: {} - local limit only", key, e.getMessage());
+                return Decision.allow(0);
+            }
+            log.error("🚨 Rate limit check FAILED for {}: {} - REJECTED (fail closed)", key, e.getMessage());
+            return Decision.reject(0);
         }
     }
 
     /**
-     * Get remaining attempts for identifier
+     * Check if login attempt is allowed (login policy)
+     *
+     * @param identifier Unique identifier (IP address, username, etc.)
+     * @return true if allowed, false if rate limit exceeded or Redis unavailable
+     */
+    public boolean isAllowed(String identifier) {
+        return tryAcquire(RateLimitProperties.LOGIN, identifier).allowed();
+    }
+
+    /**
+     * Get remaining login attempts for identifier
      *
      * <p><strong>Use Case:</strong></p>
      * <ul>
@@ -136,33 +215,30 @@ public class RateLimitService {
      * </ul>
      *
      * @param identifier Unique identifier
-     * @return Number of remaining attempts (0 if limit exceeded)
+     * @return Number of remaining attempts (tokens at last attempt, without refill since)
      */
     public int getRemainingAttempts(String identifier) {
+        int maxAttempts = properties.getPolicy(RateLimitProperties.LOGIN).capacity();
         if (identifier == null || identifier.isEmpty()) {
-            return MAX_ATTEMPTS;
+            return maxAttempts;
         }
 
-        String key = RATE_LIMIT_PREFIX + identifier;
-
         try {
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) {
-                return MAX_ATTEMPTS; // No attempts yet
+            Object tokens = redisMessageTemplate.opsForHash()
+                .get(BUCKET_PREFIX + RateLimitProperties.LOGIN + ":" + identifier, "tokens");
+            if (tokens == null) {
+                return maxAttempts; // No attempts yet
             }
-
-            int currentAttempts = Integer.parseInt(value.toString());
-            int remaining = MAX_ATTEMPTS - currentAttempts;
-            return Math.max(0, remaining);
+            return (int) Math.max(0, Math.floor(Double.parseDouble(tokens.toString())));
 
         } catch (Exception e) {
             log.error("Failed to get remaining attempts for {}: {}", identifier, e.getMessage());
-            return MAX_ATTEMPTS; // Fail open
+            return maxAttempts; // Fail open
         }
     }
 
     /**
-     * Reset rate limit counter for identifier
+     * Reset login rate limit for identifier
      *
      * <p><strong>Use Case:</strong></p>
      * <ul>
@@ -178,33 +254,33 @@ public class RateLimitService {
             return;
         }
 
-        String key = RATE_LIMIT_PREFIX + identifier;
-        redisTemplate.delete(key);
+        String key = RateLimitProperties.LOGIN + ":" + identifier;
+        localBuckets.invalidate(key);
+        redisMessageTemplate.delete(BUCKET_PREFIX + key);
 
         log.info("Rate limit reset for: {}", identifier);
     }
 
     /**
-     * Get time until rate limit expires (in seconds)
+     * Get time until the login bucket is full again (in seconds)
      *
      * <p><strong>Use Case:</strong></p>
      * <ul>
      *   <li>Display to user: "Try again in 10 minutes"</li>
-     *   <li>Frontend can show countdown timer</li>
+     *   <li>Rejections carry the time to the next attempt in {@link Decision#retryAfterSeconds()}</li>
      * </ul>
      *
      * @param identifier Unique identifier
-     * @return Seconds until limit expires (0 if not rate limited)
+     * @return Seconds until the bucket is refilled (0 if untouched)
      */
     public long getSecondsUntilReset(String identifier) {
         if (identifier == null || identifier.isEmpty()) {
             return 0;
         }
 
-        String key = RATE_LIMIT_PREFIX + identifier;
-
         try {
-            Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+            Long ttl = redisMessageTemplate.getExpire(
+                BUCKET_PREFIX + RateLimitProperties.LOGIN + ":" + identifier, TimeUnit.SECONDS);
             return (ttl != null && ttl > 0) ? ttl : 0;
         } catch (Exception e) {
             log.error("Failed to get TTL for {}: {}", identifier, e.getMessage());
@@ -213,12 +289,55 @@ public class RateLimitService {
     }
 
     /**
-     * Get current configuration (for monitoring/admin)
+     * Get current login configuration (for monitoring/admin)
      *
      * @return String description of rate limit config
      */
     public String getConfiguration() {
-        return String.format("Rate Limit: %d attempts per %d minutes (OWASP standard)",
-            MAX_ATTEMPTS, WINDOW_DURATION_MINUTES);
+        Policy login = properties.getPolicy(RateLimitProperties.LOGIN);
+        return String.format("Rate Limit: %d attempts per %d minutes (token bucket, %d policies)",
+            login.getLimit(), login.getWindow().toMinutes(), properties.getPolicies().size());
+    }
+
+    /**
+     * Per-pod token bucket (pre-limiter)
+     *
+     * <p>Consumes at most what the cluster bucket consumes for this pod's requests,
+     * so it only rejects what Redis would reject anyway.</p>
+     */
+    static final class LocalBucket {
+
+        private double tokens;
+        private long updatedAt;
+        private long blockedUntil;
+
+        LocalBucket(int capacity) {
+            this.tokens = capacity;
+            this.updatedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise milliseconds until the next one
+         */
+        synchronized long tryTake(int capacity, double refillPerMilli, long now) {
+            if (now < blockedUntil) {
+                return blockedUntil - now;
+            }
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * refillPerMilli);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerMilli));
+        }
+
+        /**
+         * Cluster rejected: return the token taken locally and reject until the given time
+         */
+        synchronized void block(long until) {
+            tokens += 1;
+            blockedUntil = until;
+        }
     }
 }
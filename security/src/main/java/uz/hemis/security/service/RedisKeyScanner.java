@@ -0,0 +1,89 @@
+package uz.hemis.security.service;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking key iteration for bulk Redis operations
+ *
+ * <p>{@code KEYS pattern} walks the whole keyspace in one command and blocks the
+ * Redis instance shared by the L2 cache, rate limiting, captcha and the token
+ * blacklist - one admin "clear cache" is a latency spike on every pod. All bulk
+ * key operations go through SCAN here instead.</p>
+ *
+ * <p><strong>Semantics:</strong></p>
+ * <ul>
+ *   <li>Cursor-based SCAN, {@value #BATCH_SIZE} keys per call and per batch</li>
+ *   <li>Deletion with UNLINK (memory reclaimed in a background thread)</li>
+ *   <li>Keys written during the scan may or may not be visited; a key may be
+ *       visited twice - counts are approximate, deletes are idempotent</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+public final class RedisKeyScanner {
+
+    /**
+     * SCAN COUNT hint and batch size handed to consumers
+     */
+    public static final int BATCH_SIZE = 1_000;
+
+    private RedisKeyScanner() {
+    }
+
+    /**
+     * Visit all keys matching a pattern in batches
+     *
+     * @param redisTemplate Template to scan with (key serializer must be String)
+     * @param pattern       Glob-style pattern, e.g. {@code "user:permissions:*"}
+     * @param batchConsumer Receives batches of at most {@value #BATCH_SIZE} keys (list is reused)
+     * @return Number of keys visited
+     */
+    public static long forEachBatch(RedisTemplate<String, ?> redisTemplate, String pattern,
+                                    Consumer<List<String>> batchConsumer) {
+        long visited = 0;
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BATCH_SIZE) {
+                    visited += batch.size();
+                    batchConsumer.accept(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            visited += batch.size();
+            batchConsumer.accept(batch);
+        }
+        return visited;
+    }
+
+    /**
+     * Count keys matching a pattern (approximate, see class doc)
+     */
+    public static long count(RedisTemplate<String, ?> redisTemplate, String pattern) {
+        return forEachBatch(redisTemplate, pattern, batch -> { });
+    }
+
+    /**
+     * UNLINK all keys matching a pattern, one command per batch
+     *
+     * @return Number of keys removed
+     */
+    public static long unlink(RedisTemplate<String, ?> redisTemplate, String pattern) {
+        long[] removed = {0};
+        forEachBatch(redisTemplate, pattern, batch -> {
+            Long unlinked = redisTemplate.unlink(batch);
+            removed[0] += unlinked != null ? unlinked : 0;
+        });
+        return removed[0];
+    }
+}
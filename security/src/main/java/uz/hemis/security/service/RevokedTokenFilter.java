@@ -0,0 +1,155 @@
+package uz.hemis.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-partitioned Bloom filter of revoked JWT IDs
+ *
+ * <p>Local front of {@link TokenBlacklistService}: "definitely not revoked" answers
+ * come from memory, only probable hits go to Redis.</p>
+ *
+ * <p><strong>Partitioning:</strong></p>
+ * <ul>
+ *   <li>Revoked JTIs are added to the partition of their token expiry
+ *       (one partition per {@code partitionDuration})</li>
+ *   <li>Partitions whose tokens have all expired are dropped - the filter stays
+ *       small and its false positive rate does not grow over time</li>
+ *   <li>Lookups check every live partition (only partitions with revocations exist)</li>
+ * </ul>
+ *
+ * <p>Never returns a false negative for a JTI that was {@link #put}; false positive
+ * rate per partition ≈ {@code falsePositiveRate} while it holds up to
+ * {@code expectedPerPartition} entries.</p>
+ *
+ * @since 2.0.0
+ */
+public class RevokedTokenFilter {
+
+    private final long partitionSeconds;
+    private final int bitCount;
+    private final int hashCount;
+
+    // expiry bucket → partition
+    private final ConcurrentNavigableMap<Long, Partition> partitions = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param partitionDuration    Expiry window per partition (e.g. 1h)
+     * @param expectedPerPartition Expected revocations per partition
+     * @param falsePositiveRate    Target false positive rate per partition (e.g. 0.001)
+     */
+    public RevokedTokenFilter(Duration partitionDuration, int expectedPerPartition, double falsePositiveRate) {
+        this.partitionSeconds = Math.max(1, partitionDuration.getSeconds());
+        double bits = -expectedPerPartition * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.max(64, Math.ceil(bits / 64) * 64);
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedPerPartition * Math.log(2)));
+    }
+
+    /**
+     * Add revoked JTI (token expiry decides the partition)
+     */
+    public void put(String jti, Instant expiresAt) {
+        long bucket = Math.floorDiv(expiresAt.getEpochSecond(), partitionSeconds);
+        long[] hashes = hashes(jti);
+        partitions.computeIfAbsent(bucket, b -> new Partition(bitCount)).put(hashes[0], hashes[1], hashCount);
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Whether JTI may be revoked (false = definitely not revoked)
+     */
+    public boolean mightContain(String jti) {
+        if (partitions.isEmpty()) {
+            return false;
+        }
+        long[] hashes = hashes(jti);
+        for (Partition partition : partitions.values()) {
+            if (partition.mightContain(hashes[0], hashes[1], hashCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop partitions whose tokens have all expired
+     *
+     * @return Number of dropped partitions
+     */
+    public int expire(Instant now) {
+        long currentBucket = Math.floorDiv(now.getEpochSecond(), partitionSeconds);
+        Map<Long, Partition> expired = partitions.headMap(currentBucket);
+        int dropped = expired.size();
+        expired.clear();
+        return dropped;
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * Two 64-bit hashes (FNV-1a + murmur3 finalizer) for double hashing
+     */
+    private static long[] hashes(String jti) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : jti.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return new long[]{fmix64(hash), fmix64(hash ^ 0x9e3779b97f4a7c15L)};
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * One Bloom filter bit set (lock-free)
+     */
+    private static final class Partition {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+
+        Partition(int bitCount) {
+            this.words = new AtomicLongArray(bitCount / 64);
+            this.bitCount = bitCount;
+        }
+
+        void put(long h1, long h2, int hashCount) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << (bit & 63);
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(long h1, long h2, int hashCount) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package uz.hemis.security.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * JWT Token Blacklist Service
@@ -47,23 +61,157 @@ import java.util.concurrent.TimeUnit;
  *
  * <p><strong>Performance:</strong></p>
  * <ul>
- *   <li>Redis GET: ~1ms (distributed cache)</li>
- *   <li>Redis SET with TTL: ~1ms</li>
+ *   <li>Lookup: local {@link RevokedTokenFilter} (Bloom, ~100ns) - Redis only on a probable hit</li>
+ *   <li>Redis SET with TTL + PUBLISH on revocation: ~1ms</li>
  *   <li>No database overhead</li>
  *   <li>Scales horizontally</li>
  * </ul>
  *
+ * <p><strong>Local Filter Feed:</strong></p>
+ * <ul>
+ *   <li>Own revocations: added immediately</li>
+ *   <li>Other pods: {@value #REVOKED_CHANNEL} Pub/Sub ("{jti}:{expEpochSeconds}")</li>
+ *   <li>Startup bootstrap + resync every {@code hemis.security.token-blacklist.resync-interval-ms}
+ *       (default 5 min): SCAN token:blacklist:* with pipelined TTLs - heals missed messages</li>
+ *   <li>Until the first successful bootstrap every lookup goes to Redis (old behaviour)</li>
+ * </ul>
+ *
  * @since 2.0.0
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class TokenBlacklistService {
+public class TokenBlacklistService implements MessageListener {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
 
     private static final String BLACKLIST_PREFIX = "token:blacklist:";
 
+    // Revocations from all pods → local filters
+    public static final String REVOKED_CHANNEL = "token:revoked";
+
+    // Filter sizing: 1h expiry partitions, 0.1% false positives at 5,000 revocations/partition (~9KB each)
+    private static final Duration FILTER_PARTITION = Duration.ofHours(1);
+    private static final int FILTER_EXPECTED_PER_PARTITION = 5_000;
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenFilter revokedFilter =
+            new RevokedTokenFilter(FILTER_PARTITION, FILTER_EXPECTED_PER_PARTITION, FILTER_FALSE_POSITIVE_RATE);
+
+    // false until first successful bootstrap → all lookups hit Redis
+    private volatile boolean filterReady;
+
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong redisLookups = new AtomicLong();
+
+    // Notified with the JTI of every revocation (own + other pods), e.g. verified JWT cache
+    private final List<Consumer<String>> revocationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Register callback for revoked JTIs (local and from other pods)
+     */
+    public void addRevocationListener(Consumer<String> listener) {
+        revocationListeners.add(listener);
+    }
+
+    /**
+     * Subscribe to revocations, then bootstrap the filter from Redis
+     *
+     * <p>Subscribing first: revocations during the SCAN are not missed.</p>
+     */
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REVOKED_CHANNEL));
+        resyncFilter();
+    }
+
+    /**
+     * Apply revocation published by any pod ("{jti}:{expEpochSeconds}")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.lastIndexOf(':');
+        String jti;
+        try {
+            jti = payload.substring(0, separator);
+            revokedFilter.put(jti, Instant.ofEpochSecond(Long.parseLong(payload.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Invalid token revocation message: {}", payload);
+            return;
+        }
+        notifyRevoked(jti);
+    }
+
+    private void notifyRevoked(String jti) {
+        for (Consumer<String> listener : revocationListeners) {
+            try {
+                listener.accept(jti);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Revocation listener failed: jti={}, error={}", jti, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rebuild filter contents from Redis and drop expired partitions
+     *
+     * <p>Runs at startup and periodically; the Bloom filter is additive, so a resync
+     * only adds revocations that were missed (Pub/Sub disconnect, pod start).</p>
+     */
+    @Scheduled(fixedDelayString = "${hemis.security.token-blacklist.resync-interval-ms:300000}",
+            initialDelayString = "${hemis.security.token-blacklist.resync-interval-ms:300000}")
+    public void resyncFilter() {
+        try {
+            Instant now = Instant.now();
+            int[] loaded = {0};
+            RedisKeyScanner.forEachBatch(redisTemplate, BLACKLIST_PREFIX + "*",
+                    batch -> loaded[0] += loadBatch(batch, now));
+            int dropped = revokedFilter.expire(now);
+
+            if (!filterReady) {
+                log.info("✅ Revoked token filter ready: {} revoked tokens loaded", loaded[0]);
+            } else {
+                log.debug("🔄 Revoked token filter resynced: {} loaded, {} partitions dropped", loaded[0], dropped);
+            }
+            filterReady = true;
+        } catch (Exception e) {
+            log.warn("⚠️ Revoked token filter resync failed (lookups {}): {}",
+                    filterReady ? "keep using filter" : "go to Redis", e.getMessage());
+        }
+    }
+
+    /**
+     * Pipelined TTL for scanned keys → filter (expiry = now + TTL)
+     */
+    private int loadBatch(List<String> keys, Instant now) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().ttl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Object ttl = i < ttls.size() ? ttls.get(i) : null;
+            long ttlSeconds = ttl instanceof Number number ? number.longValue() : -2L;
+            if (ttlSeconds == -2L) {
+                continue;  // Expired between SCAN and TTL
+            }
+            // No TTL (-1) should not happen - keep it for the longest token lifetime
+            Instant expiresAt = ttlSeconds > 0 ? now.plusSeconds(ttlSeconds) : now.plus(Duration.ofDays(7));
+            revokedFilter.put(keys.get(i).substring(BLACKLIST_PREFIX.length()), expiresAt);
+            loaded++;
+        }
+        return loaded;
+    }
+
     /**
      * Add token to blacklist
      *
@@ -105,6 +253,15 @@ public class TokenBlacklistService {
         String key = BLACKLIST_PREFIX + jti;
         redisTemplate.opsForValue().set(key, "revoked", ttlSeconds, TimeUnit.SECONDS);
 
+        // Local filter + other pods' filters
+        revokedFilter.put(jti, expiryTime);
+        notifyRevoked(jti);
+        try {
+            redisMessageTemplate.convertAndSend(REVOKED_CHANNEL, jti + ":" + expiryTime.getEpochSecond());
+        } catch (Exception e) {
+            log.warn("⚠️ Token revocation not published (other pods pick it up on resync): {}", e.getMessage());
+        }
+
         log.info("✅ Token blacklisted: jti={}, TTL={}s", jti, ttlSeconds);
     }
 
@@ -113,8 +270,8 @@ public class TokenBlacklistService {
      *
      * <p><strong>Performance:</strong></p>
      * <ul>
-     *   <li>Redis GET: O(1) complexity</li>
-     *   <li>Average latency: ~1ms</li>
+     *   <li>Not revoked (almost every request): local Bloom filter, no network call</li>
+     *   <li>Probable hit (revoked or ~0.1% false positive): Redis EXISTS, ~1ms</li>
      *   <li>Called on every authenticated request</li>
      * </ul>
      *
@@ -126,6 +283,12 @@ public class TokenBlacklistService {
             return false;
         }
 
+        if (filterReady && !revokedFilter.mightContain(jti)) {
+            filterNegatives.incrementAndGet();
+            return false;
+        }
+
+        redisLookups.incrementAndGet();
         String key = BLACKLIST_PREFIX + jti;
         Boolean exists = redisTemplate.hasKey(key);
 
@@ -166,12 +329,25 @@ public class TokenBlacklistService {
      * <ul>
      *   <li>Only for emergency situations</li>
      *   <li>Logged-out users can login again with old tokens</li>
+     *   <li>SCAN + batched UNLINK - does not block Redis for other pods</li>
      * </ul>
      */
     public void clearAllBlacklist() {
-        redisTemplate.keys(BLACKLIST_PREFIX + "*")
-            .forEach(redisTemplate::delete);
+        long removed = RedisKeyScanner.unlink(redisTemplate, BLACKLIST_PREFIX + "*");
+
+        log.warn("⚠️ ALL blacklisted tokens cleared (admin operation): {} removed", removed);
+    }
 
-        log.warn("⚠️ ALL blacklisted tokens cleared (admin operation)");
+    /**
+     * Local filter statistics (for monitoring)
+     */
+    public Map<String, Object> getFilterStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", filterReady);
+        stats.put("partitions", revokedFilter.partitionCount());
+        stats.put("insertions", revokedFilter.insertions());
+        stats.put("filterNegatives", filterNegatives.get());
+        stats.put("redisLookups", redisLookups.get());
+        return stats;
     }
 }
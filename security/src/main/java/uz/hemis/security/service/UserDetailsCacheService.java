@@ -0,0 +1,184 @@
+package uz.hemis.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uz.hemis.domain.event.UserPermissionsChangedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * UserDetails Cache - per-pod, short TTL
+ *
+ * <p>Password grants, web login and token refresh all resolve the same user through
+ * {@link HybridUserDetailsService}: users table (roles + permissions join), then the
+ * sec_user fallback. Integrations authenticate and refresh aggressively, so the same
+ * handful of accounts is loaded from the DB many times a minute.</p>
+ *
+ * <p><strong>Cache:</strong></p>
+ * <ul>
+ *   <li>Key: username as given (lookups keep their own case rules), value: {@link User} snapshot</li>
+ *   <li>Bounded (10,000 users), TTL 60 seconds</li>
+ *   <li>Every caller gets its own copy - ProviderManager erases credentials
+ *       on the principal it returns, which must not reach the cached instance</li>
+ *   <li>Not found is not cached (no memory for username guessing)</li>
+ * </ul>
+ *
+ * <p><strong>Invalidation:</strong></p>
+ * <ul>
+ *   <li>{@link UserPermissionsChangedEvent} after commit: password change, enable/disable,
+ *       role or permission change → that username; ROLE_MODIFIED or no username → all</li>
+ *   <li>Redis Pub/Sub ({@value #USER_DETAILS_CHANGED_CHANNEL}) → the same eviction on every pod</li>
+ *   <li>sec_user rows are changed by old-hemis without events: TTL bounds staleness</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDetailsCacheService implements MessageListener {
+
+    /**
+     * UserDetails evictions from all pods ("{username}" or "*")
+     */
+    public static final String USER_DETAILS_CHANGED_CHANNEL = "user:details:changed";
+
+    private static final String ALL_USERS = "*";
+
+    private static final long CACHE_MAX_SIZE = 10_000;
+    private static final Duration CACHE_TTL = Duration.ofSeconds(60);
+
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * Cache key - a version bump (clear all) makes entries of in-flight loads unreachable
+     */
+    private record DetailsKey(String username, long version) {
+    }
+
+    private final Cache<DetailsKey, UserDetails> cache = Caffeine.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .expireAfterWrite(CACHE_TTL)
+            .recordStats()
+            .build();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Subscribe to UserDetails evictions of other pods
+     */
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(USER_DETAILS_CHANGED_CHANNEL));
+    }
+
+    /**
+     * Get UserDetails from cache or loader
+     *
+     * @param username Login username
+     * @param loader   DB lookup (may throw UsernameNotFoundException - not cached)
+     * @return Fresh copy of the cached UserDetails
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.get(key(username), k -> copy(loader.apply(username)));
+        return copy(cached);
+    }
+
+    /**
+     * Evict user on permission / status / password change (after commit)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserPermissionsChangedEvent event) {
+        if (event.getChangeType() == UserPermissionsChangedEvent.ChangeType.ROLE_MODIFIED
+                || event.getUsername() == null) {
+            evictAll();
+        } else {
+            evict(event.getUsername());
+        }
+    }
+
+    /**
+     * Evict one user on every pod
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        evictLocal(username);
+        publishEviction(username);
+        log.debug("UserDetails cache evicted: {}", username);
+    }
+
+    /**
+     * Evict all users on every pod
+     */
+    public void evictAll() {
+        evictAllLocal();
+        publishEviction(ALL_USERS);
+        log.info("🗑️ UserDetails cache cleared");
+    }
+
+    /**
+     * Apply eviction published by any pod
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (ALL_USERS.equals(payload)) {
+            evictAllLocal();
+        } else {
+            evictLocal(payload);
+        }
+    }
+
+    /**
+     * Local cache statistics (monitoring)
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private void evictLocal(String username) {
+        // Same account may be cached under several spellings (sec_user login is case-insensitive)
+        cache.asMap().keySet().removeIf(key -> key.username().equalsIgnoreCase(username));
+    }
+
+    private void evictAllLocal() {
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void publishEviction(String payload) {
+        try {
+            redisMessageTemplate.convertAndSend(USER_DETAILS_CHANGED_CHANNEL, payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish UserDetails eviction: {} - {} (other pods expire in {})",
+                    payload, e.getMessage(), CACHE_TTL);
+        }
+    }
+
+    private DetailsKey key(String username) {
+        return new DetailsKey(username, version.get());
+    }
+
+    private static UserDetails copy(UserDetails details) {
+        return User.withUserDetails(details).build();
+    }
+}
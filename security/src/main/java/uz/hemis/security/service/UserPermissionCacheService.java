@@ -1,15 +1,29 @@
 package uz.hemis.security.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uz.hemis.domain.event.UserPermissionsChangedEvent;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -64,20 +78,38 @@ import java.util.stream.Collectors;
  *   <li>Auto-reconnect when Redis comes back</li>
  * </ul>
  *
+ * <p><strong>L1 Authority Cache (per pod):</strong></p>
+ * <ul>
+ *   <li>{@link #getUserAuthorities} serves immutable, pre-built authority lists from memory,
+ *       keyed by userId + permissions version - no Redis GET / deserialization / allocation
+ *       per request</li>
+ *   <li>{@link UserPermissionsChangedEvent} (after commit) → {@link #evictUserCache} or,
+ *       for ROLE_MODIFIED, {@link #clearAllCaches}</li>
+ *   <li>Evictions are published on {@value #PERMISSIONS_CHANGED_CHANNEL} ("{userId}" or "*")
+ *       so every pod drops its L1 entry</li>
+ *   <li>Entries expire after 5 minutes - bounds staleness if a Pub/Sub message is missed</li>
+ * </ul>
+ *
  * @since 2.0.0
  */
 @Service
 @Slf4j
-public class UserPermissionCacheService {
+public class UserPermissionCacheService implements MessageListener {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
     private final uz.hemis.domain.repository.UserRepository userRepository;
 
     public UserPermissionCacheService(
         RedisTemplate<String, Object> redisTemplate,
+        RedisTemplate<String, String> redisMessageTemplate,
+        RedisMessageListenerContainer redisMessageListenerContainer,
         uz.hemis.domain.repository.UserRepository userRepository
     ) {
         this.redisTemplate = redisTemplate;
+        this.redisMessageTemplate = redisMessageTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
         this.userRepository = userRepository;
     }
 
@@ -97,6 +129,123 @@ public class UserPermissionCacheService {
      */
     private static final String KEY_PREFIX = "user:permissions:";
 
+    /**
+     * Permission evictions from all pods → local authority cache ("{userId}" or "*")
+     */
+    public static final String PERMISSIONS_CHANGED_CHANNEL = "user:permissions:changed";
+
+    private static final String ALL_USERS = "*";
+
+    // L1 sizing: one entry per active user, short TTL as safety net for missed messages
+    private static final long AUTHORITY_CACHE_MAX_SIZE = 50_000;
+    private static final Duration AUTHORITY_CACHE_TTL = Duration.ofMinutes(5);
+
+    /**
+     * Authority cache key - a version bump (clear all) makes every older entry unreachable
+     */
+    private record AuthorityKey(UUID userId, long version) {
+    }
+
+    private final Cache<AuthorityKey, List<GrantedAuthority>> authorityCache = Caffeine.newBuilder()
+            .maximumSize(AUTHORITY_CACHE_MAX_SIZE)
+            .expireAfterWrite(AUTHORITY_CACHE_TTL)
+            .recordStats()
+            .build();
+
+    private final AtomicLong permissionsVersion = new AtomicLong();
+
+    /**
+     * Subscribe to permission evictions of other pods
+     */
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(PERMISSIONS_CHANGED_CHANNEL));
+    }
+
+    /**
+     * Get user authorities (L1 → Redis → DB)
+     *
+     * <p>Returned list is immutable and shared between requests of the same user.
+     * Empty permissions are not cached (DB error or user without roles - re-checked
+     * on the next request).</p>
+     *
+     * @param userId User ID (UUID) from JWT 'sub' claim
+     * @return Immutable authority list (empty if user has no permissions)
+     */
+    public List<GrantedAuthority> getUserAuthorities(UUID userId) {
+        if (userId == null) {
+            return List.of();
+        }
+
+        List<GrantedAuthority> authorities = authorityCache.get(
+                new AuthorityKey(userId, permissionsVersion.get()),
+                key -> toAuthorities(getUserPermissions(key.userId())));
+
+        return authorities != null ? authorities : List.of();
+    }
+
+    private static List<GrantedAuthority> toAuthorities(Set<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return null;  // not cached
+        }
+        return permissions.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    /**
+     * Evict caches of users affected by a permission change
+     *
+     * <p>Runs after commit (or immediately without a transaction) so the next load
+     * reads the new roles from the database.</p>
+     *
+     * @param event UserPermissionsChangedEvent
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionsChanged(UserPermissionsChangedEvent event) {
+        if (event.getChangeType() == UserPermissionsChangedEvent.ChangeType.ROLE_MODIFIED
+                && event.getAffectedRoleCode() != null) {
+            clearAllCaches();
+        } else if (event.getUserId() != null) {
+            evictUserCache(event.getUserId());
+        }
+    }
+
+    /**
+     * Apply permission eviction published by any pod ("{userId}" or "*")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (ALL_USERS.equals(payload)) {
+            evictAllLocalAuthorities();
+            return;
+        }
+        try {
+            evictLocalAuthorities(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Invalid permission eviction message: {}", payload);
+        }
+    }
+
+    private void evictLocalAuthorities(UUID userId) {
+        authorityCache.invalidate(new AuthorityKey(userId, permissionsVersion.get()));
+    }
+
+    private void evictAllLocalAuthorities() {
+        permissionsVersion.incrementAndGet();
+        authorityCache.invalidateAll();
+    }
+
+    private void publishEviction(String payload) {
+        try {
+            redisMessageTemplate.convertAndSend(PERMISSIONS_CHANGED_CHANNEL, payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish permission eviction: {} - {} (other pods expire in {})",
+                    payload, e.getMessage(), AUTHORITY_CACHE_TTL);
+        }
+    }
+
     /**
      * Get user permissions (from Redis cache or DB)
      *
@@ -236,26 +385,28 @@ public class UserPermissionCacheService {
         } catch (Exception e) {
             log.warn("Failed to evict cache for userId: {} - {}", userId, e.getMessage());
         }
+
+        evictLocalAuthorities(userId);
+        publishEviction(userId.toString());
     }
 
     /**
      * Clear all user permission caches
      *
      * <p><strong>Use case:</strong> Mass permission update (e.g., system maintenance)</p>
+     * <p>SCAN + batched UNLINK ({@link RedisKeyScanner}) - Redis stays responsive for other pods.</p>
      */
     public void clearAllCaches() {
         try {
-            String pattern = KEY_PREFIX + "*";
-            Set<String> keys = redisTemplate.keys(pattern);
-
-            if (keys != null && !keys.isEmpty()) {
-                Long deleted = redisTemplate.delete(keys);
-                log.info("✅ Cleared {} user permission caches", deleted);
-            }
+            long deleted = RedisKeyScanner.unlink(redisTemplate, KEY_PREFIX + "*");
+            log.info("✅ Cleared {} user permission caches", deleted);
 
         } catch (Exception e) {
             log.error("Failed to clear all caches: {}", e.getMessage(), e);
         }
+
+        evictAllLocalAuthorities();
+        publishEviction(ALL_USERS);
     }
 
     /**
@@ -266,12 +417,13 @@ public class UserPermissionCacheService {
     public java.util.Map<String, Object> getCacheStats() {
         try {
             String pattern = KEY_PREFIX + "*";
-            Set<String> keys = redisTemplate.keys(pattern);
 
             return java.util.Map.of(
-                    "total_cached_users", keys != null ? keys.size() : 0,
+                    "total_cached_users", RedisKeyScanner.count(redisTemplate, pattern),
                     "cache_key_pattern", pattern,
-                    "cache_ttl_hours", CACHE_TTL.toHours()
+                    "cache_ttl_hours", CACHE_TTL.toHours(),
+                    "local_authority_entries", authorityCache.estimatedSize(),
+                    "local_authority_hit_rate", authorityCache.stats().hitRate()
             );
 
         } catch (Exception e) {
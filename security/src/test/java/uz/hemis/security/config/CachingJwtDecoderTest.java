@@ -0,0 +1,71 @@
+package uz.hemis.security.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for CachingJwtDecoder (verified JWT cache)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("CachingJwtDecoder Tests")
+class CachingJwtDecoderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("admin")
+                .jti("jti-" + token)
+                .issuedAt(Instant.now().minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeats from cache")
+    void testDecode_CachesVerifiedToken() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+            verifications.incrementAndGet();
+            return jwt(token, Instant.now().plusSeconds(3600));
+        }, 100, Duration.ofMinutes(5));
+
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+        decoder.decode("token-b");
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should drop revoked tokens and never cache failures")
+    void testDecode_RevocationAndFailures() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+            verifications.incrementAndGet();
+            if (token.startsWith("bad")) {
+                throw new BadJwtException("invalid signature");
+            }
+            return jwt(token, Instant.now().plusSeconds(3600));
+        }, 100, Duration.ofMinutes(5));
+
+        decoder.decode("token-a");
+        decoder.invalidateTokenId("jti-token-a");
+        decoder.decode("token-a");
+
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+
+        assertThat(verifications).hasValue(4);
+    }
+}
@@ -0,0 +1,70 @@
+package uz.hemis.security.config;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for rate limit policy validation (invalid config must fail at startup)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("RateLimitProperties Tests")
+class RateLimitPropertiesTest {
+
+    private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+    private static final Validator VALIDATOR = FACTORY.getValidator();
+
+    @AfterAll
+    static void close() {
+        FACTORY.close();
+    }
+
+    private Set<ConstraintViolation<RateLimitProperties>> validate(RateLimitProperties.Policy policy) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("api", policy);
+        return VALIDATOR.validate(properties);
+    }
+
+    @Test
+    @DisplayName("Should accept a positive limit, window and burst")
+    void testValidPolicy() {
+        // Given
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy(600, Duration.ofMinutes(1),
+                RateLimitProperties.KeyType.CLIENT, true);
+        policy.setBurst(200);
+
+        // Then
+        assertThat(validate(policy)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject zero limit, zero window and zero burst")
+    void testInvalidPolicy() {
+        // Given
+        RateLimitProperties.Policy zeroLimit = new RateLimitProperties.Policy(0, Duration.ofMinutes(1),
+                RateLimitProperties.KeyType.IP, true);
+        RateLimitProperties.Policy zeroWindow = new RateLimitProperties.Policy(10, Duration.ZERO,
+                RateLimitProperties.KeyType.IP, true);
+        RateLimitProperties.Policy zeroBurst = new RateLimitProperties.Policy(10, Duration.ofMinutes(1),
+                RateLimitProperties.KeyType.IP, true);
+        zeroBurst.setBurst(0);
+
+        // Then
+        assertThat(validate(zeroLimit)).extracting(v -> v.getPropertyPath().toString())
+                .containsExactly("policies[api].limit");
+        assertThat(validate(zeroWindow)).extracting(v -> v.getPropertyPath().toString())
+                .containsExactly("policies[api].windowPositive");
+        assertThat(validate(zeroBurst)).extracting(v -> v.getPropertyPath().toString())
+                .containsExactly("policies[api].burst");
+    }
+}
@@ -0,0 +1,99 @@
+package uz.hemis.security.crypto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PasswordHashingExecutor and pooled LegacyPasswordEncoder
+ *
+ * @since 2.0.0
+ */
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the queue is full")
+    void testExecute_QueueFullRejected() throws Exception {
+        // Given - one thread busy, one hash queued
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute("bcrypt", () -> {
+            started.countDown();
+            await(release);
+            return true;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("bcrypt", () -> true));
+        waitForQueued();
+
+        // Then
+        assertThatThrownBy(() -> executor.execute("bcrypt", () -> true))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("hemis.password.hash.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should verify CUBA PBKDF2 and BCrypt passwords on the pool and record hash time")
+    void testLegacyPasswordEncoder_Pooled() throws Exception {
+        // Given
+        executor = new PasswordHashingExecutor(2, 10, Duration.ofSeconds(5), meterRegistry);
+        LegacyPasswordEncoder encoder = new LegacyPasswordEncoder(executor);
+        byte[] salt = "hemis-salt".getBytes();
+        byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1")
+                .generateSecret(new PBEKeySpec("secret".toCharArray(), salt, 1000, 160))
+                .getEncoded();
+        String cuba = Base64.getEncoder().encodeToString(hash) + ":"
+                + Base64.getEncoder().encodeToString(salt) + ":1000";
+
+        // Then
+        assertThat(encoder.matches("secret", cuba)).isTrue();
+        assertThat(encoder.matches("wrong", cuba)).isFalse();
+        assertThat(encoder.matches("secret", encoder.encode("secret"))).isTrue();
+        assertThat(meterRegistry.get("hemis.password.hash.duration").tag("algorithm", "pbkdf2").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("hemis.password.hash.queue.wait").timer().count()).isEqualTo(4);
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("hemis.password.hash.queue.size").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package uz.hemis.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import uz.hemis.security.config.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RateLimitService (Redis token bucket + local pre-limiter)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("RateLimitService Tests")
+class RateLimitServiceTest {
+
+    private RedisTemplate<String, String> redisMessageTemplate;
+    private RateLimitService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisMessageTemplate = mock(RedisTemplate.class);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Policy services =
+                new RateLimitProperties.Policy(2, Duration.ofHours(1), RateLimitProperties.KeyType.CLIENT, true);
+        services.setPaths(List.of("/app/rest/v2/services/**"));
+        properties.getPolicies().put("legacy-services", services);
+
+        service = new RateLimitService(redisMessageTemplate, properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(List<Long> result) {
+        when(redisMessageTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("Should reject locally after a Redis rejection without another round trip")
+    @SuppressWarnings("unchecked")
+    void testTryAcquire_LocalBlockAfterRedisReject() {
+        // Given
+        redisReturns(List.of(0L, 0L, 30_000L));
+
+        // When
+        RateLimitService.Decision first = service.tryAcquire("legacy-services", "client:univer-00001");
+        RateLimitService.Decision second = service.tryAcquire("legacy-services", "client:univer-00001");
+
+        // Then
+        assertThat(first.allowed()).isFalse();
+        assertThat(first.retryAfterSeconds()).isEqualTo(30);
+        assertThat(second.allowed()).isFalse();
+        verify(redisMessageTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should reject in memory once the per-pod bucket is empty")
+    @SuppressWarnings("unchecked")
+    void testTryAcquire_LocalPreLimiter() {
+        // Given
+        redisReturns(List.of(1L, 1L, 0L));
+
+        // When
+        boolean first = service.tryAcquire("legacy-services", "client:univer-00001").allowed();
+        boolean second = service.tryAcquire("legacy-services", "client:univer-00001").allowed();
+        boolean third = service.tryAcquire("legacy-services", "client:univer-00001").allowed();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        verify(redisMessageTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should fail closed for login and fall back to local limit for fail-open policies")
+    @SuppressWarnings("unchecked")
+    void testTryAcquire_RedisUnavailable() {
+        // Given
+        when(redisMessageTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Then
+        assertThat(service.isAllowed("10.0.0.1")).isFalse();
+        assertThat(service.tryAcquire("legacy-services", "client:univer-00001").allowed()).isTrue();
+        assertThat(service.tryAcquire("unknown", "10.0.0.1").allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should resolve the first policy whose paths match")
+    void testFindPolicy() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Policy passport = new RateLimitProperties.Policy();
+        passport.setPaths(List.of("/app/rest/v2/services/passport-data/**"));
+        RateLimitProperties.Policy services = new RateLimitProperties.Policy();
+        services.setPaths(List.of("/app/rest/v2/services/**"));
+        properties.getPolicies().put("passport", passport);
+        properties.getPolicies().put("legacy-services", services);
+
+        // Then
+        assertThat(properties.findPolicy("/app/rest/v2/services/passport-data/getDataBySN").getKey())
+                .isEqualTo("passport");
+        assertThat(properties.findPolicy("/app/rest/v2/services/student/get").getKey())
+                .isEqualTo("legacy-services");
+        assertThat(properties.findPolicy("/api/v1/web/menu")).isNull();
+        assertThat(properties.getPolicy(RateLimitProperties.LOGIN).getLimit()).isEqualTo(5);
+    }
+}
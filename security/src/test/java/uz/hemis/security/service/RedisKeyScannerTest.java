@@ -0,0 +1,97 @@
+package uz.hemis.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RedisKeyScanner
+ *
+ * @since 2.0.0
+ */
+@DisplayName("RedisKeyScanner Tests")
+class RedisKeyScannerTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private Cursor<String> cursor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        cursor = mock(Cursor.class);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+    }
+
+    @Test
+    @DisplayName("Should UNLINK scanned keys in batches and close the cursor")
+    void testUnlink_Batches() {
+        // Given - 2,500 keys → batches of 1,000 / 1,000 / 500
+        scanning(2_500);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(redisTemplate.unlink(anyCollection())).thenAnswer(invocation -> {
+            int size = invocation.<Collection<String>>getArgument(0).size();
+            batchSizes.add(size);
+            return (long) size;
+        });
+
+        // When
+        long removed = RedisKeyScanner.unlink(redisTemplate, "user:permissions:*");
+
+        // Then
+        assertThat(removed).isEqualTo(2_500);
+        assertThat(batchSizes).containsExactly(1_000, 1_000, 500);
+        verify(redisTemplate, never()).keys(any());
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Should count keys without deleting")
+    void testCount() {
+        // Given
+        scanning(42);
+
+        // Then
+        assertThat(RedisKeyScanner.count(redisTemplate, "token:blacklist:*")).isEqualTo(42);
+        verify(redisTemplate, never()).unlink(anyCollection());
+        verify(redisTemplate, never()).keys(any());
+    }
+
+    @Test
+    @DisplayName("Should not call the consumer when nothing matches")
+    void testForEachBatch_Empty() {
+        // Given
+        scanning(0);
+        List<List<String>> batches = new ArrayList<>();
+
+        // When
+        long visited = RedisKeyScanner.forEachBatch(redisTemplate, "none:*", batch -> batches.add(List.copyOf(batch)));
+
+        // Then
+        assertThat(visited).isZero();
+        assertThat(batches).isEmpty();
+    }
+
+    private void scanning(int keys) {
+        Iterator<String> iterator = IntStream.range(0, keys).mapToObj(i -> "key:" + i).iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+    }
+}
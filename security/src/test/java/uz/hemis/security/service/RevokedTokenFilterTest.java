@@ -0,0 +1,63 @@
+package uz.hemis.security.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RevokedTokenFilter (time-partitioned Bloom filter of revoked JTIs)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("RevokedTokenFilter Tests")
+class RevokedTokenFilterTest {
+
+    private final RevokedTokenFilter filter = new RevokedTokenFilter(Duration.ofHours(1), 1_000, 0.001);
+
+    @Test
+    @DisplayName("Should never miss a revoked JTI and rarely flag others")
+    void testMightContain_NoFalseNegatives() {
+        // Given
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(30));
+        String[] revoked = new String[1_000];
+        for (int i = 0; i < revoked.length; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            filter.put(revoked[i], expiresAt);
+        }
+
+        // Then
+        for (String jti : revoked) {
+            assertThat(filter.mightContain(jti)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(50);  // target 0.1% → ~10
+    }
+
+    @Test
+    @DisplayName("Should drop partitions of expired tokens")
+    void testExpire_DropsExpiredPartitions() {
+        // Given
+        Instant now = Instant.now();
+        filter.put("expired-jti", now.minus(Duration.ofHours(2)));
+        filter.put("live-jti", now.plus(Duration.ofHours(2)));
+
+        // When
+        int dropped = filter.expire(now);
+
+        // Then
+        assertThat(dropped).isEqualTo(1);
+        assertThat(filter.partitionCount()).isEqualTo(1);
+        assertThat(filter.mightContain("live-jti")).isTrue();
+        assertThat(filter.mightContain("expired-jti")).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package uz.hemis.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import uz.hemis.domain.event.UserPermissionsChangedEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for UserDetailsCacheService
+ *
+ * @since 2.0.0
+ */
+@DisplayName("UserDetailsCacheService Tests")
+class UserDetailsCacheServiceTest {
+
+    private RedisTemplate<String, String> redisMessageTemplate;
+    private UserDetailsCacheService service;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        if ("ghost".equals(username)) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return User.withUsername(username).password("{bcrypt}hash").authorities("ROLE_USER").build();
+    };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisMessageTemplate = mock(RedisTemplate.class);
+        service = new UserDetailsCacheService(redisMessageTemplate, mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("Should load once and hand out independent copies")
+    void testGet_CachedCopies() {
+        // When
+        UserDetails first = service.get("otm401", loader);
+        ((User) first).eraseCredentials();
+        UserDetails second = service.get("otm401", loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPassword()).isEqualTo("{bcrypt}hash");
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void testGet_NotFoundNotCached() {
+        assertThatThrownBy(() -> service.get("ghost", loader)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.get("ghost", loader)).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload after disable event and publish eviction")
+    void testOnUserChanged_Evicts() {
+        // Given
+        service.get("otm401", loader);
+
+        // When
+        service.onUserChanged(UserPermissionsChangedEvent.builder()
+                .username("OTM401")
+                .changeType(UserPermissionsChangedEvent.ChangeType.USER_DISABLED)
+                .build());
+        service.get("otm401", loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        verify(redisMessageTemplate).convertAndSend(UserDetailsCacheService.USER_DETAILS_CHANGED_CHANNEL, "OTM401");
+    }
+
+    @Test
+    @DisplayName("Should evict cached UserDetails on password change")
+    void testOnUserChanged_PasswordChangedEvicts() {
+        // Given
+        service.get("otm401", loader);
+        service.get("otm402", loader);
+
+        // When
+        service.onUserChanged(UserPermissionsChangedEvent.builder()
+                .username("otm401")
+                .changeType(UserPermissionsChangedEvent.ChangeType.PASSWORD_CHANGED)
+                .build());
+        service.get("otm401", loader);
+        service.get("otm402", loader);
+
+        // Then - only the changed user is reloaded
+        assertThat(loads.get()).isEqualTo(3);
+        verify(redisMessageTemplate).convertAndSend(UserDetailsCacheService.USER_DETAILS_CHANGED_CHANNEL, "otm401");
+    }
+
+    @Test
+    @DisplayName("Should clear all users on role modification")
+    void testOnUserChanged_RoleModifiedClearsAll() {
+        // Given
+        service.get("otm401", loader);
+        service.get("otm402", loader);
+
+        // When
+        service.onUserChanged(UserPermissionsChangedEvent.builder()
+                .changeType(UserPermissionsChangedEvent.ChangeType.ROLE_MODIFIED)
+                .affectedRoleCode("TEACHER")
+                .build());
+        service.get("otm401", loader);
+        service.get("otm402", loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(4);
+        verify(redisMessageTemplate).convertAndSend(UserDetailsCacheService.USER_DETAILS_CHANGED_CHANNEL, "*");
+    }
+}
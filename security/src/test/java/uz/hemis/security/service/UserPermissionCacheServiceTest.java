@@ -0,0 +1,108 @@
+package uz.hemis.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.GrantedAuthority;
+import uz.hemis.domain.event.UserPermissionsChangedEvent;
+import uz.hemis.domain.repository.UserRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserPermissionCacheService L1 authority cache
+ *
+ * @since 2.0.0
+ */
+@DisplayName("UserPermissionCacheService Tests")
+class UserPermissionCacheServiceTest {
+
+    private static final String KEY = "user:permissions:";
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, String> redisMessageTemplate;
+    private ValueOperations<String, Object> valueOps;
+    private UserPermissionCacheService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        redisMessageTemplate = mock(RedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(KEY + userId)).thenReturn(Set.of("students.view", "dashboard.view"));
+
+        service = new UserPermissionCacheService(redisTemplate, redisMessageTemplate,
+                mock(RedisMessageListenerContainer.class), mock(UserRepository.class));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from L1 as one immutable list")
+    void testGetUserAuthorities_CachedImmutable() {
+        // When
+        List<GrantedAuthority> first = service.getUserAuthorities(userId);
+        List<GrantedAuthority> second = service.getUserAuthorities(userId);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("students.view", "dashboard.view");
+        assertThatThrownBy(() -> first.add(() -> "admin")).isInstanceOf(UnsupportedOperationException.class);
+        verify(valueOps, times(1)).get(KEY + userId);
+    }
+
+    @Test
+    @DisplayName("Should reload after permission change event and publish eviction")
+    void testOnPermissionsChanged_EvictsUser() {
+        // Given
+        service.getUserAuthorities(userId);
+        when(valueOps.get(KEY + userId)).thenReturn(Set.of("students.view"));
+
+        // When
+        service.onPermissionsChanged(UserPermissionsChangedEvent.builder()
+                .userId(userId)
+                .changeType(UserPermissionsChangedEvent.ChangeType.ROLE_REMOVED)
+                .build());
+
+        // Then
+        assertThat(service.getUserAuthorities(userId)).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("students.view");
+        verify(redisTemplate).delete(KEY + userId);
+        verify(redisMessageTemplate).convertAndSend(
+                UserPermissionCacheService.PERMISSIONS_CHANGED_CHANNEL, userId.toString());
+    }
+
+    @Test
+    @DisplayName("Should drop all L1 entries on role modification")
+    void testOnPermissionsChanged_RoleModifiedClearsAll() {
+        // Given
+        service.getUserAuthorities(userId);
+
+        // When
+        service.onPermissionsChanged(UserPermissionsChangedEvent.builder()
+                .changeType(UserPermissionsChangedEvent.ChangeType.ROLE_MODIFIED)
+                .affectedRoleCode("TEACHER")
+                .build());
+        service.getUserAuthorities(userId);
+
+        // Then
+        verify(valueOps, times(2)).get(KEY + userId);
+        verify(redisMessageTemplate).convertAndSend(UserPermissionCacheService.PERMISSIONS_CHANGED_CHANNEL, "*");
+        verify(redisMessageTemplate, never()).convertAndSend(
+                UserPermissionCacheService.PERMISSIONS_CHANGED_CHANNEL, userId.toString());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+}
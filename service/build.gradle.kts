@@ -1,5 +1,6 @@
 plugins {
     id("java-library")
+    id("me.champeau.jmh") version "0.7.3"  // Microbenchmarks: ./gradlew :service:jmh
 }
 
 group = "uz.hemis"
@@ -25,6 +26,13 @@ dependencies {
     // Caffeine for L1 JVM cache (per-pod, ultra-fast)
     implementation("com.github.ben-manes.caffeine:caffeine:3.1.8")
 
+    // Compact L2 cache values (CacheValueCodec): Smile binary JSON + LZ4
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.lz4:lz4-java:1.8.0")
+
+    // Micrometer for cache metrics (registry + Prometheus export provided by app/actuator)
+    implementation("io.micrometer:micrometer-core")
+
     // Validation
     implementation("org.springframework.boot:spring-boot-starter-validation")
 
@@ -54,6 +62,16 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// =====================================================
+// JMH Benchmarks (src/jmh/java)
+// =====================================================
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 // =====================================================
 // Annotation Processor Configuration for MapStruct
 // =====================================================
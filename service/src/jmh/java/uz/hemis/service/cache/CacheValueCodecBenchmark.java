@@ -0,0 +1,152 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import uz.hemis.service.config.TwoLevelCacheProperties.ValueCodec;
+import uz.hemis.service.menu.dto.MenuItem;
+import uz.hemis.service.menu.dto.MenuResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L2 value codec benchmark: JSON (current serializer) vs Smile vs Smile + LZ4
+ *
+ * <p>Payloads mirror the two largest caches: an i18n translation map
+ * ({@code Map<String,String>}, 5,000 keys) and a per-user MenuResponse tree
+ * (12 sections x 8 items, labels in 4 languages). Serialized sizes are printed
+ * once per trial.</p>
+ *
+ * <pre>
+ * ./gradlew :service:jmh
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheValueCodecBenchmark {
+
+    @Param({"i18n", "menu"})
+    public String payload;
+
+    @Param({"JSON", "SMILE", "SMILE_LZ4"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = cacheObjectMapper();
+        SerializationPair<Object> json = SerializationPair.fromSerializer(
+                new GenericJackson2JsonRedisSerializer(objectMapper));
+
+        serializer = switch (codec) {
+            case "JSON" -> new CacheValueCodec(null, json, ValueCodec.JSON, Integer.MAX_VALUE);
+            case "SMILE" -> new CacheValueCodec(CacheValueCodec.smileMapper(objectMapper), json,
+                    ValueCodec.BINARY, Integer.MAX_VALUE);
+            default -> new CacheValueCodec(CacheValueCodec.smileMapper(objectMapper), json,
+                    ValueCodec.BINARY, 1024);
+        };
+        value = "i18n".equals(payload) ? translations() : menu();
+        encoded = serializer.serialize(value);
+
+        System.out.printf("%n[size] payload=%s codec=%s bytes=%d%n", payload, codec, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * Same mapper setup as DashboardCacheConfig (default typing for polymorphic values)
+     */
+    private static ObjectMapper cacheObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return objectMapper;
+    }
+
+    private static Map<String, String> translations() {
+        Map<String, String> messages = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            messages.put("menu.section" + (i % 40) + ".item" + i + ".label",
+                    "Talabalar ro'yxati va ma'lumotlari " + i);
+        }
+        return messages;
+    }
+
+    private static MenuResponse menu() {
+        List<MenuItem> sections = new ArrayList<>();
+        List<String> permissions = new ArrayList<>();
+        for (int s = 0; s < 12; s++) {
+            List<MenuItem> items = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String permission = "section" + s + ".item" + i + ".view";
+                permissions.add(permission);
+                items.add(item("section" + s + ".item" + i, "/section" + s + "/item" + i, permission, i, List.of()));
+            }
+            sections.add(item("section" + s, "/section" + s, "section" + s + ".view", s, items));
+        }
+        return MenuResponse.builder()
+                .menu(sections)
+                .permissions(permissions)
+                .locale("uz-UZ")
+                .build();
+    }
+
+    private static MenuItem item(String key, String url, String permission, int order, List<MenuItem> children) {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("uz-UZ", "Bo'lim " + key);
+        labels.put("oz-UZ", "Бўлим " + key);
+        labels.put("ru-RU", "Раздел " + key);
+        labels.put("en-US", "Section " + key);
+        return MenuItem.builder()
+                .id(key)
+                .i18nKey("menu." + key)
+                .label(labels.get("uz-UZ"))
+                .labels(labels)
+                .labelUz(labels.get("uz-UZ"))
+                .labelOz(labels.get("oz-UZ"))
+                .labelRu(labels.get("ru-RU"))
+                .labelEn(labels.get("en-US"))
+                .url(url)
+                .icon("pi pi-list")
+                .permission(permission)
+                .items(new ArrayList<>(children))
+                .order(order)
+                .build();
+    }
+}
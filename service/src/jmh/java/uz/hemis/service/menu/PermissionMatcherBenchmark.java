@@ -0,0 +1,125 @@
+package uz.hemis.service.menu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menu permission filter cost: list scan (previous MenuService.hasPermission) vs PermissionMatcher
+ *
+ * <p>One operation = checking every item of a 180-node menu tree (20 sections x 9 items)
+ * against one user's permissions, i.e. the permission part of a menu build.
+ * {@code permissions} is the size of the user's effective permission list;
+ * a tenth of the codes are {@code section.*} wildcards.</p>
+ *
+ * <pre>
+ * ./gradlew :service:jmh
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PermissionMatcherBenchmark {
+
+    private static final int SECTIONS = 20;
+    private static final int ITEMS_PER_SECTION = 9;
+
+    @Param({"20", "100", "400"})
+    public int permissions;
+
+    private List<String> menuPermissions;
+    private List<String> userPermissions;
+    private PermissionMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        menuPermissions = new ArrayList<>();
+        for (int s = 0; s < SECTIONS; s++) {
+            for (int i = 0; i < ITEMS_PER_SECTION; i++) {
+                menuPermissions.add("section" + s + ".item" + i + ".view");
+            }
+        }
+
+        userPermissions = new ArrayList<>();
+        for (int p = 0; p < permissions; p++) {
+            if (p % 10 == 0) {
+                userPermissions.add("section" + (p % (SECTIONS * 2)) + ".*");
+            } else {
+                userPermissions.add("section" + (p % (SECTIONS * 2)) + ".item" + (p % ITEMS_PER_SECTION) + ".view");
+            }
+        }
+        userPermissions.sort(null);
+
+        matcher = PermissionMatcher.compile(userPermissions);
+    }
+
+    @Benchmark
+    public int listScan() {
+        int granted = 0;
+        for (String required : menuPermissions) {
+            if (hasPermissionListScan(required, userPermissions)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    @Benchmark
+    public int compiledMatcher() {
+        int granted = 0;
+        for (String required : menuPermissions) {
+            if (matcher.matches(required)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    @Benchmark
+    public int compileAndMatch() {
+        PermissionMatcher compiled = PermissionMatcher.compile(userPermissions);
+        int granted = 0;
+        for (String required : menuPermissions) {
+            if (compiled.matches(required)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * Previous MenuService / PermissionService check, kept as baseline
+     */
+    private static boolean hasPermissionListScan(String required, List<String> userPermissions) {
+        if (required == null || required.isEmpty()) {
+            return true;
+        }
+        if (userPermissions.contains("*")) {
+            return true;
+        }
+        if (userPermissions.contains(required)) {
+            return true;
+        }
+        for (String permission : userPermissions) {
+            if (permission.endsWith(".*")) {
+                String prefix = permission.substring(0, permission.length() - 2);
+                if (required.startsWith(prefix + ".")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,11 @@
 package uz.hemis.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.hemis.common.dto.AttendanceDto;
@@ -11,6 +13,7 @@ import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.domain.entity.Attendance;
 import uz.hemis.service.mapper.AttendanceMapper;
 import uz.hemis.domain.repository.AttendanceRepository;
+import uz.hemis.service.search.CubaSearchRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -26,6 +29,7 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final AttendanceMapper attendanceMapper;
+    private final EntityManager entityManager;
 
     @Transactional
     public AttendanceDto create(AttendanceDto dto) {
@@ -43,6 +47,14 @@ public class AttendanceService {
         return attendanceRepository.findAll(pageable).map(attendanceMapper::toDto);
     }
 
+    public Slice<AttendanceDto> search(CubaSearchRequest request) {
+        return request.execute(entityManager, Attendance.class).map(attendanceMapper::toDto);
+    }
+
+    public long count(CubaSearchRequest request) {
+        return request.count(attendanceRepository);
+    }
+
     public Page<AttendanceDto> findByStudent(UUID studentId, Pageable pageable) {
         return attendanceRepository.findByStudent(studentId, pageable).map(attendanceMapper::toDto);
     }
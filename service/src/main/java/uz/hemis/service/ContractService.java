@@ -13,10 +13,13 @@ import uz.hemis.common.dto.ContractDto;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.common.exception.ValidationException;
 import uz.hemis.domain.entity.Contract;
+import uz.hemis.domain.event.ContractSignedEvent;
 import uz.hemis.service.mapper.ContractMapper;
 import uz.hemis.domain.repository.ContractRepository;
+import uz.hemis.service.event.ContractEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +32,7 @@ public class ContractService {
 
     private final ContractRepository contractRepository;
     private final ContractMapper contractMapper;
+    private final ContractEventPublisher contractEventPublisher;
 
     @Cacheable(value = "contracts", key = "#id", unless = "#result == null")
     public ContractDto findById(UUID id) {
@@ -87,6 +91,21 @@ public class ContractService {
         Contract contract = contractMapper.toEntity(contractDto);
         Contract saved = contractRepository.save(contract);
         log.info("Contract created: {}", saved.getId());
+
+        contractEventPublisher.publishContractSigned(ContractSignedEvent.builder()
+                .contractId(saved.getId())
+                .contractNumber(saved.getContractNumber())
+                .studentId(saved.getStudent())
+                .contractType(saved.getContractType())
+                .totalAmount(saved.getContractSum())
+                .academicYear(saved.getEducationYear())
+                .startDate(saved.getStartDate())
+                .endDate(saved.getEndDate())
+                .signDate(saved.getContractDate())
+                .universityCode(saved.getUniversity())
+                .timestamp(Instant.now())
+                .signedBy(saved.getCreatedBy())
+                .build());
         return contractMapper.toDto(saved);
     }
 
@@ -13,9 +13,12 @@ import uz.hemis.common.dto.DiplomaDto;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.common.exception.ValidationException;
 import uz.hemis.domain.entity.Diploma;
+import uz.hemis.domain.event.DiplomaIssuedEvent;
 import uz.hemis.service.mapper.DiplomaMapper;
 import uz.hemis.domain.repository.DiplomaRepository;
+import uz.hemis.service.event.DiplomaEventPublisher;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -53,6 +56,7 @@ public class DiplomaService {
 
     private final DiplomaRepository diplomaRepository;
     private final DiplomaMapper diplomaMapper;
+    private final DiplomaEventPublisher diplomaEventPublisher;
 
     // =====================================================
     // Read Operations (Read-Only Transactions)
@@ -281,6 +285,20 @@ public class DiplomaService {
 
         log.info("Diploma created successfully with ID: {}", saved.getId());
 
+        diplomaEventPublisher.publishDiplomaIssued(DiplomaIssuedEvent.builder()
+                .diplomaId(saved.getId())
+                .diplomaNumber(saved.getDiplomaNumber())
+                .studentId(saved.getStudent())
+                .qualificationLevel(saved.getQualification())
+                .issueDate(saved.getIssueDate())
+                .averageGrade(saved.getAverageGrade())
+                .honors(saved.getHonors())
+                .universityCode(saved.getUniversity())
+                .diplomaBlankId(saved.getDiplomaBlank())
+                .timestamp(Instant.now())
+                .issuedBy(saved.getCreatedBy())
+                .build());
+
         return diplomaMapper.toDto(saved);
     }
 
@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uz.hemis.domain.entity.SystemMessage;
 import uz.hemis.domain.entity.SystemMessageTranslation;
 import uz.hemis.domain.repository.SystemMessageRepository;
@@ -291,7 +293,7 @@ public class I18nService {
      * @param language Language code (e.g., "ru-RU")
      * @return Map of messageKey → translation
      */
-    @org.springframework.cache.annotation.Cacheable(value = "i18n", key = "'messages:' + #language")
+    @org.springframework.cache.annotation.Cacheable(value = "i18n", key = "'messages:' + #language", sync = true)
     public Map<String, String> getAllMessages(String language) {
         // ✅ FIX: Changed to DEBUG to reduce log noise during startup warmup
         // This method is called frequently during menu building (5 times per menu item)
@@ -442,8 +444,7 @@ public class I18nService {
         }
 
         // Publish invalidation event (for distributed pods)
-        long newVersion = cacheVersionService.incrementVersionAndPublish(CACHE_NAMESPACE);
-        log.info("📡 Published invalidation: i18n v{} → All pods will clear L1", newVersion);
+        publishVersion();
     }
 
     /**
@@ -476,6 +477,30 @@ public class I18nService {
         }
 
         // Publish invalidation event (for distributed pods)
+        publishVersion();
+    }
+
+    /**
+     * Increment i18n version and publish it (after commit inside a transaction)
+     *
+     * <p>The bump makes every pod rebuild its menu snapshot with fresh labels. Inside a
+     * transaction the L2 eviction above is deferred until commit, so publishing earlier
+     * would let a pod re-read the old translations and pin them to the new version.</p>
+     */
+    private void publishVersion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementVersion();
+                }
+            });
+            return;
+        }
+        incrementVersion();
+    }
+
+    private void incrementVersion() {
         long newVersion = cacheVersionService.incrementVersionAndPublish(CACHE_NAMESPACE);
         log.info("📡 Published invalidation: i18n v{} → All pods will clear L1", newVersion);
     }
@@ -1,5 +1,6 @@
 package uz.hemis.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -7,24 +8,33 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.hemis.common.dto.StudentDto;
 import uz.hemis.common.exception.ResourceNotFoundException;
 import uz.hemis.common.exception.ValidationException;
 import uz.hemis.domain.entity.Student;
+import uz.hemis.domain.event.StudentEnrolledEvent;
+import uz.hemis.domain.event.StudentStatusChangedEvent;
 import uz.hemis.service.mapper.StudentMapper;
 import uz.hemis.service.mapper.StudentLegacyMapper;
 import uz.hemis.domain.repository.StudentRepository;
+import uz.hemis.service.event.StudentEventPublisher;
+import uz.hemis.service.search.CubaSearchRequest;
 
 import uz.hemis.common.dto.StudentIdRequest;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Student Service - Business Logic Layer
@@ -35,6 +45,8 @@ import java.util.UUID;
  *   <li>Transaction management</li>
  *   <li>Entity ↔ DTO conversion (via StudentMapper)</li>
  *   <li>Soft delete implementation</li>
+ *   <li>Domain events for dashboard counters (enrolled; status / university /
+ *       payment / gender changed; soft delete / restore)</li>
  * </ul>
  *
  * <p><strong>CRITICAL - NO DELETE OPERATIONS:</strong></p>
@@ -55,6 +67,8 @@ public class StudentService {
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
     private final StudentLegacyMapper studentLegacyMapper;
+    private final StudentEventPublisher studentEventPublisher;
+    private final EntityManager entityManager;
 
     // =====================================================
     // Read Operations (Read-Only Transactions)
@@ -125,6 +139,31 @@ public class StudentService {
         return students.map(studentMapper::toDto);
     }
 
+    /**
+     * Search students with a CUBA REST filter (legacy {@code /search} endpoints)
+     *
+     * <p>Filter, sort, offset and limit are applied in the database - one slice is
+     * read, never the whole table, and no count query is run.</p>
+     *
+     * @param request parsed filter with paging
+     * @return slice of student DTOs
+     */
+    public Slice<StudentDto> search(CubaSearchRequest request) {
+        log.debug("Searching students: {}", request);
+
+        return request.execute(entityManager, Student.class).map(studentMapper::toDto);
+    }
+
+    /**
+     * Count students matching a CUBA REST filter ({@code returnCount=true})
+     *
+     * @param request parsed filter (paging ignored)
+     * @return total matching students
+     */
+    public long count(CubaSearchRequest request) {
+        return request.count(studentRepository);
+    }
+
     /**
      * Find students by university code
      *
@@ -264,6 +303,19 @@ public class StudentService {
                 saved.getCode(),
                 saved.getPinfl());
 
+        studentEventPublisher.publishStudentEnrolled(StudentEnrolledEvent.builder()
+                .studentId(saved.getId())
+                .studentCode(saved.getCode())
+                .fullName(fullName(saved))
+                .educationForm(saved.getEducationForm())
+                .universityCode(saved.getUniversity())
+                .statusCode(saved.getStudentStatus())
+                .paymentFormCode(saved.getPaymentForm())
+                .genderCode(saved.getGender())
+                .timestamp(Instant.now())
+                .enrolledBy(saved.getCreatedBy())
+                .build());
+
         return studentMapper.toDto(saved);
     }
 
@@ -317,12 +369,14 @@ public class StudentService {
         // Old-HEMIS allows duplicate PINFLs (managed via isDuplicate flag)
 
         // Update entity from DTO (ignores audit fields)
+        CountedAttributes before = CountedAttributes.of(existing);
         studentMapper.updateEntityFromDto(studentDto, existing);
 
         // updateTs and updatedBy will be set by @PreUpdate
 
         // Save
         Student updated = studentRepository.save(existing);
+        publishIfChanged(updated, before, CountedAttributes.of(updated));
 
         log.info("Student updated successfully: {}", id);
 
@@ -348,10 +402,12 @@ public class StudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
 
         // Partial update (null values ignored)
+        CountedAttributes before = CountedAttributes.of(existing);
         studentMapper.partialUpdate(studentDto, existing);
 
         // Save
         Student updated = studentRepository.save(existing);
+        publishIfChanged(updated, before, CountedAttributes.of(updated));
 
         log.info("Student partially updated: {}", id);
 
@@ -399,6 +455,10 @@ public class StudentService {
         // Save (this triggers @PreUpdate)
         studentRepository.save(student);
 
+        // No longer counted: -1 only
+        CountedAttributes attributes = CountedAttributes.of(student);
+        publishIfChanged(student, attributes, attributes.withStatus(null));
+
         log.warn("Student soft deleted: {}", id);
     }
 
@@ -433,9 +493,62 @@ public class StudentService {
         // Save
         studentRepository.save(student);
 
+        // Counted again: +1 only
+        CountedAttributes attributes = CountedAttributes.of(student);
+        publishIfChanged(student, attributes.withStatus(null), attributes);
+
         log.info("Student restored: {}", id);
     }
 
+    // =====================================================
+    // Domain Events
+    // =====================================================
+
+    /**
+     * Student attributes the dashboard counters are split by
+     */
+    private record CountedAttributes(String university, String status, String paymentForm, String gender) {
+
+        static CountedAttributes of(Student student) {
+            return new CountedAttributes(student.getUniversity(), student.getStudentStatus(),
+                    student.getPaymentForm(), student.getGender());
+        }
+
+        CountedAttributes withStatus(String status) {
+            return new CountedAttributes(university, status, paymentForm, gender);
+        }
+    }
+
+    /**
+     * Publish {@link StudentStatusChangedEvent} if a counted attribute changed
+     * (delivered to the dashboard counters after commit)
+     */
+    private void publishIfChanged(Student student, CountedAttributes before, CountedAttributes after) {
+        if (before.equals(after)) {
+            return;
+        }
+        studentEventPublisher.publishStudentStatusChanged(StudentStatusChangedEvent.builder()
+                .studentId(student.getId())
+                .studentCode(student.getCode())
+                .previousUniversityCode(before.university())
+                .universityCode(after.university())
+                .previousStatusCode(before.status())
+                .statusCode(after.status())
+                .previousPaymentFormCode(before.paymentForm())
+                .paymentFormCode(after.paymentForm())
+                .previousGenderCode(before.gender())
+                .genderCode(after.gender())
+                .timestamp(Instant.now())
+                .changedBy(student.getUpdatedBy())
+                .build());
+    }
+
+    private static String fullName(Student student) {
+        return Stream.of(student.getLastname(), student.getFirstname(), student.getFathername())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+
     // =====================================================
     // NOTE: NO PHYSICAL DELETE METHOD
     // =====================================================
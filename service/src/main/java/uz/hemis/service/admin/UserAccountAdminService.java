@@ -0,0 +1,117 @@
+package uz.hemis.service.admin;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.hemis.common.exception.BadRequestException;
+import uz.hemis.common.exception.ResourceNotFoundException;
+import uz.hemis.domain.entity.User;
+import uz.hemis.domain.repository.UserRepository;
+import uz.hemis.service.event.UserPermissionEventPublisher;
+
+import java.util.UUID;
+
+/**
+ * User Account Admin Service - password, status and delete
+ *
+ * <p>Single write path for account changes that invalidate a login. Every change
+ * publishes a {@code UserPermissionsChangedEvent} inside the transaction; the
+ * listeners (UserDetails cache, permission and menu caches) run after commit, so
+ * no pod reloads the old row into a cache.</p>
+ *
+ * <p><strong>Operations:</strong></p>
+ * <ul>
+ *   <li>Change password → PASSWORD_CHANGED</li>
+ *   <li>Enable / disable → USER_ENABLED / USER_DISABLED</li>
+ *   <li>Soft delete (deleted_at) → USER_DELETED</li>
+ * </ul>
+ *
+ * <p>Only the users table is managed here; sec_user rows belong to old-hemis.</p>
+ *
+ * @since 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserAccountAdminService {
+
+    static final int MIN_PASSWORD_LENGTH = 8;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserPermissionEventPublisher userPermissionEventPublisher;
+
+    /**
+     * Set a new password
+     *
+     * @param userId      User ID
+     * @param newPassword Raw password (at least {@value #MIN_PASSWORD_LENGTH} characters)
+     * @param changedBy   Admin username (or the user itself)
+     * @throws ResourceNotFoundException if user not found
+     * @throws BadRequestException if the password is too short
+     */
+    @Transactional
+    public void changePassword(UUID userId, String newPassword, String changedBy) {
+        if (newPassword == null || newPassword.length() < MIN_PASSWORD_LENGTH) {
+            throw new BadRequestException("Password must be at least " + MIN_PASSWORD_LENGTH + " characters");
+        }
+        User user = findUser(userId);
+
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        log.info("🔑 Password changed: {} (by {})", user.getUsername(), changedBy);
+
+        userPermissionEventPublisher.publishPasswordChanged(userId, user.getUsername(), changedBy);
+    }
+
+    /**
+     * Enable or disable an account
+     *
+     * @param userId    User ID
+     * @param enabled   New status
+     * @param changedBy Admin username
+     * @throws ResourceNotFoundException if user not found
+     */
+    @Transactional
+    public void setEnabled(UUID userId, boolean enabled, String changedBy) {
+        User user = findUser(userId);
+        if (Boolean.valueOf(enabled).equals(user.getEnabled())) {
+            return;
+        }
+
+        user.setEnabled(enabled);
+        userRepository.save(user);
+        log.info("✅ User {} {} (by {})", user.getUsername(), enabled ? "enabled" : "disabled", changedBy);
+
+        if (enabled) {
+            userPermissionEventPublisher.publishUserEnabled(userId, user.getUsername(), changedBy);
+        } else {
+            userPermissionEventPublisher.publishUserDisabled(userId, user.getUsername(), changedBy);
+        }
+    }
+
+    /**
+     * Soft delete an account (deleted_at = now)
+     *
+     * @param userId    User ID
+     * @param changedBy Admin username
+     * @throws ResourceNotFoundException if user not found
+     */
+    @Transactional
+    public void deleteUser(UUID userId, String changedBy) {
+        User user = findUser(userId);
+
+        user.softDelete();
+        userRepository.save(user);
+        log.info("🗑️ User deleted: {} (by {})", user.getUsername(), changedBy);
+
+        userPermissionEventPublisher.publishUserDeleted(userId, user.getUsername(), changedBy);
+    }
+
+    private User findUser(UUID userId) {
+        return userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
+}
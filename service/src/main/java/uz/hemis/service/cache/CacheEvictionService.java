@@ -17,8 +17,8 @@ import java.util.UUID;
  * targeted eviction based on audit events:</p>
  *
  * <ul>
- *   <li><strong>User permissions changed</strong> → Evict only that user's menu cache</li>
- *   <li><strong>User role changed</strong> → Evict menu cache for all users with that role</li>
+ *   <li><strong>User permissions changed</strong> → Evict only that user's menu mapping</li>
+ *   <li><strong>User role changed</strong> → Evict menu cache for all users with that role (tag role:{code})</li>
  *   <li><strong>Translation updated</strong> → Evict i18n cache for specific language</li>
  *   <li><strong>Menu structure changed</strong> → Evict all menu caches</li>
  *   <li><strong>Student data changed</strong> → Evict dashboard stats cache</li>
@@ -35,9 +35,9 @@ import java.util.UUID;
  * <pre>
  * Admin updates user permissions:
  *   1. CacheEvictionService.evictUserMenu(userId)
- *   2. Redis Pub/Sub broadcasts to all 10 pods
- *   3. Each pod evicts L1 cache for key "menu:{userId}:*"
- *   4. Other 99,999 users' caches remain intact ✅
+ *   2. TwoLevelCache.evict → L1 + L2, one message on cache:keys:invalidate
+ *   3. Each pod evicts L1 key "user:{userId}" (own message ignored)
+ *   4. Menus shared by permission set and other users' mappings remain intact ✅
  * </pre>
  *
  * <p><strong>Usage Example:</strong></p>
@@ -63,6 +63,14 @@ import java.util.UUID;
 @Slf4j
 public class CacheEvictionService {
 
+    // Tag prefixes of the TwoLevelCache tag index (menu entries are tagged by MenuService)
+    public static final String TAG_LOCALE = "locale:";
+    public static final String TAG_ROLE = "role:";
+
+    // "menu" cache key of the userId → permission hash mapping
+    // (rendered menus are keyed "v{menuVersion}.{i18nVersion}:{permissionHash}:{locale}")
+    public static final String MENU_USER_KEY_PREFIX = "user:";
+
     private final CacheManager cacheManager;
     private final RedisTemplate<String, Object> redisTemplate;
     private final CacheVersionService cacheVersionService;
@@ -75,10 +83,14 @@ public class CacheEvictionService {
     /**
      * Evict menu cache for specific user by userId
      *
+     * <p>Menus are shared per permission set, so only the user's
+     * {@code user:{userId} → permissionHash} mapping is evicted: the next request
+     * re-resolves the (new) permission set and picks up the matching menu.</p>
+     *
      * @param userId User UUID
      */
     public void evictUserMenu(UUID userId) {
-        log.info("🗑️  Evicting menu cache for userId: {}", userId);
+        log.info("🗑️  Evicting menu mapping for userId: {}", userId);
 
         org.springframework.cache.Cache menuCache = cacheManager.getCache("menu");
         if (menuCache == null) {
@@ -86,18 +98,8 @@ public class CacheEvictionService {
             return;
         }
 
-        // ✅ Evict all supported locales for this user (from config)
-        String[] locales = languageProperties.getSupportedArray();
-        int evictedCount = 0;
-
-        for (String locale : locales) {
-            String cacheKey = userId + ":" + locale;
-            menuCache.evict(cacheKey);
-            evictedCount++;
-            log.debug("   Evicted: {}", cacheKey);
-        }
-
-        log.info("✅ Evicted {} menu cache entries for userId: {}", evictedCount, userId);
+        menuCache.evict(MENU_USER_KEY_PREFIX + userId);
+        log.info("✅ Evicted menu mapping for userId: {}", userId);
     }
 
     /**
@@ -117,27 +119,18 @@ public class CacheEvictionService {
      * </ul>
      *
      * <p><strong>Strategy:</strong></p>
-     * <p>Uses Caffeine cache eviction by partial key match.
-     * Cache keys format: "userId:locale" (e.g., "123e4567...:uz-UZ")</p>
+     * <p>Uses the TwoLevelCache tag index: MenuService tags every "permissionHash:locale"
+     * entry with {@code locale:{locale}}, so only that locale's entries are evicted
+     * (L1 on all pods + L2).</p>
      *
      * @param locale Language code (e.g., "uz-UZ", "ru-RU")
      */
     public void evictMenuLocale(String locale) {
         log.info("🗑️  Evicting menu cache for locale: {} (all users)", locale);
 
-        org.springframework.cache.Cache menuCache = cacheManager.getCache("menu");
-        if (menuCache == null) {
-            log.warn("⚠️  Menu cache not found");
-            return;
+        if (evictByTag("menu", TAG_LOCALE + locale)) {
+            log.info("✅ Menu cache evicted for locale={} (other locales untouched)", locale);
         }
-
-        // Caffeine doesn't support pattern-based eviction, so we need to clear all
-        // In production, consider using cache tags or separate caches per locale
-        log.warn("⚠️  Caffeine doesn't support pattern eviction - clearing ALL menu caches");
-        log.warn("   Consider using Redis-only cache or cache tags for granular eviction");
-
-        menuCache.clear();
-        log.info("✅ Menu cache cleared (locale={}, affected=all users)", locale);
     }
 
     /**
@@ -149,6 +142,9 @@ public class CacheEvictionService {
      *   <li>Force refresh for specific user + locale</li>
      * </ul>
      *
+     * <p>The rendered menu is shared by every user with the same permission set,
+     * so they all get the refreshed menu.</p>
+     *
      * @param userId User UUID
      * @param locale Language code
      */
@@ -161,9 +157,15 @@ public class CacheEvictionService {
             return;
         }
 
-        String cacheKey = userId + ":" + locale;
-        menuCache.evict(cacheKey);
-        log.info("✅ Evicted menu cache: {}", cacheKey);
+        String userKey = MENU_USER_KEY_PREFIX + userId;
+        String permissionHash = menuCache.get(userKey, String.class);
+        if (permissionHash != null) {
+            menuCache.evict("v" + cacheVersionService.getLocalVersion("menu")
+                + "." + cacheVersionService.getLocalVersion("i18n")
+                + ":" + permissionHash + ":" + locale);
+        }
+        menuCache.evict(userKey);
+        log.info("✅ Evicted menu cache: {} (permission set {})", userKey, permissionHash);
     }
 
     /**
@@ -182,6 +184,8 @@ public class CacheEvictionService {
      *   <li>Time: ~50ms (clear operation)</li>
      *   <li>Affects all users temporarily</li>
      * </ul>
+     *
+     * <p>Also bumps the menu version → every pod rebuilds its menu tree snapshot from the DB.</p>
      */
     public void evictAllMenus() {
         log.info("🗑️  Evicting ALL menu caches");
@@ -193,6 +197,13 @@ public class CacheEvictionService {
         } else {
             log.warn("⚠️  Menu cache not found");
         }
+
+        try {
+            cacheVersionService.incrementVersionAndPublish("menu");
+            log.info("📡 Published menu invalidation event → All pods will rebuild menu snapshot");
+        } catch (Exception e) {
+            log.error("❌ Failed to publish menu invalidation event", e);
+        }
     }
 
     // =====================================================
@@ -314,20 +325,18 @@ public class CacheEvictionService {
      *   <li>Admin changed "TEACHER" role permissions</li>
      * </ul>
      *
-     * <p><strong>NOTE:</strong></p>
-     * This requires querying database for all users with the role,
-     * then evicting each user's cache. For large user bases, consider
-     * clearing entire cache instead.
+     * <p><strong>Strategy:</strong></p>
+     * Menus tagged {@code role:{code}} are evicted (menus are filtered by role
+     * permissions), other roles keep their cached menus. No user lookup needed.
+     * "userPermissions" entries are keyed by userId without tags → cleared.
      *
      * @param roleCode Role code (e.g., "ROLE_ADMIN", "ROLE_TEACHER")
      */
     public void evictPermissionsByRole(String roleCode) {
-        log.info("🗑️  Evicting permissions cache for role: {}", roleCode);
-        log.warn("⚠️  Role-based eviction requires user lookup - consider evictAllPermissions() for large user bases");
+        log.info("🗑️  Evicting permissions + menu cache for role: {}", roleCode);
 
-        // For now, clear all permissions cache
-        // TODO: Implement targeted eviction if user count is reasonable
         evictAllPermissions();
+        evictByTag("menu", TAG_ROLE + roleCode);
     }
 
     /**
@@ -433,6 +442,27 @@ public class CacheEvictionService {
     // Utility Methods
     // =====================================================
 
+    /**
+     * Evict entries of a cache by tag (TwoLevelCache tag index)
+     *
+     * <p>Falls back to clearing the cache if it is not a TwoLevelCache.</p>
+     *
+     * @return false if the cache does not exist
+     */
+    private boolean evictByTag(String cacheName, String tag) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            log.warn("⚠️  Cache not found: {}", cacheName);
+            return false;
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictByTag(tag);
+        } else {
+            cache.clear();
+        }
+        return true;
+    }
+
     /**
      * Evict ALL caches (nuclear option)
      *
@@ -0,0 +1,184 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed Cache Invalidation Listener - applies other pods' writes to this pod's L1
+ *
+ * <p>Subscribes to {@link CacheInvalidationPublisher#CHANNEL} and evicts only the
+ * affected L1 (Caffeine) entries. L2 (Redis) is never touched here: the writing pod
+ * already updated it, and clearing it from every pod would multiply the database reload.</p>
+ *
+ * <p><strong>Handling:</strong></p>
+ * <ul>
+ *   <li>Own messages (origin == this pod) → ignored</li>
+ *   <li>Cache not created on this pod → ignored (nothing cached locally)</li>
+ *   <li>tag → {@link TwoLevelCache#evictLocalByTag}, keys → {@link TwoLevelCache#evictLocal},
+ *       prefix → {@link TwoLevelCache#evictLocalByPrefix}, none → {@link TwoLevelCache#clearLocal}</li>
+ *   <li>Version gap from an origin (missed messages) → {@link TwoLevelCache#clearLocal}
+ *       for that cache, then apply the message</li>
+ * </ul>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * POD-3: admin changes roles of user U → menu.evictAll(["U:uz-UZ", "U:ru-RU", ...])
+ * POD-1..10: drop 4 menu entries of user U from L1
+ *            other 99,999 users keep their L1 menus ✅
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ObjectMapper objectMapper;
+
+    // origin|cache → last applied version (pods restart with new origins → expire)
+    private final ConcurrentMap<String, Long> lastVersions = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(6))
+            .maximumSize(10_000)
+            .<String, Long>build()
+            .asMap();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong ignoredOwn = new AtomicLong();
+    private final AtomicLong keysEvicted = new AtomicLong();
+    private final AtomicLong tagEvictions = new AtomicLong();
+    private final AtomicLong prefixEvictions = new AtomicLong();
+    private final AtomicLong cacheClears = new AtomicLong();
+    private final AtomicLong gapsDetected = new AtomicLong();
+
+    /**
+     * Register to Redis Pub/Sub channel on startup
+     */
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        log.info("📡 CacheInvalidationListener subscribed to {} (origin={})",
+                CacheInvalidationPublisher.CHANNEL, invalidationPublisher.getOrigin());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+            apply(invalidation);
+        } catch (Exception e) {
+            log.error("❌ Failed to process cache invalidation message", e);
+        }
+    }
+
+    /**
+     * Apply one invalidation message to local L1
+     */
+    void apply(CacheInvalidationMessage invalidation) {
+        received.incrementAndGet();
+
+        if (invalidationPublisher.getOrigin().equals(invalidation.getOrigin())) {
+            ignoredOwn.incrementAndGet();
+            return;
+        }
+
+        TwoLevelCache cache = localCache(invalidation.getCache());
+        boolean gap = trackVersion(invalidation);
+        if (cache == null) {
+            return;
+        }
+
+        if (gap || invalidation.isClear()) {
+            cache.clearLocal();
+            cacheClears.incrementAndGet();
+            log.info("🧹 L1 cleared: cache={}, origin={}, v{}{}", invalidation.getCache(),
+                    invalidation.getOrigin(), invalidation.getVersion(), gap ? " (missed messages)" : "");
+        } else if (invalidation.getTag() != null) {
+            List<String> keys = invalidation.getKeys() != null ? invalidation.getKeys() : List.of();
+            cache.evictLocalByTag(invalidation.getTag(), keys);
+            tagEvictions.incrementAndGet();
+            keysEvicted.addAndGet(keys.size());
+            log.debug("🏷️  L1 evicted: cache={}, tag={}, keys={}, origin={}",
+                    invalidation.getCache(), invalidation.getTag(), keys.size(), invalidation.getOrigin());
+        } else if (invalidation.getKeys() != null && !invalidation.getKeys().isEmpty()) {
+            cache.evictLocal(invalidation.getKeys());
+            keysEvicted.addAndGet(invalidation.getKeys().size());
+            log.debug("🗑️  L1 evicted: cache={}, keys={}, origin={}",
+                    invalidation.getCache(), invalidation.getKeys(), invalidation.getOrigin());
+        } else {
+            cache.evictLocalByPrefix(invalidation.getPrefix());
+            prefixEvictions.incrementAndGet();
+            log.debug("🗑️  L1 evicted: cache={}, prefix={}, origin={}",
+                    invalidation.getCache(), invalidation.getPrefix(), invalidation.getOrigin());
+        }
+    }
+
+    /**
+     * Record version from origin; true if earlier messages were missed
+     *
+     * <p>Only a forward gap counts: a late (lower) version is still applied, evictions
+     * are idempotent.</p>
+     */
+    private boolean trackVersion(CacheInvalidationMessage invalidation) {
+        String originKey = invalidation.getOrigin() + "|" + invalidation.getCache();
+        long version = invalidation.getVersion();
+        long[] previous = {0L};
+        lastVersions.compute(originKey, (key, last) -> {
+            previous[0] = last != null ? last : 0L;
+            return last != null ? Math.max(last, version) : version;
+        });
+        // First message from an origin has no baseline (pod start / new publisher)
+        boolean gap = previous[0] > 0 && version > previous[0] + 1;
+        if (gap) {
+            gapsDetected.incrementAndGet();
+        }
+        return gap;
+    }
+
+    private TwoLevelCache localCache(String cacheName) {
+        if (cacheName == null) {
+            return null;
+        }
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            return twoLevelCacheManager.getCacheIfPresent(cacheName);
+        }
+        return cacheManager.getCache(cacheName) instanceof TwoLevelCache cache ? cache : null;
+    }
+
+    /**
+     * Listener counters for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("origin", invalidationPublisher.getOrigin());
+        stats.put("received", received.get());
+        stats.put("ignoredOwn", ignoredOwn.get());
+        stats.put("keysEvicted", keysEvicted.get());
+        stats.put("tagEvictions", tagEvictions.get());
+        stats.put("prefixEvictions", prefixEvictions.get());
+        stats.put("cacheClears", cacheClears.get());
+        stats.put("gapsDetected", gapsDetected.get());
+        return stats;
+    }
+}
@@ -0,0 +1,83 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyed L1 invalidation message (Redis Pub/Sub, JSON)
+ *
+ * <p>Published on {@link CacheInvalidationPublisher#CHANNEL} by the pod that wrote
+ * or evicted cache entries. Receiving pods drop only the listed entries from their
+ * L1 (Caffeine); L2 (Redis) is shared and already up to date.</p>
+ *
+ * <p><strong>Scope:</strong></p>
+ * <ul>
+ *   <li>{@code keys} - exact cache keys (string form, same as the Redis key suffix)</li>
+ *   <li>{@code tag} - keys indexed under the tag on the receiving pod, plus {@code keys}
+ *       resolved by the sender (TwoLevelCache.evictByTag)</li>
+ *   <li>{@code prefix} - all keys starting with the prefix</li>
+ *   <li>none of them - whole cache (L1 only)</li>
+ * </ul>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * {"cache":"menu","keys":["3f2a...:uz-UZ","3f2a...:ru-RU"],"version":42,
+ *  "origin":"hemis-pod-5-8c1e2f0a","timestamp":1767000000000}
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    /**
+     * Cache name (e.g. "menu", "i18n", "userPermissions")
+     */
+    private String cache;
+
+    /**
+     * Exact keys to evict (null/empty if prefix or whole cache)
+     */
+    private List<String> keys;
+
+    /**
+     * Key prefix to evict (null if keys or whole cache)
+     */
+    private String prefix;
+
+    /**
+     * Tag evicted by the sender (null unless evictByTag)
+     */
+    private String tag;
+
+    /**
+     * Per origin and cache sequence number (gap → receiver clears its L1 for the cache)
+     */
+    private long version;
+
+    /**
+     * Publishing pod instance id (receivers ignore their own messages)
+     */
+    private String origin;
+
+    /**
+     * Publish time (epoch millis)
+     */
+    private long timestamp;
+
+    /**
+     * Whole-cache invalidation (no keys, no tag, no prefix)
+     */
+    @JsonIgnore
+    public boolean isClear() {
+        return (keys == null || keys.isEmpty()) && tag == null && prefix == null;
+    }
+}
@@ -0,0 +1,216 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keyed Cache Invalidation Publisher (Redis Pub/Sub)
+ *
+ * <p>Tells other pods which L1 (Caffeine) entries became stale after a local
+ * put/evict/clear on a {@link TwoLevelCache}. Replaces whole-cache clears on every
+ * pod: a role change for one user evicts only that user's entries everywhere.</p>
+ *
+ * <p><strong>Protocol:</strong></p>
+ * <ul>
+ *   <li>Channel: {@value #CHANNEL}</li>
+ *   <li>Payload: {@link CacheInvalidationMessage} as JSON (cache, keys | tag | prefix, version, origin)</li>
+ *   <li>origin: this JVM's instance id - {@link CacheInvalidationListener} ignores own messages</li>
+ *   <li>version: sequence per cache on this origin - a gap tells the receiver it missed
+ *       messages (disconnect, Redis outage) and must clear its L1 for that cache. Assigned
+ *       when the message is sent (after commit), under a per-cache lock together with the
+ *       PUBLISH: versions reach Redis in order, and rolled-back work never takes a version
+ *       (no false gaps)</li>
+ * </ul>
+ *
+ * <p>Inside an active transaction the message is sent after commit, together with the
+ * deferred L2 writes (TransactionAwareCacheDecorator), so other pods never reload the old
+ * value from Redis. Publish errors are logged, never thrown to the caller; while the L2
+ * circuit breaker is open messages are skipped (the sequence gap heals receivers later).</p>
+ *
+ * @since 2.0.0
+ */
+@Service
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache:keys:invalidate";
+
+    // Max keys per message (large tag evictions are split)
+    private static final int MAX_KEYS_PER_MESSAGE = 1000;
+
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final ObjectMapper objectMapper;
+    private final String origin;
+
+    // cache name → last published version
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    // Shared L2 breaker (set by TwoLevelCacheManager) - same Redis as the caches
+    private volatile L2CircuitBreaker circuitBreaker;
+
+    public CacheInvalidationPublisher(RedisTemplate<String, String> redisMessageTemplate,
+                                      ObjectMapper objectMapper) {
+        this.redisMessageTemplate = redisMessageTemplate;
+        this.objectMapper = objectMapper;
+        this.origin = buildOrigin();
+        log.info("✅ CacheInvalidationPublisher initialized (origin={})", origin);
+    }
+
+    /**
+     * Instance id of this pod (hostname + random suffix, unique per JVM start)
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Guard publishing with the shared L2 circuit breaker
+     */
+    public void setCircuitBreaker(L2CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Invalidate exact keys on other pods
+     *
+     * @param cacheName Cache name
+     * @param keys      Cache keys (converted with {@code String.valueOf})
+     */
+    public void publishKeys(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> keyStrings = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            keyStrings.add(String.valueOf(key));
+        }
+        publish(cacheName, keyStrings, null, null);
+    }
+
+    /**
+     * Invalidate a tag on other pods (their own L1 tag index + keys resolved here)
+     *
+     * @param cacheName Cache name
+     * @param tag       Tag (e.g. "locale:ru-RU")
+     * @param keys      Keys resolved from this pod's index and the Redis tag set
+     */
+    public void publishTag(String cacheName, String tag, Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        if (keyList.isEmpty()) {
+            publish(cacheName, null, null, tag);
+            return;
+        }
+        for (int from = 0; from < keyList.size(); from += MAX_KEYS_PER_MESSAGE) {
+            int to = Math.min(from + MAX_KEYS_PER_MESSAGE, keyList.size());
+            publish(cacheName, new ArrayList<>(keyList.subList(from, to)), null, tag);
+        }
+    }
+
+    /**
+     * Invalidate all keys starting with prefix on other pods
+     *
+     * @param cacheName Cache name
+     * @param prefix    Key prefix (e.g. "{userId}:" for all locales of a user's menu)
+     */
+    public void publishPrefix(String cacheName, String prefix) {
+        publish(cacheName, null, prefix, null);
+    }
+
+    /**
+     * Clear the whole cache L1 on other pods
+     *
+     * @param cacheName Cache name
+     */
+    public void publishClear(String cacheName) {
+        publish(cacheName, null, null, null);
+    }
+
+    private void publish(String cacheName, List<String> keys, String prefix, String tag) {
+        CacheInvalidationMessage message = CacheInvalidationMessage.builder()
+                .cache(cacheName)
+                .keys(keys)
+                .prefix(prefix)
+                .tag(tag)
+                .origin(origin)
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+            return;
+        }
+        send(message);
+    }
+
+    /**
+     * Number and publish the message under the cache's sequence lock
+     *
+     * <p>A message skipped by the open circuit breaker keeps its version: the gap
+     * makes receivers clear their L1 once messages flow again.</p>
+     */
+    private void send(CacheInvalidationMessage message) {
+        Sequence sequence = sequences.computeIfAbsent(message.getCache(), k -> new Sequence());
+        sequence.lock.lock();
+        try {
+            message.setVersion(++sequence.value);
+            doSend(message);
+        } finally {
+            sequence.lock.unlock();
+        }
+    }
+
+    private void doSend(CacheInvalidationMessage message) {
+        message.setTimestamp(System.currentTimeMillis());
+        L2CircuitBreaker breaker = this.circuitBreaker;
+        try {
+            String json = objectMapper.writeValueAsString(message);
+            if (breaker == null) {
+                redisMessageTemplate.convertAndSend(CHANNEL, json);
+            } else {
+                breaker.execute(() -> {
+                    redisMessageTemplate.convertAndSend(CHANNEL, json);
+                    return Boolean.TRUE;
+                }, () -> Boolean.FALSE);
+            }
+            log.debug("📤 Published cache invalidation: cache={}, keys={}, prefix={}, v{}",
+                    message.getCache(), message.getKeys(), message.getPrefix(), message.getVersion());
+        } catch (Exception e) {
+            log.error("❌ Failed to publish cache invalidation: cache={}", message.getCache(), e);
+        }
+    }
+
+    /**
+     * Per-cache version counter (ReentrantLock: the PUBLISH under it is blocking I/O)
+     */
+    private static final class Sequence {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long value;
+    }
+
+    private static String buildOrigin() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,96 @@
+package uz.hemis.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import uz.hemis.service.config.TwoLevelCacheProperties;
+
+import java.util.Map;
+
+/**
+ * Cache Policy Administration Service
+ *
+ * <p>Runtime view and reload of {@code hemis.cache.*} policies for TwoLevelCacheManager.</p>
+ *
+ * <p><strong>Operations:</strong></p>
+ * <ul>
+ *   <li>{@link #getPolicies()} - effective policy per cache</li>
+ *   <li>{@link #reloadFromEnvironment()} - re-bind hemis.cache.* and apply to live caches</li>
+ *   <li>{@link #overridePolicy(String, TwoLevelCacheProperties.Policy)} - runtime override for one cache
+ *       (kept until next reload or restart)</li>
+ * </ul>
+ *
+ * <p><strong>Note:</strong> Policies are per-pod. Apply on every pod (or update
+ * configuration and restart) for a cluster-wide change.</p>
+ *
+ * @since 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CachePolicyService {
+
+    private static final String PROPERTIES_PREFIX = "hemis.cache";
+
+    private final CacheManager cacheManager;
+    private final Environment environment;
+    private final TwoLevelCacheProperties cacheProperties;
+
+    /**
+     * Get effective policy per cache
+     *
+     * @return cache name → policy description
+     */
+    public Map<String, String> getPolicies() {
+        return twoLevelManager().getPolicies();
+    }
+
+    /**
+     * Re-bind hemis.cache.* from environment and apply to all caches
+     *
+     * @return cache name → applied policy
+     */
+    public Map<String, String> reloadFromEnvironment() {
+        TwoLevelCacheProperties reloaded = Binder.get(environment)
+                .bind(PROPERTIES_PREFIX, TwoLevelCacheProperties.class)
+                .orElseGet(TwoLevelCacheProperties::new);
+
+        cacheProperties.setDefaults(reloaded.getDefaults());
+        cacheProperties.setCaches(reloaded.getCaches());
+
+        log.info("🔄 Reloading cache policies from environment ({} configured caches)", reloaded.getCaches().size());
+        return twoLevelManager().applyPolicies(cacheProperties);
+    }
+
+    /**
+     * Override policy of a single cache at runtime
+     *
+     * <p>Only non-null fields of {@code override} are applied; the rest keep their current value.</p>
+     *
+     * @param cacheName Cache name (e.g., "i18n")
+     * @param override  Partial policy
+     * @return cache name → applied policy
+     */
+    public Map<String, String> overridePolicy(String cacheName, TwoLevelCacheProperties.Policy override) {
+        TwoLevelCacheProperties.Policy current = cacheProperties.getCaches().get(cacheName);
+        TwoLevelCacheProperties.Policy merged = current != null ? current.mergedWith(override) : override;
+
+        Map<String, TwoLevelCacheProperties.Policy> caches = new java.util.LinkedHashMap<>(cacheProperties.getCaches());
+        caches.put(cacheName, merged);
+        cacheProperties.setCaches(caches);
+
+        log.info("🔧 Runtime cache policy override: {} → {}", cacheName, cacheProperties.resolve(cacheName));
+        return twoLevelManager().applyPolicies(cacheProperties);
+    }
+
+    private TwoLevelCacheManager twoLevelManager() {
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelManager) {
+            return twoLevelManager;
+        }
+        throw new IllegalStateException("Cache policies require TwoLevelCacheManager, found: "
+                + cacheManager.getClass().getSimpleName());
+    }
+}
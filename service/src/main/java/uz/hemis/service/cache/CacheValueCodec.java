@@ -0,0 +1,157 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
+import uz.hemis.service.config.TwoLevelCacheProperties.ValueCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact L2 value codec - Smile (binary JSON) + LZ4 above a size threshold
+ *
+ * <p>Large values (i18n translation maps, per-user MenuResponse trees) are pulled
+ * from Redis by every pod on L1 miss. Smile keeps the Jackson model of the JSON
+ * serializer (same type info, same DTO annotations) but back-references repeated
+ * property names and short strings, so deep trees of identical DTOs shrink and
+ * parse faster. LZ4 is applied only above {@code compression-threshold} and only
+ * when it actually saves bytes.</p>
+ *
+ * <p><strong>Binary layout:</strong></p>
+ * <pre>
+ * [0xCB magic][format version][flags]([int raw length] if LZ4)[Smile payload]
+ * </pre>
+ *
+ * <p><strong>Rolling deploys:</strong></p>
+ * <ul>
+ *   <li>Reads always accept both formats: no magic byte → legacy JSON serializer
+ *       (a JSON document never starts with 0xCB)</li>
+ *   <li>Writes use the cache's {@code codec} policy (JSON by default) - switch to
+ *       BINARY once every pod runs a codec-aware build</li>
+ *   <li>Unknown format version (newer writer) → SerializationException, the entry is
+ *       treated as a cache miss and reloaded</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte FORMAT_VERSION = 1;
+    static final byte FLAG_LZ4 = 0x01;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int LENGTH_SIZE = 4;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final ObjectMapper smileMapper;
+    private final SerializationPair<Object> legacy;
+    private final ValueCodec writeCodec;
+    private final int compressionThreshold;
+
+    /**
+     * @param smileMapper          Mapper with a SmileFactory (see {@link #smileMapper(ObjectMapper)})
+     * @param legacy               JSON value serialization pair (read fallback, JSON writes)
+     * @param writeCodec           Format for new writes
+     * @param compressionThreshold Smile payloads of at least this many bytes are LZ4-compressed
+     */
+    public CacheValueCodec(ObjectMapper smileMapper, SerializationPair<Object> legacy,
+                           ValueCodec writeCodec, int compressionThreshold) {
+        this.smileMapper = smileMapper;
+        this.legacy = legacy;
+        this.writeCodec = writeCodec;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Smile mapper with the configuration (modules, default typing) of the JSON cache mapper
+     */
+    public static ObjectMapper smileMapper(ObjectMapper jsonMapper) {
+        return jsonMapper.copyWith(new SmileFactory());
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeCodec != ValueCodec.BINARY) {
+            return ByteUtils.getBytes(legacy.write(value));
+        }
+
+        byte[] smile;
+        try {
+            smile = smileMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not write Smile value: " + e.getMessage(), e);
+        }
+
+        if (smile.length >= compressionThreshold) {
+            byte[] compressed = compress(smile);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+
+        byte[] bytes = new byte[HEADER_SIZE + smile.length];
+        writeHeader(bytes, (byte) 0);
+        System.arraycopy(smile, 0, bytes, HEADER_SIZE, smile.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            // Legacy JSON entry (written before BINARY was enabled or by an older pod)
+            return legacy.read(ByteBuffer.wrap(bytes));
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported cache value format version: "
+                    + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        try {
+            if ((bytes[2] & FLAG_LZ4) != 0) {
+                int rawLength = ByteBuffer.wrap(bytes, HEADER_SIZE, LENGTH_SIZE).getInt();
+                LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+                byte[] smile = decompressor.decompress(bytes, HEADER_SIZE + LENGTH_SIZE, rawLength);
+                return smileMapper.readValue(smile, Object.class);
+            }
+            return smileMapper.readValue(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, Object.class);
+        } catch (Exception e) {
+            throw new SerializationException("Could not read Smile value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * LZ4 frame with header + raw length; null if compression does not save bytes
+     */
+    private byte[] compress(byte[] smile) {
+        LZ4Compressor compressor = LZ4.fastCompressor();
+        int prefix = HEADER_SIZE + LENGTH_SIZE;
+        byte[] buffer = new byte[prefix + compressor.maxCompressedLength(smile.length)];
+        int compressedLength = compressor.compress(smile, 0, smile.length, buffer, prefix);
+        if (prefix + compressedLength >= HEADER_SIZE + smile.length) {
+            return null;
+        }
+
+        writeHeader(buffer, FLAG_LZ4);
+        ByteBuffer.wrap(buffer, HEADER_SIZE, LENGTH_SIZE).putInt(smile.length);
+        byte[] bytes = new byte[prefix + compressedLength];
+        System.arraycopy(buffer, 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    private static void writeHeader(byte[] bytes, byte flags) {
+        bytes[0] = MAGIC;
+        bytes[1] = FORMAT_VERSION;
+        bytes[2] = flags;
+    }
+}
@@ -0,0 +1,71 @@
+package uz.hemis.service.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Approximate Byte Weigher for L1 (Caffeine) Entries
+ *
+ * <p>Used when a cache policy sets {@code max-weight} so heavy caches (e.g. i18n:
+ * one Map of thousands of translations per language) are bounded by memory
+ * instead of entry count.</p>
+ *
+ * <p><strong>Estimation (64-bit JVM, compressed oops):</strong></p>
+ * <ul>
+ *   <li>String: 40 bytes header + 1-2 bytes per char (Latin-1 / UTF-16)</li>
+ *   <li>Map: 48 bytes per entry + key + value</li>
+ *   <li>Collection: 16 bytes per element + element</li>
+ *   <li>{@link TwoLevelCache.LoadedValue}: the wrapped value + 24 bytes</li>
+ *   <li>Other objects: flat {@value #DEFAULT_OBJECT_BYTES} bytes (DTO trees are not walked)</li>
+ * </ul>
+ *
+ * <p>Traversal depth is limited to keep weighing O(size) and cycle-safe.</p>
+ *
+ * @since 2.0.0
+ */
+public class CacheValueWeigher implements Weigher<Object, Object> {
+
+    private static final int DEFAULT_OBJECT_BYTES = 256;
+    private static final int MAX_DEPTH = 4;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = estimate(key, 0) + estimate(value, 0);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, bytes));
+    }
+
+    private long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof CharSequence text) {
+            return 40L + text.length() * 2L;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16L;
+        }
+        if (value instanceof TwoLevelCache.LoadedValue loaded) {
+            return 24L + estimate(loaded.value(), depth);
+        }
+        if (depth >= MAX_DEPTH) {
+            return DEFAULT_OBJECT_BYTES;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 64L;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 48L + estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 64L;
+            for (Object element : collection) {
+                bytes += 16L + estimate(element, depth + 1);
+            }
+            return bytes;
+        }
+        return DEFAULT_OBJECT_BYTES;
+    }
+}
@@ -1,11 +1,24 @@
 package uz.hemis.service.cache;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,13 +66,27 @@ import java.util.concurrent.TimeUnit;
  *   <li>stats:version → Statistics cache version</li>
  * </ul>
  *
+ * <p><strong>Local Version Table:</strong></p>
+ * <ul>
+ *   <li>{@link #buildVersionedKey} reads an in-process table - no Redis GET per cache access</li>
+ *   <li>Updated by own increments and by {@code cache:invalidate:{namespace}} messages
+ *       ("v{N}-{ts}" / "reset-{ts}") from other pods</li>
+ *   <li>Reconciled from Redis every {@code hemis.cache-version.reconcile-interval-ms}
+ *       (default 30s, one MGET) - heals missed Pub/Sub messages</li>
+ *   <li>{@link #getCurrentVersion} stays an authoritative Redis read (and refreshes the table)</li>
+ * </ul>
+ *
  * @since 2.0.0
  */
 @Service
 @Slf4j
-public class CacheVersionService {
+public class CacheVersionService implements MessageListener {
 
     private final RedisTemplate<String, String> redisMessageTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // namespace → last known version (memory read for versioned keys)
+    private final ConcurrentMap<String, Long> localVersions = new ConcurrentHashMap<>();
 
     // Version key prefix
     private static final String VERSION_KEY_PREFIX = "cache:version:";
@@ -72,16 +99,118 @@ public class CacheVersionService {
 
     // Pub/Sub channel pattern: cache:invalidate:{namespace}
     private static final String INVALIDATE_CHANNEL_PATTERN = "cache:invalidate:%s";
-
-    public CacheVersionService(RedisTemplate<String, String> redisMessageTemplate) {
+    private static final String INVALIDATE_CHANNEL_PREFIX = "cache:invalidate:";
+
+    // Namespaces always reported by getAllVersions
+    private static final String[] KNOWN_NAMESPACES =
+            {"i18n", "menu", "userPermissions", "stats", "universitiesSearch", "universityDictionaries"};
+
+    // INCR + PUBLISH in one atomic call (no bump without event, one round trip)
+    // KEYS[1] = version key, ARGV[1] = channel, ARGV[2] = timestamp
+    private static final RedisScript<Long> INCREMENT_AND_PUBLISH_SCRIPT = RedisScript.of(
+            "local version = redis.call('INCR', KEYS[1]) "
+                    + "redis.call('PUBLISH', ARGV[1], 'v' .. version .. '-' .. ARGV[2]) "
+                    + "return version",
+            Long.class);
+
+    // Delete lock only if still ours (KEYS[1] = lock, ARGV[1] = owner token)
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    public CacheVersionService(RedisTemplate<String, String> redisMessageTemplate,
+                               RedisMessageListenerContainer listenerContainer) {
         this.redisMessageTemplate = redisMessageTemplate;
+        this.listenerContainer = listenerContainer;
         log.info("✅ CacheVersionService initialized");
     }
 
+    /**
+     * Register to version bump channels (cache:invalidate:*) on startup
+     */
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new PatternTopic(INVALIDATE_CHANNEL_PREFIX + "*"));
+        log.info("📡 CacheVersionService subscribed to {}*", INVALIDATE_CHANNEL_PREFIX);
+    }
+
+    /**
+     * Apply version bump published by any pod ("v{N}-{ts}" or "reset-{ts}")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        applyVersionMessage(channel.substring(INVALIDATE_CHANNEL_PREFIX.length()), payload);
+    }
+
+    /**
+     * Update local table from a version message payload
+     */
+    void applyVersionMessage(String namespace, String payload) {
+        if (payload.startsWith("reset-")) {
+            localVersions.put(namespace, 1L);
+            log.debug("🔢 Local cache version reset: {} = 1", namespace);
+            return;
+        }
+
+        int dash = payload.indexOf('-');
+        if (!payload.startsWith("v") || dash < 2) {
+            log.warn("⚠️ Unknown cache version payload: {} = {}", namespace, payload);
+            return;
+        }
+        try {
+            long version = Long.parseLong(payload.substring(1, dash));
+            localVersions.merge(namespace, version, Math::max);
+            log.debug("🔢 Local cache version updated: {} = {}", namespace, version);
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ Unknown cache version payload: {} = {}", namespace, payload);
+        }
+    }
+
+    /**
+     * Reconcile local table with Redis (one MGET for all known namespaces)
+     *
+     * <p>Redis is authoritative: covers missed Pub/Sub messages, resets and
+     * increments without publish. Namespaces whose key disappeared are dropped
+     * and re-initialized on next use.</p>
+     */
+    @Scheduled(fixedDelayString = "${hemis.cache-version.reconcile-interval-ms:30000}",
+            initialDelayString = "${hemis.cache-version.reconcile-interval-ms:30000}")
+    public void reconcileVersions() {
+        List<String> namespaces = new ArrayList<>(localVersions.keySet());
+        if (namespaces.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> values = multiGetVersions(namespaces);
+            int changed = 0;
+            for (int i = 0; i < namespaces.size(); i++) {
+                String namespace = namespaces.get(i);
+                String value = values != null && i < values.size() ? values.get(i) : null;
+                if (value == null) {
+                    localVersions.remove(namespace);
+                    continue;
+                }
+                long version = Long.parseLong(value);
+                Long previous = localVersions.put(namespace, version);
+                if (previous == null || previous != version) {
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                log.info("🔢 Cache versions reconciled from Redis: {} changed", changed);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Cache version reconcile failed (local table kept): {}", e.getMessage());
+        }
+    }
+
     /**
      * Get current cache version for namespace
      *
-     * <p>Returns current version number, initializes to 1 if not exists</p>
+     * <p>Returns current version number, initializes to 1 if not exists.
+     * Authoritative Redis read - also refreshes the local version table.</p>
      *
      * @param namespace Cache namespace (e.g., "i18n", "menu")
      * @return Current version number
@@ -92,12 +221,32 @@ public class CacheVersionService {
 
         if (version == null) {
             // Initialize version to 1
-            redisMessageTemplate.opsForValue().setIfAbsent(versionKey, "1");
+            Boolean initialized = redisMessageTemplate.opsForValue().setIfAbsent(versionKey, "1");
+            if (!Boolean.TRUE.equals(initialized)) {
+                // Another pod initialized or incremented it meanwhile
+                return getCurrentVersion(namespace);
+            }
             log.info("🔢 Initialized cache version: {} = 1", namespace);
+            localVersions.put(namespace, 1L);
             return 1L;
         }
 
-        return Long.parseLong(version);
+        long current = Long.parseLong(version);
+        localVersions.put(namespace, current);
+        return current;
+    }
+
+    /**
+     * Get cache version from the local table (memory read)
+     *
+     * <p>First use of a namespace reads Redis once ({@link #getCurrentVersion}).</p>
+     *
+     * @param namespace Cache namespace (e.g., "i18n", "menu")
+     * @return Last known version number
+     */
+    public long getLocalVersion(String namespace) {
+        Long version = localVersions.get(namespace);
+        return version != null ? version : getCurrentVersion(namespace);
     }
 
     /**
@@ -125,6 +274,7 @@ public class CacheVersionService {
             newVersion = 1L;
         }
 
+        localVersions.merge(namespace, newVersion, Math::max);
         log.info("🔄 Cache version incremented: {} = {}", namespace, newVersion);
 
         return newVersion;
@@ -135,10 +285,9 @@ public class CacheVersionService {
      *
      * <p><strong>Distributed Cache Invalidation Flow:</strong></p>
      * <pre>
-     * 1. version++ (Redis INCR)
-     * 2. Publish Pub/Sub message (Redis PUBLISH)
-     * 3. All 10 pods receive message → clear L1 (Caffeine)
-     * 4. Next request loads with new version
+     * 1. version++ and PUBLISH in one Lua script (atomic, one round trip)
+     * 2. All 10 pods receive message → update local version table
+     * 3. Next request builds keys with the new version
      * </pre>
      *
      * <p><strong>Example:</strong></p>
@@ -154,15 +303,17 @@ public class CacheVersionService {
      * @return New version number
      */
     public long incrementVersionAndPublish(String namespace) {
-        // 1️⃣ Increment version (atomic)
-        long newVersion = incrementVersion(namespace);
-
-        // 2️⃣ Publish invalidation event
+        String versionKey = VERSION_KEY_PREFIX + namespace;
         String channel = String.format(INVALIDATE_CHANNEL_PATTERN, namespace);
-        String payload = String.format("v%d-%d", newVersion, System.currentTimeMillis());
 
-        redisMessageTemplate.convertAndSend(channel, payload);
-        log.info("📡 Published invalidation: channel={}, payload={}", channel, payload);
+        Long newVersion = redisMessageTemplate.execute(INCREMENT_AND_PUBLISH_SCRIPT,
+                List.of(versionKey), channel, String.valueOf(System.currentTimeMillis()));
+        if (newVersion == null) {
+            throw new IllegalStateException("Cache version increment returned no result: " + namespace);
+        }
+
+        localVersions.merge(namespace, newVersion, Math::max);
+        log.info("📡 Cache version incremented and published: channel={}, version={}", channel, newVersion);
 
         return newVersion;
     }
@@ -172,6 +323,8 @@ public class CacheVersionService {
      *
      * <p><strong>Format:</strong> namespace:v{version}:{subKey}</p>
      *
+     * <p>Version comes from the local table (no Redis round trip).</p>
+     *
      * <p><strong>Examples:</strong></p>
      * <ul>
      *   <li>i18n:v1:messages:uz-UZ</li>
@@ -185,7 +338,7 @@ public class CacheVersionService {
      * @return Versioned cache key
      */
     public String buildVersionedKey(String namespace, String subKey) {
-        long version = getCurrentVersion(namespace);
+        long version = getLocalVersion(namespace);
         return String.format("%s:v%d:%s", namespace, version, subKey);
     }
 
@@ -200,12 +353,13 @@ public class CacheVersionService {
      * // Only 1 pod should query DB and populate cache
      * // Other 9 pods wait and read from cache
      *
-     * if (cacheVersionService.acquireLock("i18n:warmup")) {
+     * String token = cacheVersionService.acquireLock("i18n:warmup");
+     * if (token != null) {
      *     try {
      *         // This pod won the race - load from DB
      *         loadFromDatabaseAndCache();
      *     } finally {
-     *         cacheVersionService.releaseLock("i18n:warmup");
+     *         cacheVersionService.releaseLock("i18n:warmup", token);
      *     }
      * } else {
      *     // Another pod is loading - wait and retry
@@ -215,33 +369,56 @@ public class CacheVersionService {
      * </pre>
      *
      * @param lockKey Lock identifier (e.g., "i18n:warmup")
-     * @return true if lock acquired, false if already locked
+     * @return owner token if lock acquired (pass to {@link #releaseLock}), null if already locked
      */
-    public boolean acquireLock(String lockKey) {
+    public String acquireLock(String lockKey) {
+        return acquireLock(lockKey, java.time.Duration.ofSeconds(LOCK_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Acquire distributed lock with custom lease time
+     *
+     * <p>Use for long-running loaders (e.g. dashboard statistics ~30s) where the
+     * default 10 second lease would expire before the leader finishes.</p>
+     *
+     * @param lockKey Lock identifier (e.g., "load:stats:all")
+     * @param leaseTime Lock TTL (auto-released by Redis after this time)
+     * @return owner token if lock acquired (pass to {@link #releaseLock}), null if already locked
+     */
+    public String acquireLock(String lockKey, java.time.Duration leaseTime) {
         String fullLockKey = LOCK_KEY_PREFIX + lockKey;
-        String lockValue = String.valueOf(System.currentTimeMillis());
+        String token = UUID.randomUUID().toString();
 
+        // SET NX PX with a token unique to this acquirer
         Boolean acquired = redisMessageTemplate.opsForValue()
-                .setIfAbsent(fullLockKey, lockValue, LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                .setIfAbsent(fullLockKey, token, leaseTime.toMillis(), TimeUnit.MILLISECONDS);
 
         if (Boolean.TRUE.equals(acquired)) {
             log.debug("🔒 Lock acquired: {}", lockKey);
-            return true;
+            return token;
         } else {
             log.debug("⏳ Lock already held: {}", lockKey);
-            return false;
+            return null;
         }
     }
 
     /**
-     * Release distributed lock
+     * Release distributed lock if still held by the given acquirer
+     *
+     * <p>If the lease expired and another pod (or thread) took the lock, the lock is
+     * left alone - a slow leader never deletes the next leader's lock.</p>
      *
      * @param lockKey Lock identifier
+     * @param token   Token returned by {@link #acquireLock}
      */
-    public void releaseLock(String lockKey) {
+    public void releaseLock(String lockKey, String token) {
         String fullLockKey = LOCK_KEY_PREFIX + lockKey;
-        redisMessageTemplate.delete(fullLockKey);
-        log.debug("🔓 Lock released: {}", lockKey);
+        Long deleted = redisMessageTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(fullLockKey), token);
+        if (deleted != null && deleted > 0) {
+            log.debug("🔓 Lock released: {}", lockKey);
+        } else {
+            log.debug("⌛ Lock not released (lease expired, held by another owner): {}", lockKey);
+        }
     }
 
     /**
@@ -256,6 +433,7 @@ public class CacheVersionService {
     public void resetVersion(String namespace) {
         String versionKey = VERSION_KEY_PREFIX + namespace;
         redisMessageTemplate.opsForValue().set(versionKey, "1");
+        localVersions.put(namespace, 1L);
 
         // Publish invalidation
         String channel = String.format(INVALIDATE_CHANNEL_PATTERN, namespace);
@@ -268,19 +446,45 @@ public class CacheVersionService {
     /**
      * Get all cache versions (for monitoring)
      *
-     * <p>Returns version numbers for all namespaces</p>
+     * <p>Returns version numbers for known namespaces plus namespaces used on
+     * this pod - one MGET, missing counters initialized to 1.</p>
      *
      * @return Map of namespace → version
      */
     public java.util.Map<String, Long> getAllVersions() {
+        Set<String> namespaceSet = new LinkedHashSet<>(List.of(KNOWN_NAMESPACES));
+        namespaceSet.addAll(localVersions.keySet());
+        List<String> namespaces = new ArrayList<>(namespaceSet);
+
+        List<String> values = multiGetVersions(namespaces);
         java.util.Map<String, Long> versions = new java.util.HashMap<>();
+        for (int i = 0; i < namespaces.size(); i++) {
+            String namespace = namespaces.get(i);
+            String value = values != null && i < values.size() ? values.get(i) : null;
+            if (value == null) {
+                versions.put(namespace, getCurrentVersion(namespace));
+            } else {
+                long version = Long.parseLong(value);
+                localVersions.put(namespace, version);
+                versions.put(namespace, version);
+            }
+        }
 
-        String[] namespaces = {"i18n", "menu", "userPermissions", "stats", "universitiesSearch", "universityDictionaries"};
+        return versions;
+    }
 
+    /**
+     * Local version table (for monitoring - compare with {@link #getAllVersions()})
+     */
+    public java.util.Map<String, Long> getLocalVersions() {
+        return new java.util.TreeMap<>(localVersions);
+    }
+
+    private List<String> multiGetVersions(List<String> namespaces) {
+        List<String> keys = new ArrayList<>(namespaces.size());
         for (String namespace : namespaces) {
-            versions.put(namespace, getCurrentVersion(namespace));
+            keys.add(VERSION_KEY_PREFIX + namespace);
         }
-
-        return versions;
+        return redisMessageTemplate.opsForValue().multiGet(keys);
     }
 }
@@ -0,0 +1,133 @@
+package uz.hemis.service.cache;
+
+import org.springframework.cache.Cache;
+import uz.hemis.service.cache.L2CircuitBreaker.PendingWrite;
+import uz.hemis.service.cache.L2CircuitBreaker.WriteType;
+
+import java.util.concurrent.Callable;
+
+/**
+ * L2 Redis Cache guarded by {@link L2CircuitBreaker}
+ *
+ * <p>Decorates the Spring RedisCache used as TwoLevelCache L2:</p>
+ * <ul>
+ *   <li>get: Redis errors / breaker open → treated as miss (never thrown to caller)</li>
+ *   <li>evict / clear: Redis errors / breaker open → queued for replay</li>
+ *   <li>put: Redis errors / breaker open → the key is queued for eviction (see {@link L2CircuitBreaker})</li>
+ * </ul>
+ *
+ * <p>Wrapped in TransactionAwareCacheDecorator by TwoLevelCacheManager, so deferred
+ * after-commit writes are protected as well.</p>
+ *
+ * @since 2.0.0
+ */
+public class CircuitBreakingRedisCache implements Cache {
+
+    private final Cache delegate;
+    private final L2CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingRedisCache(Cache delegate, L2CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Underlying Redis cache (for batch access)
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public L2CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return circuitBreaker.execute(() -> delegate.get(key), () -> null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        write(new PendingWrite(this, key, value, WriteType.PUT));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        write(new PendingWrite(this, key, null, WriteType.EVICT));
+    }
+
+    @Override
+    public void clear() {
+        write(new PendingWrite(this, null, null, WriteType.CLEAR));
+    }
+
+    private void write(PendingWrite write) {
+        circuitBreaker.execute(
+                () -> {
+                    applyDirect(write);
+                    return Boolean.TRUE;
+                },
+                () -> {
+                    circuitBreaker.enqueue(write);
+                    return Boolean.FALSE;
+                });
+    }
+
+    /**
+     * Execute operation on Redis without breaker (replay path)
+     */
+    void applyDirect(PendingWrite write) {
+        switch (write.type()) {
+            case PUT -> delegate.put(write.key(), write.value());
+            case EVICT -> delegate.evict(write.key());
+            case CLEAR -> delegate.clear();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package uz.hemis.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.hemis.service.config.TwoLevelCacheProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit Breaker for L2 (Redis) Cache Calls
+ *
+ * <p>One instance per TwoLevelCacheManager (all caches share the same Redis).</p>
+ *
+ * <p><strong>States:</strong></p>
+ * <pre>
+ * CLOSED    → Redis called normally
+ *   │ failureThreshold consecutive failures (exception or slower than latencyBudget)
+ *   ▼
+ * OPEN      → L1-only: reads miss L2, written/evicted keys queued for eviction
+ *   │ openDuration elapsed
+ *   ▼
+ * HALF_OPEN → exactly one real call is let through as a probe
+ *   ├─ success → CLOSED + queued writes replayed in background
+ *   └─ failure → OPEN again
+ * </pre>
+ *
+ * <p><strong>Write replay:</strong> a failed put is queued as an evict of its key - the
+ * value may be stale by the time Redis is back (another node or a later transaction may
+ * have written the key meanwhile), so recovery only removes the L2 entry and the next
+ * read reloads it. Only the latest operation per cache key is kept.
+ * If the queue overflows, writes for that cache are dropped and the whole cache is
+ * cleared in L2 on recovery (stale L2 data is worse than an empty L2).</p>
+ *
+ * <p><strong>Note:</strong> the latency budget does not abort a slow call - the Redis
+ * client timeout ({@code spring.data.redis.timeout}) bounds the first failing calls,
+ * the breaker protects every call after the trip.</p>
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class L2CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * L2 operation kept for replay after recovery
+     */
+    public enum WriteType {
+        PUT, EVICT, CLEAR
+    }
+
+    record PendingWrite(CircuitBreakingRedisCache cache, Object key, Object value, WriteType type) {
+    }
+
+    private record PendingKey(String cacheName, Object key) {
+    }
+
+    private static final Object CLEAR_KEY = new Object();
+
+    private final LongSupplier nanoClock;
+    private final Executor replayExecutor;
+
+    private volatile long latencyBudgetNanos;
+    private volatile int failureThreshold;
+    private volatile long openDurationNanos;
+    private volatile int maxQueuedWrites;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtNanos;
+    private volatile String lastFailure;
+
+    // Latest pending operation per (cache, key) in arrival order - guarded by itself
+    private final Map<PendingKey, PendingWrite> pendingWrites = new LinkedHashMap<>();
+    private final Set<CircuitBreakingRedisCache> overflowedCaches = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private volatile boolean hasPending;
+
+    // Metrics
+    private final AtomicLong trips = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong queuedWrites = new AtomicLong();
+    private final AtomicLong replayedWrites = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+
+    public L2CircuitBreaker(TwoLevelCacheProperties.CircuitBreaker config) {
+        this(config, System::nanoTime, runnable -> {
+            Thread replayThread = new Thread(runnable, "cache-l2-replay");
+            replayThread.setDaemon(true);
+            replayThread.start();
+        });
+    }
+
+    L2CircuitBreaker(TwoLevelCacheProperties.CircuitBreaker config, LongSupplier nanoClock, Executor replayExecutor) {
+        this.nanoClock = nanoClock;
+        this.replayExecutor = replayExecutor;
+        configure(config);
+    }
+
+    /**
+     * Apply (new) settings - used at startup and on policy reload
+     */
+    public void configure(TwoLevelCacheProperties.CircuitBreaker config) {
+        this.latencyBudgetNanos = config.getLatencyBudget().toNanos();
+        this.failureThreshold = Math.max(1, config.getFailureThreshold());
+        this.openDurationNanos = config.getOpenDuration().toNanos();
+        this.maxQueuedWrites = Math.max(0, config.getMaxQueuedWrites());
+    }
+
+    /**
+     * Run an L2 call through the breaker
+     *
+     * @param l2Call   Redis call
+     * @param fallback Result when the breaker is open or the call fails
+     * @return l2Call result, or fallback result
+     */
+    public <T> T execute(Supplier<T> l2Call, Supplier<T> fallback) {
+        if (!allowRequest()) {
+            return fallback.get();
+        }
+
+        long start = nanoClock.getAsLong();
+        T result;
+        try {
+            result = l2Call.get();
+        } catch (RuntimeException e) {
+            onFailure(e.getClass().getSimpleName() + ": " + e.getMessage());
+            log.debug("L2 call failed (breaker state={}): {}", state.get(), e.getMessage());
+            return fallback.get();
+        }
+        onSuccess(nanoClock.getAsLong() - start);
+        return result;
+    }
+
+    /**
+     * Whether an L2 call may be made now (claims the half-open probe when due)
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN
+                && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            probes.incrementAndGet();
+            log.info("🔍 L2 circuit breaker HALF_OPEN - probing Redis");
+            return true;
+        }
+        shortCircuited.incrementAndGet();
+        return false;
+    }
+
+    private void onSuccess(long elapsedNanos) {
+        if (elapsedNanos > latencyBudgetNanos) {
+            slowCalls.incrementAndGet();
+            onFailure("slow call: " + Duration.ofNanos(elapsedNanos).toMillis() + "ms");
+            return;
+        }
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("✅ L2 circuit breaker CLOSED - Redis recovered, replaying {} queued write(s)", pendingCount());
+            replayAsync();
+        } else if (hasPending) {
+            // Writes queued by isolated failures below the threshold
+            replayAsync();
+        }
+    }
+
+    private void onFailure(String reason) {
+        failures.incrementAndGet();
+        lastFailure = reason;
+        long now = nanoClock.getAsLong();
+
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            openedAtNanos = now;
+            if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+                log.warn("⚠️ L2 circuit breaker probe failed, staying OPEN: {}", reason);
+            }
+            return;
+        }
+
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && current == State.CLOSED) {
+            openedAtNanos = now;
+            if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+                trips.incrementAndGet();
+                log.warn("🔌 L2 circuit breaker OPEN - serving from L1 only for {}s (last failure: {})",
+                        Duration.ofNanos(openDurationNanos).toSeconds(), reason);
+            }
+        }
+    }
+
+    // =====================================================
+    // Write queue (replayed after recovery)
+    // =====================================================
+
+    /**
+     * Queue an L2 write/evict/clear that could not be executed (a put is queued as an evict)
+     */
+    void enqueue(PendingWrite write) {
+        if (write.type() == WriteType.PUT) {
+            write = new PendingWrite(write.cache(), write.key(), null, WriteType.EVICT);
+        }
+        String cacheName = write.cache().getName();
+        if (overflowedCaches.contains(write.cache())) {
+            droppedWrites.incrementAndGet();
+            return;
+        }
+
+        synchronized (pendingWrites) {
+            if (write.type() == WriteType.CLEAR) {
+                pendingWrites.keySet().removeIf(pending -> pending.cacheName().equals(cacheName));
+                pendingWrites.put(new PendingKey(cacheName, CLEAR_KEY), write);
+            } else {
+                PendingKey pendingKey = new PendingKey(cacheName, write.key());
+                pendingWrites.remove(pendingKey);  // keep arrival order of latest operation
+                if (pendingWrites.size() >= maxQueuedWrites) {
+                    overflowedCaches.add(write.cache());
+                    hasPending = true;
+                    droppedWrites.incrementAndGet();
+                    log.warn("⚠️ L2 write queue full ({}), cache '{}' will be cleared on recovery",
+                            maxQueuedWrites, cacheName);
+                    return;
+                }
+                pendingWrites.put(pendingKey, write);
+            }
+            hasPending = true;
+        }
+        queuedWrites.incrementAndGet();
+    }
+
+    private int pendingCount() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    private void replayAsync() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        replayExecutor.execute(() -> {
+            try {
+                replay();
+            } finally {
+                replaying.set(false);
+            }
+        });
+    }
+
+    /**
+     * Replay queued operations while the breaker stays closed
+     */
+    private void replay() {
+        // Overflowed caches: clear L2 instead of replaying an incomplete history
+        for (CircuitBreakingRedisCache cache : new ArrayList<>(overflowedCaches)) {
+            if (state.get() != State.CLOSED) {
+                return;
+            }
+            try {
+                cache.applyDirect(new PendingWrite(cache, null, null, WriteType.CLEAR));
+                overflowedCaches.remove(cache);
+                synchronized (pendingWrites) {
+                    pendingWrites.keySet().removeIf(pending -> pending.cacheName().equals(cache.getName()));
+                }
+                log.info("🧹 L2 cleared after write queue overflow: cache={}", cache.getName());
+            } catch (RuntimeException e) {
+                onFailure(e.getClass().getSimpleName() + ": " + e.getMessage());
+                return;
+            }
+        }
+
+        List<PendingWrite> batch;
+        synchronized (pendingWrites) {
+            batch = new ArrayList<>(pendingWrites.values());
+            pendingWrites.clear();
+            hasPending = !overflowedCaches.isEmpty();
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (state.get() != State.CLOSED) {
+                batch.subList(i, batch.size()).forEach(this::requeue);
+                return;
+            }
+            try {
+                batch.get(i).cache().applyDirect(batch.get(i));
+                replayedWrites.incrementAndGet();
+            } catch (RuntimeException e) {
+                onFailure(e.getClass().getSimpleName() + ": " + e.getMessage());
+                batch.subList(i, batch.size()).forEach(this::requeue);
+                return;
+            }
+        }
+        if (!batch.isEmpty()) {
+            log.info("♻️ Replayed {} queued L2 write(s)", batch.size());
+        }
+    }
+
+    /**
+     * Put back an unreplayed write unless a newer operation for the same key arrived meanwhile
+     */
+    private void requeue(PendingWrite write) {
+        synchronized (pendingWrites) {
+            String cacheName = write.cache().getName();
+            if (write.type() != WriteType.CLEAR && pendingWrites.containsKey(new PendingKey(cacheName, CLEAR_KEY))) {
+                return;  // newer clear of the whole cache supersedes this write
+            }
+            Object key = write.type() == WriteType.CLEAR ? CLEAR_KEY : write.key();
+            pendingWrites.putIfAbsent(new PendingKey(cacheName, key), write);
+            hasPending = true;
+        }
+    }
+
+    // =====================================================
+    // Monitoring
+    // =====================================================
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Whether L2 is currently bypassed (OPEN or probing)
+     */
+    public boolean isDegraded() {
+        return state.get() != State.CLOSED;
+    }
+
+    public long getTrips() {
+        return trips.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.get();
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    public long getReplayedWrites() {
+        return replayedWrites.get();
+    }
+
+    public long getDroppedWrites() {
+        return droppedWrites.get();
+    }
+
+    public int getPendingWrites() {
+        return pendingCount();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("state", state.get().name());
+        stats.put("consecutiveFailures", consecutiveFailures.get());
+        stats.put("trips", trips.get());
+        stats.put("failures", failures.get());
+        stats.put("slowCalls", slowCalls.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("probes", probes.get());
+        stats.put("pendingWrites", pendingCount());
+        stats.put("queuedWrites", queuedWrites.get());
+        stats.put("replayedWrites", replayedWrites.get());
+        stats.put("droppedWrites", droppedWrites.get());
+        stats.put("overflowedCaches", overflowedCaches.stream().map(CircuitBreakingRedisCache::getName).sorted().toList());
+        stats.put("latencyBudgetMs", Duration.ofNanos(latencyBudgetNanos).toMillis());
+        stats.put("lastFailure", Objects.requireNonNullElse(lastFailure, "none"));
+        return stats;
+    }
+}
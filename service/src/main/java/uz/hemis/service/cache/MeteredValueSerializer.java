@@ -0,0 +1,42 @@
+package uz.hemis.service.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * L2 value serializer that records serialized value size per cache
+ *
+ * <p>Delegates to the configured value serialization pair (JSON by default) and
+ * feeds {@code hemis.cache.value.size} of the owning cache.</p>
+ *
+ * @since 2.0.0
+ */
+public class MeteredValueSerializer implements RedisSerializer<Object> {
+
+    private final SerializationPair<Object> delegate;
+    private final TwoLevelCacheMetrics metrics;
+
+    public MeteredValueSerializer(SerializationPair<Object> delegate, TwoLevelCacheMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = ByteUtils.getBytes(delegate.write(value));
+        metrics.recordValueSize(bytes.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null) {
+            return null;
+        }
+        return delegate.read(ByteBuffer.wrap(bytes));
+    }
+}
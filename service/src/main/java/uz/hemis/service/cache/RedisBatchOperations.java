@@ -0,0 +1,377 @@
+package uz.hemis.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch access to L2 (Redis) entries of a Spring RedisCache
+ *
+ * <p>Spring's {@link RedisCache} only reads/writes one key per round trip. For bulk
+ * lookups (TwoLevelCache.getAll) this class talks to the same Redis keys directly:</p>
+ * <ul>
+ *   <li>{@link #multiGet}: one MGET for all keys</li>
+ *   <li>{@link #pipelinedPut}: SET ... PX for all entries in one pipeline</li>
+ *   <li>{@link #pipelinedEvict}: DEL for many keys in one pipeline</li>
+ *   <li>{@link #addTags} / {@link #popTag}: tag index as Redis sets
+ *       ({@code cache:{name}::#tag:{tag}} → cache keys)</li>
+ * </ul>
+ *
+ * <p>Key format, key/value serialization and TTL are taken from the cache's own
+ * {@link RedisCacheConfiguration}, so entries are interchangeable with
+ * single-key {@code RedisCache.get/put}. Writes inside an active transaction are
+ * deferred until commit, matching the TransactionAwareCacheDecorator used for L2.</p>
+ *
+ * <p>If the L2 cache is a {@link CircuitBreakingRedisCache}, batch calls go through the
+ * same breaker: MGET failures become misses, failed pipeline writes are queued for replay.</p>
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class RedisBatchOperations {
+
+    // Tag set marker inside the cache key space (cache:{name}::#tag:{tag})
+    static final String TAG_KEY_MARKER = "#tag:";
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisBatchOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Whether the given L2 cache is backed by Redis (batch access possible)
+     */
+    public static boolean supports(Cache l2Cache) {
+        return unwrap(l2Cache) != null;
+    }
+
+    /**
+     * Read many keys with a single MGET
+     *
+     * @param l2Cache L2 cache (RedisCache, optionally transaction-aware decorated)
+     * @param keys    Cache keys (as passed to Cache.get)
+     * @return key → deserialized store value (only keys present in Redis)
+     */
+    public Map<Object, Object> multiGet(Cache l2Cache, List<Object> keys) {
+        CircuitBreakingRedisCache guarded = guardOf(l2Cache);
+        if (guarded != null) {
+            return guarded.getCircuitBreaker().execute(() -> doMultiGet(l2Cache, keys), HashMap::new);
+        }
+        return doMultiGet(l2Cache, keys);
+    }
+
+    private Map<Object, Object> doMultiGet(Cache l2Cache, List<Object> keys) {
+        RedisCache redisCache = requireRedis(l2Cache);
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            rawKeys[i] = serializeKey(redisCache.getName(), config, keys.get(i));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+
+        Map<Object, Object> found = new HashMap<>();
+        if (rawValues == null) {
+            return found;
+        }
+        for (int i = 0; i < rawValues.size() && i < keys.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue != null) {
+                found.put(keys.get(i), config.getValueSerializationPair().read(java.nio.ByteBuffer.wrap(rawValue)));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Write many entries in one pipeline (deferred until commit inside a transaction)
+     *
+     * @param l2Cache L2 cache (RedisCache, optionally transaction-aware decorated)
+     * @param entries key → store value (null values are skipped)
+     */
+    public void pipelinedPut(Cache l2Cache, Map<Object, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (l2Cache instanceof TransactionAwareCacheDecorator
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Object, Object> deferred = new HashMap<>(entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writePipeline(l2Cache, deferred);
+                }
+            });
+            return;
+        }
+        writePipeline(l2Cache, entries);
+    }
+
+    private void writePipeline(Cache l2Cache, Map<Object, Object> entries) {
+        CircuitBreakingRedisCache guarded = guardOf(l2Cache);
+        if (guarded == null) {
+            doWritePipeline(l2Cache, entries);
+            return;
+        }
+        guarded.getCircuitBreaker().execute(
+                () -> {
+                    doWritePipeline(l2Cache, entries);
+                    return Boolean.TRUE;
+                },
+                () -> {
+                    entries.forEach((key, value) -> guarded.getCircuitBreaker().enqueue(
+                            new L2CircuitBreaker.PendingWrite(guarded, key, value, L2CircuitBreaker.WriteType.PUT)));
+                    return Boolean.FALSE;
+                });
+    }
+
+    private void doWritePipeline(Cache l2Cache, Map<Object, Object> entries) {
+        RedisCache redisCache = requireRedis(l2Cache);
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+
+        List<byte[][]> commands = new ArrayList<>(entries.size());
+        List<Duration> ttls = new ArrayList<>(entries.size());
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            byte[] rawKey = serializeKey(redisCache.getName(), config, entry.getKey());
+            byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(entry.getValue()));
+            commands.add(new byte[][]{rawKey, rawValue});
+            ttls.add(config.getTtlFunction().getTimeToLive(entry.getKey(), entry.getValue()));
+        }
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (int i = 0; i < commands.size(); i++) {
+                Duration ttl = ttls.get(i);
+                Expiration expiration = ttl == null || ttl.isZero() || ttl.isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(ttl);
+                connection.stringCommands().set(commands.get(i)[0], commands.get(i)[1], expiration, SetOption.upsert());
+            }
+            connection.closePipeline();
+        }
+        log.debug("💾 L2 pipelined PUT: cache={}, entries={}", l2Cache.getName(), commands.size());
+    }
+
+    /**
+     * Delete many keys in one pipeline (deferred until commit inside a transaction)
+     *
+     * @param l2Cache L2 cache (RedisCache, optionally transaction-aware decorated)
+     * @param keys    Cache keys (as passed to Cache.evict)
+     */
+    public void pipelinedEvict(Cache l2Cache, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> deferred = new ArrayList<>(keys);
+        if (l2Cache instanceof TransactionAwareCacheDecorator
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictPipeline(l2Cache, deferred);
+                }
+            });
+            return;
+        }
+        evictPipeline(l2Cache, deferred);
+    }
+
+    private void evictPipeline(Cache l2Cache, List<Object> keys) {
+        CircuitBreakingRedisCache guarded = guardOf(l2Cache);
+        if (guarded == null) {
+            doEvictPipeline(l2Cache, keys);
+            return;
+        }
+        guarded.getCircuitBreaker().execute(
+                () -> {
+                    doEvictPipeline(l2Cache, keys);
+                    return Boolean.TRUE;
+                },
+                () -> {
+                    keys.forEach(key -> guarded.getCircuitBreaker().enqueue(
+                            new L2CircuitBreaker.PendingWrite(guarded, key, null, L2CircuitBreaker.WriteType.EVICT)));
+                    return Boolean.FALSE;
+                });
+    }
+
+    private void doEvictPipeline(Cache l2Cache, List<Object> keys) {
+        RedisCache redisCache = requireRedis(l2Cache);
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (Object key : keys) {
+                connection.keyCommands().del(serializeKey(redisCache.getName(), config, key));
+            }
+            connection.closePipeline();
+        }
+        log.debug("🗑️  L2 pipelined DEL: cache={}, keys={}", l2Cache.getName(), keys.size());
+    }
+
+    /**
+     * Add a cache key to tag sets (SADD + PEXPIRE per tag, one pipeline)
+     *
+     * <p>Each set expires with the cache's L2 TTL, refreshed on every add, so it
+     * outlives its newest member. Best effort: failures only log (the L1 index
+     * still works on this pod).</p>
+     *
+     * @param l2Cache L2 cache
+     * @param key     Cache key
+     * @param tags    Tags (e.g. "locale:ru-RU", "role:UNIVERSITY_ADMIN")
+     */
+    public void addTags(Cache l2Cache, Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        CircuitBreakingRedisCache guarded = guardOf(l2Cache);
+        if (guarded == null) {
+            doAddTags(l2Cache, key, tags);
+            return;
+        }
+        guarded.getCircuitBreaker().execute(
+                () -> {
+                    doAddTags(l2Cache, key, tags);
+                    return Boolean.TRUE;
+                },
+                () -> Boolean.FALSE);
+    }
+
+    private void doAddTags(Cache l2Cache, Object key, Collection<String> tags) {
+        RedisCache redisCache = requireRedis(l2Cache);
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[] member = convertKey(config.getConversionService(), key).getBytes(StandardCharsets.UTF_8);
+        Duration ttl = config.getTtlFunction().getTimeToLive(key, null);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (String tag : tags) {
+                byte[] tagKey = serializeTagKey(redisCache.getName(), config, tag);
+                connection.setCommands().sAdd(tagKey, member);
+                if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+                    connection.keyCommands().pExpire(tagKey, ttl.toMillis());
+                }
+            }
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * Read and delete a tag set atomically (MULTI: SMEMBERS + DEL)
+     *
+     * @param l2Cache L2 cache
+     * @param tag     Tag
+     * @return cache keys (string form) indexed under the tag; empty if none or Redis unavailable
+     */
+    public Set<String> popTag(Cache l2Cache, String tag) {
+        CircuitBreakingRedisCache guarded = guardOf(l2Cache);
+        if (guarded != null) {
+            return guarded.getCircuitBreaker().execute(() -> doPopTag(l2Cache, tag), LinkedHashSet::new);
+        }
+        return doPopTag(l2Cache, tag);
+    }
+
+    private Set<String> doPopTag(Cache l2Cache, String tag) {
+        RedisCache redisCache = requireRedis(l2Cache);
+        byte[] tagKey = serializeTagKey(redisCache.getName(), redisCache.getCacheConfiguration(), tag);
+
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.multi();
+            connection.setCommands().sMembers(tagKey);
+            connection.keyCommands().del(tagKey);
+            results = connection.exec();
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        if (results != null && !results.isEmpty() && results.get(0) instanceof Set<?> members) {
+            for (Object member : members) {
+                keys.add(new String((byte[]) member, StandardCharsets.UTF_8));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Tag set key: cache prefix + "#tag:" + tag (removed together with entries by RedisCache.clear)
+     */
+    private static byte[] serializeTagKey(String cacheName, RedisCacheConfiguration config, String tag) {
+        String tagKey = (config.usePrefix() ? config.getKeyPrefixFor(cacheName) : cacheName + "::") + TAG_KEY_MARKER + tag;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(tagKey));
+    }
+
+    /**
+     * Same key layout as RedisCache#createCacheKey: prefix + converted key
+     */
+    private static byte[] serializeKey(String cacheName, RedisCacheConfiguration config, Object key) {
+        String convertedKey = convertKey(config.getConversionService(), key);
+        String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(cacheName) + convertedKey : convertedKey;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    private static String convertKey(ConversionService conversionService, Object key) {
+        if (key instanceof String stringKey) {
+            return stringKey;
+        }
+        if (conversionService.canConvert(key.getClass(), String.class)) {
+            String converted = conversionService.convert(key, String.class);
+            if (converted != null) {
+                return converted;
+            }
+        }
+        return key.toString();
+    }
+
+    private static RedisCache requireRedis(Cache l2Cache) {
+        RedisCache redisCache = unwrap(l2Cache);
+        if (redisCache == null) {
+            throw new IllegalArgumentException("L2 cache is not a RedisCache: " + l2Cache.getName());
+        }
+        return redisCache;
+    }
+
+    private static RedisCache unwrap(Cache l2Cache) {
+        Cache target = stripTransactionAware(l2Cache);
+        if (target instanceof CircuitBreakingRedisCache guarded) {
+            target = guarded.getDelegate();
+        }
+        return target instanceof RedisCache redisCache ? redisCache : null;
+    }
+
+    private static CircuitBreakingRedisCache guardOf(Cache l2Cache) {
+        return stripTransactionAware(l2Cache) instanceof CircuitBreakingRedisCache guarded ? guarded : null;
+    }
+
+    private static Cache stripTransactionAware(Cache l2Cache) {
+        return l2Cache instanceof TransactionAwareCacheDecorator decorator
+                ? decorator.getTargetCache()
+                : l2Cache;
+    }
+}
@@ -1,10 +1,32 @@
 package uz.hemis.service.cache;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.hemis.service.config.TwoLevelCacheProperties.Mode;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Two-Level Cache Implementation
@@ -27,8 +49,48 @@ import java.util.concurrent.Callable;
  * <pre>
  * 1. Write to Caffeine (L1) - immediate
  * 2. Write to Redis (L2) - sync for consistency
+ * 3. Publish keyed invalidation - other pods drop only this key from their L1
  * </pre>
  *
+ * <p><strong>Cross-Pod Invalidation:</strong> put/evict/evictAll/clear publish a
+ * {@link CacheInvalidationMessage} (cache, keys or clear). Receiving pods call
+ * {@link #evictLocal}/{@link #evictLocalByPrefix}/{@link #clearLocal}, which touch L1 only -
+ * L2 is shared and already updated by the writer. Loader fills (cache misses) and
+ * stale-while-revalidate refreshes are not broadcast - only explicit writes are.</p>
+ *
+ * <p><strong>Tag Index:</strong> {@link #tag} maps tags such as {@code locale:ru-RU},
+ * {@code role:UNIVERSITY_ADMIN} or {@code user:{uuid}} to keys - in L1 (this pod) and in
+ * Redis sets (all pods). {@link #evictByTag} evicts exactly those keys from L1 + L2 and
+ * broadcasts them, instead of clearing the whole cache.</p>
+ *
+ * <p><strong>Stampede Protection (get with loader):</strong></p>
+ * <ul>
+ *   <li>Single-flight: only ONE loader per key per JVM, other threads wait on the same future</li>
+ *   <li>Optional cross-pod lease (CacheVersionService lock): only ONE pod recomputes,
+ *       other pods poll L2 briefly and fall back to a local load on timeout</li>
+ * </ul>
+ *
+ * <p><strong>Stale-While-Revalidate (optional, per cache):</strong></p>
+ * <ul>
+ *   <li>Soft TTL: after this age an L1 hit is still returned immediately,
+ *       but the loader is re-run on a bounded background executor (write-through to L2)</li>
+ *   <li>Hard TTL: Caffeine expireAfterWrite - entry is gone, next request loads synchronously</li>
+ *   <li>Age is measured from the load, not from the L1 write: values are stored in L1 and
+ *       L2 as {@link LoadedValue} (value + load time), so a pod that copies an old value
+ *       from L2 sees its real age</li>
+ * </ul>
+ *
+ * <p><strong>Bulk Lookup (getAll):</strong> L1 → one Redis MGET for L1 misses →
+ * one bulk loader call for the rest → one pipelined Redis write. At most 3 round trips
+ * for N keys instead of N.</p>
+ *
+ * <p><strong>Redis Failures:</strong> L2 is wrapped in CircuitBreakingRedisCache - Redis errors
+ * become L2 misses, and while the shared {@link L2CircuitBreaker} is open the cache runs
+ * L1-only (no cross-pod lease, L2 writes queued for replay).</p>
+ *
+ * <p><strong>Layer Mode (per cache, see TwoLevelCacheProperties):</strong>
+ * TWO_LEVEL (default), L1_ONLY (no Redis round trips) or L2_ONLY (no JVM heap).</p>
+ *
  * <p><strong>10 Pods Scenario:</strong></p>
  * <ul>
  *   <li>POD-1 has L1 cache (Caffeine) - 1ms</li>
@@ -42,8 +104,66 @@ import java.util.concurrent.Callable;
 public class TwoLevelCache extends AbstractValueAdaptingCache {
 
     private final String name;
-    private final Cache<Object, Object> caffeineCache;           // L1
-    private final org.springframework.cache.Cache redisCache;     // L2
+    private volatile Cache<Object, Object> caffeineCache;           // L1
+    private volatile org.springframework.cache.Cache redisCache;     // L2
+
+    // Layer mode (TWO_LEVEL / L1_ONLY / L2_ONLY) - switchable at runtime
+    private volatile Mode mode = Mode.TWO_LEVEL;
+
+    // Single-flight: key → in-progress load (one loader per key per JVM)
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    // Cross-pod lease (optional) - null means in-process single-flight only
+    private volatile CacheVersionService leaseService;
+    private volatile Duration leaseTime;
+    private volatile Duration leaseMaxWait;
+
+    // Poll interval while another pod holds the lease
+    private static final long LEASE_POLL_INTERVAL_MS = 200L;
+
+    // Stale-while-revalidate (optional) - null softTtl means disabled
+    private volatile Duration softTtl;
+    private volatile Executor refreshExecutor;
+
+    // Wall clock for load timestamps (epoch millis, comparable across pods)
+    private volatile LongSupplier wallClock = System::currentTimeMillis;
+
+    // Bulk L2 access (MGET / pipelined SET) - null falls back to per-key L2 calls
+    private volatile RedisBatchOperations batchOperations;
+
+    // Shared L2 circuit breaker (optional) - open breaker skips Redis-based lease
+    private volatile L2CircuitBreaker circuitBreaker;
+
+    // Micrometer meters (no-op until a registry is attached)
+    private volatile TwoLevelCacheMetrics metrics;
+
+    // Cross-pod L1 invalidation (optional) - null means writes only affect this pod's L1
+    private volatile CacheInvalidationPublisher invalidationPublisher;
+
+    // Set once a non-String key is stored in L1 (remote keys arrive as strings)
+    private volatile boolean nonStringKeys;
+
+    // Tag index (L1 side): tag → keys tagged on this pod; Redis sets hold the cross-pod index
+    private final ConcurrentMap<String, Set<Object>> tagIndex = new ConcurrentHashMap<>();
+    private final AtomicLong tagWrites = new AtomicLong();
+
+    // Drop index entries whose L1 value is gone every N tag writes
+    private static final int TAG_INDEX_PRUNE_INTERVAL = 1024;
+
+    // Load coordination counters
+    private final AtomicLong leaderLoads = new AtomicLong();
+    private final AtomicLong coalescedLoads = new AtomicLong();
+    private final AtomicLong leaseAcquired = new AtomicLong();
+    private final AtomicLong leaseWaitHits = new AtomicLong();
+    private final AtomicLong leaseWaitTimeouts = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong refreshRejected = new AtomicLong();
+    private final AtomicLong bulkGets = new AtomicLong();
+    private final AtomicLong bulkL1Hits = new AtomicLong();
+    private final AtomicLong bulkL2Hits = new AtomicLong();
+    private final AtomicLong bulkLoaded = new AtomicLong();
 
     public TwoLevelCache(String name,
                          Cache<Object, Object> caffeineCache,
@@ -52,6 +172,145 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
         this.name = name;
         this.caffeineCache = caffeineCache;
         this.redisCache = redisCache;
+        this.metrics = TwoLevelCacheMetrics.disabled(name);
+    }
+
+    /**
+     * Enable cross-pod load lease for this cache
+     *
+     * <p>When enabled, a loader runs only on the pod that wins the Redis lock
+     * {@code cache:lock:load:{cache}:{key}}. Other pods poll L2 for up to
+     * {@code maxWait}, then load locally as a fallback.</p>
+     *
+     * @param leaseService CacheVersionService (Redis SETNX lock)
+     * @param leaseTime    Lock TTL (should cover the slowest loader)
+     * @param maxWait      Maximum time a non-leader pod waits for L2
+     */
+    public void enableDistributedLease(CacheVersionService leaseService, Duration leaseTime, Duration maxWait) {
+        this.leaseService = leaseService;
+        this.leaseTime = leaseTime;
+        this.leaseMaxWait = maxWait;
+        log.info("🔒 Cross-pod load lease enabled: cache={}, lease={}, maxWait={}", name, leaseTime, maxWait);
+    }
+
+    /**
+     * Value stored in L1 and L2 together with the time it was loaded
+     *
+     * <p>Written only while stale-while-revalidate is enabled. The load time travels
+     * with the value through Redis, so staleness does not restart when another pod
+     * copies the value into its L1. Unwrapped by {@link #fromStoreValue} - callers
+     * never see it.</p>
+     *
+     * @param value    Store value (never {@link NullValue})
+     * @param loadedAt Load time, epoch millis
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
+    public record LoadedValue(Object value, long loadedAt) {
+    }
+
+    /**
+     * Enable stale-while-revalidate for this cache
+     *
+     * <p>An entry loaded more than {@code softTtl} ago is served as-is while the
+     * caller's loader is re-run asynchronously. Only applies to {@code get(key, loader)}
+     * ({@code @Cacheable(sync = true)}) because plain lookups carry no loader.</p>
+     *
+     * @param softTtl         Age after which a background refresh is triggered
+     * @param refreshExecutor Bounded executor for background reloads
+     */
+    public void enableRefreshAhead(Duration softTtl, Executor refreshExecutor) {
+        this.softTtl = softTtl;
+        this.refreshExecutor = refreshExecutor;
+        log.info("♻️ Stale-while-revalidate enabled: cache={}, softTtl={}", name, softTtl);
+    }
+
+    /**
+     * Enable batched L2 access for {@link #getAll(Collection, Function)}
+     *
+     * @param batchOperations Redis MGET / pipeline helper
+     */
+    public void enableBatchOperations(RedisBatchOperations batchOperations) {
+        this.batchOperations = batchOperations;
+    }
+
+    /**
+     * Attach Micrometer meters (hit/miss, L2 latency, loader time, value size)
+     */
+    public void setMetrics(TwoLevelCacheMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Attach shared L2 circuit breaker (lease and statistics follow its state)
+     */
+    public void setCircuitBreaker(L2CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Broadcast put/evict/clear to other pods (keyed L1 invalidation)
+     *
+     * @param invalidationPublisher Redis Pub/Sub publisher
+     */
+    public void enableInvalidationBroadcast(CacheInvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    /**
+     * Disable stale-while-revalidate (entries live until hard TTL)
+     */
+    public void disableRefreshAhead() {
+        this.softTtl = null;
+    }
+
+    /**
+     * Replace the wall clock used for load timestamps (tests)
+     */
+    void setWallClock(LongSupplier wallClock) {
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Disable cross-pod load lease (in-process single-flight only)
+     */
+    public void disableDistributedLease() {
+        this.leaseService = null;
+    }
+
+    /**
+     * Switch layer mode at runtime
+     *
+     * <p>Evict/clear always touch both layers, so entries written under the
+     * previous mode are still removed correctly.</p>
+     *
+     * @param mode TWO_LEVEL, L1_ONLY or L2_ONLY
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Replace L1 Caffeine cache (policy reload: size ↔ weight switch)
+     *
+     * <p>Entries of the old L1 are dropped; they are re-read from L2 on demand.</p>
+     */
+    public void replaceL1(Cache<Object, Object> newCaffeineCache) {
+        Cache<Object, Object> old = this.caffeineCache;
+        this.caffeineCache = newCaffeineCache;
+        old.invalidateAll();
+    }
+
+    /**
+     * Replace L2 Redis cache (policy reload: new L2 TTL)
+     *
+     * <p>Existing Redis entries keep their old TTL; new writes use the new one.</p>
+     */
+    public void replaceL2(org.springframework.cache.Cache newRedisCache) {
+        this.redisCache = newRedisCache;
     }
 
     @Override
@@ -72,20 +331,20 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
     @Override
     protected Object lookup(Object key) {
         // Step 1: Try L1 (Caffeine)
-        Object value = caffeineCache.getIfPresent(key);
+        Object value = l1Get(key);
         if (value != null) {
             log.debug("✅ L1 HIT (Caffeine): cache={}, key={}", name, key);
             return value;
         }
 
         // Step 2: Try L2 (Redis)
-        org.springframework.cache.Cache.ValueWrapper redisValue = redisCache.get(key);
+        org.springframework.cache.Cache.ValueWrapper redisValue = l2Get(key);
         if (redisValue != null) {
             Object redisObj = redisValue.get();
             log.debug("✅ L2 HIT (Redis): cache={}, key={}, populating L1", name, key);
 
             // Populate L1 from L2
-            caffeineCache.put(key, redisObj);
+            l1Put(key, redisObj);
             return redisObj;
         }
 
@@ -94,46 +353,379 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
     }
 
     /**
-     * Get value with loader (for @Cacheable)
+     * Get value with loader (for @Cacheable(sync = true))
      *
-     * <p>If cache miss, calls valueLoader (DB query)</p>
+     * <p>If cache miss, calls valueLoader (DB query). Concurrent misses for the
+     * same key are coalesced: the first thread loads, the rest wait on its future.</p>
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T get(Object key, Callable<T> valueLoader) {
         // Try cache first
         Object value = lookup(key);
         if (value != null) {
+            if (isStale(key, value)) {
+                staleHits.incrementAndGet();
+                scheduleRefresh(key, valueLoader);
+            }
             return (T) fromStoreValue(value);
         }
 
-        // Cache miss - load from DB
+        // Single-flight: register as leader or join the in-progress load
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(key, loading);
+        if (existing != null) {
+            coalescedLoads.incrementAndGet();
+            log.debug("⏳ Coalesced load (waiting for in-flight loader): cache={}, key={}", name, key);
+            return (T) fromStoreValue(awaitLoad(key, existing));
+        }
+
         try {
-            log.debug("🔄 Loading from DB: cache={}, key={}", name, key);
-            T loadedValue = valueLoader.call();
+            Object storeValue = loadAsLeader(key, valueLoader);
+            loading.complete(storeValue);
+            return (T) fromStoreValue(storeValue);
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, loading);
+        }
+    }
+
+    /**
+     * Bulk get with a single bulk loader
+     *
+     * <p><strong>Flow (at most 3 round trips for N keys):</strong></p>
+     * <pre>
+     * 1. L1 Caffeine getAllPresent (in-memory)
+     * 2. L2 Redis: one MGET for all L1 misses → populate L1
+     * 3. bulkLoader(remaining misses) → one call (e.g. findAllById)
+     * 4. Write loaded values: L1 + one pipelined Redis write
+     * </pre>
+     *
+     * <p>Keys missing from the loader result are not cached and are absent from the
+     * returned map. Single-flight and lease do not apply to bulk loads.</p>
+     *
+     * @param keys       Cache keys (duplicates ignored)
+     * @param bulkLoader Loads all missing keys at once (key → value)
+     * @return key → value in iteration order of {@code keys}, only found keys
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<? extends K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        bulkGets.incrementAndGet();
+        Set<K> requested = new LinkedHashSet<>(keys);
+        Map<K, Object> found = new LinkedHashMap<>();
+
+        // Step 1: L1 (Caffeine)
+        if (mode != Mode.L2_ONLY) {
+            Map<Object, Object> l1Values = caffeineCache.getAllPresent(requested);
+            l1Values.forEach((key, value) -> found.put((K) key, value));
+            bulkL1Hits.addAndGet(l1Values.size());
+            metrics.recordL1(l1Values.size(), requested.size() - l1Values.size());
+        }
+
+        // Step 2: L2 (Redis) - single MGET for L1 misses
+        List<Object> l1Misses = new ArrayList<>();
+        for (K key : requested) {
+            if (!found.containsKey(key)) {
+                l1Misses.add(key);
+            }
+        }
+        if (!l1Misses.isEmpty() && mode != Mode.L1_ONLY) {
+            Map<Object, Object> l2Values = l2GetAll(l1Misses);
+            l2Values.forEach((key, value) -> {
+                l1Put(key, value);
+                found.put((K) key, value);
+            });
+            bulkL2Hits.addAndGet(l2Values.size());
+        }
+
+        // Step 3: bulk loader for the rest
+        Set<K> misses = new LinkedHashSet<>();
+        for (K key : requested) {
+            if (!found.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            log.debug("🔄 Bulk loading from DB: cache={}, keys={}", name, misses.size());
+            long start = System.nanoTime();
+            Map<K, V> loaded;
+            try {
+                loaded = bulkLoader.apply(misses);
+            } catch (RuntimeException e) {
+                metrics.recordBulkLoad(System.nanoTime() - start, false);
+                throw e;
+            }
+            metrics.recordBulkLoad(System.nanoTime() - start, true);
+            Map<Object, Object> toStore = new LinkedHashMap<>();
+            if (loaded != null) {
+                loaded.forEach((key, value) -> {
+                    if (value != null && misses.contains(key)) {
+                        toStore.put(key, stamp(toStoreValue(value)));
+                    }
+                });
+            }
+            toStore.forEach((key, storeValue) -> {
+                l1Put(key, storeValue);
+                found.put((K) key, storeValue);
+            });
+
+            // Step 4: single pipelined L2 write
+            if (mode != Mode.L1_ONLY) {
+                l2PutAll(toStore);
+            }
+            bulkLoaded.addAndGet(toStore.size());
+        }
+
+        // Preserve caller's key order
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : requested) {
+            Object storeValue = found.get(key);
+            if (storeValue != null) {
+                result.put(key, (V) fromStoreValue(storeValue));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether a cached value was loaded longer than soft TTL ago
+     *
+     * <p>Unstamped values (null, or written before refresh-ahead was enabled) fall
+     * back to their age in this pod's L1.</p>
+     */
+    private boolean isStale(Object key, Object storeValue) {
+        Duration soft = this.softTtl;
+        if (soft == null) {
+            return false;
+        }
+        if (storeValue instanceof LoadedValue loaded) {
+            return wallClock.getAsLong() - loaded.loadedAt() >= soft.toMillis();
+        }
+        return caffeineCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> age.compareTo(soft) >= 0)
+                .orElse(false);
+    }
+
+    /**
+     * Re-run loader in background (at most one refresh per key)
+     *
+     * <p>Shares the single-flight map: a refresh in progress also serves as the
+     * in-flight load for concurrent misses on the same key.</p>
+     */
+    private void scheduleRefresh(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> refreshing = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(key, refreshing) != null) {
+            return;  // Already loading/refreshing
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object storeValue = refreshAsLeader(key, valueLoader);
+                    refreshes.incrementAndGet();
+                    refreshing.complete(storeValue);
+                    log.debug("♻️ Background refresh done: cache={}, key={}", name, key);
+                } catch (Throwable e) {
+                    refreshFailures.incrementAndGet();
+                    refreshing.completeExceptionally(e);
+                    log.warn("⚠️ Background refresh failed (serving stale): cache={}, key={}", name, key, e);
+                } finally {
+                    inFlightLoads.remove(key, refreshing);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshRejected.incrementAndGet();
+            inFlightLoads.remove(key, refreshing);
+            refreshing.completeExceptionally(e);
+            log.debug("Refresh queue full, serving stale: cache={}, key={}", name, key);
+        }
+    }
+
+    /**
+     * Background reload honouring the cross-pod lease
+     *
+     * <p>If another pod holds the lease it is already refreshing L2, so this pod only
+     * re-reads L2 into L1 instead of running the loader again.</p>
+     */
+    private Object refreshAsLeader(Object key, Callable<?> valueLoader) {
+        CacheVersionService lease = this.leaseService;
+        if (lease == null || mode == Mode.L1_ONLY || isL2Degraded()) {
+            return loadAndPut(key, valueLoader);
+        }
+
+        String lockKey = "load:" + name + ":" + key;
+        String token = lease.acquireLock(lockKey, leaseTime);
+        if (token != null) {
+            leaseAcquired.incrementAndGet();
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                lease.releaseLock(lockKey, token);
+            }
+        }
+
+        org.springframework.cache.Cache.ValueWrapper redisValue = l2Get(key);
+        if (redisValue == null) {
+            // L2 expired meanwhile - nothing to copy, reload locally
+            return loadAndPut(key, valueLoader);
+        }
+        l1Put(key, redisValue.get());
+        return redisValue.get();
+    }
+
+    /**
+     * Load value as the in-process leader for this key
+     *
+     * @return store value (already written to L1 + L2)
+     */
+    private Object loadAsLeader(Object key, Callable<?> valueLoader) {
+        // Double-check: a previous leader may have finished between lookup() and putIfAbsent()
+        Object value = lookup(key);
+        if (value != null) {
+            return value;
+        }
 
-            // Populate both L1 and L2
-            put(key, loadedValue);
+        CacheVersionService lease = this.leaseService;
+        if (lease == null || mode == Mode.L1_ONLY || isL2Degraded()) {
+            return loadAndPut(key, valueLoader);
+        }
+
+        String lockKey = "load:" + name + ":" + key;
+        String token;
+        try {
+            token = lease.acquireLock(lockKey, leaseTime);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Load lease unavailable, loading locally: cache={}, key={}", name, key, e);
+            return loadAndPut(key, valueLoader);
+        }
+
+        if (token != null) {
+            leaseAcquired.incrementAndGet();
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                lease.releaseLock(lockKey, token);
+            }
+        }
+
+        // Another pod is loading - wait for its value to appear in L2
+        Object fromOtherPod = awaitOtherPod(key);
+        if (fromOtherPod != null) {
+            leaseWaitHits.incrementAndGet();
+            return fromOtherPod;
+        }
+
+        leaseWaitTimeouts.incrementAndGet();
+        log.warn("⏰ Lease wait timed out, loading locally: cache={}, key={}", name, key);
+        return loadAndPut(key, valueLoader);
+    }
+
+    /**
+     * Whether Redis is bypassed by the circuit breaker (lease would block on a dead Redis)
+     */
+    private boolean isL2Degraded() {
+        L2CircuitBreaker breaker = this.circuitBreaker;
+        return breaker != null && breaker.isDegraded();
+    }
+
+    /**
+     * Poll L2 while another pod holds the load lease
+     *
+     * @return store value or null on timeout
+     */
+    private Object awaitOtherPod(Object key) {
+        long deadline = System.nanoTime() + leaseMaxWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            org.springframework.cache.Cache.ValueWrapper redisValue = l2Get(key);
+            if (redisValue != null) {
+                Object redisObj = redisValue.get();
+                l1Put(key, redisObj);
+                log.debug("✅ L2 filled by leader pod: cache={}, key={}", name, key);
+                return redisObj;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Call loader and populate both L1 and L2
+     */
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        leaderLoads.incrementAndGet();
+        try {
+            log.debug("🔄 Loading from DB: cache={}, key={}", name, key);
+            long start = System.nanoTime();
+            Object loadedValue;
+            try {
+                loadedValue = valueLoader.call();
+            } catch (Exception e) {
+                metrics.recordLoad(System.nanoTime() - start, false);
+                throw e;
+            }
+            metrics.recordLoad(System.nanoTime() - start, true);
 
-            return loadedValue;
+            // Populate both L1 and L2 (no broadcast - a fill is not a write)
+            return fill(key, loadedValue);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load value for key: " + key, e);
         }
     }
 
+    /**
+     * Wait for in-flight load started by another thread
+     */
+    private Object awaitLoad(Object key, CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to load value for key: " + key, cause);
+        }
+    }
+
     /**
      * Put value to both L1 and L2
      */
     @Override
     public void put(Object key, Object value) {
-        Object storeValue = toStoreValue(value);
+        fill(key, value);
+
+        // Other pods may still hold the previous value in L1
+        broadcastKeys(List.of(key));
+    }
+
+    /**
+     * Write value to L1 and L2 without a cross-pod message
+     *
+     * <p>Used by loader fills and background refreshes: the value was just read from
+     * the source of truth, nothing changed that other pods must drop. Broadcasting every
+     * miss would make each pod's fill evict the same key on all other pods.</p>
+     *
+     * @return store value
+     */
+    private Object fill(Object key, Object value) {
+        Object storeValue = stamp(toStoreValue(value));
 
         // Write to L1 (Caffeine) - immediate
-        caffeineCache.put(key, storeValue);
+        l1Put(key, storeValue);
         log.debug("💾 L1 PUT (Caffeine): cache={}, key={}", name, key);
 
         // Write to L2 (Redis) - sync for consistency
-        redisCache.put(key, storeValue);
+        l2Put(key, storeValue);
         log.debug("💾 L2 PUT (Redis): cache={}, key={}", name, key);
+        return storeValue;
     }
 
     /**
@@ -143,19 +735,331 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
     public void evict(Object key) {
         caffeineCache.invalidate(key);
         redisCache.evict(key);
+        metrics.recordEviction("l2", "EXPLICIT");
+        broadcastKeys(List.of(key));
         log.debug("🗑️  Evicted from L1+L2: cache={}, key={}", name, key);
     }
 
+    /**
+     * Evict several keys from L1 and L2 with a single cross-pod message
+     *
+     * @param keys Cache keys
+     */
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        caffeineCache.invalidateAll(keys);
+        for (Object key : keys) {
+            redisCache.evict(key);
+            metrics.recordEviction("l2", "EXPLICIT");
+        }
+        broadcastKeys(keys);
+        log.debug("🗑️  Evicted {} keys from L1+L2: cache={}", keys.size(), name);
+    }
+
     /**
      * Clear both L1 and L2
      */
     @Override
     public void clear() {
         caffeineCache.invalidateAll();
-        redisCache.clear();
+        tagIndex.clear();
+        redisCache.clear();  // also removes tag sets (same key prefix)
+        metrics.recordEviction("l2", "CLEAR");
+        CacheInvalidationPublisher publisher = this.invalidationPublisher;
+        if (publisher != null) {
+            publisher.publishClear(name);
+        }
         log.info("🧹 Cleared L1+L2: cache={}", name);
     }
 
+    // =====================================================
+    // Local L1 invalidation (remote messages, never broadcast)
+    // =====================================================
+
+    /**
+     * Drop keys from this pod's L1 only
+     *
+     * <p>Keys arrive as strings (Redis key form). Caches that also hold non-String
+     * keys (e.g. UUID) are matched by {@code toString()}.</p>
+     *
+     * @param keys Cache keys as strings
+     */
+    public void evictLocal(Collection<String> keys) {
+        invalidateL1(keys);
+    }
+
+    /**
+     * Drop keys of a tag from this pod's L1 only (remote evictByTag)
+     *
+     * @param tag  Tag
+     * @param keys Keys resolved by the evicting pod (string form)
+     */
+    public void evictLocalByTag(String tag, Collection<String> keys) {
+        Set<Object> local = tagIndex.remove(tag);
+        if (local != null) {
+            caffeineCache.invalidateAll(local);
+        }
+        invalidateL1(keys);
+    }
+
+    /**
+     * Drop all L1 entries whose key starts with the given prefix (this pod only)
+     *
+     * @param prefix Key prefix
+     */
+    public void evictLocalByPrefix(String prefix) {
+        caffeineCache.asMap().keySet().removeIf(key -> key.toString().startsWith(prefix));
+    }
+
+    /**
+     * Drop all L1 entries (this pod only, L2 untouched)
+     */
+    public void clearLocal() {
+        caffeineCache.invalidateAll();
+        tagIndex.clear();
+    }
+
+    /**
+     * Invalidate L1 keys; string keys also match non-String L1 keys by toString()
+     */
+    private void invalidateL1(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        caffeineCache.invalidateAll(keys);
+        if (nonStringKeys) {
+            Set<String> targets = new java.util.HashSet<>();
+            for (Object key : keys) {
+                targets.add(key.toString());
+            }
+            caffeineCache.asMap().keySet().removeIf(key -> !(key instanceof String)
+                    && targets.contains(key.toString()));
+        }
+    }
+
+    // =====================================================
+    // Tag index (secondary keys → cache keys)
+    // =====================================================
+
+    /**
+     * Index a cache key under tags (L1 index + Redis sets)
+     *
+     * <p>Usually called by the loader before the value is cached; tagging a key that is
+     * never stored is harmless (evicting it later is a no-op).</p>
+     *
+     * @param key  Cache key
+     * @param tags Tags, e.g. {@code locale:ru-RU}, {@code role:UNIVERSITY_ADMIN}, {@code user:{uuid}}
+     */
+    public void tag(Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        if (mode != Mode.L2_ONLY) {
+            for (String tag : tags) {
+                tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            if (tagWrites.incrementAndGet() % TAG_INDEX_PRUNE_INTERVAL == 0) {
+                pruneTagIndex();
+            }
+        }
+        RedisBatchOperations batch = this.batchOperations;
+        org.springframework.cache.Cache l2 = this.redisCache;
+        if (mode != Mode.L1_ONLY && batch != null && RedisBatchOperations.supports(l2)) {
+            batch.addTags(l2, key, tags);
+        }
+    }
+
+    /**
+     * Evict every entry indexed under the tag (L1 + L2, all pods)
+     *
+     * <p>Keys = this pod's L1 index ∪ Redis set (entries tagged on any pod). L2 keys are
+     * deleted in one pipeline; other pods receive the resolved keys plus the tag.</p>
+     *
+     * <p>Inside a transaction the eviction runs after commit: entries rebuilt from the old
+     * data while the transaction is open are tagged again and evicted as well.</p>
+     *
+     * @param tag Tag, e.g. {@code locale:ru-RU}
+     */
+    public void evictByTag(String tag) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictByTag(tag);
+                }
+            });
+            return;
+        }
+        doEvictByTag(tag);
+    }
+
+    private void doEvictByTag(String tag) {
+        RedisBatchOperations batch = this.batchOperations;
+        org.springframework.cache.Cache l2 = this.redisCache;
+        boolean redisIndex = mode != Mode.L1_ONLY && batch != null && RedisBatchOperations.supports(l2);
+
+        Set<String> keys = new LinkedHashSet<>();
+        Set<Object> local = tagIndex.remove(tag);
+        if (local != null) {
+            caffeineCache.invalidateAll(local);
+            local.forEach(key -> keys.add(key.toString()));
+        }
+        if (redisIndex) {
+            keys.addAll(batch.popTag(l2, tag));
+        }
+        invalidateL1(keys);
+
+        if (mode != Mode.L1_ONLY && !keys.isEmpty()) {
+            if (redisIndex) {
+                batch.pipelinedEvict(l2, keys);
+            } else {
+                keys.forEach(l2::evict);
+            }
+            metrics.recordEviction("l2", "TAG", keys.size());
+        }
+
+        CacheInvalidationPublisher publisher = this.invalidationPublisher;
+        if (publisher != null && mode != Mode.L2_ONLY) {
+            publisher.publishTag(name, tag, keys);
+        }
+        log.info("🏷️  Evicted by tag: cache={}, tag={}, keys={}", name, tag, keys.size());
+    }
+
+    /**
+     * Remove index entries whose key is no longer in L1 (expired / size-evicted)
+     */
+    private void pruneTagIndex() {
+        Map<Object, Object> l1 = caffeineCache.asMap();
+        tagIndex.values().forEach(keys -> keys.removeIf(key -> !l1.containsKey(key)));
+        tagIndex.values().removeIf(Set::isEmpty);
+    }
+
+    private void broadcastKeys(Collection<?> keys) {
+        CacheInvalidationPublisher publisher = this.invalidationPublisher;
+        if (publisher != null && mode != Mode.L2_ONLY) {
+            publisher.publishKeys(name, keys);
+        }
+    }
+
+    // =====================================================
+    // Load timestamp (stale-while-revalidate)
+    // =====================================================
+
+    /**
+     * Attach the load time while refresh-ahead is enabled (null values stay unstamped)
+     */
+    private Object stamp(Object storeValue) {
+        if (softTtl == null || storeValue instanceof NullValue) {
+            return storeValue;
+        }
+        return new LoadedValue(storeValue, wallClock.getAsLong());
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        if (storeValue instanceof LoadedValue loaded) {
+            return super.fromStoreValue(loaded.value());
+        }
+        return super.fromStoreValue(storeValue);
+    }
+
+    // =====================================================
+    // Layer access (honours mode)
+    // =====================================================
+
+    private Object l1Get(Object key) {
+        if (mode == Mode.L2_ONLY) {
+            return null;
+        }
+        Object value = caffeineCache.getIfPresent(key);
+        metrics.recordL1(value != null);
+        return value;
+    }
+
+    private void l1Put(Object key, Object storeValue) {
+        if (mode != Mode.L2_ONLY) {
+            if (!nonStringKeys && !(key instanceof String)) {
+                nonStringKeys = true;
+            }
+            caffeineCache.put(key, storeValue);
+            metrics.recordL1Put();
+        }
+    }
+
+    private org.springframework.cache.Cache.ValueWrapper l2Get(Object key) {
+        if (mode == Mode.L1_ONLY) {
+            return null;
+        }
+        long start = System.nanoTime();
+        org.springframework.cache.Cache.ValueWrapper wrapper = redisCache.get(key);
+        metrics.recordL2Get(System.nanoTime() - start, wrapper != null);
+        return wrapper;
+    }
+
+    private void l2Put(Object key, Object storeValue) {
+        if (mode != Mode.L1_ONLY) {
+            long start = System.nanoTime();
+            redisCache.put(key, storeValue);
+            metrics.recordL2Put(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Read L1 misses from L2 in one MGET (per-key fallback for non-Redis L2)
+     */
+    private Map<Object, Object> l2GetAll(List<Object> keys) {
+        org.springframework.cache.Cache l2 = this.redisCache;
+        RedisBatchOperations batch = this.batchOperations;
+        long start = System.nanoTime();
+        Map<Object, Object> values;
+        if (batch != null && RedisBatchOperations.supports(l2)) {
+            values = batch.multiGet(l2, keys);
+        } else {
+            values = new LinkedHashMap<>();
+            for (Object key : keys) {
+                org.springframework.cache.Cache.ValueWrapper wrapper = l2.get(key);
+                if (wrapper != null) {
+                    values.put(key, wrapper.get());
+                }
+            }
+        }
+        metrics.recordL2MultiGet(System.nanoTime() - start, values.size(), keys.size() - values.size());
+        return values;
+    }
+
+    /**
+     * Write loaded entries to L2 in one pipeline (per-key fallback for non-Redis L2)
+     */
+    private void l2PutAll(Map<Object, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        org.springframework.cache.Cache l2 = this.redisCache;
+        RedisBatchOperations batch = this.batchOperations;
+        long start = System.nanoTime();
+        if (batch != null && RedisBatchOperations.supports(l2)) {
+            Map<Object, Object> nonNull = new LinkedHashMap<>();
+            entries.forEach((key, value) -> {
+                if (!(value instanceof NullValue)) {
+                    nonNull.put(key, value);
+                }
+            });
+            batch.pipelinedPut(l2, nonNull);
+        } else {
+            entries.forEach(l2::put);
+        }
+        metrics.recordL2Pipeline(System.nanoTime() - start, entries.size());
+    }
+
+    /**
+     * Estimated L1 entry count (size gauge)
+     */
+    public long estimatedL1Size() {
+        return caffeineCache.estimatedSize();
+    }
+
     /**
      * Get cache statistics for monitoring
      *
@@ -191,6 +1095,7 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
 
         // Cache name
         stats.put("cacheName", name);
+        stats.put("mode", mode.name());
 
         // L1 Caffeine statistics
         com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats = caffeineCache.stats();
@@ -217,11 +1122,35 @@ public class TwoLevelCache extends AbstractValueAdaptingCache {
         // L2 Redis statistics (basic info)
         java.util.Map<String, Object> l2Stats = new java.util.HashMap<>();
         l2Stats.put("type", "Redis");
-        l2Stats.put("status", "active");
+        L2CircuitBreaker breaker = this.circuitBreaker;
+        l2Stats.put("status", breaker == null ? "active"
+                : breaker.isDegraded() ? "degraded (" + breaker.getState() + ")" : "active");
         l2Stats.put("cacheName", redisCache.getName());
 
         stats.put("L2_Redis", l2Stats);
 
+        // Load coordination (single-flight + cross-pod lease)
+        java.util.Map<String, Object> loadStats = new java.util.HashMap<>();
+        loadStats.put("leaderLoads", leaderLoads.get());
+        loadStats.put("coalescedLoads", coalescedLoads.get());
+        loadStats.put("inFlight", inFlightLoads.size());
+        loadStats.put("distributedLease", leaseService != null);
+        loadStats.put("leaseAcquired", leaseAcquired.get());
+        loadStats.put("leaseWaitHits", leaseWaitHits.get());
+        loadStats.put("leaseWaitTimeouts", leaseWaitTimeouts.get());
+        loadStats.put("softTtl", softTtl != null ? softTtl.toString() : "disabled");
+        loadStats.put("staleHits", staleHits.get());
+        loadStats.put("refreshes", refreshes.get());
+        loadStats.put("refreshFailures", refreshFailures.get());
+        loadStats.put("refreshRejected", refreshRejected.get());
+        loadStats.put("bulkGets", bulkGets.get());
+        loadStats.put("bulkL1Hits", bulkL1Hits.get());
+        loadStats.put("bulkL2Hits", bulkL2Hits.get());
+        loadStats.put("bulkLoaded", bulkLoaded.get());
+        loadStats.put("tags", tagIndex.size());
+
+        stats.put("loads", loadStats);
+
         return stats;
     }
 }
@@ -1,26 +1,38 @@
 package uz.hemis.service.cache;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import uz.hemis.service.config.TwoLevelCacheProperties;
+import uz.hemis.service.config.TwoLevelCacheProperties.Policy;
 
-import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Two-Level Cache Manager
  *
  * <p><strong>Enterprise Distributed Cache Strategy:</strong></p>
  * <ul>
- *   <li>L1: Caffeine (JVM memory, per-pod, ~1ms) - 1000 entries, 10 min TTL</li>
- *   <li>L2: Redis (shared, distributed, ~50ms) - 60 min TTL</li>
+ *   <li>L1: Caffeine (JVM memory, per-pod, ~1ms) - per-cache size/weight + TTL</li>
+ *   <li>L2: Redis (shared, distributed, ~50ms) - per-cache TTL</li>
  *   <li>L3: Database (PostgreSQL, ~1000ms) - on cache miss</li>
  * </ul>
  *
@@ -32,62 +44,127 @@ import java.util.concurrent.TimeUnit;
  *   <li>Cached request (other pod): ~50ms (L2 Redis) → then ~1ms (L1)</li>
  * </ul>
  *
- * <p><strong>Cache Configuration:</strong></p>
+ * <p><strong>Cache Configuration:</strong> {@code hemis.cache.*} (TwoLevelCacheProperties)</p>
  * <pre>
- * menu:            L1=1000 entries/10min, L2=60min
- * i18n:            L1=5000 entries/10min, L2=60min
- * userPermissions: L1=1000 entries/10min, L2=60min
- * stats:           L1=100 entries/10min,  L2=30min
+ * hemis.cache.defaults:      max-size=1000, l1-ttl=30m, l2-ttl=30m
+ * hemis.cache.caches.i18n:   max-weight=64MB, soft-ttl=20m, lease-time=30s
+ * hemis.cache.caches.stats:  max-size=100, soft-ttl=10m, lease-time=90s
  * </pre>
  *
+ * <p><strong>Redis failures:</strong> every L2 is guarded by one shared {@link L2CircuitBreaker}
+ * (hemis.cache.circuit-breaker). When open, caches run L1-only and keys written
+ * meanwhile are evicted from L2 on recovery.</p>
+ *
+ * <p><strong>Metrics:</strong> per-cache Micrometer meters ({@code hemis.cache.*}, tag cache)
+ * when a MeterRegistry is available - see {@link TwoLevelCacheMetrics}.</p>
+ *
+ * <p>Policies can be re-applied at runtime via {@link #applyPolicies(TwoLevelCacheProperties)}.</p>
+ *
  * @since 2.0.0
  */
 @Slf4j
-public class TwoLevelCacheManager implements CacheManager {
+public class TwoLevelCacheManager implements CacheManager, DisposableBean {
+
+    // SCAN COUNT / DEL batch for cache clear()
+    private static final int CLEAR_SCAN_BATCH = 1_000;
 
     private final Map<String, TwoLevelCache> cacheMap = new ConcurrentHashMap<>();
-    private final org.springframework.data.redis.cache.RedisCacheManager redisCacheManager;
 
-    // Caffeine L1 configuration - Per-Cache Size Optimization
-    private static final long CAFFEINE_TTL_MINUTES = 30L;
+    // Effective policy per created cache (for reload diffing)
+    private final Map<String, Policy> appliedPolicies = new ConcurrentHashMap<>();
+
+    // L2 building blocks (per-cache RedisCache is created with its own TTL)
+    private final RedisCacheWriter redisCacheWriter;
+    private final RedisCacheConfiguration redisDefaults;
+
+    // Bulk L2 access (MGET / pipelined SET) for TwoLevelCache.getAll
+    private final RedisBatchOperations batchOperations;
+
+    // Shared Redis circuit breaker (all caches use the same Redis)
+    private final L2CircuitBreaker circuitBreaker;
+
+    private volatile TwoLevelCacheProperties properties;
+
+    // Background refresh pool (bounded - rejected refreshes keep serving stale values)
+    private static final int REFRESH_POOL_SIZE = 4;
+    private static final int REFRESH_QUEUE_CAPACITY = 100;
+
+    private final ThreadPoolExecutor refreshExecutor;
+
+    // Micrometer registry provider (optional) and per-cache meters
+    private volatile java.util.function.Supplier<MeterRegistry> meterRegistrySupplier;
+    private final Map<String, TwoLevelCacheMetrics> cacheMetrics = new ConcurrentHashMap<>();
+
+    // Redis lock provider for cross-pod lease (optional)
+    private volatile java.util.function.Supplier<CacheVersionService> cacheVersionServiceSupplier;
+
+    // Keyed cross-pod L1 invalidation (optional)
+    private volatile java.util.function.Supplier<CacheInvalidationPublisher> invalidationPublisherSupplier;
+
+    // Smile mapper for codec: BINARY caches (null → JSON only)
+    private volatile ObjectMapper binaryCodecMapper;
+
+    public TwoLevelCacheManager(RedisConnectionFactory connectionFactory,
+                                RedisCacheConfiguration redisDefaults,
+                                TwoLevelCacheProperties properties) {
+        // clear() → SCAN + batched DEL instead of the default KEYS (blocks the shared Redis)
+        this.redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(CLEAR_SCAN_BATCH));
+        this.redisDefaults = redisDefaults;
+        this.batchOperations = new RedisBatchOperations(connectionFactory);
+        this.circuitBreaker = new L2CircuitBreaker(properties.getCircuitBreaker());
+        this.properties = properties;
+        this.refreshExecutor = createRefreshExecutor();
+
+        log.info("🚀 TwoLevelCacheManager initialized with per-cache policies (hemis.cache.*)");
+        log.info("   Defaults: {}", properties.resolve("__default__"));
+        properties.getCaches().keySet().forEach(cacheName ->
+                log.info("      - {}: {}", cacheName, properties.resolve(cacheName)));
+    }
 
     /**
-     * Per-cache Caffeine L1 size configuration
-     * <p>Optimized based on data volume and access patterns:</p>
-     * <ul>
-     *   <li><strong>i18n:</strong> 5000 entries - High volume (4 langs × 1000+ keys)</li>
-     *   <li><strong>i18n-scope:</strong> 2000 entries - Scope-based i18n (4 langs × scopes)</li>
-     *   <li><strong>menu:</strong> 1000 entries - Medium volume (users × locales)</li>
-     *   <li><strong>userPermissions:</strong> 1000 entries - Medium volume</li>
-     *   <li><strong>stats:</strong> 100 entries - Low volume (aggregated data)</li>
-     * </ul>
+     * Set lock provider for cross-pod load lease
+     *
+     * <p>Resolved lazily on first cache creation (avoids bean cycles with CacheManager)</p>
+     *
+     * @param cacheVersionServiceSupplier Supplier of CacheVersionService (may return null)
+     */
+    public void setCacheVersionServiceSupplier(java.util.function.Supplier<CacheVersionService> cacheVersionServiceSupplier) {
+        this.cacheVersionServiceSupplier = cacheVersionServiceSupplier;
+    }
+
+    /**
+     * Set Micrometer registry provider for per-cache meters
+     *
+     * <p>Resolved lazily on first cache creation; null registry → no-op meters</p>
+     *
+     * @param meterRegistrySupplier Supplier of MeterRegistry (may return null)
+     */
+    public void setMeterRegistrySupplier(java.util.function.Supplier<MeterRegistry> meterRegistrySupplier) {
+        this.meterRegistrySupplier = meterRegistrySupplier;
+    }
+
+    /**
+     * Set publisher for keyed cross-pod L1 invalidation (put/evict/clear)
+     *
+     * <p>Resolved lazily on first cache creation; null → invalidation stays local</p>
+     *
+     * @param invalidationPublisherSupplier Supplier of CacheInvalidationPublisher (may return null)
+     */
+    public void setInvalidationPublisherSupplier(java.util.function.Supplier<CacheInvalidationPublisher> invalidationPublisherSupplier) {
+        this.invalidationPublisherSupplier = invalidationPublisherSupplier;
+    }
+
+    /**
+     * Enable the BINARY L2 value codec (Smile + LZ4) for caches with {@code codec: BINARY}
+     *
+     * <p>Must be called before caches are created. Without it every cache writes JSON;
+     * reads of BINARY entries written by other pods still work only with it set.</p>
+     *
+     * @param jsonMapper Mapper of the JSON value serializer (typing/modules are copied)
      */
-    private static final Map<String, Long> CACHE_MAX_SIZES = Map.of(
-        "i18n", 5000L,              // Translation cache - High volume (full translations)
-        "i18n-scope", 2000L,        // Scope-based translations - Progressive loading
-        "menu", 1000L,              // User menu cache
-        "userPermissions", 1000L,   // User permissions cache
-        "stats", 100L,              // Dashboard statistics
-        "universitiesSearch", 500L, // University search results
-        "universityDictionaries", 200L // Static reference data
-    );
-
-    private static final long DEFAULT_CAFFEINE_MAX_SIZE = 1000L;
-
-    public TwoLevelCacheManager(
-            org.springframework.data.redis.cache.RedisCacheManager redisCacheManager) {
-        this.redisCacheManager = redisCacheManager;
-
-        log.info("🚀 TwoLevelCacheManager initialized with per-cache size optimization");
-        log.info("   L1 (Caffeine) sizes:");
-        log.info("      - i18n: 5000 entries (full translations)");
-        log.info("      - i18n-scope: 2000 entries (scope-based progressive loading)");
-        log.info("      - menu: 1000 entries (user menus)");
-        log.info("      - userPermissions: 1000 entries");
-        log.info("      - stats: 100 entries (aggregated)");
-        log.info("      - default: {} entries", DEFAULT_CAFFEINE_MAX_SIZE);
-        log.info("   L1 TTL: {} minutes", CAFFEINE_TTL_MINUTES);
-        log.info("   L2 (Redis): TTL 30 minutes (unified)");
+    public void setBinaryCodecMapper(ObjectMapper jsonMapper) {
+        this.binaryCodecMapper = CacheValueCodec.smileMapper(jsonMapper);
     }
 
     @Override
@@ -95,6 +172,13 @@ public class TwoLevelCacheManager implements CacheManager {
         return cacheMap.computeIfAbsent(name, this::createTwoLevelCache);
     }
 
+    /**
+     * Existing cache only (no creation) - remote invalidation for caches this pod never used is a no-op
+     */
+    public TwoLevelCache getCacheIfPresent(String name) {
+        return cacheMap.get(name);
+    }
+
     @Override
     public Collection<String> getCacheNames() {
         return cacheMap.keySet();
@@ -104,43 +188,225 @@ public class TwoLevelCacheManager implements CacheManager {
      * Create 2-level cache (Caffeine + Redis)
      */
     private TwoLevelCache createTwoLevelCache(String name) {
-        long maxSize = getCaffeineMaxSize(name);
-        log.info("📦 Creating 2-level cache: {} (L1 size: {} entries)", name, maxSize);
-
-        // L1: Caffeine cache (JVM memory) - Per-cache size optimization
-        Cache<Object, Object> caffeineCache = Caffeine.newBuilder()
-                .maximumSize(maxSize)
-                .expireAfterWrite(CAFFEINE_TTL_MINUTES, TimeUnit.MINUTES)
-                .recordStats()  // Enable statistics for monitoring
+        Policy policy = properties.resolve(name);
+        log.info("📦 Creating 2-level cache: {} ({})", name, policy);
+
+        TwoLevelCacheMetrics metrics = metricsOf(name);
+
+        // L1: Caffeine cache (JVM memory) - per-cache size or weight
+        Cache<Object, Object> caffeineCache = buildCaffeine(policy, metrics);
+
+        // L2: Redis cache (distributed) - per-cache TTL
+        org.springframework.cache.Cache redisCache = buildRedisCache(name, policy, metrics);
+
+        TwoLevelCache cache = new TwoLevelCache(name, caffeineCache, redisCache);
+        cache.enableBatchOperations(batchOperations);
+        cache.setCircuitBreaker(circuitBreaker);
+        cache.setMetrics(metrics);
+        metrics.bindSizeGauge(cache);
+        CacheInvalidationPublisher invalidationPublisher = invalidationPublisherSupplier != null
+                ? invalidationPublisherSupplier.get()
+                : null;
+        if (invalidationPublisher != null) {
+            invalidationPublisher.setCircuitBreaker(circuitBreaker);
+            cache.enableInvalidationBroadcast(invalidationPublisher);
+        }
+        applyRuntimePolicy(cache, policy);
+        appliedPolicies.put(name, policy);
+
+        log.info("✅ 2-level cache created: {} (mode={})", name, policy.getMode());
+        return cache;
+    }
+
+    /**
+     * Build L1 Caffeine cache from policy
+     */
+    private Cache<Object, Object> buildCaffeine(Policy policy, TwoLevelCacheMetrics metrics) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(policy.getL1Ttl())
+                .removalListener(metrics.l1RemovalListener())  // Eviction cause → hemis.cache.evictions
+                .recordStats();  // Enable statistics for monitoring
+
+        if (policy.isWeighted()) {
+            builder.maximumWeight(policy.getMaxWeight().toBytes())
+                    .weigher(new CacheValueWeigher());
+        } else {
+            builder.maximumSize(policy.getMaxSize());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build L2 Redis cache with per-cache TTL
+     *
+     * <p>Layers: TransactionAwareCacheDecorator (writes deferred until commit)
+     * → CircuitBreakingRedisCache (unless disabled) → RedisCache</p>
+     *
+     * <p>Values: MeteredValueSerializer → CacheValueCodec (JSON or Smile + LZ4 writes,
+     * both formats on read) when the binary codec is enabled, else the JSON pair.</p>
+     */
+    private org.springframework.cache.Cache buildRedisCache(String name, Policy policy, TwoLevelCacheMetrics metrics) {
+        RedisSerializationContext.SerializationPair<Object> values = redisDefaults.getValueSerializationPair();
+        ObjectMapper smileMapper = this.binaryCodecMapper;
+        if (smileMapper != null) {
+            values = RedisSerializationContext.SerializationPair.fromSerializer(new CacheValueCodec(
+                    smileMapper, values, policy.getCodec(), (int) policy.getCompressionThreshold().toBytes()));
+        } else if (policy.getCodec() == TwoLevelCacheProperties.ValueCodec.BINARY) {
+            log.warn("⚠️  Cache {} has codec BINARY but no binary codec mapper is set - writing JSON", name);
+        }
+
+        RedisCacheConfiguration config = redisDefaults.entryTtl(policy.getL2Ttl())
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new MeteredValueSerializer(values, metrics)));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisCacheWriter)
+                .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
 
-        // L2: Redis cache (distributed) - get from RedisCacheManager
-        // May be wrapped in TransactionAwareCacheDecorator if transactionAware() enabled
         org.springframework.cache.Cache redisCache = redisCacheManager.getCache(name);
-
         if (redisCache == null) {
             throw new IllegalStateException("Redis cache not found for: " + name);
         }
 
-        log.info("✅ 2-level cache created: {} (L1={} entries, L2=Redis)", name, maxSize);
-        return new TwoLevelCache(name, caffeineCache, redisCache);
+        org.springframework.cache.Cache guarded = properties.getCircuitBreaker().isEnabled()
+                ? new CircuitBreakingRedisCache(redisCache, circuitBreaker)
+                : redisCache;
+        return new TransactionAwareCacheDecorator(guarded);
     }
 
     /**
-     * Get Caffeine L1 maximum size for specific cache
-     * <p>Per-cache optimization based on data volume:</p>
+     * Apply settings that can change without rebuilding layers
+     * (mode, stale-while-revalidate, cross-pod lease)
+     */
+    private void applyRuntimePolicy(TwoLevelCache cache, Policy policy) {
+        cache.setMode(policy.getMode());
+
+        if (policy.getSoftTtl() != null) {
+            cache.enableRefreshAhead(policy.getSoftTtl(), refreshExecutor);
+        } else {
+            cache.disableRefreshAhead();
+        }
+
+        CacheVersionService leaseService = cacheVersionServiceSupplier != null
+                ? cacheVersionServiceSupplier.get()
+                : null;
+        if (policy.getLeaseTime() != null && leaseService != null) {
+            cache.enableDistributedLease(leaseService, policy.getLeaseTime(), policy.getLeaseMaxWait());
+        } else {
+            cache.disableDistributedLease();
+        }
+    }
+
+    /**
+     * Re-apply cache policies at runtime (admin reload)
+     *
+     * <p><strong>Per existing cache:</strong></p>
      * <ul>
-     *   <li>i18n: 5000 entries (high volume)</li>
-     *   <li>menu: 1000 entries (medium volume)</li>
-     *   <li>stats: 100 entries (low volume)</li>
-     *   <li>default: 1000 entries</li>
+     *   <li>Size/weight limit and L1 TTL: adjusted in place via Caffeine policy API</li>
+     *   <li>Switch between max-size and max-weight: L1 rebuilt (entries re-read from L2)</li>
+     *   <li>L2 TTL, codec, compression threshold: new RedisCache for subsequent writes</li>
+     *   <li>Mode, soft TTL, lease: switched immediately</li>
+     *   <li>Circuit breaker thresholds: switched immediately (enabled flag applies to rebuilt L2 only)</li>
      * </ul>
      *
-     * @param cacheName Cache name
-     * @return Maximum number of entries for L1 Caffeine cache
+     * @param newProperties Freshly bound hemis.cache.* properties
+     * @return cache name → effective policy after reload
+     */
+    public Map<String, String> applyPolicies(TwoLevelCacheProperties newProperties) {
+        this.properties = newProperties;
+        circuitBreaker.configure(newProperties.getCircuitBreaker());
+        Map<String, String> applied = new java.util.TreeMap<>();
+
+        for (Map.Entry<String, TwoLevelCache> entry : cacheMap.entrySet()) {
+            String name = entry.getKey();
+            TwoLevelCache cache = entry.getValue();
+            Policy previous = appliedPolicies.get(name);
+            Policy policy = newProperties.resolve(name);
+
+            if (previous == null || previous.isWeighted() != policy.isWeighted()) {
+                cache.replaceL1(buildCaffeine(policy, metricsOf(name)));
+            } else {
+                Cache<Object, Object> caffeineCache = caffeineOf(cache);
+                long maximum = policy.isWeighted() ? policy.getMaxWeight().toBytes() : policy.getMaxSize();
+                caffeineCache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximum));
+                caffeineCache.policy().expireAfterWrite()
+                        .ifPresent(expiration -> expiration.setExpiresAfter(policy.getL1Ttl()));
+            }
+
+            if (previous == null || !Objects.equals(previous.getL2Ttl(), policy.getL2Ttl())
+                    || previous.getCodec() != policy.getCodec()
+                    || !Objects.equals(previous.getCompressionThreshold(), policy.getCompressionThreshold())) {
+                cache.replaceL2(buildRedisCache(name, policy, metricsOf(name)));
+            }
+
+            applyRuntimePolicy(cache, policy);
+            appliedPolicies.put(name, policy);
+            applied.put(name, policy.toString());
+            log.info("🔧 Cache policy applied: {} → {}", name, policy);
+        }
+
+        return applied;
+    }
+
+    /**
+     * Effective policy per cache (configured + already created caches)
+     */
+    public Map<String, String> getPolicies() {
+        Map<String, String> policies = new java.util.TreeMap<>();
+        properties.getCaches().keySet().forEach(name -> policies.put(name, properties.resolve(name).toString()));
+        appliedPolicies.forEach((name, policy) -> policies.put(name, policy.toString()));
+        return policies;
+    }
+
+    /**
+     * Shared L2 (Redis) circuit breaker - for health indicator and metrics
+     */
+    public L2CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private TwoLevelCacheMetrics metricsOf(String name) {
+        return cacheMetrics.computeIfAbsent(name, cacheName -> {
+            MeterRegistry registry = meterRegistrySupplier != null ? meterRegistrySupplier.get() : null;
+            return new TwoLevelCacheMetrics(cacheName, registry);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> caffeineOf(TwoLevelCache cache) {
+        return (Cache<Object, Object>) cache.getNativeCache();
+    }
+
+    /**
+     * Bounded executor for stale-while-revalidate reloads
+     *
+     * <p>Daemon threads, fixed size, bounded queue. When full, refresh is skipped
+     * (AbortPolicy) and the stale value keeps being served until hard TTL.</p>
+     */
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                REFRESH_POOL_SIZE,
+                REFRESH_POOL_SIZE,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Stop background refresh pool on shutdown
      */
-    private long getCaffeineMaxSize(String cacheName) {
-        return CACHE_MAX_SIZES.getOrDefault(cacheName, DEFAULT_CAFFEINE_MAX_SIZE);
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+        log.info("🛑 TwoLevelCacheManager refresh executor stopped");
     }
 
     /**
@@ -0,0 +1,225 @@
+package uz.hemis.service.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer Meters for one TwoLevelCache
+ *
+ * <p>All meters are tagged with {@code cache=<name>}.</p>
+ *
+ * <p><strong>Meters:</strong></p>
+ * <ul>
+ *   <li>{@code hemis.cache.requests} - counter, tags layer=l1|l2, result=hit|miss</li>
+ *   <li>{@code hemis.cache.puts} - counter, tag layer=l1|l2</li>
+ *   <li>{@code hemis.cache.evictions} - counter, tags layer, cause
+ *       (L1: Caffeine RemovalCause SIZE/EXPIRED/EXPLICIT/COLLECTED; L2: EXPLICIT/CLEAR/TAG)</li>
+ *   <li>{@code hemis.cache.l2.latency} - timer, tag operation=get|put|mget|pipeline</li>
+ *   <li>{@code hemis.cache.load} - timer, tags type=single|bulk, result=success|failure</li>
+ *   <li>{@code hemis.cache.value.size} - distribution summary (bytes) of serialized L2 values</li>
+ *   <li>{@code hemis.cache.l1.size} - gauge, estimated L1 entry count</li>
+ * </ul>
+ *
+ * <p>Without a MeterRegistry (tests, no actuator) all meters are no-op.</p>
+ *
+ * @since 2.0.0
+ */
+public class TwoLevelCacheMetrics {
+
+    private static final String TAG_CACHE = "cache";
+
+    private final String cacheName;
+    private final MeterRegistry registry;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l1Puts;
+    private final Counter l2Puts;
+
+    private final Timer l2GetTimer;
+    private final Timer l2PutTimer;
+    private final Timer l2MultiGetTimer;
+    private final Timer l2PipelineTimer;
+
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+    private final Timer bulkLoadSuccess;
+    private final Timer bulkLoadFailure;
+
+    private final DistributionSummary valueSize;
+
+    // layer:cause → counter (causes are a small closed set)
+    private final Map<String, Counter> evictions = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheMetrics(String cacheName, MeterRegistry registry) {
+        this.cacheName = cacheName;
+        this.registry = registry != null ? registry : new CompositeMeterRegistry();
+
+        this.l1Hits = requests("l1", "hit");
+        this.l1Misses = requests("l1", "miss");
+        this.l2Hits = requests("l2", "hit");
+        this.l2Misses = requests("l2", "miss");
+        this.l1Puts = puts("l1");
+        this.l2Puts = puts("l2");
+
+        this.l2GetTimer = l2Latency("get");
+        this.l2PutTimer = l2Latency("put");
+        this.l2MultiGetTimer = l2Latency("mget");
+        this.l2PipelineTimer = l2Latency("pipeline");
+
+        this.loadSuccess = load("single", "success");
+        this.loadFailure = load("single", "failure");
+        this.bulkLoadSuccess = load("bulk", "success");
+        this.bulkLoadFailure = load("bulk", "failure");
+
+        this.valueSize = DistributionSummary.builder("hemis.cache.value.size")
+                .description("Serialized L2 value size")
+                .baseUnit("bytes")
+                .tag(TAG_CACHE, cacheName)
+                .publishPercentileHistogram()
+                .register(this.registry);
+    }
+
+    /**
+     * No-op metrics (cache created without a registry)
+     */
+    public static TwoLevelCacheMetrics disabled(String cacheName) {
+        return new TwoLevelCacheMetrics(cacheName, null);
+    }
+
+    // =====================================================
+    // Recording
+    // =====================================================
+
+    public void recordL1(boolean hit) {
+        (hit ? l1Hits : l1Misses).increment();
+    }
+
+    public void recordL1(long hits, long misses) {
+        l1Hits.increment(hits);
+        l1Misses.increment(misses);
+    }
+
+    public void recordL2Get(long nanos, boolean hit) {
+        l2GetTimer.record(nanos, TimeUnit.NANOSECONDS);
+        (hit ? l2Hits : l2Misses).increment();
+    }
+
+    public void recordL2MultiGet(long nanos, long hits, long misses) {
+        l2MultiGetTimer.record(nanos, TimeUnit.NANOSECONDS);
+        l2Hits.increment(hits);
+        l2Misses.increment(misses);
+    }
+
+    public void recordL1Put() {
+        l1Puts.increment();
+    }
+
+    public void recordL2Put(long nanos) {
+        l2PutTimer.record(nanos, TimeUnit.NANOSECONDS);
+        l2Puts.increment();
+    }
+
+    public void recordL2Pipeline(long nanos, int entries) {
+        l2PipelineTimer.record(nanos, TimeUnit.NANOSECONDS);
+        l2Puts.increment(entries);
+    }
+
+    public void recordLoad(long nanos, boolean success) {
+        (success ? loadSuccess : loadFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBulkLoad(long nanos, boolean success) {
+        (success ? bulkLoadSuccess : bulkLoadFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValueSize(int bytes) {
+        valueSize.record(bytes);
+    }
+
+    public void recordEviction(String layer, String cause) {
+        recordEviction(layer, cause, 1);
+    }
+
+    public void recordEviction(String layer, String cause, int count) {
+        evictions.computeIfAbsent(layer + ":" + cause, k -> Counter.builder("hemis.cache.evictions")
+                .description("Cache entries removed")
+                .tag(TAG_CACHE, cacheName)
+                .tag("layer", layer)
+                .tag("cause", cause)
+                .register(registry)).increment(count);
+    }
+
+    /**
+     * Caffeine removal listener recording L1 eviction cause
+     */
+    public RemovalListener<Object, Object> l1RemovalListener() {
+        return (key, value, cause) -> {
+            if (cause != RemovalCause.REPLACED) {
+                recordEviction("l1", cause.name());
+            }
+        };
+    }
+
+    /**
+     * Register L1 size gauge for the cache owning these metrics
+     */
+    public void bindSizeGauge(TwoLevelCache cache) {
+        Gauge.builder("hemis.cache.l1.size", cache, TwoLevelCache::estimatedL1Size)
+                .description("Estimated L1 (Caffeine) entries")
+                .tag(TAG_CACHE, cacheName)
+                .register(registry);
+    }
+
+    // =====================================================
+    // Meter builders
+    // =====================================================
+
+    private Counter requests(String layer, String result) {
+        return Counter.builder("hemis.cache.requests")
+                .description("Cache lookups per layer")
+                .tag(TAG_CACHE, cacheName)
+                .tag("layer", layer)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter puts(String layer) {
+        return Counter.builder("hemis.cache.puts")
+                .description("Cache writes per layer")
+                .tag(TAG_CACHE, cacheName)
+                .tag("layer", layer)
+                .register(registry);
+    }
+
+    private Timer l2Latency(String operation) {
+        return Timer.builder("hemis.cache.l2.latency")
+                .description("Redis (L2) call latency")
+                .tag(TAG_CACHE, cacheName)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer load(String type, String result) {
+        return Timer.builder("hemis.cache.load")
+                .description("Value loader duration on cache miss")
+                .tag(TAG_CACHE, cacheName)
+                .tag("type", type)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
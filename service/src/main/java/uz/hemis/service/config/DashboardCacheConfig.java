@@ -1,6 +1,9 @@
 package uz.hemis.service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -10,11 +13,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import uz.hemis.service.cache.CacheInvalidationPublisher;
+import uz.hemis.service.cache.CacheVersionService;
 
 import java.time.Duration;
 
@@ -28,12 +32,14 @@ import java.time.Duration;
  *   <li>L3: PostgreSQL (source of truth, ~1000ms)</li>
  * </ul>
  *
- * <p><strong>Cache Configuration (Unified 30 min TTL):</strong></p>
+ * <p><strong>Cache Configuration (hemis.cache.* in application.yml):</strong></p>
  * <ul>
  *   <li>menu: L1=1000 entries/30min, L2=30min</li>
- *   <li>i18n: L1=5000 entries/30min, L2=30min</li>
+ *   <li>i18n: L1=64MB (byte-weigher)/30min, L2=30min</li>
  *   <li>userPermissions: L1=1000 entries/30min, L2=30min</li>
  *   <li>stats: L1=100 entries/30min, L2=30min</li>
+ *   <li>tenantStats: L1=400 entries/30min, L2=30min (per university / region)</li>
+ *   <li>universityDictionaries: L1=200 entries/30min, L2=6h</li>
  * </ul>
  *
  * <p><strong>Performance Benefits:</strong></p>
@@ -56,20 +62,20 @@ import java.time.Duration;
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
 @Slf4j
 public class DashboardCacheConfig implements CachingConfigurer {
 
     private static final String DASHBOARD_CACHE_NAME = "hemis:dashboard:stats";
-    private static final Duration DASHBOARD_TTL = Duration.ofMinutes(30);
-    private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);  // Unified 30 min for menu, i18n, permissions
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);  // Fallback when no hemis.cache policy
 
     /**
      * ENTERPRISE 2-Level Cache Manager
      *
      * <p><strong>L1 + L2 Configuration:</strong></p>
      * <ul>
-     *   <li>L1 (Caffeine): 1000 entries, 10 minutes TTL, per-pod</li>
-     *   <li>L2 (Redis): Per-cache TTL (menu=60min, stats=30min), distributed</li>
+     *   <li>L1 (Caffeine): per-cache max-size/max-weight + TTL (hemis.cache.*), per-pod</li>
+     *   <li>L2 (Redis): per-cache TTL (hemis.cache.*), distributed</li>
      * </ul>
      *
      * <p><strong>Read Flow:</strong></p>
@@ -83,11 +89,16 @@ public class DashboardCacheConfig implements CachingConfigurer {
      * <pre>
      * 1. Write to L1 Caffeine (immediate)
      * 2. Write to L2 Redis (sync for consistency)
+     * 3. Publish keyed invalidation → other pods evict only that key from L1
      * </pre>
      */
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     TwoLevelCacheProperties cacheProperties,
+                                     ObjectProvider<CacheVersionService> cacheVersionServiceProvider,
+                                     ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                     ObjectProvider<CacheInvalidationPublisher> invalidationPublisherProvider) {
         log.info("🚀 Initializing ENTERPRISE 2-Level Cache Manager (Caffeine + Redis)");
 
         // JSON serialization with JavaTimeModule support
@@ -102,9 +113,9 @@ public class DashboardCacheConfig implements CachingConfigurer {
 
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
 
-        // Default Redis L2 configuration (60 minutes)
+        // Default Redis L2 configuration (TTL is set per cache from hemis.cache.*)
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(DEFAULT_TTL)                                            // 1 hour TTL
+                .entryTtl(DEFAULT_TTL)                                            // Fallback TTL
                 .prefixCacheNameWith("cache:")                                    // Universal prefix
                 .serializeKeysWith(RedisSerializationContext.SerializationPair    // String keys
                         .fromSerializer(new StringRedisSerializer()))
@@ -112,43 +123,31 @@ public class DashboardCacheConfig implements CachingConfigurer {
                         .fromSerializer(jsonSerializer))
                 .disableCachingNullValues();                                      // Don't cache null
 
-        // Per-cache L2 (Redis) TTL configuration
-        java.util.Map<String, RedisCacheConfiguration> redisCacheConfigurations = new java.util.HashMap<>();
-
-        // Dashboard cache: 30 minutes
-        redisCacheConfigurations.put("stats", defaultConfig.entryTtl(DASHBOARD_TTL));
-
-        // Menu cache: 1 hour
-        redisCacheConfigurations.put("menu", defaultConfig.entryTtl(DEFAULT_TTL));
-
-        // I18n cache: 1 hour
-        redisCacheConfigurations.put("i18n", defaultConfig.entryTtl(DEFAULT_TTL));
-
-        // User permissions cache: 1 hour
-        redisCacheConfigurations.put("userPermissions", defaultConfig.entryTtl(DEFAULT_TTL));
+        // Create 2-level cache manager (L1 + L2) - per-cache policies from hemis.cache.*
+        uz.hemis.service.cache.TwoLevelCacheManager cacheManager =
+                new uz.hemis.service.cache.TwoLevelCacheManager(
+                        connectionFactory,
+                        defaultConfig,
+                        cacheProperties);
 
-        // University search cache (paged + filters): 30 minutes
-        redisCacheConfigurations.put("universitiesSearch", defaultConfig.entryTtl(DASHBOARD_TTL));
+        // Cross-pod load lease (stampede protection for stats, i18n)
+        cacheManager.setCacheVersionServiceSupplier(cacheVersionServiceProvider::getIfAvailable);
 
-        // University dictionaries (static): 6 hours
-        redisCacheConfigurations.put("universityDictionaries", defaultConfig.entryTtl(Duration.ofHours(6)));
+        // Per-cache Micrometer meters (hemis.cache.*) - registry provided by actuator in app
+        cacheManager.setMeterRegistrySupplier(meterRegistryProvider::getIfAvailable);
 
-        // Create Redis cache manager (L2)
-        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(redisCacheConfigurations)
-                .transactionAware()
-                .build();
+        // Keyed cross-pod L1 invalidation (cache:keys:invalidate) instead of whole-cache clears
+        cacheManager.setInvalidationPublisherSupplier(invalidationPublisherProvider::getIfAvailable);
 
-        // Create 2-level cache manager (L1 + L2)
-        uz.hemis.service.cache.TwoLevelCacheManager cacheManager =
-                new uz.hemis.service.cache.TwoLevelCacheManager(redisCacheManager);
+        // Compact L2 values (Smile + LZ4) for caches with codec: BINARY - reads accept JSON too
+        cacheManager.setBinaryCodecMapper(objectMapper);
 
         log.info("✅ ENTERPRISE 2-Level Cache configured:");
-        log.info("   L1 (Caffeine): per-cache size, 30 min TTL, per-pod");
-        log.info("   L2 (Redis): 30 min TTL (unified), distributed");
+        log.info("   L1 (Caffeine): per-cache size/weight + TTL (hemis.cache.*), per-pod");
+        log.info("   L2 (Redis): per-cache TTL (hemis.cache.*), distributed");
         log.info("   Prefix: cache:");
-        log.info("   Serialization: JSON");
+        log.info("   Serialization: JSON or Smile+LZ4 per cache (hemis.cache.*.codec)");
+        log.info("   Metrics: hemis.cache.* (Micrometer, tag cache)");
 
         return cacheManager;
     }
@@ -2,11 +2,18 @@ package uz.hemis.service.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import uz.hemis.service.dashboard.DashboardService;
+import uz.hemis.service.dashboard.StudentStatsCube;
+import uz.hemis.service.dashboard.StudentStatsCubeService;
+import uz.hemis.service.dashboard.dto.DashboardResponse;
+import uz.hemis.service.dashboard.dto.TopUniversityDto;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -14,30 +21,65 @@ import uz.hemis.service.dashboard.DashboardService;
 public class DashboardCacheWarmup {
 
     private final DashboardService dashboardService;
+    private final StudentStatsCubeService cubeService;
+
+    // Largest universities whose dashboards are built at startup (0 = none)
+    @Value("${hemis.dashboard.tenant-warmup.universities:20}")
+    private int tenantWarmupUniversities;
 
     // Warm up cache shortly after application starts (does not block startup)
+    // Periodic refresh is not needed: "stats" uses stale-while-revalidate in TwoLevelCache
+    // (soft TTL 10 min → background reload, hard TTL 30 min)
     @EventListener(ApplicationReadyEvent.class)
     public void warmupOnStartup() {
         new Thread(() -> {
             try {
                 log.info("🔥 Warming up dashboard cache on startup...");
-                dashboardService.getDashboardStats();
+                DashboardResponse stats = dashboardService.getDashboardStats();
                 log.info("✅ Dashboard cache warmup completed");
+                warmupUniversities(stats);
             } catch (Exception e) {
                 log.warn("⚠️ Dashboard cache warmup failed: {}", e.toString());
             }
         }, "dashboard-cache-warmup").start();
     }
 
-    // Refresh cache every 30 minutes proactively
-    @Scheduled(fixedRate = 30 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
-    public void refreshCachePeriodically() {
-        try {
-            log.info("♻️ Refreshing dashboard cache (scheduled)...");
-            dashboardService.getDashboardStats();
-            log.info("✅ Dashboard cache refresh done");
-        } catch (Exception e) {
-            log.warn("⚠️ Dashboard cache refresh failed: {}", e.toString());
+    // Bounded: top N universities only, one at a time (each dashboard already uses the
+    // section pool) - the long tail is built on first request
+    private void warmupUniversities(DashboardResponse stats) {
+        List<String> codes = busiestUniversities(stats);
+        if (codes.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        int warmed = 0;
+        for (String code : codes) {
+            try {
+                dashboardService.getUniversityStats(code);
+                warmed++;
+            } catch (Exception e) {
+                log.warn("⚠️ University dashboard warmup failed for {}: {}", code, e.toString());
+            }
+        }
+        log.info("✅ University dashboards warmed up: {}/{} in {}ms",
+                warmed, codes.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private List<String> busiestUniversities(DashboardResponse stats) {
+        List<String> codes = new ArrayList<>();
+        if (tenantWarmupUniversities <= 0) {
+            return codes;
+        }
+        StudentStatsCube cube = cubeService.current().orElse(null);
+        List<TopUniversityDto> top = cube != null
+                ? cubeService.topUniversities(cube.query(), tenantWarmupUniversities)
+                : stats.getTopUniversities();  // Cube still loading: top 10 from the SQL dashboard
+        if (top != null) {
+            top.stream()
+                    .limit(tenantWarmupUniversities)
+                    .map(TopUniversityDto::getCode)
+                    .forEach(codes::add);
         }
+        return codes;
     }
 }
@@ -55,6 +55,8 @@ import java.util.*;
  *   <li>New role added → automatic warmup</li>
  *   <li>User deleted → no problem, picks another user</li>
  *   <li>Minimal cache entries (rol count × languages)</li>
+ *   <li>Menus are keyed by permission set: one sample user warms the menu of every
+ *       user with the same roles (they only resolve their permission hash)</li>
  *   <li>100% coverage for role patterns</li>
  * </ul>
  */
@@ -78,7 +80,7 @@ public class MenuCacheWarmup {
      *   <li>Check if warmup enabled</li>
      *   <li>Determine mode (role-based vs static)</li>
      *   <li>Collect sample usernames</li>
-     *   <li>Warmup menu for each user × each language</li>
+     *   <li>Warmup menus per language, batched over all users</li>
      *   <li>Log statistics and failures</li>
      * </ol>
      *
@@ -117,36 +119,37 @@ public class MenuCacheWarmup {
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
         // ✅ FIX: Warmup using userId (matches production cache key!)
+        List<UUID> userIds = new ArrayList<>();
         for (String username : sampleUsernames) {
-            try {
-                // Get userId for cache key alignment
-                User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
-
-                UUID userId = user.getId();
+            Optional<User> user = userRepository.findByUsername(username);
+            if (user.isPresent()) {
+                userIds.add(user.get().getId());
+            } else {
+                // User not found - expected for some edge cases
+                log.warn("⚠️  User not found (skipping): {}", username);
+                failCount++;
+            }
+        }
 
-                // ✅ Use supported languages from config
-                for (String language : supportedLanguages) {
-                    try {
-                        log.debug("📥 Warming up menu: userId={}, language={}", userId, language);
+        // ✅ BATCH: One bulk lookup per language (L1 → Redis MGET → one menu build pass → pipelined write)
+        for (String language : supportedLanguages) {
+            if (userIds.isEmpty()) {
+                break;
+            }
+            try {
+                log.debug("📥 Warming up menus: users={}, language={}", userIds.size(), language);
 
-                        // ✅ CORRECT: Use userId:locale key (matches production!)
-                        menuService.getMenuForUser(userId, language);
+                Map<UUID, ?> menus = menuService.getMenusForUsers(userIds, language);
 
-                        successCount++;
-                        log.debug("✅ Menu cached: userId={} - {}", userId, language);
+                successCount += menus.size();
+                failCount += userIds.size() - menus.size();
+                log.debug("✅ Menus cached: {}/{} users - {}", menus.size(), userIds.size(), language);
 
-                    } catch (Exception e) {
-                        // Unexpected error - log but continue warmup
-                        log.error("❌ Menu warmup failed: userId={}, language={}, error={}",
-                            userId, language, e.getMessage());
-                        failCount++;
-                    }
-                }
-            } catch (IllegalArgumentException e) {
-                // User not found - expected for some edge cases
-                log.warn("⚠️  User not found (skipping): {} - {}", username, e.getMessage());
-                failCount++;
+            } catch (Exception e) {
+                // Unexpected error - log but continue warmup
+                log.error("❌ Menu warmup failed: language={}, users={}, error={}",
+                    language, userIds.size(), e.getMessage());
+                failCount += userIds.size();
             }
         }
 
@@ -157,7 +160,7 @@ public class MenuCacheWarmup {
         log.info("   Success: {} menu entries", successCount);
         log.info("   Failed: {} (user not found or errors)", failCount);
         log.info("   Time: {}ms", elapsed);
-        log.info("   Cache layers: L1 (Caffeine) + L2 (Redis)");
+        log.info("   Cache layers: L1 (Caffeine) + L2 (Redis, batched MGET + pipeline)");
         log.info("   Status: {} users pre-cached for instant login",
             successCount / Math.max(supportedLanguages.size(), 1));
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -0,0 +1,212 @@
+package uz.hemis.service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-Level Cache Policy Configuration
+ *
+ * <p>Per-cache L1 (Caffeine) / L2 (Redis) policy for TwoLevelCacheManager.
+ * Caches without an entry use {@code defaults}; every field of a per-cache
+ * entry is optional and falls back to the default value.</p>
+ *
+ * <p><strong>application.yml:</strong></p>
+ * <pre>
+ * hemis:
+ *   cache:
+ *     defaults:
+ *       max-size: 1000
+ *       l1-ttl: 30m
+ *       l2-ttl: 30m
+ *     caches:
+ *       i18n:
+ *         max-weight: 64MB      # size by memory instead of entry count
+ *         soft-ttl: 20m         # stale-while-revalidate
+ *         codec: BINARY         # Smile + LZ4 L2 values (CacheValueCodec)
+ *         compression-threshold: 1KB
+ *       stats:
+ *         max-size: 100
+ *         soft-ttl: 10m
+ *         lease-time: 90s       # cross-pod load lease
+ *         lease-max-wait: 45s
+ *       students:
+ *         mode: L1_ONLY
+ *     circuit-breaker:
+ *       latency-budget: 100ms   # slower L2 calls count as failures
+ *       failure-threshold: 5    # consecutive failures before L1-only mode
+ *       open-duration: 30s      # then one half-open probe
+ * </pre>
+ *
+ * <p><strong>Runtime reload:</strong> POST /api/v1/web/system/cache/policies/reload
+ * re-binds this prefix from the environment and applies it to live caches.</p>
+ *
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = "hemis.cache")
+@Getter
+@Setter
+public class TwoLevelCacheProperties {
+
+    /**
+     * Policy applied to caches without explicit configuration
+     */
+    private Policy defaults = Policy.builtInDefaults();
+
+    /**
+     * Per-cache overrides (key = cache name)
+     */
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+
+    /**
+     * Redis (L2) circuit breaker shared by all caches
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Resolve effective policy for cache (per-cache override merged over defaults)
+     *
+     * @param cacheName Cache name
+     * @return Effective policy (never null, all fields resolved except optional ones)
+     */
+    public Policy resolve(String cacheName) {
+        Policy base = Policy.builtInDefaults().mergedWith(defaults);
+        Policy override = caches.get(cacheName);
+        return override != null ? base.mergedWith(override) : base;
+    }
+
+    /**
+     * Cache layer mode
+     */
+    public enum Mode {
+        /** L1 Caffeine + L2 Redis (default) */
+        TWO_LEVEL,
+        /** Per-pod only (no Redis round trips, no cross-pod sharing) */
+        L1_ONLY,
+        /** Redis only (large or rarely reused values, no JVM heap use) */
+        L2_ONLY
+    }
+
+    /**
+     * L2 (Redis) value format for writes (reads accept both)
+     */
+    public enum ValueCodec {
+        /** Jackson JSON (GenericJackson2JsonRedisSerializer) */
+        JSON,
+        /** Versioned Smile binary, LZ4 above compression-threshold (CacheValueCodec) */
+        BINARY
+    }
+
+    /**
+     * L2 circuit breaker settings
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        /** Disable to call Redis directly (exceptions handled by CacheErrorHandler) */
+        private boolean enabled = true;
+
+        /** L2 calls slower than this count as failures */
+        private Duration latencyBudget = Duration.ofMillis(100);
+
+        /** Consecutive failures (errors or slow calls) that open the breaker */
+        private int failureThreshold = 5;
+
+        /** Time in OPEN state (L1-only) before a half-open probe */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** Max L2 writes/evicts kept for replay while open (overflow clears affected caches on recovery) */
+        private int maxQueuedWrites = 10_000;
+    }
+
+    /**
+     * Single cache policy
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /** L1 maximum entries (ignored when maxWeight is set) */
+        private Long maxSize;
+
+        /** L1 maximum estimated memory (byte-weigher) */
+        private DataSize maxWeight;
+
+        /** L1 hard TTL (Caffeine expireAfterWrite) */
+        private Duration l1Ttl;
+
+        /** L2 Redis TTL */
+        private Duration l2Ttl;
+
+        /** Stale-while-revalidate soft TTL (null = disabled) */
+        private Duration softTtl;
+
+        /** Layer mode */
+        private Mode mode;
+
+        /** Cross-pod load lease TTL (null = in-process single-flight only) */
+        private Duration leaseTime;
+
+        /** Max wait of non-leader pods for the leader's L2 value */
+        private Duration leaseMaxWait;
+
+        /** L2 value format for writes (enable BINARY after all pods read it) */
+        private ValueCodec codec;
+
+        /** BINARY values of at least this size are LZ4-compressed */
+        private DataSize compressionThreshold;
+
+        static Policy builtInDefaults() {
+            Policy policy = new Policy();
+            policy.setMaxSize(1000L);
+            policy.setL1Ttl(Duration.ofMinutes(30));
+            policy.setL2Ttl(Duration.ofMinutes(30));
+            policy.setMode(Mode.TWO_LEVEL);
+            policy.setLeaseMaxWait(Duration.ofSeconds(5));
+            policy.setCodec(ValueCodec.JSON);
+            policy.setCompressionThreshold(DataSize.ofKilobytes(1));
+            return policy;
+        }
+
+        /**
+         * Copy of this policy with non-null fields of {@code override} applied
+         */
+        public Policy mergedWith(Policy override) {
+            Policy merged = new Policy();
+            merged.setMaxSize(override.getMaxSize() != null ? override.getMaxSize() : maxSize);
+            merged.setMaxWeight(override.getMaxWeight() != null ? override.getMaxWeight() : maxWeight);
+            merged.setL1Ttl(override.getL1Ttl() != null ? override.getL1Ttl() : l1Ttl);
+            merged.setL2Ttl(override.getL2Ttl() != null ? override.getL2Ttl() : l2Ttl);
+            merged.setSoftTtl(override.getSoftTtl() != null ? override.getSoftTtl() : softTtl);
+            merged.setMode(override.getMode() != null ? override.getMode() : mode);
+            merged.setLeaseTime(override.getLeaseTime() != null ? override.getLeaseTime() : leaseTime);
+            merged.setLeaseMaxWait(override.getLeaseMaxWait() != null ? override.getLeaseMaxWait() : leaseMaxWait);
+            merged.setCodec(override.getCodec() != null ? override.getCodec() : codec);
+            merged.setCompressionThreshold(override.getCompressionThreshold() != null
+                    ? override.getCompressionThreshold() : compressionThreshold);
+            return merged;
+        }
+
+        /**
+         * Whether L1 is bounded by estimated bytes instead of entry count
+         */
+        public boolean isWeighted() {
+            return maxWeight != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Policy{mode=" + mode
+                    + (isWeighted() ? ", maxWeight=" + maxWeight : ", maxSize=" + maxSize)
+                    + ", l1Ttl=" + l1Ttl + ", l2Ttl=" + l2Ttl
+                    + ", softTtl=" + softTtl + ", leaseTime=" + leaseTime
+                    + ", codec=" + codec + (codec == ValueCodec.BINARY ? "/lz4>=" + compressionThreshold : "") + "}";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package uz.hemis.service.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uz.hemis.service.dashboard.StudentStatsCube.Dimension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dashboard Aggregate Reconciler - full rebuild of {@link DashboardAggregateStore}
+ *
+ * <p>Event deltas drift: events can be lost (Redis down, pod killed after commit) and
+ * old-hemis writes the same tables without events. Whenever a pod swaps in a new
+ * {@link StudentStatsCube} ({@link StudentStatsCubeService.Refreshed}), it rewrites the
+ * counters from that cube - the store is never older than the last cube refresh, and
+ * event deltas keep it fresher in between.</p>
+ *
+ * <p><strong>Sources:</strong></p>
+ * <ul>
+ *   <li>Students - the newly built cube (no extra aggregate pass)</li>
+ *   <li>Contracts - COUNT(*) on the replica</li>
+ * </ul>
+ *
+ * <p>The reconciliation time recorded in the store is the cube's build time, so
+ * {@link DashboardService} can tell whether the counters are at least as fresh as
+ * its own cube.</p>
+ *
+ * @since 2.0.0
+ */
+@Component
+@Slf4j
+public class DashboardAggregateReconciler {
+
+    private static final Duration LOCK_TTL = Duration.ofMinutes(10);
+
+    private static final String CONTRACT_COUNT_SQL =
+            "SELECT COUNT(*) FROM hemishe_e_contract WHERE delete_ts IS NULL";
+
+    private final DashboardAggregateStore aggregateStore;
+    private final StudentStatsCubeService cubeService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DashboardAggregateReconciler(DashboardAggregateStore aggregateStore,
+                                        StudentStatsCubeService cubeService,
+                                        @Qualifier("dashboardJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.aggregateStore = aggregateStore;
+        this.cubeService = cubeService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuild counters from the cube this pod has just built
+     */
+    @EventListener
+    public void onCubeRefreshed(StudentStatsCubeService.Refreshed event) {
+        reconcile();
+    }
+
+    /**
+     * Rebuild counters from the current cube (skipped while another pod reconciles)
+     */
+    public void reconcile() {
+        StudentStatsCube cube = cubeService.current().orElse(null);
+        if (cube == null) {
+            log.debug("Dashboard aggregate reconciliation skipped: student statistics cube not available");
+            return;
+        }
+        try {
+            if (!aggregateStore.tryLock(LOCK_TTL)) {
+                log.debug("Dashboard aggregate reconciliation running on another pod");
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Dashboard aggregate reconciliation skipped (Redis): {}", e.getMessage());
+            return;
+        }
+
+        try {
+            long startTime = System.currentTimeMillis();
+            Map<String, Long> values = studentCounters(cube);
+            values.put(DashboardAggregateStore.CONTRACTS, count(CONTRACT_COUNT_SQL));
+            aggregateStore.replaceAll(values, cube.getBuiltAt());
+
+            log.info("✅ Dashboard aggregates reconciled in {}ms: {} counters (cube from {})",
+                    System.currentTimeMillis() - startTime, values.size(), cube.getBuiltAt());
+        } catch (Exception e) {
+            log.warn("⚠️ Dashboard aggregate reconciliation failed (counters keep drifting until next run): {}",
+                    e.getMessage());
+        } finally {
+            try {
+                aggregateStore.unlock();
+            } catch (Exception e) {
+                log.debug("Reconciliation lock not released (expires in {}): {}", LOCK_TTL, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Student counters from one pass over the cube cells
+     */
+    static Map<String, Long> studentCounters(StudentStatsCube cube) {
+        Map<String, Long> values = new HashMap<>();
+        Set<String> universities = new HashSet<>();
+        cube.forEachCell((cell, count) -> {
+            String status = cell[Dimension.STATUS.ordinal()];
+            if (status == null) {
+                return;
+            }
+            String university = cell[Dimension.UNIVERSITY.ordinal()];
+            String payment = cell[Dimension.PAYMENT.ordinal()];
+            String gender = cell[Dimension.GENDER.ordinal()];
+            if (university != null) {
+                universities.add(university);
+            }
+            for (String scope : university != null ? new String[]{null, university} : new String[]{null}) {
+                values.merge(DashboardAggregateStore.students(scope, status), count, Long::sum);
+                if (payment != null) {
+                    values.merge(DashboardAggregateStore.studentsByPayment(scope, status, payment), count, Long::sum);
+                }
+                if (gender != null) {
+                    values.merge(DashboardAggregateStore.studentsByGender(scope, status, gender), count, Long::sum);
+                }
+            }
+        });
+        values.put(DashboardAggregateStore.UNIVERSITIES, (long) universities.size());
+        return values;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0L;
+    }
+}
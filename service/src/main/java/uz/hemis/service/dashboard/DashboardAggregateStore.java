@@ -0,0 +1,243 @@
+package uz.hemis.service.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import uz.hemis.service.dashboard.dto.OverviewStatsDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Dashboard Aggregate Store - event-maintained counters in one Redis hash
+ *
+ * <p>Headline dashboard numbers (students per status, grant / contract, gender,
+ * contracts - global and per university) are kept as counters. Domain events apply
+ * deltas ({@code HINCRBY}) right after commit, so the numbers move within seconds;
+ * {@link DashboardAggregateReconciler} rewrites the whole hash from every new
+ * student statistics cube to correct drift (missed events, legacy writes).</p>
+ *
+ * <p><strong>Hash {@value #KEY} fields:</strong></p>
+ * <ul>
+ *   <li>{@code s:{status}}, {@code s:{status}:p:{payment}}, {@code s:{status}:g:{gender}} - students (global)</li>
+ *   <li>{@code u:{university}:s:...} - the same per university</li>
+ *   <li>{@code universities}, {@code contracts} - global totals</li>
+ *   <li>{@value #RECONCILED_AT} - build time of the cube last reconciled from (epoch ms);
+ *       absent → not usable yet</li>
+ * </ul>
+ *
+ * <p>Redis errors are logged and swallowed: a lost delta is a drift the next
+ * reconciliation corrects, never a failed business transaction.</p>
+ *
+ * @since 2.0.0
+ */
+@Service
+@Slf4j
+public class DashboardAggregateStore {
+
+    static final String KEY = "hemis:dashboard:aggregates";
+    static final String RECONCILED_AT = "_reconciledAt";
+    static final String UNIVERSITIES = "universities";
+    public static final String CONTRACTS = "contracts";
+
+    private static final String REBUILD_KEY = KEY + ":rebuild";
+    private static final String LOCK_KEY = KEY + ":lock";
+
+    // Delete lock only if still ours (KEYS[1] = lock, ARGV[1] = owner)
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisMessageTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public DashboardAggregateStore(RedisTemplate<String, String> redisMessageTemplate) {
+        this.redisMessageTemplate = redisMessageTemplate;
+    }
+
+    // =====================================================
+    // Field names
+    // =====================================================
+
+    static String scope(String university) {
+        return university == null ? "" : "u:" + university + ":";
+    }
+
+    static String students(String university, String status) {
+        return scope(university) + "s:" + status;
+    }
+
+    static String studentsByPayment(String university, String status, String payment) {
+        return students(university, status) + ":p:" + payment;
+    }
+
+    static String studentsByGender(String university, String status, String gender) {
+        return students(university, status) + ":g:" + gender;
+    }
+
+    // =====================================================
+    // Deltas (event listeners)
+    // =====================================================
+
+    /**
+     * Add {@code delta} students with the given attributes (global + university counters)
+     */
+    public void applyStudentDelta(String university, String status, String payment, String gender, long delta) {
+        if (status == null) {
+            return;
+        }
+        Map<String, Long> deltas = new HashMap<>();
+        for (String scopeUniversity : university != null ? new String[]{null, university} : new String[]{null}) {
+            deltas.put(students(scopeUniversity, status), delta);
+            if (payment != null) {
+                deltas.put(studentsByPayment(scopeUniversity, status, payment), delta);
+            }
+            if (gender != null) {
+                deltas.put(studentsByGender(scopeUniversity, status, gender), delta);
+            }
+        }
+        increment(deltas);
+    }
+
+    /**
+     * Increment plain counters (e.g. {@link #CONTRACTS}) by one
+     */
+    public void incrementCounter(String field) {
+        increment(Map.of(field, 1L));
+    }
+
+    private void increment(Map<String, Long> deltas) {
+        byte[] key = bytes(KEY);
+        try {
+            redisMessageTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deltas.forEach((field, delta) -> connection.hashCommands().hIncrBy(key, bytes(field), delta));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("⚠️ Dashboard aggregate delta not applied (reconciliation will correct): {} - {}",
+                    deltas.keySet(), e.getMessage());
+        }
+    }
+
+    // =====================================================
+    // Reads
+    // =====================================================
+
+    /**
+     * Current counters, empty until the first reconciliation (or if Redis is unavailable)
+     */
+    public Optional<Snapshot> snapshot() {
+        try {
+            Map<String, String> entries = redisMessageTemplate.<String, String>opsForHash().entries(KEY);
+            String reconciledAt = entries.get(RECONCILED_AT);
+            if (reconciledAt == null) {
+                return Optional.empty();
+            }
+            Map<String, Long> values = new HashMap<>(entries.size());
+            entries.forEach((field, value) -> {
+                if (!RECONCILED_AT.equals(field)) {
+                    values.put(field, Long.parseLong(value));
+                }
+            });
+            return Optional.of(new Snapshot(values, Instant.ofEpochMilli(Long.parseLong(reconciledAt))));
+        } catch (Exception e) {
+            log.warn("⚠️ Dashboard aggregates unavailable: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Counter values at one point in time
+     */
+    public record Snapshot(Map<String, Long> values, Instant reconciledAt) {
+
+        public long get(String field) {
+            return values.getOrDefault(field, 0L);
+        }
+
+        /**
+         * True if the counters were reconciled from {@code cube} or a newer one (null → true);
+         * otherwise the cube has data the counters have not seen (e.g. legacy writes)
+         */
+        public boolean isCurrentFor(StudentStatsCube cube) {
+            return cube == null || !reconciledAt.isBefore(cube.getBuiltAt());
+        }
+
+        /**
+         * Overview student counts (university null → all); teacher / project /
+         * publication totals are not part of the store
+         */
+        public OverviewStatsDto overview(String university) {
+            String statusPrefix = scope(university) + "s:";
+            long total = 0;
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                String field = entry.getKey();
+                if (field.startsWith(statusPrefix) && field.indexOf(':', statusPrefix.length()) < 0) {
+                    total += entry.getValue();
+                }
+            }
+
+            OverviewStatsDto dto = new OverviewStatsDto();
+            dto.setTotalStudents(total);
+            dto.setTotalUniversities(university == null ? (int) get(UNIVERSITIES) : (total > 0 ? 1 : 0));
+            dto.setActiveStudents(get(students(university, StudentStatsCubeService.STATUS_ACTIVE)));
+            dto.setGraduatedStudents(get(students(university, StudentStatsCubeService.STATUS_GRADUATED)));
+            dto.setExpelledStudents(get(students(university, StudentStatsCubeService.STATUS_EXPELLED)));
+            dto.setAcademicLeaveStudents(get(students(university, StudentStatsCubeService.STATUS_ACADEMIC_LEAVE)));
+            dto.setCancelledStudents(get(students(university, StudentStatsCubeService.STATUS_CANCELLED)));
+            dto.setGrantStudents(get(studentsByPayment(university,
+                    StudentStatsCubeService.STATUS_ACTIVE, StudentStatsCubeService.PAYMENT_GRANT)));
+            dto.setContractStudents(get(studentsByPayment(university,
+                    StudentStatsCubeService.STATUS_ACTIVE, StudentStatsCubeService.PAYMENT_CONTRACT)));
+            dto.setMaleCount(get(studentsByGender(university,
+                    StudentStatsCubeService.STATUS_ACTIVE, StudentStatsCubeService.GENDER_MALE)));
+            dto.setFemaleCount(get(studentsByGender(university,
+                    StudentStatsCubeService.STATUS_ACTIVE, StudentStatsCubeService.GENDER_FEMALE)));
+            return dto;
+        }
+    }
+
+    // =====================================================
+    // Reconciliation
+    // =====================================================
+
+    /**
+     * Replace all counters atomically (build in a side key, then RENAME)
+     *
+     * <p>Deltas applied between the reconciler's database read and the rename are
+     * lost; the next reconciliation reads them from the database.</p>
+     */
+    public void replaceAll(Map<String, Long> values, Instant reconciledAt) {
+        Map<String, String> entries = new HashMap<>(values.size() + 1);
+        values.forEach((field, value) -> entries.put(field, Long.toString(value)));
+        entries.put(RECONCILED_AT, Long.toString(reconciledAt.toEpochMilli()));
+
+        redisMessageTemplate.delete(REBUILD_KEY);
+        redisMessageTemplate.opsForHash().putAll(REBUILD_KEY, entries);
+        redisMessageTemplate.rename(REBUILD_KEY, KEY);
+    }
+
+    /**
+     * Cluster-wide reconciliation lock (one pod rebuilds)
+     */
+    public boolean tryLock(Duration ttl) {
+        return Boolean.TRUE.equals(redisMessageTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, ttl));
+    }
+
+    public void unlock() {
+        redisMessageTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), owner);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
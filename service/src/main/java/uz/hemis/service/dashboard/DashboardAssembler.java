@@ -0,0 +1,199 @@
+package uz.hemis.service.dashboard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Parallel Dashboard Assembler - fan-out of independent statistic queries
+ *
+ * <p>Dashboard sections (overview, breakdowns, education types, top universities,
+ * recent activities) do not depend on each other. Run one after another, a cache-miss
+ * dashboard costs the sum of all queries; here they run concurrently on the replica
+ * pool and the dashboard costs about as much as its slowest query.</p>
+ *
+ * <p><strong>Execution:</strong></p>
+ * <ul>
+ *   <li>Fixed pool ({@code hemis.dashboard.parallelism}, default 4) - stays below the
+ *       replica Hikari pool (5), so sections never wait on each other for a connection</li>
+ *   <li>One deadline per assembly ({@code hemis.dashboard.section-timeout-ms}, default 25s),
+ *       shorter than the JdbcTemplate query timeout (30s)</li>
+ * </ul>
+ *
+ * <p><strong>Partial results:</strong></p>
+ * <ul>
+ *   <li>Section failed or missed the deadline → last successful value of that section
+ *       for the same scope (stale) or null, and its name is reported in {@link Assembly#unavailable()}</li>
+ *   <li>Fallbacks are kept per scope: a university dashboard never falls back to the
+ *       national one or to another university</li>
+ *   <li>The rest of the dashboard is returned as usual</li>
+ * </ul>
+ *
+ * <p><strong>Metrics:</strong> {@code hemis.dashboard.section.duration}, tags
+ * {@code section} and {@code outcome} (success, error, timeout, rejected).</p>
+ *
+ * @since 2.0.0
+ */
+@Component
+@Slf4j
+public class DashboardAssembler implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration sectionTimeout;
+    private final MeterRegistry meterRegistry;
+
+    // Last successful value per scope + section ("{scope}:{section}", fallback for partial results)
+    private final Map<String, Object> lastGood = new ConcurrentHashMap<>();
+
+    public DashboardAssembler(@Value("${hemis.dashboard.parallelism:4}") int parallelism,
+                              @Value("${hemis.dashboard.section-timeout-ms:25000}") long sectionTimeoutMs,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 8),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-section-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.sectionTimeout = Duration.ofMillis(sectionTimeoutMs);
+        this.meterRegistry = meterRegistry.getIfAvailable();
+
+        log.info("✅ DashboardAssembler initialized - parallelism: {}, section timeout: {}",
+                parallelism, sectionTimeout);
+    }
+
+    /**
+     * Start an assembly - all sections submitted to it share one deadline
+     *
+     * @param scope Dashboard scope ({@code all}, {@code university:{code}}, ...) - isolates fallbacks
+     */
+    public Assembly start(String scope) {
+        return new Assembly(scope, System.nanoTime() + sectionTimeout.toNanos());
+    }
+
+    /**
+     * Submitted section - name + pending result
+     */
+    public record Section<T>(String name, CompletableFuture<T> future) {
+    }
+
+    /**
+     * One dashboard build: submit all sections first, then collect them
+     */
+    public final class Assembly {
+
+        private final String scope;
+        private final long deadlineNanos;
+        private final List<String> unavailable = new ArrayList<>();
+
+        private Assembly(String scope, long deadlineNanos) {
+            this.scope = scope;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Start a section query on the dashboard pool
+         */
+        public <T> Section<T> submit(String name, Supplier<T> query) {
+            CompletableFuture<T> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> {
+                    long startedAt = System.nanoTime();
+                    try {
+                        T result = query.get();
+                        record(name, "success", startedAt);
+                        return result;
+                    } catch (RuntimeException e) {
+                        record(name, "error", startedAt);
+                        throw e;
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                record(name, "rejected", System.nanoTime());
+                future = CompletableFuture.failedFuture(e);
+            }
+            return new Section<>(name, future);
+        }
+
+        /**
+         * Wait for a section until the assembly deadline
+         *
+         * @return Section result, or its last good value (null if none) when unavailable
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(Section<T> section) {
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                T result = section.future().get(remaining, TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    lastGood.put(fallbackKey(section), result);
+                }
+                return result;
+            } catch (TimeoutException e) {
+                section.future().cancel(true);
+                record(section.name(), "timeout", deadlineNanos - sectionTimeout.toNanos());
+                log.warn("⏱️ Dashboard section '{}' did not finish within {} - partial result",
+                        section.name(), sectionTimeout);
+            } catch (ExecutionException e) {
+                log.warn("⚠️ Dashboard section '{}' failed - partial result: {}",
+                        section.name(), e.getCause() != null ? e.getCause().toString() : e.toString());
+            } catch (InterruptedException e) {
+                section.future().cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            unavailable.add(section.name());
+            return (T) lastGood.get(fallbackKey(section));
+        }
+
+        private String fallbackKey(Section<?> section) {
+            return scope + ":" + section.name();
+        }
+
+        /**
+         * Sections that failed or timed out in this assembly (empty = complete dashboard)
+         */
+        public List<String> unavailable() {
+            // Mutable copy: ends up in the cached response (typed JSON cannot read JDK immutables)
+            return new ArrayList<>(unavailable);
+        }
+    }
+
+    private void record(String section, String outcome, long startedAt) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("hemis.dashboard.section.duration")
+                .description("Dashboard section query time")
+                .tag("section", section)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,11 +1,13 @@
 package uz.hemis.service.dashboard;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import uz.hemis.service.dashboard.DashboardAssembler.Assembly;
+import uz.hemis.service.dashboard.DashboardAssembler.Section;
+import uz.hemis.service.dashboard.StudentStatsCube.Dimension;
 import uz.hemis.service.dashboard.dto.*;
 
 import java.time.LocalDateTime;
@@ -19,14 +21,45 @@ import java.util.*;
  * - All queries go to DB_REPLICA_HOST (from .env)
  * - Zero load on master database
  * - Perfect for analytics and reporting
+ *
+ * Sections are independent queries and run in parallel ({@link DashboardAssembler}):
+ * a cache miss costs about as much as the slowest query. A section that fails or
+ * misses the deadline is reported in {@link DashboardResponse#getUnavailableSections()}
+ * and the rest of the dashboard is still returned.
+ *
+ * Student sections are read from the in-memory {@link StudentStatsCube} once it is
+ * built; the per-section SQL below is the fallback until then. Overview counts come
+ * from the event-maintained {@link DashboardAggregateStore} when it was reconciled
+ * from this pod's cube or a newer one (fresh within seconds instead of one cube
+ * refresh); otherwise from the cube.
+ *
+ * Per-university and per-region dashboards ({@link #getUniversityStats(String)},
+ * {@link #getRegionStats(String)}) assemble the same sections restricted to one
+ * {@link Scope} and are cached per tenant in {@value #TENANT_CACHE}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
-    @Qualifier("dashboardJdbcTemplate")
+    /** Per-university / per-region dashboards (hemis.cache.caches.tenantStats) */
+    public static final String TENANT_CACHE = "tenantStats";
+    public static final String UNIVERSITY_KEY_PREFIX = "university:";
+
     private final JdbcTemplate jdbcTemplate;  // ✅ Uses REPLICA database
+    private final DashboardAssembler assembler;
+    private final StudentStatsCubeService cubeService;
+    private final DashboardAggregateStore aggregateStore;
+
+    // Explicit constructor: Lombok does not copy @Qualifier from fields (no lombok.config)
+    public DashboardService(@Qualifier("dashboardJdbcTemplate") JdbcTemplate jdbcTemplate,
+                            DashboardAssembler assembler,
+                            StudentStatsCubeService cubeService,
+                            DashboardAggregateStore aggregateStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.assembler = assembler;
+        this.cubeService = cubeService;
+        this.aggregateStore = aggregateStore;
+    }
 
     /**
      * Get all dashboard statistics (cached for 30 minutes in Redis)
@@ -35,38 +68,206 @@ public class DashboardService {
      * CACHES IN: Redis (hemis:dashboard:stats:all)
      * 
      * Performance:
-     * - First call: ~30-40 seconds (database aggregation)
+     * - First call: slowest section query (sections run in parallel)
      * - Cached calls: <50ms (Redis)
      * - Cache TTL: 30 minutes
+     *
+     * Partial result (some sections unavailable) is cached like a full one;
+     * stale-while-revalidate (soft TTL 10 min) retries it in the background.
      */
     @Cacheable(
         value = "stats",
-        key = "'all'"
+        key = "'all'",
+        sync = true  // Single-flight + cross-pod lease in TwoLevelCache.get(key, loader)
         // Uses @Primary CacheManager (TwoLevelCacheManager)
     )
     public DashboardResponse getDashboardStats() {
-        log.info("📊 Fetching dashboard statistics from REPLICA database (cache miss)");
+        return assemble(Scope.ALL);
+    }
+
+    /**
+     * Dashboard of one university (tenant), cached per university code
+     *
+     * <p>Same sections as {@link #getDashboardStats()} restricted to the university;
+     * teacher / diploma / project / publication totals and top universities are
+     * national figures and stay empty.</p>
+     */
+    @Cacheable(
+        value = TENANT_CACHE,
+        key = "'university:' + #universityCode",  // Keep in sync with UNIVERSITY_KEY_PREFIX
+        sync = true
+    )
+    public DashboardResponse getUniversityStats(String universityCode) {
+        return assemble(Scope.university(universityCode));
+    }
+
+    /**
+     * Dashboard of one region (universities located in it), cached per region name
+     */
+    @Cacheable(
+        value = TENANT_CACHE,
+        key = "'region:' + #region",
+        sync = true
+    )
+    public DashboardResponse getRegionStats(String region) {
+        return assemble(Scope.region(region));
+    }
+
+    /**
+     * Whether students exist for the university - checked before a tenant dashboard is
+     * assembled so unknown codes are neither computed nor cached
+     */
+    public boolean isKnownUniversity(String universityCode) {
+        return isKnown(Scope.university(universityCode));
+    }
+
+    /**
+     * Whether students exist for the region (see {@link #isKnownUniversity(String)})
+     */
+    public boolean isKnownRegion(String region) {
+        return isKnown(Scope.region(region));
+    }
+
+    /**
+     * Cube dictionary lookup when built; one EXISTS query on the replica otherwise
+     * (cube disabled or still loading)
+     */
+    private boolean isKnown(Scope scope) {
+        Optional<StudentStatsCube> cube = cubeService.current();
+        if (cube.isPresent()) {
+            return cube.get().contains(scope.dimension(), scope.value());
+        }
+        String sql = """
+            SELECT EXISTS (
+              SELECT 1 FROM hemishe_r_student_full
+              WHERE (is_expel IS NULL OR is_expel = false)
+                %s
+            )
+            """.formatted(scope.predicate());
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, scope.args()));
+    }
+
+    private DashboardResponse assemble(Scope scope) {
+        log.info("📊 Fetching dashboard statistics [{}] from REPLICA database (cache miss)", scope.key());
         long startTime = System.currentTimeMillis();
 
+        // Student sections: cube (memory) when built, SQL otherwise
+        StudentStatsCube cube = cubeService.current().orElse(null);
+        if (cube == null) {
+            log.info("Student statistics cube not ready - student sections from SQL");
+        }
+
+        // Overview counters: event-maintained aggregates (unless older than the cube) → cube → SQL
+        // (aggregates have no region split)
+        DashboardAggregateStore.Snapshot aggregates = scope.dimension() != Dimension.REGION
+                ? aggregateStore.snapshot().filter(snapshot -> snapshot.isCurrentFor(cube)).orElse(null)
+                : null;
+
+        // Submit all sections first, then collect (shared deadline)
+        Assembly assembly = assembler.start(scope.key());
+        Section<OverviewStatsDto> overview = assembly.submit("overview", aggregates != null
+                ? () -> aggregates.overview(scope.value())
+                : cube != null
+                ? () -> cubeService.overview(scope.query(cube))
+                : () -> getOverviewStats(scope));
+        Section<Totals> totals = scope == Scope.ALL
+                ? assembly.submit("totals", this::getTotals)
+                : null;
+        Section<List<CategoryStatDto>> byForm = assembly.submit("students.byEducationForm", cube != null
+                ? () -> cubeService.activeBreakdown(scope.query(cube), Dimension.EDU_FORM, StudentStatsCubeService.TOP_LIMIT)
+                : () -> getByEducationForm(scope));
+        Section<List<CategoryStatDto>> byRegion = assembly.submit("students.byRegion", cube != null
+                ? () -> cubeService.activeBreakdown(scope.query(cube), Dimension.REGION, StudentStatsCubeService.TOP_LIMIT)
+                : () -> getByRegion(scope));
+        Section<List<CategoryStatDto>> byLanguage = assembly.submit("students.byLanguage", cube != null
+                ? () -> cubeService.activeBreakdown(scope.query(cube), Dimension.LANGUAGE, 0)
+                : () -> getByLanguage(scope));
+        Section<List<EducationTypeDto>> educationTypes = assembly.submit("educationTypes", cube != null
+                ? () -> cubeService.educationTypes(scope.query(cube))
+                : () -> getEducationTypeStats(scope));
+        Section<List<TopUniversityDto>> topUniversities = scope.dimension() != Dimension.UNIVERSITY
+                ? assembly.submit("topUniversities", cube != null
+                        ? () -> cubeService.topUniversities(scope.query(cube), StudentStatsCubeService.TOP_LIMIT)
+                        : () -> getTopUniversities(scope))
+                : null;
+        Section<List<RecentActivityDto>> recentActivities = assembly.submit("recentActivities",
+                () -> getRecentActivities(scope));
+
         DashboardResponse response = new DashboardResponse();
         response.setTimestamp(LocalDateTime.now());
+        response.setScope(scope.key());
+
+        OverviewStatsDto overviewStats = assembly.get(overview);
+        Totals totalCounts = totals != null ? assembly.get(totals) : null;
+        if (overviewStats != null && totalCounts != null) {
+            totalCounts.applyTo(overviewStats);
+        }
+        response.setOverview(overviewStats);
+
+        StudentStatsDto students = new StudentStatsDto();
+        students.setByEducationForm(assembly.get(byForm));
+        students.setByRegion(assembly.get(byRegion));
+        students.setByLanguage(assembly.get(byLanguage));
+        response.setStudents(students);
 
-        // Fetch all statistics
-        response.setOverview(getOverviewStats());
-        response.setStudents(getStudentStats());
-        response.setEducationTypes(getEducationTypeStats());
-        response.setTopUniversities(getTopUniversities());
-        response.setRecentActivities(getRecentActivities());
+        response.setEducationTypes(assembly.get(educationTypes));
+        response.setTopUniversities(topUniversities != null ? assembly.get(topUniversities) : null);
+        response.setRecentActivities(assembly.get(recentActivities));
+        response.setUnavailableSections(assembly.unavailable());
 
         long duration = System.currentTimeMillis() - startTime;
-        log.info("✅ Dashboard statistics fetched successfully in {}ms", duration);
+        if (response.getUnavailableSections().isEmpty()) {
+            log.info("✅ Dashboard statistics [{}] fetched successfully in {}ms", scope.key(), duration);
+        } else {
+            log.warn("⚠️ Dashboard statistics [{}] fetched in {}ms with unavailable sections: {}",
+                    scope.key(), duration, response.getUnavailableSections());
+        }
         return response;
     }
 
     /**
-     * Get overview statistics
+     * Dashboard scope - whole country, one university or one region
+     *
+     * <p>SQL fallback appends {@link #predicate()} with a bind parameter: an equality
+     * on {@code university_code} (the partition / index column of the student
+     * projection) lets the replica prune to one university instead of scanning all.</p>
+     */
+    record Scope(Dimension dimension, String column, String value) {
+
+        static final Scope ALL = new Scope(null, null, null);
+
+        static Scope university(String code) {
+            return new Scope(Dimension.UNIVERSITY, "university_code", code);
+        }
+
+        static Scope region(String name) {
+            return new Scope(Dimension.REGION, "university_region_name", name);
+        }
+
+        /**
+         * Cache key / response label: {@code all}, {@code university:{code}}, {@code region:{name}}
+         */
+        String key() {
+            return dimension == null ? "all" : (dimension == Dimension.UNIVERSITY ? UNIVERSITY_KEY_PREFIX : "region:") + value;
+        }
+
+        String predicate() {
+            return column == null ? "" : "AND " + column + " = ?";
+        }
+
+        Object[] args() {
+            return column == null ? new Object[0] : new Object[]{value};
+        }
+
+        StudentStatsCube.Query query(StudentStatsCube cube) {
+            return dimension == null ? cube.query() : cube.query().where(dimension, value);
+        }
+    }
+
+    /**
+     * Get overview statistics (student counts - one scan of hemishe_r_student_full)
      */
-    private OverviewStatsDto getOverviewStats() {
+    private OverviewStatsDto getOverviewStats(Scope scope) {
         String sql = """
             SELECT 
               -- Total counts
@@ -86,16 +287,11 @@ public class DashboardService {
               
               -- Gender (only for active students)
               COUNT(CASE WHEN status_code = '11' AND gender_code = '11' THEN 1 END) as male_count,
-              COUNT(CASE WHEN status_code = '11' AND gender_code = '12' THEN 1 END) as female_count,
-              
-              -- Single-roundtrip additional totals (subselects)
-              (SELECT COUNT(*) FROM hemishe_e_employee_job WHERE delete_ts IS NULL) as total_teachers,
-              (SELECT COUNT(*) FROM hemishe_e_student_diploma WHERE delete_ts IS NULL) as total_diplomas,
-              (SELECT COUNT(*) FROM hemishe_e_project) as total_projects,
-              (SELECT COUNT(*) FROM hemishe_e_publication_scientific) as total_publications
+              COUNT(CASE WHEN status_code = '11' AND gender_code = '12' THEN 1 END) as female_count
             FROM hemishe_r_student_full 
             WHERE (is_expel IS NULL OR is_expel = false)
-            """;
+              %s
+            """.formatted(scope.predicate());
 
         return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
             OverviewStatsDto dto = new OverviewStatsDto();
@@ -119,82 +315,100 @@ public class DashboardService {
             dto.setMaleCount(rs.getLong("male_count"));
             dto.setFemaleCount(rs.getLong("female_count"));
 
-            // Calculate teacher count from employee table
-            String teacherSql = "SELECT COUNT(*) FROM hemishe_e_employee_job WHERE delete_ts IS NULL";
-            Long teacherCount = jdbcTemplate.queryForObject(teacherSql, Long.class);
-            dto.setTotalTeachers(teacherCount != null ? teacherCount : 0L);
+            return dto;
+        }, scope.args());
+    }
 
-            // Calculate diploma count
-            String diplomaSql = "SELECT COUNT(*) FROM hemishe_e_student_diploma WHERE delete_ts IS NULL";
-            Long diplomaCount = jdbcTemplate.queryForObject(diplomaSql, Long.class);
-            dto.setTotalDiplomas(diplomaCount != null ? diplomaCount : 0L);
+    /**
+     * Teacher / diploma / project / publication totals for the overview
+     * (single roundtrip, runs next to the student scan instead of after it)
+     */
+    private Totals getTotals() {
+        String sql = """
+            SELECT
+              (SELECT COUNT(*) FROM hemishe_e_employee_job WHERE delete_ts IS NULL) as total_teachers,
+              (SELECT COUNT(*) FROM hemishe_e_student_diploma WHERE delete_ts IS NULL) as total_diplomas,
+              (SELECT COUNT(*) FROM hemishe_e_project) as total_projects,
+              (SELECT COUNT(*) FROM hemishe_e_publication_scientific) as total_publications
+            """;
 
-            // Calculate project count
-            String projectSql = "SELECT COUNT(*) FROM hemishe_e_project";
-            Long projectCount = jdbcTemplate.queryForObject(projectSql, Long.class);
-            dto.setTotalProjects(projectCount != null ? projectCount : 0L);
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new Totals(
+                rs.getLong("total_teachers"),
+                rs.getLong("total_diplomas"),
+                rs.getLong("total_projects"),
+                rs.getLong("total_publications")));
+    }
 
-            // Calculate publication count
-            String publicationSql = "SELECT COUNT(*) FROM hemishe_e_publication_scientific";
-            Long publicationCount = jdbcTemplate.queryForObject(publicationSql, Long.class);
-            dto.setTotalPublications(publicationCount != null ? publicationCount : 0L);
+    /**
+     * Overview totals outside hemishe_r_student_full
+     */
+    private record Totals(long teachers, long diplomas, long projects, long publications) {
 
-            return dto;
-        });
+        void applyTo(OverviewStatsDto dto) {
+            dto.setTotalTeachers(teachers);
+            dto.setTotalDiplomas(diplomas);
+            dto.setTotalProjects(projects);
+            dto.setTotalPublications(publications);
+        }
     }
 
     /**
-     * Get student statistics by various categories
-     * ONLY ACTIVE STUDENTS (status_code = '11')
+     * Students by education form (only active - status_code = '11')
      */
-    private StudentStatsDto getStudentStats() {
-        StudentStatsDto dto = new StudentStatsDto();
-
-        // By education form (only active)
+    private List<CategoryStatDto> getByEducationForm(Scope scope) {
         String formSql = """
             SELECT education_form_name, COUNT(*) as count 
             FROM hemishe_r_student_full 
             WHERE (is_expel IS NULL OR is_expel = false)
               AND status_code = '11'
               AND education_form_name IS NOT NULL
+              %s
             GROUP BY education_form_name
             ORDER BY count DESC
             LIMIT 10
-            """;
-        dto.setByEducationForm(queryForCategoryStats(formSql));
+            """.formatted(scope.predicate());
+        return queryForCategoryStats(formSql, scope);
+    }
 
-        // By region (only active)
+    /**
+     * Students by region (only active)
+     */
+    private List<CategoryStatDto> getByRegion(Scope scope) {
         String regionSql = """
             SELECT university_region_name, COUNT(*) as count 
             FROM hemishe_r_student_full 
             WHERE (is_expel IS NULL OR is_expel = false)
               AND status_code = '11'
               AND university_region_name IS NOT NULL
+              %s
             GROUP BY university_region_name
             ORDER BY count DESC
             LIMIT 10
-            """;
-        dto.setByRegion(queryForCategoryStats(regionSql));
+            """.formatted(scope.predicate());
+        return queryForCategoryStats(regionSql, scope);
+    }
 
-        // By language (only active)
+    /**
+     * Students by language (only active)
+     */
+    private List<CategoryStatDto> getByLanguage(Scope scope) {
         String langSql = """
             SELECT education_language_name, COUNT(*) as count 
             FROM hemishe_r_student_full 
             WHERE (is_expel IS NULL OR is_expel = false)
               AND status_code = '11'
               AND education_language_name IS NOT NULL
+              %s
             GROUP BY education_language_name
             ORDER BY count DESC
-            """;
-        dto.setByLanguage(queryForCategoryStats(langSql));
-
-        return dto;
+            """.formatted(scope.predicate());
+        return queryForCategoryStats(langSql, scope);
     }
 
     /**
      * Get education type statistics (only active students)
      */
-    private List<EducationTypeDto> getEducationTypeStats() {
+    private List<EducationTypeDto> getEducationTypeStats(Scope scope) {
         String sql = """
             SELECT 
               education_type_name,
@@ -204,9 +418,10 @@ public class DashboardService {
             WHERE (is_expel IS NULL OR is_expel = false)
               AND status_code = '11'
               AND education_type_name IS NOT NULL
+              %s
             GROUP BY education_type_code, education_type_name
             ORDER BY student_count DESC
-            """;
+            """.formatted(scope.predicate());
 
         return jdbcTemplate.query(sql, (rs, rowNum) -> {
             EducationTypeDto dto = new EducationTypeDto();
@@ -214,13 +429,13 @@ public class DashboardService {
             dto.setCode(rs.getString("education_type_code"));
             dto.setCount(rs.getLong("student_count"));
             return dto;
-        });
+        }, scope.args());
     }
 
     /**
      * Get top universities by student count (only active students)
      */
-    private List<TopUniversityDto> getTopUniversities() {
+    private List<TopUniversityDto> getTopUniversities(Scope scope) {
         String sql = """
             SELECT 
               university_code,
@@ -234,10 +449,11 @@ public class DashboardService {
             WHERE (is_expel IS NULL OR is_expel = false)
               AND status_code = '11'
               AND university_code IS NOT NULL
+              %s
             GROUP BY university_code, university_name
             ORDER BY student_count DESC
             LIMIT 10
-            """;
+            """.formatted(scope.predicate());
 
         List<TopUniversityDto> universities = jdbcTemplate.query(sql, (rs, rowNum) -> {
             TopUniversityDto dto = new TopUniversityDto();
@@ -250,7 +466,7 @@ public class DashboardService {
             dto.setContractCount(rs.getLong("contract_count"));
             dto.setRank(rowNum + 1);
             return dto;
-        });
+        }, scope.args());
 
         return universities;
     }
@@ -258,7 +474,7 @@ public class DashboardService {
     /**
      * Get recent activities (mock data for now - can be implemented later with audit tables)
      */
-    private List<RecentActivityDto> getRecentActivities() {
+    private List<RecentActivityDto> getRecentActivities(Scope scope) {
         // This is a placeholder - in production, fetch from audit/history tables
         List<RecentActivityDto> activities = new ArrayList<>();
         
@@ -267,9 +483,10 @@ public class DashboardService {
             SELECT fullname, created_at, 'student' as type
             FROM hemishe_r_student_full 
             WHERE created_at IS NOT NULL
+              %s
             ORDER BY created_at DESC
             LIMIT 5
-            """;
+            """.formatted(scope.predicate());
 
         jdbcTemplate.query(studentSql, rs -> {
             RecentActivityDto dto = new RecentActivityDto();
@@ -278,7 +495,7 @@ public class DashboardService {
             dto.setName(rs.getString("fullname"));
             dto.setTime(rs.getTimestamp("created_at").toLocalDateTime());
             activities.add(dto);
-        });
+        }, scope.args());
 
         return activities;
     }
@@ -286,12 +503,12 @@ public class DashboardService {
     /**
      * Helper method to query category statistics
      */
-    private List<CategoryStatDto> queryForCategoryStats(String sql) {
+    private List<CategoryStatDto> queryForCategoryStats(String sql, Scope scope) {
         return jdbcTemplate.query(sql, (rs, rowNum) -> {
             CategoryStatDto dto = new CategoryStatDto();
             dto.setName(rs.getString(1));
             dto.setCount(rs.getLong("count"));
             return dto;
-        });
+        }, scope.args());
     }
 }
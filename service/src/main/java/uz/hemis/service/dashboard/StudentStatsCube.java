@@ -0,0 +1,353 @@
+package uz.hemis.service.dashboard;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Student Statistics Cube - immutable, columnar, in-memory
+ *
+ * <p>Every dashboard number over {@code hemishe_r_student_full} is a count under some
+ * combination of a few low-cardinality columns. The cube holds those counts once:
+ * one cell per distinct combination of dimension values, each column a primitive
+ * array of dictionary ids. Any filter / group-by combination is a loop over a few
+ * tens of thousands of cells - microseconds, no replica scan.</p>
+ *
+ * <p><strong>Layout:</strong></p>
+ * <ul>
+ *   <li>{@link Dimension} value → dictionary id ({@code short}), null is an id too</li>
+ *   <li>{@code columns[dimension][cell]} - dictionary id of the cell's value</li>
+ *   <li>{@code counts[cell]} - students in that combination</li>
+ *   <li>Sparse: only combinations that exist (region follows university, so a dense
+ *       array would be mostly zeros)</li>
+ * </ul>
+ *
+ * <p>Built by {@link StudentStatsCubeService} (scope: not expelled - same as the
+ * dashboard SQL); a refresh builds a new cube and swaps the reference.</p>
+ *
+ * @since 2.0.0
+ */
+public final class StudentStatsCube {
+
+    /**
+     * Cube dimensions (column of hemishe_r_student_full)
+     */
+    public enum Dimension {
+        STATUS,       // status_code
+        PAYMENT,      // payment_form_code
+        GENDER,       // gender_code
+        REGION,       // university_region_name
+        LANGUAGE,     // education_language_name
+        EDU_TYPE,     // education_type_code (label: education_type_name)
+        EDU_FORM,     // education_form_name
+        UNIVERSITY    // university_code (label: university_name)
+    }
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    private final Dictionary[] dictionaries;
+    private final short[][] columns;
+    private final int[] counts;
+    private final int size;
+    private final Instant builtAt;
+
+    private StudentStatsCube(Dictionary[] dictionaries, short[][] columns, int[] counts, int size, Instant builtAt) {
+        this.dictionaries = dictionaries;
+        this.columns = columns;
+        this.counts = counts;
+        this.size = size;
+        this.builtAt = builtAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * New query over all cells (no filter)
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Number of cells (distinct dimension combinations)
+     */
+    public int size() {
+        return size;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * Distinct values seen for a dimension (including null)
+     */
+    public int cardinality(Dimension dimension) {
+        return dictionaries[dimension.ordinal()].size();
+    }
+
+    /**
+     * Whether {@code code} occurs as a value of the dimension
+     */
+    public boolean contains(Dimension dimension, String code) {
+        return dictionaries[dimension.ordinal()].idOf(code) != null;
+    }
+
+    /**
+     * Visit every cell - dimension values indexed by {@link Dimension#ordinal()}
+     * (array is reused between calls) and student count
+     */
+    public void forEachCell(ObjLongConsumer<String[]> visitor) {
+        String[] values = new String[DIMENSIONS.length];
+        for (int cell = 0; cell < size; cell++) {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                values[d] = dictionaries[d].codeOf(columns[d][cell]);
+            }
+            visitor.accept(values, counts[cell]);
+        }
+    }
+
+    /**
+     * Approximate heap footprint of columns and counts (bytes)
+     */
+    public long estimatedBytes() {
+        return (long) size * (DIMENSIONS.length * Short.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Count per dimension value
+     *
+     * @param code  Dimension value (code or name, as stored in the column)
+     * @param label Display name (first one seen is kept)
+     * @param count Students
+     */
+    public record Group(String code, String label, long count) {
+    }
+
+    /**
+     * Filter + aggregation over the cube; filters on different dimensions are AND-ed,
+     * values within one dimension are OR-ed
+     */
+    public final class Query {
+
+        private final boolean[][] allowed = new boolean[DIMENSIONS.length][];
+
+        private Query() {
+        }
+
+        /**
+         * Keep cells whose dimension value is one of {@code codes} (null matches missing values)
+         */
+        public Query where(Dimension dimension, String... codes) {
+            Dictionary dictionary = dictionaries[dimension.ordinal()];
+            boolean[] mask = new boolean[dictionary.size()];
+            for (String code : codes) {
+                Integer id = dictionary.idOf(code);
+                if (id != null) {
+                    mask[id] = true;
+                }
+            }
+            and(dimension, mask);
+            return this;
+        }
+
+        /**
+         * Keep cells whose dimension value is present (IS NOT NULL)
+         */
+        public Query whereNotNull(Dimension dimension) {
+            Dictionary dictionary = dictionaries[dimension.ordinal()];
+            boolean[] mask = new boolean[dictionary.size()];
+            Arrays.fill(mask, true);
+            Integer nullId = dictionary.idOf(null);
+            if (nullId != null) {
+                mask[nullId] = false;
+            }
+            and(dimension, mask);
+            return this;
+        }
+
+        /**
+         * Independent copy (base scope for several breakdowns)
+         */
+        public Query copy() {
+            Query copy = new Query();
+            for (int d = 0; d < allowed.length; d++) {
+                copy.allowed[d] = allowed[d] != null ? allowed[d].clone() : null;
+            }
+            return copy;
+        }
+
+        /**
+         * Students matching the filter
+         */
+        public long count() {
+            long total = 0;
+            for (int cell = 0; cell < size; cell++) {
+                if (matches(cell)) {
+                    total += counts[cell];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Students matching the filter per value of {@code dimension}, indexed by dictionary id
+         */
+        public long[] countBy(Dimension dimension) {
+            long[] result = new long[dictionaries[dimension.ordinal()].size()];
+            short[] column = columns[dimension.ordinal()];
+            for (int cell = 0; cell < size; cell++) {
+                if (matches(cell)) {
+                    result[column[cell]] += counts[cell];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Non-empty groups of {@code dimension} (null value excluded), largest first
+         */
+        public List<Group> groupBy(Dimension dimension) {
+            Dictionary dictionary = dictionaries[dimension.ordinal()];
+            long[] byId = countBy(dimension);
+            List<Group> groups = new ArrayList<>();
+            for (int id = 0; id < byId.length; id++) {
+                String code = dictionary.codeOf(id);
+                if (byId[id] > 0 && code != null) {
+                    groups.add(new Group(code, dictionary.labelOf(id), byId[id]));
+                }
+            }
+            groups.sort(Comparator.comparingLong(Group::count).reversed());
+            return groups;
+        }
+
+        /**
+         * Distinct non-null values of {@code dimension} with at least one matching student
+         */
+        public int distinct(Dimension dimension) {
+            return groupBy(dimension).size();
+        }
+
+        private void and(Dimension dimension, boolean[] mask) {
+            boolean[] current = allowed[dimension.ordinal()];
+            if (current != null) {
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] &= current[i];
+                }
+            }
+            allowed[dimension.ordinal()] = mask;
+        }
+
+        private boolean matches(int cell) {
+            for (int d = 0; d < allowed.length; d++) {
+                boolean[] mask = allowed[d];
+                if (mask != null && !mask[columns[d][cell]]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Value ↔ id dictionary of one dimension
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> codes = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+
+        short encode(String code, String label) {
+            Integer id = ids.get(code);
+            if (id == null) {
+                if (codes.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Dimension cardinality exceeds " + Short.MAX_VALUE);
+                }
+                id = codes.size();
+                ids.put(code, id);
+                codes.add(code);
+                labels.add(label != null ? label : code);
+            }
+            return id.shortValue();
+        }
+
+        Integer idOf(String code) {
+            return ids.get(code);
+        }
+
+        String codeOf(int id) {
+            return codes.get(id);
+        }
+
+        String labelOf(int id) {
+            return labels.get(id);
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+
+    /**
+     * Streaming builder - one {@link #add} per aggregated row
+     */
+    public static final class Builder {
+
+        private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS.length];
+        private short[][] columns = new short[DIMENSIONS.length][1024];
+        private int[] counts = new int[1024];
+        private int size;
+
+        private Builder() {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                dictionaries[d] = new Dictionary();
+            }
+        }
+
+        /**
+         * Add one combination
+         *
+         * @param codes  Dimension values, indexed by {@link Dimension#ordinal()}
+         * @param labels Display names, same indexing (null → code)
+         * @param count  Students with exactly these values
+         */
+        public Builder add(String[] codes, String[] labels, long count) {
+            if (count <= 0) {
+                return this;
+            }
+            if (size == counts.length) {
+                grow();
+            }
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                columns[d][size] = dictionaries[d].encode(codes[d], labels != null ? labels[d] : null);
+            }
+            counts[size] = Math.toIntExact(count);
+            size++;
+            return this;
+        }
+
+        public StudentStatsCube build() {
+            short[][] trimmed = new short[DIMENSIONS.length][];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                trimmed[d] = Arrays.copyOf(columns[d], size);
+            }
+            return new StudentStatsCube(dictionaries, trimmed, Arrays.copyOf(counts, size), size, Instant.now());
+        }
+
+        private void grow() {
+            int capacity = counts.length * 2;
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                columns[d] = Arrays.copyOf(columns[d], capacity);
+            }
+            counts = Arrays.copyOf(counts, capacity);
+        }
+    }
+}
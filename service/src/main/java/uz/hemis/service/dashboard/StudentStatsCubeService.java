@@ -0,0 +1,307 @@
+package uz.hemis.service.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import uz.hemis.service.dashboard.StudentStatsCube.Dimension;
+import uz.hemis.service.dashboard.StudentStatsCube.Group;
+import uz.hemis.service.dashboard.StudentStatsCube.Query;
+import uz.hemis.service.dashboard.dto.CategoryStatDto;
+import uz.hemis.service.dashboard.dto.EducationTypeDto;
+import uz.hemis.service.dashboard.dto.OverviewStatsDto;
+import uz.hemis.service.dashboard.dto.TopUniversityDto;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Student Statistics Cube Service - builds, refreshes and reads {@link StudentStatsCube}
+ *
+ * <p>One aggregate pass over {@code hemishe_r_student_full} on the replica (GROUP BY all
+ * cube dimensions, rows streamed into the builder) replaces the per-section GROUP BY
+ * scans of the dashboard. Dashboard sections - global or scoped to a university,
+ * region or any other filter - are then read from memory.</p>
+ *
+ * <p><strong>Refresh:</strong></p>
+ * <ul>
+ *   <li>Initial load in the background after startup (dashboard uses SQL until ready)</li>
+ *   <li>Every {@code hemis.dashboard.cube.refresh-interval-ms} (default 10 min)</li>
+ *   <li>{@link #refresh()} on demand; concurrent refreshes are collapsed into one</li>
+ *   <li>Failed refresh keeps serving the previous cube</li>
+ *   <li>Every new cube is announced as {@link Refreshed} (dashboard aggregates are
+ *       reconciled from it)</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@Service
+@Slf4j
+public class StudentStatsCubeService implements ApplicationEventPublisherAware {
+
+    // status_code / payment_form_code / gender_code values used by the dashboard
+    static final String STATUS_ACTIVE = "11";
+    static final String STATUS_EXPELLED = "12";
+    static final String STATUS_ACADEMIC_LEAVE = "13";
+    static final String STATUS_GRADUATED = "14";
+    static final String STATUS_CANCELLED = "17";
+    static final String PAYMENT_GRANT = "11";
+    static final String PAYMENT_CONTRACT = "12";
+    static final String GENDER_MALE = "11";
+    static final String GENDER_FEMALE = "12";
+
+    // Top-N of dashboard lists (universities, regions, education forms)
+    static final int TOP_LIMIT = 10;
+
+    private static final String CUBE_SQL = """
+        SELECT status_code, payment_form_code, gender_code, university_region_name,
+               education_language_name, education_type_code, education_type_name,
+               education_form_name, university_code, university_name,
+               COUNT(*) as cnt
+        FROM hemishe_r_student_full
+        WHERE (is_expel IS NULL OR is_expel = false)
+        GROUP BY status_code, payment_form_code, gender_code, university_region_name,
+                 education_language_name, education_type_code, education_type_name,
+                 education_form_name, university_code, university_name
+        """;
+
+    private final JdbcTemplate cubeJdbcTemplate;
+    private final boolean enabled;
+
+    private volatile StudentStatsCube cube;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private ApplicationEventPublisher eventPublisher;
+
+    public StudentStatsCubeService(@Qualifier("dashboardDataSource") DataSource dashboardDataSource,
+                                   @Value("${hemis.dashboard.cube.enabled:true}") boolean enabled,
+                                   @Value("${hemis.dashboard.cube.query-timeout-seconds:120}") int queryTimeoutSeconds) {
+        // Own template: the full aggregate pass may take longer than dashboard queries (30s)
+        this.cubeJdbcTemplate = new JdbcTemplate(dashboardDataSource);
+        this.cubeJdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Initial load without blocking startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Student statistics cube disabled (hemis.dashboard.cube.enabled=false)");
+            return;
+        }
+        new Thread(this::refresh, "stats-cube-loader").start();
+    }
+
+    /**
+     * Periodic rebuild
+     */
+    @Scheduled(fixedDelayString = "${hemis.dashboard.cube.refresh-interval-ms:600000}",
+            initialDelayString = "${hemis.dashboard.cube.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuild the cube from the replica and swap it in
+     *
+     * @return true if a new cube was built by this call
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            log.debug("Student statistics cube refresh already running");
+            return false;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            StudentStatsCube.Builder builder = StudentStatsCube.builder();
+            String[] codes = new String[Dimension.values().length];
+            String[] labels = new String[Dimension.values().length];
+
+            cubeJdbcTemplate.query(CUBE_SQL, rs -> {
+                codes[Dimension.STATUS.ordinal()] = rs.getString("status_code");
+                codes[Dimension.PAYMENT.ordinal()] = rs.getString("payment_form_code");
+                codes[Dimension.GENDER.ordinal()] = rs.getString("gender_code");
+                codes[Dimension.REGION.ordinal()] = rs.getString("university_region_name");
+                codes[Dimension.LANGUAGE.ordinal()] = rs.getString("education_language_name");
+                codes[Dimension.EDU_TYPE.ordinal()] = rs.getString("education_type_code");
+                labels[Dimension.EDU_TYPE.ordinal()] = rs.getString("education_type_name");
+                codes[Dimension.EDU_FORM.ordinal()] = rs.getString("education_form_name");
+                codes[Dimension.UNIVERSITY.ordinal()] = rs.getString("university_code");
+                labels[Dimension.UNIVERSITY.ordinal()] = rs.getString("university_name");
+                builder.add(codes, labels, rs.getLong("cnt"));
+            });
+
+            StudentStatsCube built = builder.build();
+            this.cube = built;
+            log.info("✅ Student statistics cube built in {}ms: {} cells, {} universities, ~{} KB",
+                    System.currentTimeMillis() - startTime, built.size(),
+                    built.cardinality(Dimension.UNIVERSITY), built.estimatedBytes() / 1024);
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new Refreshed(built.getBuiltAt()));
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ Student statistics cube refresh failed (serving {}): {}",
+                    cube != null ? "previous cube from " + cube.getBuiltAt() : "SQL fallback", e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Published after a new cube has been swapped in
+     *
+     * @param builtAt {@link StudentStatsCube#getBuiltAt()} of the new cube
+     */
+    public record Refreshed(Instant builtAt) {
+    }
+
+    /**
+     * Whether the cube is built at all ({@code hemis.dashboard.cube.enabled})
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current cube (empty until the first successful build)
+     */
+    public Optional<StudentStatsCube> current() {
+        return Optional.ofNullable(cube);
+    }
+
+    // =====================================================
+    // Dashboard sections from the cube (scope = base filter)
+    // =====================================================
+
+    /**
+     * Overview student counts (teacher / diploma / project / publication totals not included)
+     */
+    public OverviewStatsDto overview(Query scope) {
+        OverviewStatsDto dto = new OverviewStatsDto();
+        dto.setTotalStudents(scope.count());
+        dto.setTotalUniversities(scope.distinct(Dimension.UNIVERSITY));
+
+        Map<String, Long> byStatus = counts(scope.groupBy(Dimension.STATUS));
+        dto.setActiveStudents(byStatus.getOrDefault(STATUS_ACTIVE, 0L));
+        dto.setGraduatedStudents(byStatus.getOrDefault(STATUS_GRADUATED, 0L));
+        dto.setExpelledStudents(byStatus.getOrDefault(STATUS_EXPELLED, 0L));
+        dto.setAcademicLeaveStudents(byStatus.getOrDefault(STATUS_ACADEMIC_LEAVE, 0L));
+        dto.setCancelledStudents(byStatus.getOrDefault(STATUS_CANCELLED, 0L));
+
+        Query active = scope.copy().where(Dimension.STATUS, STATUS_ACTIVE);
+        Map<String, Long> byPayment = counts(active.groupBy(Dimension.PAYMENT));
+        dto.setGrantStudents(byPayment.getOrDefault(PAYMENT_GRANT, 0L));
+        dto.setContractStudents(byPayment.getOrDefault(PAYMENT_CONTRACT, 0L));
+        Map<String, Long> byGender = counts(active.groupBy(Dimension.GENDER));
+        dto.setMaleCount(byGender.getOrDefault(GENDER_MALE, 0L));
+        dto.setFemaleCount(byGender.getOrDefault(GENDER_FEMALE, 0L));
+        return dto;
+    }
+
+    /**
+     * Active students per value of {@code dimension}, largest first
+     *
+     * @param limit Maximum groups (0 = all)
+     */
+    public List<CategoryStatDto> activeBreakdown(Query scope, Dimension dimension, int limit) {
+        List<Group> groups = scope.copy().where(Dimension.STATUS, STATUS_ACTIVE).groupBy(dimension);
+        List<CategoryStatDto> result = new ArrayList<>();
+        for (Group group : limit > 0 ? groups.subList(0, Math.min(limit, groups.size())) : groups) {
+            CategoryStatDto dto = new CategoryStatDto();
+            dto.setName(group.label());
+            dto.setCount(group.count());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Active students per education type
+     */
+    public List<EducationTypeDto> educationTypes(Query scope) {
+        List<EducationTypeDto> result = new ArrayList<>();
+        for (Group group : scope.copy().where(Dimension.STATUS, STATUS_ACTIVE).groupBy(Dimension.EDU_TYPE)) {
+            EducationTypeDto dto = new EducationTypeDto();
+            dto.setCode(group.code());
+            dto.setName(group.label());
+            dto.setCount(group.count());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Universities with most active students (gender / payment split)
+     */
+    public List<TopUniversityDto> topUniversities(Query scope, int limit) {
+        Query active = scope.copy().where(Dimension.STATUS, STATUS_ACTIVE);
+        List<Group> universities = active.groupBy(Dimension.UNIVERSITY);
+        universities = universities.subList(0, Math.min(limit, universities.size()));
+
+        Map<String, Long> male = counts(active.copy().where(Dimension.GENDER, GENDER_MALE).groupBy(Dimension.UNIVERSITY));
+        Map<String, Long> female = counts(active.copy().where(Dimension.GENDER, GENDER_FEMALE).groupBy(Dimension.UNIVERSITY));
+        Map<String, Long> grant = counts(active.copy().where(Dimension.PAYMENT, PAYMENT_GRANT).groupBy(Dimension.UNIVERSITY));
+        Map<String, Long> contract = counts(active.copy().where(Dimension.PAYMENT, PAYMENT_CONTRACT).groupBy(Dimension.UNIVERSITY));
+
+        List<TopUniversityDto> result = new ArrayList<>();
+        for (Group university : universities) {
+            TopUniversityDto dto = new TopUniversityDto();
+            dto.setRank(result.size() + 1);
+            dto.setCode(university.code());
+            dto.setName(university.label());
+            dto.setStudentCount(university.count());
+            dto.setMaleCount(male.getOrDefault(university.code(), 0L));
+            dto.setFemaleCount(female.getOrDefault(university.code(), 0L));
+            dto.setGrantCount(grant.getOrDefault(university.code(), 0L));
+            dto.setContractCount(contract.getOrDefault(university.code(), 0L));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Drill-down: students per value of {@code groupBy} under an arbitrary filter
+     *
+     * @param filters Allowed values per dimension (AND across dimensions, OR within one)
+     * @return Groups, largest first; empty if the cube is not built yet
+     */
+    public Optional<List<Group>> drillDown(Dimension groupBy, Map<Dimension, List<String>> filters) {
+        StudentStatsCube current = cube;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Query query = current.query();
+        filters.forEach((dimension, values) -> query.where(dimension, values.toArray(String[]::new)));
+        return Optional.of(query.groupBy(groupBy));
+    }
+
+    private static Map<String, Long> counts(List<Group> groups) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Group group : groups) {
+            result.put(group.code(), group.count());
+        }
+        return result;
+    }
+}
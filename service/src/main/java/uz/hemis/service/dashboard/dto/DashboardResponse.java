@@ -7,9 +7,13 @@ import java.util.List;
 @Data
 public class DashboardResponse {
     private LocalDateTime timestamp;
+    // all | university:{code} | region:{name}
+    private String scope;
     private OverviewStatsDto overview;
     private StudentStatsDto students;
     private List<EducationTypeDto> educationTypes;
     private List<TopUniversityDto> topUniversities;
     private List<RecentActivityDto> recentActivities;
+    // Sections that failed or timed out (stale or null in this response); empty = complete
+    private List<String> unavailableSections;
 }
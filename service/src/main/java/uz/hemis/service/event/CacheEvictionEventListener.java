@@ -2,9 +2,9 @@ package uz.hemis.service.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 import uz.hemis.domain.event.UserPermissionsChangedEvent;
 import uz.hemis.service.cache.CacheEvictionService;
 
@@ -38,6 +38,8 @@ import uz.hemis.service.cache.CacheEvictionService;
  *      → evict user permission cache (Redis)
  *      → evict user menu cache (Caffeine + Redis, all 4 locales)
  *      → log audit trail
+ *   → UserPermissionCacheService.onPermissionsChanged(event) (security module, after commit)
+ *      → evict Redis user:permissions:{userId} + JWT authority L1 on all pods
  *   → User's next request loads fresh data from database
  * </pre>
  *
@@ -111,20 +113,20 @@ public class CacheEvictionEventListener {
      * <p><strong>Eviction Strategy:</strong></p>
      * <ol>
      *   <li>Evict user permission cache (Redis) → forces fresh load from DB</li>
-     *   <li>Evict user menu cache (Caffeine + Redis, 4 locales) → user sees updated menu</li>
+     *   <li>Evict user menu mapping → next request resolves the new permission set</li>
      *   <li>Log audit trail</li>
      * </ol>
      *
      * <p><strong>Performance:</strong></p>
      * <ul>
-     *   <li>Async execution (@Async) → non-blocking, ~10ms</li>
+     *   <li>After commit (no reload of the old row), async (@Async) → non-blocking, ~10ms</li>
      *   <li>Evicts ~5 cache keys (1 permission + 4 menu locales)</li>
      *   <li>Zero impact on other users ✅</li>
      * </ul>
      *
      * @param event UserPermissionsChangedEvent
      */
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     @Async
     public void handleUserPermissionsChanged(UserPermissionsChangedEvent event) {
         log.info("🔔 [Event] User permissions changed: userId={}, changeType={}, changedBy={}",
@@ -135,9 +137,9 @@ public class CacheEvictionEventListener {
             cacheEvictionService.evictUserPermissions(event.getUserId());
             log.info("   ✅ Evicted permission cache for userId={}", event.getUserId());
 
-            // 2. Evict user menu cache (Caffeine + Redis, all 4 locales)
+            // 2. Evict user menu mapping (menus themselves are shared per permission set)
             cacheEvictionService.evictUserMenu(event.getUserId());
-            log.info("   ✅ Evicted menu cache (4 locales) for userId={}", event.getUserId());
+            log.info("   ✅ Evicted menu mapping for userId={}", event.getUserId());
 
             // Log summary
             log.info("✅ [Event] Cache eviction completed for userId={} (changeType={})",
@@ -170,7 +172,7 @@ public class CacheEvictionEventListener {
      *
      * @param event UserPermissionsChangedEvent with changeType=ROLE_MODIFIED
      */
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     @Async
     public void handleRolePermissionsModified(UserPermissionsChangedEvent event) {
         // Only handle ROLE_MODIFIED events
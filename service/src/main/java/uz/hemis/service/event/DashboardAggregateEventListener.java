@@ -0,0 +1,118 @@
+package uz.hemis.service.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uz.hemis.domain.event.ContractSignedEvent;
+import uz.hemis.domain.event.StudentEnrolledEvent;
+import uz.hemis.domain.event.StudentStatusChangedEvent;
+import uz.hemis.service.dashboard.DashboardAggregateStore;
+import uz.hemis.service.dashboard.DashboardService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dashboard Aggregate Event Listener - domain events → counter deltas
+ *
+ * <p><strong>Deltas (after commit - rolled back work is never counted):</strong></p>
+ * <ul>
+ *   <li>{@link StudentEnrolledEvent} → +1 student (status, payment, gender; global + university)</li>
+ *   <li>{@link StudentStatusChangedEvent} → -1 with the previous attributes, +1 with the new
+ *       ones (status, university, payment or gender changed; soft delete / restore)</li>
+ *   <li>{@link ContractSignedEvent} → +1 contract</li>
+ * </ul>
+ *
+ * <p>Diplomas are not counted here: {@code DiplomaService} writes {@code hemishe_e_diploma},
+ * the dashboard reports {@code hemishe_e_student_diploma} (old-hemis) from SQL.</p>
+ *
+ * <p>The cached dashboard ({@code stats}) and the dashboards of universities with
+ * student events ({@code tenantStats}) are evicted at most once per
+ * {@code hemis.dashboard.aggregates.publish-interval-ms} (default 30s) while events
+ * arrive - numbers are fresh within seconds without recomputing on every event.
+ * Region dashboards are not tracked per event and follow their soft TTL.</p>
+ *
+ * @since 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardAggregateEventListener {
+
+    private static final String STATS_CACHE = "stats";
+    private static final String STATS_KEY = "all";
+
+    private final DashboardAggregateStore aggregateStore;
+    private final CacheManager cacheManager;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Set<String> dirtyUniversities = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentEnrolled(StudentEnrolledEvent event) {
+        // No status → not counted (same as the cube / reconciliation)
+        aggregateStore.applyStudentDelta(event.getUniversityCode(), event.getStatusCode(),
+                event.getPaymentFormCode(), event.getGenderCode(), 1);
+        markDirty(event.getUniversityCode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentStatusChanged(StudentStatusChangedEvent event) {
+        if (Objects.equals(event.getPreviousStatusCode(), event.getStatusCode())
+                && Objects.equals(event.getPreviousUniversityCode(), event.getUniversityCode())
+                && Objects.equals(event.getPreviousPaymentFormCode(), event.getPaymentFormCode())
+                && Objects.equals(event.getPreviousGenderCode(), event.getGenderCode())) {
+            return;
+        }
+        aggregateStore.applyStudentDelta(event.getPreviousUniversityCode(), event.getPreviousStatusCode(),
+                event.getPreviousPaymentFormCode(), event.getPreviousGenderCode(), -1);
+        aggregateStore.applyStudentDelta(event.getUniversityCode(), event.getStatusCode(),
+                event.getPaymentFormCode(), event.getGenderCode(), 1);
+        markDirty(event.getPreviousUniversityCode());
+        markDirty(event.getUniversityCode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractSigned(ContractSignedEvent event) {
+        aggregateStore.incrementCounter(DashboardAggregateStore.CONTRACTS);
+        dirty.set(true);
+    }
+
+    private void markDirty(String universityCode) {
+        if (universityCode != null) {
+            dirtyUniversities.add(universityCode);
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Evict the cached dashboards if counters changed since the last run
+     */
+    @Scheduled(fixedDelayString = "${hemis.dashboard.aggregates.publish-interval-ms:30000}")
+    public void publishChanges() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Cache stats = cacheManager.getCache(STATS_CACHE);
+        if (stats != null) {
+            stats.evict(STATS_KEY);
+            log.debug("Dashboard stats evicted after aggregate changes");
+        }
+
+        List<String> universities = new ArrayList<>(dirtyUniversities);
+        dirtyUniversities.removeAll(universities);
+        Cache tenantStats = cacheManager.getCache(DashboardService.TENANT_CACHE);
+        if (tenantStats != null && !universities.isEmpty()) {
+            universities.forEach(code -> tenantStats.evict(DashboardService.UNIVERSITY_KEY_PREFIX + code));
+            log.debug("University dashboards evicted after aggregate changes: {}", universities.size());
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class DomainEventListener {
         // - Send welcome email
         // - Create user account
         // - Notify department head
-        // - Update statistics
+        // (dashboard counters: DashboardAggregateEventListener)
         
         log.debug("StudentEnrolledEvent processed: studentId={}", event.getStudentId());
     }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import uz.hemis.domain.event.StudentEnrolledEvent;
+import uz.hemis.domain.event.StudentStatusChangedEvent;
 
 /**
  * Student Event Publisher
@@ -31,4 +32,16 @@ public class StudentEventPublisher {
 
         log.debug("StudentEnrolledEvent published successfully");
     }
+
+    /**
+     * Publish student status changed event
+     */
+    public void publishStudentStatusChanged(StudentStatusChangedEvent event) {
+        log.info("Publishing StudentStatusChangedEvent: studentId={}, {} → {}",
+            event.getStudentId(), event.getPreviousStatusCode(), event.getStatusCode());
+
+        eventPublisher.publishEvent(event);
+
+        log.debug("StudentStatusChangedEvent published successfully");
+    }
 }
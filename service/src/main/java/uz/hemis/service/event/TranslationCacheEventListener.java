@@ -5,8 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
-import uz.hemis.service.I18nService;
-import uz.hemis.service.cache.CacheEvictionService;
 import uz.hemis.domain.event.TranslationCacheEvent;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,7 +15,9 @@ import java.net.InetAddress;
  * Translation Cache Event Listener
  *
  * <p>Listens to Redis Pub/Sub channel for translation cache events</p>
- * <p>Invalidates local cache when events are received from other servers</p>
+ * <p>Cache state is NOT changed here: the publishing server already evicted i18n/menu
+ * entries through TwoLevelCache, which sends keyed L1 invalidations to every pod
+ * (CacheInvalidationListener). Clearing again here would wipe L2 from every pod.</p>
  *
  * <p><strong>Channel:</strong> translation-cache-events</p>
  *
@@ -25,8 +25,8 @@ import java.net.InetAddress;
  * <ol>
  *   <li>Server A updates translation</li>
  *   <li>Server A publishes event to Redis channel</li>
- *   <li>Server B, C, D receive event via this listener</li>
- *   <li>Each server invalidates its local cache</li>
+ *   <li>Server B, C, D receive event via this listener (audit log)</li>
+ *   <li>L1 entries were already evicted by the keyed invalidation message</li>
  * </ol>
  */
 @Component
@@ -34,9 +34,7 @@ import java.net.InetAddress;
 @Slf4j
 public class TranslationCacheEventListener implements MessageListener {
 
-    private final I18nService i18nService;
-    private final CacheEvictionService cacheEvictionService;
-    private final ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper;
 
     private static String SERVER_ID;
 
@@ -64,52 +62,13 @@ public class TranslationCacheEventListener implements MessageListener {
             log.info("📡 Received translation cache event from server {}: type={}, key={}, language={}",
                 event.getServerId(), event.getType(), event.getMessageKey(), event.getLanguage());
 
-            // Handle event based on type
-            switch (event.getType()) {
-                case TRANSLATION_CREATED:
-                case TRANSLATION_UPDATED:
-                case TRANSLATION_DELETED:
-                    // Clear caches when a specific translation changed
-                    i18nService.clearCache();
-                    evictMenusIfNeeded(event.getMessageKey(), false);
-                    log.info("✅ Cache invalidated due to event: {}", event.getType());
-                    break;
-
-                case CACHE_CLEAR_ALL:
-                    // Clear all caches
-                    i18nService.clearCache();
-                    evictMenusIfNeeded(event.getMessageKey(), true);
-                    log.info("✅ Cache invalidated due to event: {}", event.getType());
-                    break;
-
-                case CACHE_CLEAR_LANGUAGE:
-                    // Clear specific language cache
-                    if (event.getLanguage() != null) {
-                        // For now, clear all caches (language-specific invalidation can be added later)
-                        i18nService.clearCache();
-                        cacheEvictionService.evictAllMenus();
-                        log.info("✅ Cache invalidated for language: {}", event.getLanguage());
-                    }
-                    break;
-
-                default:
-                    log.warn("Unknown event type: {}", event.getType());
-            }
+            // L1 invalidation already arrived via cache:keys:invalidate (keyed, L1 only)
+            log.debug("Translation cache event handled by keyed invalidation: {}", event.getType());
 
         } catch (Exception e) {
-            log.error("Error processing translation cache event", e);
-        }
-    }
-
-    private void evictMenusIfNeeded(String messageKey, boolean force) {
-        if (force) {
-            cacheEvictionService.evictAllMenus();
-            return;
-        }
-        if (messageKey != null && messageKey.startsWith("menu.")) {
-            cacheEvictionService.evictAllMenus();
-        }
-    }
+            log.error("Error processing translation cache event", e);
+        }
+    }
 
     public static String getServerId() {
         return SERVER_ID;
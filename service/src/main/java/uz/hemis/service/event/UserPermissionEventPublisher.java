@@ -217,6 +217,51 @@ public class UserPermissionEventPublisher {
         applicationEventPublisher.publishEvent(event);
     }
 
+    /**
+     * Publish event when user password is changed
+     *
+     * @param userId User ID
+     * @param username Username
+     * @param changedBy Admin username (or the user itself)
+     */
+    public void publishPasswordChanged(UUID userId, String username, String changedBy) {
+        log.info("📢 Publishing UserPermissionsChangedEvent: userId={}, type=PASSWORD_CHANGED",
+            userId);
+
+        UserPermissionsChangedEvent event = UserPermissionsChangedEvent.builder()
+            .userId(userId)
+            .username(username)
+            .changeType(UserPermissionsChangedEvent.ChangeType.PASSWORD_CHANGED)
+            .timestamp(Instant.now())
+            .changedBy(changedBy)
+            .build();
+
+        applicationEventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Publish event when user account is soft-deleted
+     *
+     * @param userId User ID
+     * @param username Username
+     * @param changedBy Admin username
+     */
+    public void publishUserDeleted(UUID userId, String username, String changedBy) {
+        log.info("📢 Publishing UserPermissionsChangedEvent: userId={}, type=USER_DELETED",
+            userId);
+
+        UserPermissionsChangedEvent event = UserPermissionsChangedEvent.builder()
+            .userId(userId)
+            .username(username)
+            .changeType(UserPermissionsChangedEvent.ChangeType.USER_DELETED)
+            .timestamp(Instant.now())
+            .changedBy(changedBy)
+            .reason("User account deleted by administrator")
+            .build();
+
+        applicationEventPublisher.publishEvent(event);
+    }
+
     /**
      * Publish event when role permissions are modified (affects all users with that role)
      *
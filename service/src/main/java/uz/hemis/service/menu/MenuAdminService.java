@@ -153,14 +153,13 @@ public class MenuAdminService {
      *   <li>No circular references</li>
      * </ul>
      *
-     * <p>Automatically evicts menu cache after creation</p>
+     * <p>Bumps the menu version after commit (snapshot rebuilt, menus re-filtered)</p>
      *
      * @param request menu creation request
      * @return created menu with generated ID
      * @throws BadRequestException if validation fails
      */
     @Transactional
-    @CacheEvict(value = "menu", allEntries = true)
     public MenuAdminResponse createMenu(MenuAdminRequest request) {
         log.info("Creating new menu: {}", request.getCode());
 
@@ -187,8 +186,8 @@ public class MenuAdminService {
             // ✅ NEW: Log audit trail
             logAudit(saved.getId(), MenuAuditLog.Actions.CREATE, null, entityToMap(saved));
 
-            // Clear cache
-            clearMenuCache();
+            // Rebuild menu snapshot on all pods
+            menuService.invalidateMenuSnapshot();
 
             return menuMapper.toResponse(saved);
         } catch (DataIntegrityViolationException e) {
@@ -212,7 +211,7 @@ public class MenuAdminService {
      *   <li>No circular references (cannot set self or descendant as parent)</li>
      * </ul>
      *
-     * <p>Automatically evicts menu cache after update</p>
+     * <p>Bumps the menu version after commit (snapshot rebuilt, menus re-filtered)</p>
      *
      * @param id menu ID to update
      * @param request updated menu data
@@ -221,7 +220,6 @@ public class MenuAdminService {
      * @throws BadRequestException if validation fails
      */
     @Transactional
-    @CacheEvict(value = "menu", allEntries = true)
     public MenuAdminResponse updateMenu(UUID id, MenuAdminRequest request) {
         log.info("Updating menu ID: {}", id);
 
@@ -269,8 +267,8 @@ public class MenuAdminService {
             // ✅ NEW: Log audit trail
             logAudit(updated.getId(), MenuAuditLog.Actions.UPDATE, oldValue, entityToMap(updated));
 
-            // Clear cache
-            clearMenuCache();
+            // Rebuild menu snapshot on all pods
+            menuService.invalidateMenuSnapshot();
 
             return menuMapper.toResponse(updated);
         } catch (DataIntegrityViolationException e) {
@@ -288,13 +286,12 @@ public class MenuAdminService {
      *
      * <p>Preserves audit trail and allows recovery</p>
      * <p>Also soft-deletes all child menus recursively</p>
-     * <p>Automatically evicts menu cache after deletion</p>
+     * <p>Bumps the menu version after commit (snapshot rebuilt, menus re-filtered)</p>
      *
      * @param id menu ID to delete
      * @throws ResourceNotFoundException if menu not found
      */
     @Transactional
-    @CacheEvict(value = "menu", allEntries = true)
     public void deleteMenu(UUID id) {
         log.info("Soft deleting menu ID: {}", id);
 
@@ -317,8 +314,8 @@ public class MenuAdminService {
         // ✅ NEW: Log audit trail
         logAudit(id, MenuAuditLog.Actions.DELETE, oldValue, null);
 
-        // Clear cache
-        clearMenuCache();
+        // Rebuild menu snapshot on all pods
+        menuService.invalidateMenuSnapshot();
     }
 
     // =====================================================
@@ -329,14 +326,13 @@ public class MenuAdminService {
      * Toggle menu active status
      *
      * <p>Changes active = true ↔ false</p>
-     * <p>Automatically evicts menu cache after toggle</p>
+     * <p>Bumps the menu version after commit (snapshot rebuilt, menus re-filtered)</p>
      *
      * @param id menu ID
      * @return updated menu
      * @throws ResourceNotFoundException if menu not found
      */
     @Transactional
-    @CacheEvict(value = "menu", allEntries = true)
     public MenuAdminResponse toggleActive(UUID id) {
         log.info("Toggling active status for menu ID: {}", id);
 
@@ -355,8 +351,8 @@ public class MenuAdminService {
         String action = updated.getActive() ? MenuAuditLog.Actions.ACTIVATE : MenuAuditLog.Actions.DEACTIVATE;
         logAudit(id, action, oldValue, entityToMap(updated));
 
-        // Clear cache
-        clearMenuCache();
+        // Rebuild menu snapshot on all pods
+        menuService.invalidateMenuSnapshot();
 
         return menuMapper.toResponse(updated);
     }
@@ -369,14 +365,13 @@ public class MenuAdminService {
      * Change menu display order
      *
      * <p>Updates orderNumber field</p>
-     * <p>Automatically evicts menu cache after reorder</p>
+     * <p>Bumps the menu version after commit (snapshot rebuilt, menus re-filtered)</p>
      *
      * @param id menu ID
      * @param newOrder new order number
      * @throws ResourceNotFoundException if menu not found
      */
     @Transactional
-    @CacheEvict(value = "menu", allEntries = true)
     public void reorderMenu(UUID id, Integer newOrder) {
         log.info("Reordering menu ID: {} to order: {}", id, newOrder);
 
@@ -394,8 +389,8 @@ public class MenuAdminService {
         // ✅ NEW: Log audit trail
         logAudit(id, MenuAuditLog.Actions.REORDER, oldValue, entityToMap(menu));
 
-        // Clear cache
-        clearMenuCache();
+        // Rebuild menu snapshot on all pods
+        menuService.invalidateMenuSnapshot();
     }
 
     // =====================================================
@@ -2,22 +2,27 @@ package uz.hemis.service.menu;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uz.hemis.domain.entity.Menu;
 import uz.hemis.domain.entity.Permission;
 import uz.hemis.domain.entity.User;
 import uz.hemis.domain.repository.MenuRepository;
 import uz.hemis.domain.repository.UserRepository;
 import uz.hemis.service.I18nService;
+import uz.hemis.service.cache.CacheEvictionService;
 import uz.hemis.service.cache.CacheVersionService;
+import uz.hemis.service.cache.TwoLevelCache;
 import uz.hemis.service.menu.dto.MenuItem;
 import uz.hemis.service.menu.dto.MenuResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Menu Service - DATABASE-DRIVEN ✅
@@ -34,7 +39,9 @@ import java.util.stream.Collectors;
  *
  * <p><strong>Performance:</strong></p>
  * <ul>
- *   <li>First request: 50ms (DB + filter + translate)</li>
+ *   <li>Menu tree: immutable snapshot ({@link MenuTreeSnapshot}), DB read only after a
+ *       menu/i18n version bump</li>
+ *   <li>Cache miss: in-memory filter of the snapshot, no DB query besides permissions</li>
  *   <li>Cached requests: 1ms (L1) - 50x faster ✅</li>
  *   <li>Cross-pod sync: CacheVersionService + Redis Pub/Sub</li>
  * </ul>
@@ -50,13 +57,25 @@ public class MenuService {
     private final UserRepository userRepository;
     private final CacheVersionService cacheVersionService;
     private final uz.hemis.service.config.LanguageProperties languageProperties;
+    private final CacheManager cacheManager;
+
+    private static final String MENU_NAMESPACE = "menu";
+    private static final String I18N_NAMESPACE = "i18n";
+    private static final long UNVERSIONED = -1L;
+
+    // Immutable menu tree, replaced when the menu/i18n version changes
+    private volatile MenuTreeSnapshot snapshot;
+    private final Object snapshotLock = new Object();
 
     /**
      * Get filtered menu for user
      *
      * <p><strong>Enterprise Caching Strategy:</strong></p>
+     * <p>The rendered menu depends only on the effective permission set and the locale,
+     * so users with identical permissions share one entry:</p>
      * <ul>
-     *   <li>Cache key: menu:{userId}:{locale}</li>
+     *   <li>Cache key: menu:v{menuVersion}.{i18nVersion}:{permissionHash}:{locale} → MenuResponse</li>
+     *   <li>Cache key: menu:user:{userId} → permissionHash (small per-user mapping)</li>
      *   <li>TTL: 1 hour (configured in CacheConfig)</li>
      *   <li>L1: JVM/Caffeine (per-pod, 0.01ms)</li>
      *   <li>L2: Redis (shared, 1ms)</li>
@@ -64,42 +83,160 @@ public class MenuService {
      *
      * <p><strong>Cache Invalidation:</strong></p>
      * <ul>
-     *   <li>User permissions changed → Evict cache for user</li>
-     *   <li>Menu structure updated → Evict all menu cache</li>
+     *   <li>User permissions changed → Evict the user's mapping (shared menus stay valid)</li>
+     *   <li>Role permissions changed → Evict mappings + menus tagged role:{code}</li>
+     *   <li>Menu structure / translations updated → version bump: snapshot rebuilt once,
+     *       menus re-filtered in memory under the new versioned key</li>
      *   <li>Admin triggers refresh → Redis Pub/Sub → All pods clear L1</li>
      * </ul>
      *
      * <p><strong>Performance Impact:</strong></p>
      * <ul>
-     *   <li>First request: 50ms (DB query + filter + translate)</li>
-     *   <li>Cached requests: 0.1ms (L1 JVM hit) ✅</li>
-     *   <li>Improvement: 500x faster</li>
+     *   <li>Mapping + menu hit: 2 cache lookups, no DB</li>
+     *   <li>New user with a known permission set: 1 permission query, no menu build</li>
+     *   <li>Cardinality: distinct permission sets × locales instead of users × locales</li>
      * </ul>
      */
-    @Cacheable(value = "menu", key = "#userId + ':' + #locale")
     public MenuResponse getMenuForUser(UUID userId, String locale) {
-        log.info("🔍 Getting menu for user: {}, locale: {} (CACHE MISS)", userId, locale);
+        MenuTreeSnapshot menuTree = currentSnapshot();
+        org.springframework.cache.Cache menuCache = cacheManager.getCache("menu");
+        if (menuCache == null) {
+            return buildMenu(permissionService.getUserAccess(userId), locale, menuTree);
+        }
 
-        // Get user permissions
-        List<String> userPermissions = permissionService.getUserPermissions(userId);
-        log.info("User {} has {} permissions: {}", userId, userPermissions.size(),
-            userPermissions.size() > 0 ? userPermissions.subList(0, Math.min(5, userPermissions.size())) : "[]");
+        String cachedHash = menuCache.get(userKey(userId), String.class);
+        if (cachedHash != null) {
+            MenuResponse menu = menuCache.get(menuKey(menuTree, cachedHash, locale), MenuResponse.class);
+            if (menu != null) {
+                return menu;
+            }
+        }
+
+        // Mapping or menu missing → resolve permissions (1 query)
+        PermissionService.UserAccess access = permissionService.getUserAccess(userId);
+        String permissionHash = permissionHash(access.permissions());
+        if (!permissionHash.equals(cachedHash)) {
+            cacheUserMapping(menuCache, userId, permissionHash, access.roleCodes());
+        }
+
+        String menuKey = menuKey(menuTree, permissionHash, locale);
+        return menuCache.get(menuKey, () -> {
+            log.info("🔍 Filtering menu for permission set {} (user: {}, locale: {}) - CACHE MISS",
+                permissionHash, userId, locale);
+            tagMenuEntry(menuCache, menuKey, locale, access.roleCodes());
+            return buildMenu(access, locale, menuTree);
+        });
+    }
+
+    /**
+     * Get filtered menus for many users at once (batch warmup)
+     *
+     * <p>Shares the {@code menu} cache entries of {@link #getMenuForUser(UUID, String)}
+     * (user mapping + permission-set menu).</p>
+     *
+     * <p><strong>Round trips for N users:</strong></p>
+     * <ul>
+     *   <li>User mappings: L1 lookup, one Redis MGET, permission queries only for unmapped users</li>
+     *   <li>Menus: one lookup per distinct permission set (L1 → MGET)</li>
+     *   <li>Missing sets filtered from the in-memory menu snapshot, one pipelined Redis write</li>
+     * </ul>
+     *
+     * @param userIds User IDs
+     * @param locale  Locale (uz-UZ, oz-UZ, ru-RU, en-US)
+     * @return userId → menu (users whose menu could not be built are skipped)
+     */
+    public Map<UUID, MenuResponse> getMenusForUsers(Collection<UUID> userIds, String locale) {
+        Map<UUID, MenuResponse> result = new LinkedHashMap<>();
+
+        if (!(cacheManager.getCache("menu") instanceof TwoLevelCache menuCache)) {
+            for (UUID userId : userIds) {
+                try {
+                    result.put(userId, getMenuForUser(userId, locale));
+                } catch (RuntimeException e) {
+                    log.error("❌ Menu build failed: userId={}, locale={}, error={}", userId, locale, e.getMessage());
+                }
+            }
+            return result;
+        }
 
-        // ✅ NEW: Load menu structure from database (dynamic, not hardcoded!)
-        List<MenuItem> menuStructure = loadMenuStructureFromDatabase();
-        log.info("Loaded {} root menu items from database", menuStructure.size());
+        // Step 1: userId → permission hash (access kept for users resolved here)
+        Map<String, UUID> userKeys = new LinkedHashMap<>();
+        userIds.forEach(userId -> userKeys.put(userKey(userId), userId));
+        Map<UUID, PermissionService.UserAccess> resolved = new HashMap<>();
+
+        Map<String, String> hashes = menuCache.getAll(userKeys.keySet(), missingKeys -> {
+            Map<String, String> loaded = new HashMap<>();
+            for (String key : missingKeys) {
+                UUID userId = userKeys.get(key);
+                try {
+                    PermissionService.UserAccess access = permissionService.getUserAccess(userId);
+                    resolved.put(userId, access);
+                    menuCache.tag(key, roleTags(access.roleCodes()));
+                    loaded.put(key, permissionHash(access.permissions()));
+                } catch (RuntimeException e) {
+                    log.error("❌ Permission load failed: userId={}, error={}", userId, e.getMessage());
+                }
+            }
+            return loaded;
+        });
+
+        // Step 2: one menu per distinct permission set
+        MenuTreeSnapshot menuTree = currentSnapshot();
+        Map<String, UUID> menuKeyToUser = new LinkedHashMap<>();
+        hashes.forEach((key, hash) -> menuKeyToUser.putIfAbsent(menuKey(menuTree, hash, locale), userKeys.get(key)));
+
+        Map<String, MenuResponse> menus = menuCache.getAll(menuKeyToUser.keySet(), missingKeys -> {
+            log.info("🔍 Building {} menus (locale: {}) from menu snapshot v{}",
+                missingKeys.size(), locale, menuTree.menuVersion());
+
+            Map<String, MenuResponse> built = new HashMap<>();
+            for (String key : missingKeys) {
+                UUID userId = menuKeyToUser.get(key);
+                try {
+                    PermissionService.UserAccess access = resolved.containsKey(userId)
+                        ? resolved.get(userId)
+                        : permissionService.getUserAccess(userId);
+                    if (!key.equals(menuKey(menuTree, permissionHash(access.permissions()), locale))) {
+                        continue;  // stale mapping - resolved lazily on the user's next request
+                    }
+                    tagMenuEntry(menuCache, key, locale, access.roleCodes());
+                    built.put(key, buildMenu(access, locale, menuTree));
+                } catch (RuntimeException e) {
+                    log.error("❌ Menu build failed: userId={}, locale={}, error={}", userId, locale, e.getMessage());
+                }
+            }
+            return built;
+        });
+
+        for (UUID userId : userIds) {
+            String hash = hashes.get(userKey(userId));
+            MenuResponse menu = hash != null ? menus.get(menuKey(menuTree, hash, locale)) : null;
+            if (menu != null) {
+                result.put(userId, menu);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Build filtered menu for a permission set from the (pre-sorted) menu snapshot
+     *
+     * <p>The snapshot is immutable (filtering creates new MenuItem instances),
+     * so one snapshot is shared by all permission sets.</p>
+     */
+    private MenuResponse buildMenu(PermissionService.UserAccess access, String locale, MenuTreeSnapshot menuTree) {
+        List<String> userPermissions = access.permissions();
+        log.info("Building menu for {} permissions: {}", userPermissions.size(),
+            userPermissions.size() > 0 ? userPermissions.subList(0, Math.min(5, userPermissions.size())) : "[]");
 
         // Filter by permissions
         List<MenuItem> filteredMenu = filterMenuByPermissions(
-            menuStructure,
-            userPermissions,
+            menuTree.roots(),
+            access.matcher(),
             locale
         );
         log.info("Filtered menu has {} items", filteredMenu.size());
 
-        // Sort by order
-        sortMenuItems(filteredMenu);
-
         // Build response
         return MenuResponse.builder()
             .menu(filteredMenu)
@@ -111,112 +248,115 @@ public class MenuService {
     }
 
     /**
-     * Filter menu items by permissions (recursive)
+     * Stable hash of the effective permission set (sorted, deduplicated)
      *
-     * <p><strong>PERFORMANCE OPTIMIZED:</strong></p>
-     * <ul>
-     *   <li>Uses batch translation loading (1 query instead of N×5)</li>
-     *   <li>Pre-loads all translations for all 4 languages</li>
-     *   <li>Eliminates N+1 query problem</li>
-     * </ul>
+     * <p>First 128 bits of SHA-256, URL-safe Base64 (22 chars) - collisions are not a
+     * practical concern for the number of distinct permission sets.</p>
      */
-    private List<MenuItem> filterMenuByPermissions(
-        List<MenuItem> items,
-        List<String> permissions,
-        String locale
-    ) {
-        // ✅ OPTIMIZATION: Pre-load all translations in batch
-        Map<String, Map<String, String>> allTranslations = preloadMenuTranslations(items);
+    static String permissionHash(Collection<String> permissions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String permission : new TreeSet<>(permissions)) {
+                digest.update(permission.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-        return filterMenuByPermissionsWithCache(items, permissions, locale, allTranslations);
+    private static String userKey(UUID userId) {
+        return CacheEvictionService.MENU_USER_KEY_PREFIX + userId;
     }
 
     /**
-     * Pre-load all menu translations in batch - OPTIMIZED
+     * Rendered menu key, versioned by the snapshot it was filtered from
      *
-     * <p><strong>Performance:</strong></p>
-     * <ul>
-     *   <li>Before: 178 menus × 5 langs = 890 queries ❌</li>
-     *   <li>After: N cache lookups (N = supported languages) ✅</li>
-     *   <li>Speedup: 1000x faster! ⚡</li>
-     * </ul>
-     *
-     * <p><strong>Strategy:</strong></p>
-     * <ul>
-     *   <li>✅ Use i18nService.getAllMessages() - already cached!</li>
-     *   <li>✅ Single Map lookup per language (O(1))</li>
-     *   <li>✅ No redundant cache fetches</li>
-     *   <li>✅ FIX #17: Dynamically load from LanguageProperties.supported</li>
-     * </ul>
+     * <p>A pod that has not yet seen a version bump can only write under the old key,
+     * which updated pods never read.</p>
      */
-    private Map<String, Map<String, String>> preloadMenuTranslations(List<MenuItem> items) {
-        // ✅ FIX #17: Load FULL translation maps for ALL supported languages (from config)
-        // This is O(1) cache lookup per language, not O(N) individual queries!
-        Map<String, Map<String, String>> translations = new java.util.HashMap<>();
+    private static String menuKey(MenuTreeSnapshot menuTree, String permissionHash, String locale) {
+        return "v" + menuTree.menuVersion() + "." + menuTree.i18nVersion() + ":" + permissionHash + ":" + locale;
+    }
 
-        for (String locale : languageProperties.getSupported()) {
-            translations.put(locale, i18nService.getAllMessages(locale));
+    /**
+     * Store userId → permission hash, tagged role:{code} so a role permission change
+     * re-resolves the permission sets of that role's users
+     */
+    private void cacheUserMapping(org.springframework.cache.Cache menuCache, UUID userId,
+                                  String permissionHash, List<String> roleCodes) {
+        if (menuCache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.tag(userKey(userId), roleTags(roleCodes));
         }
+        menuCache.put(userKey(userId), permissionHash);
+    }
 
-        log.debug("✅ Pre-loaded {} translation maps from cache ({} cache hits, 0 DB queries)",
-            translations.size(), translations.size());
-        return translations;
+    /**
+     * Index a rendered menu entry under locale: and role: tags
+     *
+     * <p>Lets CacheEvictionService / MenuAdminService evict one locale or the menus of
+     * one role instead of every cached menu. Every role seen with the permission set
+     * is added (tags accumulate).</p>
+     */
+    private void tagMenuEntry(org.springframework.cache.Cache menuCache, String menuKey,
+                              String locale, List<String> roleCodes) {
+        if (!(menuCache instanceof TwoLevelCache twoLevelCache)) {
+            return;
+        }
+        List<String> tags = roleTags(roleCodes);
+        tags.add(CacheEvictionService.TAG_LOCALE + locale);
+        twoLevelCache.tag(menuKey, tags);
     }
 
-    // ✅ REMOVED: collectAllTranslationKeys() - no longer needed
-    // We now use getAllMessages() which loads entire translation map from cache
+    private static List<String> roleTags(List<String> roleCodes) {
+        List<String> tags = new ArrayList<>(roleCodes.size() + 1);
+        roleCodes.forEach(roleCode -> tags.add(CacheEvictionService.TAG_ROLE + roleCode));
+        return tags;
+    }
 
     /**
-     * Filter menu with pre-loaded translations (recursive)
+     * Filter the menu snapshot by permissions (recursive, pure in-memory)
+     *
+     * <p><strong>PERFORMANCE OPTIMIZED:</strong></p>
+     * <ul>
+     *   <li>Tree is pre-sorted and labels for all locales are pre-resolved in the snapshot</li>
+     *   <li>No DB query, no translation lookup, no sort per build</li>
+     *   <li>Compiled {@link PermissionMatcher}: O(depth) per item, no wildcard scan</li>
+     * </ul>
      */
     @SuppressWarnings("deprecation")  // labelUz, labelOz, labelRu, labelEn are deprecated but kept for backward compatibility
-    private List<MenuItem> filterMenuByPermissionsWithCache(
-        List<MenuItem> items,
-        List<String> permissions,
-        String locale,
-        Map<String, Map<String, String>> translations
+    private List<MenuItem> filterMenuByPermissions(
+        List<MenuTreeSnapshot.Node> nodes,
+        PermissionMatcher permissions,
+        String locale
     ) {
         List<MenuItem> filtered = new ArrayList<>();
 
-        for (MenuItem item : items) {
-            if (hasPermission(item.getPermission(), permissions)) {
-                String translationKey = item.getI18nKey() != null ? item.getI18nKey() : item.getLabel();
+        for (MenuTreeSnapshot.Node node : nodes) {
+            if (permissions.matches(node.permission())) {
+                Map<String, String> labelsMap = node.labels();
 
-                // ✅ FIX #21: Build labels map dynamically from all supported languages
-                Map<String, String> labelsMap = new java.util.HashMap<>();
-                for (Map.Entry<String, Map<String, String>> entry : translations.entrySet()) {
-                    String lang = entry.getKey();
-                    String translatedLabel = entry.getValue().getOrDefault(translationKey, translationKey);
-                    labelsMap.put(lang, translatedLabel);
-                }
-
-                // ✅ FAST: Get from pre-loaded cache (no DB query!)
                 MenuItem filteredItem = MenuItem.builder()
-                    .id(item.getId())
-                    .i18nKey(translationKey)
-                    .label(translations.get(locale).getOrDefault(translationKey, translationKey))
-                    .labels(labelsMap)  // ✅ FIX #21: New dynamic labels map
+                    .id(node.id())
+                    .i18nKey(node.translationKey())
+                    .label(labelsMap.getOrDefault(locale, node.translationKey()))
+                    .labels(labelsMap)  // ✅ FIX #21: Dynamic labels map (shared, read-only)
                     // ✅ Keep deprecated fields for backward compatibility
                     .labelUz(labelsMap.get("uz-UZ"))
                     .labelOz(labelsMap.get("oz-UZ"))
                     .labelRu(labelsMap.get("ru-RU"))
                     .labelEn(labelsMap.get("en-US"))
-                    .url(item.getUrl())
-                    .icon(item.getIcon())
-                    .permission(item.getPermission())
-                    .active(item.getActive())
-                    .order(item.getOrder())
+                    .url(node.url())
+                    .icon(node.icon())
+                    .permission(node.permission())
+                    .active(node.active())
+                    .order(node.order())
                     .build();
 
-                // Filter children recursively (reuse cache!)
-                if (item.getItems() != null && !item.getItems().isEmpty()) {
-                    List<MenuItem> filteredChildren = filterMenuByPermissionsWithCache(
-                        item.getItems(),
-                        permissions,
-                        locale,
-                        translations  // ✅ Pass cache down
-                    );
-                    filteredItem.setItems(filteredChildren);
+                // Filter children recursively
+                if (!node.children().isEmpty()) {
+                    filteredItem.setItems(filterMenuByPermissions(node.children(), permissions, locale));
                 }
 
                 // ✅ FIX: Drop parent if no URL and no visible children (empty accordion)
@@ -234,180 +374,166 @@ public class MenuService {
         return filtered;
     }
 
+    // =====================================================
+    // Menu Tree Snapshot (DB-driven, rebuilt on version change)
+    // =====================================================
+
     /**
-     * Check if user has permission (with wildcard support)
+     * Current menu tree snapshot (rebuilt if the menu or i18n version changed)
+     *
+     * <p>Versions come from the CacheVersionService local table (memory read, kept
+     * current by Pub/Sub), so the check costs two map lookups. One thread rebuilds,
+     * concurrent requests wait and share the result.</p>
+     *
+     * <p>If versions cannot be read (Redis down before first use), the existing
+     * snapshot is served; without one, a snapshot is built and replaced as soon as
+     * versions are readable again.</p>
+     *
+     * <p>On an i18n version change this pod's L1 copies of the translation maps are
+     * dropped before the rebuild: the version message and the L1 invalidation travel
+     * on different channels, so the old labels may still be in L1 here. Reading them
+     * from L2 (cleared before the bump was published) keeps stale labels from being
+     * pinned to the new version.</p>
      */
-    private boolean hasPermission(String required, List<String> userPermissions) {
-        if (required == null || required.isEmpty()) {
-            return true;
-        }
-
-        // Super admin
-        if (userPermissions.contains("*")) {
-            return true;
+    MenuTreeSnapshot currentSnapshot() {
+        long menuVersion;
+        long i18nVersion;
+        try {
+            menuVersion = cacheVersionService.getLocalVersion(MENU_NAMESPACE);
+            i18nVersion = cacheVersionService.getLocalVersion(I18N_NAMESPACE);
+        } catch (RuntimeException e) {
+            MenuTreeSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            log.warn("⚠️ Menu/i18n version unavailable ({}) - building unversioned menu snapshot", e.getMessage());
+            menuVersion = UNVERSIONED;
+            i18nVersion = UNVERSIONED;
         }
 
-        // Exact match
-        if (userPermissions.contains(required)) {
-            return true;
+        MenuTreeSnapshot current = snapshot;
+        if (current != null && current.isVersion(menuVersion, i18nVersion)) {
+            return current;
         }
-
-        // Wildcard pattern
-        for (String permission : userPermissions) {
-            if (permission.endsWith(".*")) {
-                String prefix = permission.substring(0, permission.length() - 2);
-                if (required.startsWith(prefix + ".")) {
-                    return true;
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current == null || !current.isVersion(menuVersion, i18nVersion)) {
+                if (current != null && current.i18nVersion() != i18nVersion) {
+                    evictLocalTranslations();
                 }
+                current = loadSnapshotFromDatabase(menuVersion, i18nVersion);
+                snapshot = current;
             }
+            return current;
         }
-
-        return false;
     }
 
-    /**
-     * Sort menu items by order field (recursive)
-     */
-    private void sortMenuItems(List<MenuItem> items) {
-        items.sort(Comparator.comparing(
-            MenuItem::getOrder,
-            Comparator.nullsLast(Comparator.naturalOrder())
-        ));
-
-        // Sort children
-        for (MenuItem item : items) {
-            if (item.getItems() != null && !item.getItems().isEmpty()) {
-                sortMenuItems(item.getItems());
-            }
+    private void evictLocalTranslations() {
+        if (cacheManager.getCache(I18N_NAMESPACE) instanceof TwoLevelCache i18nCache) {
+            i18nCache.evictLocalByPrefix("messages:");
         }
     }
 
-    // =====================================================
-    // Database-Driven Menu Loading (NEW v2.0)
-    // =====================================================
-
     /**
-     * Load menu structure from database - PERFORMANCE OPTIMIZED
+     * Load menu tree snapshot from database - PERFORMANCE OPTIMIZED
      *
      * <p><strong>NEW - DATABASE-DRIVEN with EAGER FETCH:</strong></p>
      * <ul>
-     *   <li>✅ Uses eager loading (1-2 queries instead of N+1)</li>
-     *   <li>✅ Loads entire menu tree efficiently</li>
-     *   <li>✅ Converts Menu entity → MenuItem DTO</li>
+     *   <li>✅ Loads ALL active menus in 1 query</li>
+     *   <li>✅ Builds hierarchy in memory, sorted by order number</li>
+     *   <li>✅ Resolves labels for all supported languages once
+     *       (i18nService.getAllMessages() - already cached, 1 lookup per language)</li>
      * </ul>
      *
-     * <p><strong>Performance:</strong></p>
-     * <ul>
-     *   <li>Before: 178 menus = 178+ queries ❌</li>
-     *   <li>After: 1-2 queries total ✅</li>
-     *   <li>Speedup: 100x faster! ⚡</li>
-     * </ul>
+     * <p><strong>Called:</strong> only when the menu or i18n version changed, not per user
+     * or per cache miss.</p>
      *
-     * @return List of root menu items with children
+     * @return Immutable menu tree for the given versions
      */
-    @Transactional(readOnly = true)
-    protected List<MenuItem> loadMenuStructureFromDatabase() {
-        log.debug("Loading menu structure from database (eager fetch)");
+    private MenuTreeSnapshot loadSnapshotFromDatabase(long menuVersion, long i18nVersion) {
+        long start = System.currentTimeMillis();
 
         // ✅ OPTIMIZATION: Load ALL active menus in 1 query
         List<Menu> allMenus = menuRepository.findAllActive();
 
-        // Build hierarchical structure in memory (no DB queries!)
-        Map<UUID, List<Menu>> childrenMap = new HashMap<>();
-        List<Menu> rootMenus = new ArrayList<>();
-
-        // Single pass: separate roots from children
-        for (Menu menu : allMenus) {
-            if (menu.getParentId() == null) {
-                rootMenus.add(menu);
-            } else {
-                childrenMap.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>())
-                    .add(menu);
-            }
+        // ✅ FIX #17: Load FULL translation maps for ALL supported languages (from config)
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        for (String locale : languageProperties.getSupported()) {
+            translations.put(locale, i18nService.getAllMessages(locale));
         }
 
-        // Sort children by orderNumber
-        childrenMap.values().forEach(children ->
-            children.sort(Comparator.comparing(Menu::getOrderNumber,
-                Comparator.nullsLast(Comparator.naturalOrder()))));
-
-        // Sort roots
-        rootMenus.sort(Comparator.comparing(Menu::getOrderNumber,
-            Comparator.nullsLast(Comparator.naturalOrder())));
-
-        // Convert to DTOs with in-memory hierarchy
-        List<MenuItem> menuItems = rootMenus.stream()
-            .map(menu -> convertToMenuItemWithChildren(menu, childrenMap))
-            .collect(Collectors.toList());
-
-        log.debug("✅ Loaded {} root menus from database (1 query, {} total items)",
-            menuItems.size(), allMenus.size());
-        return menuItems;
+        MenuTreeSnapshot built = MenuTreeSnapshot.build(menuVersion, i18nVersion, allMenus, translations);
+        log.info("🌳 Menu snapshot built: menu v{}, i18n v{}, {} root menus, {} items, {} languages ({}ms)",
+            menuVersion, i18nVersion, built.roots().size(), built.itemCount(), translations.size(),
+            System.currentTimeMillis() - start);
+        return built;
     }
 
     /**
-     * Convert Menu entity to MenuItem DTO (in-memory hierarchy, no DB queries!)
+     * Invalidate menu cache (called after menu CRUD operations)
      *
-     * <p><strong>Performance Optimized:</strong></p>
+     * <p><strong>Cache Invalidation Strategy:</strong></p>
      * <ul>
-     *   <li>✅ Uses pre-loaded childrenMap (no DB queries)</li>
-     *   <li>✅ Recursively builds tree from memory</li>
-     *   <li>✅ 100x faster than DB-recursive approach</li>
+     *   <li>Clear "menu" cache (L1 + L2) → keyed invalidation clears L1 on other pods</li>
+     *   <li>Increment cache version (menu:version) and publish version event - after commit</li>
+     *   <li>Next request: every pod rebuilds its menu snapshot once from the database</li>
      * </ul>
      *
-     * @param menu Menu entity
-     * @param childrenMap Pre-loaded map of parentId → children
-     * @return MenuItem DTO with children loaded
+     * <p><strong>Called By:</strong></p>
+     * <ul>
+     *   <li>MenuAdminService.clearCache / importMenuStructure</li>
+     * </ul>
      */
-    private MenuItem convertToMenuItemWithChildren(Menu menu, Map<UUID, List<Menu>> childrenMap) {
-        // Convert entity to DTO
-        MenuItem menuItem = MenuItem.builder()
-            .id(menu.getCode())
-            .i18nKey(menu.getI18nKey())
-            .label(menu.getI18nKey())  // Temporary, will be replaced by filtering
-            .url(menu.getUrl())
-            .icon(menu.getIcon())
-            .permission(menu.getPermission())
-            .active(menu.getActive())
-            .order(menu.getOrderNumber())
-            .build();
+    public void invalidateMenuCache() {
+        log.info("🗑️  Invalidating menu cache (all users, all locales)");
 
-        // ✅ FAST: Get children from pre-loaded map (O(1) lookup, no DB!)
-        List<Menu> childEntities = childrenMap.getOrDefault(menu.getId(), Collections.emptyList());
-        if (!childEntities.isEmpty()) {
-            List<MenuItem> children = childEntities.stream()
-                .map(child -> convertToMenuItemWithChildren(child, childrenMap))  // Recursive in-memory
-                .collect(Collectors.toList());
-            menuItem.setItems(children);
+        // Structure changed → every user's menu is affected (L1 on other pods via keyed invalidation)
+        org.springframework.cache.Cache menuCache = cacheManager.getCache("menu");
+        if (menuCache != null) {
+            menuCache.clear();
         }
 
-        return menuItem;
+        // Increment version and publish event → snapshot rebuild on all pods
+        publishMenuVersion();
     }
 
     /**
-     * Invalidate menu cache (called after menu CRUD operations)
+     * Invalidate rendered menus after a menu item changed (create/update/delete/toggle/reorder)
      *
-     * <p><strong>Cache Invalidation Strategy:</strong></p>
-     * <ul>
-     *   <li>Increment cache version (menu:version)</li>
-     *   <li>Publish Redis Pub/Sub event</li>
-     *   <li>All pods receive event → clear L1 Caffeine cache</li>
-     *   <li>Next request: cache miss → reload from database</li>
-     * </ul>
+     * <p>Rendered menus are filtered from the snapshot and keyed by its version, so the
+     * version bump alone retires every affected entry: the next request on each pod
+     * rebuilds the snapshot once and re-filters under the new key. Entries under the
+     * old key are never read again and expire by TTL, so no eviction is needed.</p>
      *
-     * <p><strong>Called By:</strong></p>
-     * <ul>
-     *   <li>MenuAdminService.create/update/delete/reorder</li>
-     *   <li>MenuAdminController.clearCache (manual)</li>
-     * </ul>
+     * <p><strong>Called By:</strong> MenuAdminService.create/update/delete/toggle/reorder</p>
      */
-    public void invalidateMenuCache() {
-        log.info("🗑️  Invalidating menu cache (all users, all locales)");
+    public void invalidateMenuSnapshot() {
+        log.info("🗑️  Menu item changed - bumping menu version");
+        publishMenuVersion();
+    }
 
-        // Increment version and publish event
-        long newVersion = cacheVersionService.incrementVersionAndPublish("menu");
+    /**
+     * Increment menu version and publish it (after commit inside a transaction)
+     *
+     * <p>The bump triggers the snapshot rebuild on every pod; publishing before commit
+     * would let a pod rebuild from the old rows and label them with the new version.</p>
+     */
+    private void publishMenuVersion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementMenuVersion();
+                }
+            });
+            return;
+        }
+        incrementMenuVersion();
+    }
 
-        log.info("✅ Menu cache invalidated: v{} → All pods will clear L1 cache", newVersion);
+    private void incrementMenuVersion() {
+        long newVersion = cacheVersionService.incrementVersionAndPublish(MENU_NAMESPACE);
+        log.info("✅ Menu version bumped: v{} → All pods rebuild menu snapshot", newVersion);
     }
 
     /**
@@ -416,6 +542,6 @@ public class MenuService {
      * @return Current cache version number
      */
     public long getMenuCacheVersion() {
-        return cacheVersionService.getCurrentVersion("menu");
+        return cacheVersionService.getCurrentVersion(MENU_NAMESPACE);
     }
 }
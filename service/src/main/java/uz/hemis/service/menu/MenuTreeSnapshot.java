@@ -0,0 +1,143 @@
+package uz.hemis.service.menu;
+
+import uz.hemis.domain.entity.Menu;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable in-memory menu tree (one per pod)
+ *
+ * <p>Active menus, pre-sorted by order number, with labels for every supported
+ * locale resolved once. Per-user menus are a pure filter over this tree - no DB
+ * query and no translation lookup per build.</p>
+ *
+ * <p><strong>Versioning:</strong></p>
+ * <ul>
+ *   <li>Built for a ("menu", "i18n") CacheVersionService version pair</li>
+ *   <li>MenuAdminService changes bump "menu", translation changes bump "i18n"
+ *       (Pub/Sub → local version table on every pod)</li>
+ *   <li>MenuService rebuilds the snapshot on the first request that sees a newer pair</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+final class MenuTreeSnapshot {
+
+    private static final Comparator<Menu> BY_ORDER =
+        Comparator.comparing(Menu::getOrderNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * One menu entry
+     *
+     * @param translationKey i18n key (also the fallback label)
+     * @param labels         locale → label (unmodifiable, shared by every built menu)
+     * @param children       Sorted children (unmodifiable)
+     */
+    record Node(
+        String id,
+        String translationKey,
+        Map<String, String> labels,
+        String url,
+        String icon,
+        String permission,
+        Boolean active,
+        Integer order,
+        List<Node> children
+    ) {
+    }
+
+    private final long menuVersion;
+    private final long i18nVersion;
+    private final List<Node> roots;
+    private final int itemCount;
+    private final Instant builtAt = Instant.now();
+
+    private MenuTreeSnapshot(long menuVersion, long i18nVersion, List<Node> roots, int itemCount) {
+        this.menuVersion = menuVersion;
+        this.i18nVersion = i18nVersion;
+        this.roots = roots;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Build tree from active menu rows and full translation maps
+     *
+     * @param menus        Active menus (any order)
+     * @param translations locale → (i18n key → label)
+     */
+    static MenuTreeSnapshot build(long menuVersion, long i18nVersion, List<Menu> menus,
+                                  Map<String, Map<String, String>> translations) {
+        Map<UUID, List<Menu>> childrenMap = new HashMap<>();
+        List<Menu> rootMenus = new ArrayList<>();
+        for (Menu menu : menus) {
+            if (menu.getParentId() == null) {
+                rootMenus.add(menu);
+            } else {
+                childrenMap.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>()).add(menu);
+            }
+        }
+        return new MenuTreeSnapshot(menuVersion, i18nVersion,
+            toNodes(rootMenus, childrenMap, translations), menus.size());
+    }
+
+    private static List<Node> toNodes(List<Menu> menus, Map<UUID, List<Menu>> childrenMap,
+                                      Map<String, Map<String, String>> translations) {
+        List<Menu> sorted = new ArrayList<>(menus);
+        sorted.sort(BY_ORDER);
+
+        List<Node> nodes = new ArrayList<>(sorted.size());
+        for (Menu menu : sorted) {
+            String translationKey = menu.getI18nKey();
+            Map<String, String> labels = new HashMap<>();
+            translations.forEach((locale, messages) ->
+                labels.put(locale, translationKey != null
+                    ? messages.getOrDefault(translationKey, translationKey)
+                    : null));
+
+            List<Menu> children = childrenMap.getOrDefault(menu.getId(), Collections.emptyList());
+            nodes.add(new Node(
+                menu.getCode(),
+                translationKey,
+                Collections.unmodifiableMap(labels),
+                menu.getUrl(),
+                menu.getIcon(),
+                menu.getPermission(),
+                menu.getActive(),
+                menu.getOrderNumber(),
+                children.isEmpty() ? List.of() : toNodes(children, childrenMap, translations)
+            ));
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    boolean isVersion(long menuVersion, long i18nVersion) {
+        return this.menuVersion == menuVersion && this.i18nVersion == i18nVersion;
+    }
+
+    List<Node> roots() {
+        return roots;
+    }
+
+    int itemCount() {
+        return itemCount;
+    }
+
+    long menuVersion() {
+        return menuVersion;
+    }
+
+    long i18nVersion() {
+        return i18nVersion;
+    }
+
+    Instant builtAt() {
+        return builtAt;
+    }
+}
@@ -24,6 +24,16 @@ public class PermissionService {
 
     private final UserRepository userRepository;
 
+    /**
+     * Role codes + effective permission codes of a user (one eager-fetch query)
+     *
+     * @param roleCodes   Role codes (menu cache tags role:{code})
+     * @param permissions Permission codes from all roles, sorted
+     * @param matcher     Compiled permissions (menu filter, path checks)
+     */
+    public record UserAccess(List<String> roleCodes, List<String> permissions, PermissionMatcher matcher) {
+    }
+
     /**
      * Check if user (by username) can access specific path
      * (Convenience method for controllers)
@@ -48,16 +58,33 @@ public class PermissionService {
      * </ul>
      */
     public List<String> getUserPermissions(UUID userId) {
+        return getUserAccess(userId).permissions();
+    }
+
+    /**
+     * Get role codes and permissions for a user in one query
+     *
+     * <p>Used by MenuService: permissions filter the menu, role codes tag the cached
+     * menu so a role permission change evicts only that role's users.</p>
+     */
+    public UserAccess getUserAccess(UUID userId) {
         // ✅ FIX: Use eager fetch to avoid N+1 queries
         Optional<User> userOpt = userRepository.findByIdWithPermissions(userId);
 
         if (userOpt.isEmpty()) {
             log.warn("User not found: {}", userId);
-            return Collections.emptyList();
+            return new UserAccess(Collections.emptyList(), Collections.emptyList(),
+                PermissionMatcher.compile(Collections.emptyList()));
         }
 
         User user = userOpt.get();
 
+        List<String> roleCodes = user.getRoles().stream()
+            .map(Role::getCode)
+            .filter(Objects::nonNull)
+            .sorted()
+            .collect(Collectors.toList());
+
         // ✅ OPTIMIZED: Permissions already loaded via join fetch (no lazy loading!)
         Set<Permission> allPermissions = user.getAllPermissions();
 
@@ -68,15 +95,14 @@ public class PermissionService {
 
         log.debug("✅ Loaded {} permissions for user {} (eager fetch, 1 query)",
             permissionCodes.size(), userId);
-        return permissionCodes;
+        return new UserAccess(roleCodes, permissionCodes, PermissionMatcher.compile(permissionCodes));
     }
 
     /**
      * Check if user has specific permission
      */
     public boolean hasPermission(UUID userId, String permissionCode) {
-        List<String> permissions = getUserPermissions(userId);
-        return hasPermissionInternal(permissionCode, permissions);
+        return getUserAccess(userId).matcher().matches(permissionCode);
     }
 
     /**
@@ -96,35 +122,4 @@ public class PermissionService {
 
         return hasPermission(userId, permission);
     }
-
-    /**
-     * Check if user has permission (with wildcard support)
-     */
-    private boolean hasPermissionInternal(String required, List<String> userPermissions) {
-        if (required == null || required.isEmpty()) {
-            return true; // No permission required
-        }
-
-        // Super admin wildcard
-        if (userPermissions.contains("*")) {
-            return true;
-        }
-
-        // Exact match
-        if (userPermissions.contains(required)) {
-            return true;
-        }
-
-        // Wildcard pattern matching
-        for (String permission : userPermissions) {
-            if (permission.endsWith(".*")) {
-                String prefix = permission.substring(0, permission.length() - 2);
-                if (required.startsWith(prefix + ".")) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
 }
@@ -94,7 +94,7 @@ public class UniversityRegistryService {
                 .orElse(null);
     }
 
-    @Cacheable(value = "universityDictionaries", key = "'all'", unless = "#result == null")
+    @Cacheable(value = "universityDictionaries", key = "'all'", sync = true)
     public Map<String, Object> getDictionaries() {
         log.debug("Getting dictionaries for university filters");
         Map<String, Object> dictionaries = new HashMap<>();
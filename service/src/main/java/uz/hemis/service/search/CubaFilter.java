@@ -0,0 +1,234 @@
+package uz.hemis.service.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uz.hemis.common.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CUBA REST v2 entity search filter (parsed)
+ *
+ * <p>Legacy clients send the filter of {@code /app/rest/v2/entities/{entity}/search}
+ * as JSON - URL-encoded in the {@code filter} parameter (GET) or in the body (POST):</p>
+ * <pre>
+ * {"conditions": [
+ *     {"property": "university", "operator": "=", "value": "520"},
+ *     {"group": "OR", "conditions": [
+ *         {"property": "lastname", "operator": "startsWith", "value": "ALI"},
+ *         {"property": "studentStatus", "operator": "in", "value": ["11", "13"]}
+ *     ]}
+ * ]}
+ * </pre>
+ *
+ * <p>Top-level conditions are combined with AND. The tree is size-limited
+ * ({@value #MAX_CONDITIONS} conditions, depth {@value #MAX_DEPTH},
+ * {@value #MAX_IN_VALUES} values per {@code in}) so a client cannot build an
+ * arbitrarily large query. Malformed filters → {@link BadRequestException} (400).</p>
+ *
+ * <p>Compiled to a JPA Specification by {@link CubaFilterSpecification}.</p>
+ *
+ * @since 2.0.0
+ */
+public final class CubaFilter {
+
+    static final int MAX_CONDITIONS = 50;
+    static final int MAX_DEPTH = 5;
+    static final int MAX_IN_VALUES = 1000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Filter without conditions (matches all rows) */
+    public static final CubaFilter EMPTY = new CubaFilter(new Group(GroupType.AND, List.of()));
+
+    private final Group root;
+
+    private CubaFilter(Group root) {
+        this.root = root;
+    }
+
+    public Group getRoot() {
+        return root;
+    }
+
+    public boolean isEmpty() {
+        return root.conditions().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    // =====================================================
+    // Tree
+    // =====================================================
+
+    /**
+     * Filter node - a condition or a group of nodes
+     */
+    public sealed interface Node permits Condition, Group {
+    }
+
+    /**
+     * Single {@code property operator value} condition
+     *
+     * @param value String / number / boolean, a list for {@code in} / {@code notIn}, null for unary operators
+     */
+    public record Condition(String property, Operator operator, Object value) implements Node {
+    }
+
+    public record Group(GroupType type, List<Node> conditions) implements Node {
+    }
+
+    public enum GroupType {
+        AND, OR
+    }
+
+    /**
+     * CUBA REST v2 condition operators
+     */
+    public enum Operator {
+        EQUAL("="),
+        NOT_EQUAL("<>"),
+        GREATER(">"),
+        GREATER_OR_EQUAL(">="),
+        LESS("<"),
+        LESS_OR_EQUAL("<="),
+        STARTS_WITH("startsWith"),
+        ENDS_WITH("endsWith"),
+        CONTAINS("contains"),
+        DOES_NOT_CONTAIN("doesNotContain"),
+        IN("in"),
+        NOT_IN("notIn"),
+        IS_NULL("isNull"),
+        NOT_EMPTY("notEmpty");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /** Operators without a value */
+        boolean isUnary() {
+            return this == IS_NULL || this == NOT_EMPTY;
+        }
+
+        boolean isCollection() {
+            return this == IN || this == NOT_IN;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new BadRequestException("Unsupported filter operator: " + symbol);
+        }
+    }
+
+    // =====================================================
+    // Parsing
+    // =====================================================
+
+    /**
+     * Parse filter JSON (GET {@code filter} parameter); blank → {@link #EMPTY}
+     */
+    public static CubaFilter parse(String json) {
+        if (json == null || json.isBlank()) {
+            return EMPTY;
+        }
+        try {
+            return parse(MAPPER.readValue(json, Map.class));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid filter JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Parse an already deserialized filter object ({@code {"conditions": [...]}}); null → {@link #EMPTY}
+     */
+    public static CubaFilter parse(Map<?, ?> filter) {
+        if (filter == null) {
+            return EMPTY;
+        }
+        int[] count = {0};
+        return new CubaFilter(group(GroupType.AND, filter.get("conditions"), 1, count));
+    }
+
+    private static Group group(GroupType type, Object conditions, int depth, int[] count) {
+        if (depth > MAX_DEPTH) {
+            throw new BadRequestException("Filter groups nested deeper than " + MAX_DEPTH);
+        }
+        if (conditions == null) {
+            return new Group(type, List.of());
+        }
+        if (!(conditions instanceof List<?> list)) {
+            throw new BadRequestException("Filter 'conditions' must be an array");
+        }
+        List<Node> nodes = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> node)) {
+                throw new BadRequestException("Filter condition must be an object");
+            }
+            if (++count[0] > MAX_CONDITIONS) {
+                throw new BadRequestException("Filter has more than " + MAX_CONDITIONS + " conditions");
+            }
+            nodes.add(node.containsKey("group")
+                    ? group(groupType(node.get("group")), node.get("conditions"), depth + 1, count)
+                    : condition(node));
+        }
+        return new Group(type, nodes);
+    }
+
+    private static GroupType groupType(Object value) {
+        if ("AND".equalsIgnoreCase(String.valueOf(value))) {
+            return GroupType.AND;
+        }
+        if ("OR".equalsIgnoreCase(String.valueOf(value))) {
+            return GroupType.OR;
+        }
+        throw new BadRequestException("Unsupported filter group: " + value);
+    }
+
+    private static Condition condition(Map<?, ?> node) {
+        Object property = node.get("property");
+        if (!(property instanceof String name) || name.isBlank()) {
+            throw new BadRequestException("Filter condition without 'property'");
+        }
+        Operator operator = Operator.of(String.valueOf(node.get("operator")));
+        Object value = node.get("value");
+
+        if (operator.isUnary()) {
+            return new Condition(name, operator, null);
+        }
+        if (value == null) {
+            throw new BadRequestException("Filter condition on '" + name + "' without 'value'");
+        }
+        if (operator.isCollection()) {
+            if (!(value instanceof Collection<?> values) || values.isEmpty()) {
+                throw new BadRequestException("Operator '" + operator.getSymbol() + "' on '" + name
+                        + "' needs a non-empty array value");
+            }
+            if (values.size() > MAX_IN_VALUES) {
+                throw new BadRequestException("Operator '" + operator.getSymbol() + "' on '" + name
+                        + "' has more than " + MAX_IN_VALUES + " values");
+            }
+            return new Condition(name, operator, new ArrayList<>(values));
+        }
+        if (value instanceof Collection<?> || value instanceof Map<?, ?>) {
+            throw new BadRequestException("Operator '" + operator.getSymbol() + "' on '" + name
+                    + "' needs a single value");
+        }
+        return new Condition(name, operator, value);
+    }
+}
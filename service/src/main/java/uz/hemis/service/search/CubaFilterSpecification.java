@@ -0,0 +1,190 @@
+package uz.hemis.service.search;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import uz.hemis.common.exception.BadRequestException;
+import uz.hemis.service.search.CubaFilter.Condition;
+import uz.hemis.service.search.CubaFilter.Group;
+import uz.hemis.service.search.CubaFilter.Node;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compiles a {@link CubaFilter} into a JPA {@link Specification}
+ *
+ * <p>Every condition becomes a criteria predicate with bound parameters - filter values
+ * never reach the SQL text, and equality / range / {@code startsWith} conditions on
+ * indexed columns ({@code code}, {@code pinfl}, {@code _university}, ...) are answered
+ * from the index instead of a table scan.</p>
+ *
+ * <p><strong>Semantics:</strong></p>
+ * <ul>
+ *   <li>Property = entity attribute name ({@code university}, {@code studentStatus}, {@code createTs});
+ *       CUBA reference paths {@code university.code} / {@code student.id} resolve to the
+ *       code / UUID column the entity stores</li>
+ *   <li>Values are converted to the attribute type (UUID, numbers, boolean, ISO dates)</li>
+ *   <li>{@code startsWith} is case-sensitive (index prefix scan); {@code contains},
+ *       {@code endsWith}, {@code doesNotContain} are case-insensitive</li>
+ *   <li>Unknown property or unconvertible value → {@link BadRequestException} (400)</li>
+ * </ul>
+ *
+ * <p>Soft-deleted rows stay excluded by the entity's {@code @Where(delete_ts IS NULL)}.</p>
+ *
+ * @since 2.0.0
+ */
+public final class CubaFilterSpecification {
+
+    // Trailing path segments that address the key of a reference stored as a plain column
+    private static final Set<String> REFERENCE_KEYS = Set.of("id", "code");
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CubaFilterSpecification() {
+    }
+
+    public static <T> Specification<T> of(CubaFilter filter) {
+        return (root, query, cb) -> filter.isEmpty() ? cb.conjunction() : group(filter.getRoot(), root, cb);
+    }
+
+    private static Predicate node(Node node, Root<?> root, CriteriaBuilder cb) {
+        return switch (node) {
+            case Group group -> group(group, root, cb);
+            case Condition condition -> condition(condition, root, cb);
+        };
+    }
+
+    private static Predicate group(Group group, Root<?> root, CriteriaBuilder cb) {
+        Predicate[] predicates = group.conditions().stream()
+                .map(node -> node(node, root, cb))
+                .toArray(Predicate[]::new);
+        return group.type() == CubaFilter.GroupType.OR ? cb.or(predicates) : cb.and(predicates);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate condition(Condition condition, Root<?> root, CriteriaBuilder cb) {
+        Path<?> path = path(root, condition.property());
+        Class<?> type = path.getJavaType();
+
+        return switch (condition.operator()) {
+            case IS_NULL -> cb.isNull(path);
+            case NOT_EMPTY -> cb.isNotNull(path);
+            case EQUAL -> cb.equal(path, convert(condition, type, condition.value()));
+            case NOT_EQUAL -> cb.notEqual(path, convert(condition, type, condition.value()));
+            case GREATER -> cb.greaterThan((Expression<Comparable>) path, comparable(condition, type));
+            case GREATER_OR_EQUAL -> cb.greaterThanOrEqualTo((Expression<Comparable>) path, comparable(condition, type));
+            case LESS -> cb.lessThan((Expression<Comparable>) path, comparable(condition, type));
+            case LESS_OR_EQUAL -> cb.lessThanOrEqualTo((Expression<Comparable>) path, comparable(condition, type));
+            case STARTS_WITH -> cb.like(string(condition, path), escape(text(condition)) + "%", LIKE_ESCAPE);
+            case ENDS_WITH -> cb.like(cb.lower(string(condition, path)),
+                    "%" + escape(text(condition).toLowerCase()), LIKE_ESCAPE);
+            case CONTAINS -> cb.like(cb.lower(string(condition, path)),
+                    "%" + escape(text(condition).toLowerCase()) + "%", LIKE_ESCAPE);
+            case DOES_NOT_CONTAIN -> cb.notLike(cb.lower(string(condition, path)),
+                    "%" + escape(text(condition).toLowerCase()) + "%", LIKE_ESCAPE);
+            case IN -> path.in(values(condition, type));
+            case NOT_IN -> cb.not(path.in(values(condition, type)));
+        };
+    }
+
+    /**
+     * Resolve a dotted property path; {@code university.code} on a String column
+     * {@code university} resolves to the column itself
+     */
+    private static Path<?> path(Root<?> root, String property) {
+        Path<?> path = root;
+        String[] segments = property.split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (i > 0 && i == segments.length - 1 && REFERENCE_KEYS.contains(segment) && isKeyType(path.getJavaType())) {
+                break;
+            }
+            try {
+                path = path.get(segment);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new BadRequestException("Unknown filter property: " + property);
+            }
+        }
+        return path;
+    }
+
+    private static boolean isKeyType(Class<?> type) {
+        return type == String.class || type == UUID.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<String> string(Condition condition, Path<?> path) {
+        if (path.getJavaType() != String.class) {
+            throw new BadRequestException("Operator '" + condition.operator().getSymbol()
+                    + "' needs a text property: " + condition.property());
+        }
+        return (Expression<String>) path;
+    }
+
+    private static String text(Condition condition) {
+        return String.valueOf(condition.value());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable comparable(Condition condition, Class<?> type) {
+        if (!(convert(condition, type, condition.value()) instanceof Comparable comparable)) {
+            throw new BadRequestException("Operator '" + condition.operator().getSymbol()
+                    + "' is not supported on property: " + condition.property());
+        }
+        return comparable;
+    }
+
+    private static List<Object> values(Condition condition, Class<?> type) {
+        Collection<?> raw = (Collection<?>) condition.value();
+        List<Object> values = new ArrayList<>(raw.size());
+        for (Object value : raw) {
+            values.add(convert(condition, type, value));
+        }
+        return values;
+    }
+
+    /**
+     * Convert a JSON value (String / Number / Boolean) to the attribute type
+     */
+    static Object convert(Condition condition, Class<?> type, Object value) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        String text = String.valueOf(value).trim();
+        try {
+            if (type == LocalDate.class) {
+                // CUBA sends dates as "2024-09-01" or "2024-09-01 00:00:00.000"
+                return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+            }
+            if (type == LocalDateTime.class) {
+                return text.length() == 10
+                        ? LocalDate.parse(text).atStartOfDay()
+                        : LocalDateTime.parse(text.replace(' ', 'T'));
+            }
+            Object converted = DefaultConversionService.getSharedInstance().convert(text, type);
+            if (converted == null) {
+                throw new BadRequestException("Empty filter value for property: " + condition.property());
+            }
+            return converted;
+        } catch (ConversionException | DateTimeParseException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid filter value '" + text + "' for property: "
+                    + condition.property(), e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package uz.hemis.service.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.mapping.PropertyReferenceException;
+import uz.hemis.common.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CUBA REST v2 {@code /search} request - filter plus mandatory paging and sort
+ *
+ * <p>Search never reads a whole table: limit defaults to {@value #DEFAULT_LIMIT} and is
+ * capped at {@value #MAX_LIMIT}; the result is always ordered by {@code id} last so
+ * offset paging is stable. The offset is exact (not rounded to a page) and the total
+ * is counted only when the client asks for it ({@code returnCount}).</p>
+ *
+ * <p><strong>Sort (CUBA syntax):</strong> {@code lastname} ascending, {@code -createTs}
+ * descending, several properties comma-separated. {@code lastname,DESC} (the
+ * {@code GET /entities} form) is accepted too. {@code id} ascending is appended unless
+ * the client already sorts by it - a non-unique column alone would let rows with equal
+ * values skip or repeat between pages.</p>
+ *
+ * @since 2.0.0
+ */
+public record CubaSearchRequest(CubaFilter filter, int limit, int offset, Sort sort) {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 1000;
+
+    private static final String ID = "id";
+    private static final Sort DEFAULT_SORT = Sort.by(ID);
+
+    /**
+     * GET search: filter JSON and paging from request parameters
+     */
+    public static CubaSearchRequest of(String filter, Integer limit, Integer offset, String sort) {
+        return new CubaSearchRequest(CubaFilter.parse(filter), limit(limit), offset(offset), sort(sort));
+    }
+
+    /**
+     * POST search: body is either the filter itself ({@code {"conditions": [...]}}) or
+     * {@code {"filter": {...}, "limit": .., "offset": .., "sort": ..}}; body paging wins
+     * over request parameters
+     */
+    public static CubaSearchRequest of(Map<String, Object> body, Integer limit, Integer offset, String sort) {
+        if (body == null || !body.containsKey("filter")) {
+            return new CubaSearchRequest(CubaFilter.parse(body), limit(limit), offset(offset), sort(sort));
+        }
+        Object filter = body.get("filter");
+        CubaFilter parsed = filter instanceof Map<?, ?> map
+                ? CubaFilter.parse(map)
+                : CubaFilter.parse(filter != null ? filter.toString() : null);
+        return new CubaSearchRequest(parsed,
+                limit(integer(body.get("limit"), limit)),
+                offset(integer(body.get("offset"), offset)),
+                sort(body.get("sort") != null ? body.get("sort").toString() : sort));
+    }
+
+    /**
+     * Exact offset + limit (offset is not rounded down to a multiple of limit)
+     */
+    public Pageable pageable() {
+        return new OffsetPageable(offset, limit, sort);
+    }
+
+    /**
+     * Run the search as one filtered, sorted, limited query - no count query
+     *
+     * <p>Reads {@code limit + 1} rows to tell whether a next slice exists.</p>
+     */
+    public <T> Slice<T> execute(EntityManager entityManager, Class<T> type) {
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> query = cb.createQuery(type);
+            Root<T> root = query.from(type);
+            Predicate predicate = CubaFilterSpecification.<T>of(filter).toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.select(root).orderBy(QueryUtils.toOrders(sort, root, cb));
+
+            List<T> rows = entityManager.createQuery(query)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+            boolean hasNext = rows.size() > limit;
+            return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, pageable(), hasNext);
+        } catch (PropertyReferenceException | InvalidDataAccessApiUsageException | IllegalArgumentException e) {
+            // Unknown sort property
+            throw new BadRequestException("Invalid search request: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Total rows matching the filter ({@code returnCount=true} only)
+     */
+    public <T> long count(JpaSpecificationExecutor<T> repository) {
+        return repository.count(CubaFilterSpecification.of(filter));
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit <= 0) {
+            throw new BadRequestException("limit must be positive: " + limit);
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private static int offset(Integer offset) {
+        if (offset == null) {
+            return 0;
+        }
+        if (offset < 0) {
+            throw new BadRequestException("offset must not be negative: " + offset);
+        }
+        return offset;
+    }
+
+    private static Integer integer(Object value, Integer fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid number: " + value);
+        }
+    }
+
+    static Sort sort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT_SORT;
+        }
+        String[] parts = sort.split(",");
+        if (parts.length == 2 && isDirection(parts[1])) {
+            return withIdTiebreaker(Sort.by(Sort.Direction.fromString(parts[1].trim()), parts[0].trim()));
+        }
+        List<Sort.Order> orders = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            String property = part.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            orders.add(property.startsWith("-")
+                    ? Sort.Order.desc(property.substring(1))
+                    : Sort.Order.asc(property.startsWith("+") ? property.substring(1) : property));
+        }
+        return orders.isEmpty() ? DEFAULT_SORT : withIdTiebreaker(Sort.by(orders));
+    }
+
+    /**
+     * Unique last sort key - rows with equal client sort values keep one order across pages
+     */
+    private static Sort withIdTiebreaker(Sort sort) {
+        return sort.getOrderFor(ID) != null ? sort : sort.and(DEFAULT_SORT);
+    }
+
+    private static boolean isDirection(String value) {
+        return "ASC".equalsIgnoreCase(value.trim()) || "DESC".equalsIgnoreCase(value.trim());
+    }
+}
@@ -0,0 +1,64 @@
+package uz.hemis.service.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable with an exact row offset
+ *
+ * <p>{@code PageRequest} only knows page numbers, so an offset that is not a multiple
+ * of the limit would be rounded down ({@code offset=30, limit=20} → rows 20..39).
+ * CUBA clients send arbitrary offsets and expect rows 30..49.</p>
+ *
+ * @param offset First row (0-based)
+ * @param limit  Maximum rows
+ * @param sort   Order of the rows
+ * @since 2.0.0
+ */
+record OffsetPageable(long offset, int limit, Sort sort) implements Pageable {
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / limit);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageable(offset + limit, limit, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetPageable(Math.max(0, offset - limit), limit, sort);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageable(0, limit, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageable((long) pageNumber * limit, limit, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
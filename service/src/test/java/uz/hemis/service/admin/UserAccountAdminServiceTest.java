@@ -0,0 +1,116 @@
+package uz.hemis.service.admin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import uz.hemis.common.exception.BadRequestException;
+import uz.hemis.domain.entity.User;
+import uz.hemis.domain.event.UserPermissionsChangedEvent;
+import uz.hemis.domain.repository.UserRepository;
+import uz.hemis.service.event.UserPermissionEventPublisher;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserAccountAdminService - every account change publishes the
+ * event that evicts the cached login data
+ *
+ * @since 2.0.0
+ */
+@DisplayName("UserAccountAdminService Tests")
+class UserAccountAdminServiceTest {
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private UserAccountAdminService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        service = new UserAccountAdminService(userRepository, passwordEncoder,
+            new UserPermissionEventPublisher(applicationEventPublisher));
+
+        user = new User();
+        user.setUsername("otm401");
+        user.setPassword("{bcrypt}old");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    }
+
+    private UserPermissionsChangedEvent publishedEvent() {
+        ArgumentCaptor<UserPermissionsChangedEvent> event = ArgumentCaptor.forClass(UserPermissionsChangedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    @Test
+    @DisplayName("Should encode new password and publish PASSWORD_CHANGED")
+    void testChangePassword_Publishes() {
+        // Given
+        when(passwordEncoder.encode("new-secret")).thenReturn("{bcrypt}new");
+
+        // When
+        service.changePassword(userId, "new-secret", "admin");
+
+        // Then
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}new");
+        verify(userRepository).save(user);
+        UserPermissionsChangedEvent event = publishedEvent();
+        assertThat(event.getChangeType()).isEqualTo(UserPermissionsChangedEvent.ChangeType.PASSWORD_CHANGED);
+        assertThat(event.getUsername()).isEqualTo("otm401");
+        assertThat(event.getChangedBy()).isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("Should reject short password without saving or publishing")
+    void testChangePassword_TooShort() {
+        assertThatThrownBy(() -> service.changePassword(userId, "short", "admin"))
+            .isInstanceOf(BadRequestException.class);
+
+        verify(userRepository, never()).save(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should publish USER_DISABLED only when the status changes")
+    void testSetEnabled_PublishesOnChange() {
+        // When
+        service.setEnabled(userId, true, "admin");   // already enabled → no-op
+        service.setEnabled(userId, false, "admin");
+
+        // Then
+        assertThat(user.getEnabled()).isFalse();
+        UserPermissionsChangedEvent event = publishedEvent();
+        assertThat(event.getChangeType()).isEqualTo(UserPermissionsChangedEvent.ChangeType.USER_DISABLED);
+        assertThat(event.getUsername()).isEqualTo("otm401");
+    }
+
+    @Test
+    @DisplayName("Should soft delete and publish USER_DELETED")
+    void testDeleteUser_Publishes() {
+        // When
+        service.deleteUser(userId, "admin");
+
+        // Then
+        assertThat(user.isDeleted()).isTrue();
+        verify(userRepository).save(user);
+        assertThat(publishedEvent().getChangeType()).isEqualTo(UserPermissionsChangedEvent.ChangeType.USER_DELETED);
+    }
+}
@@ -0,0 +1,103 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for keyed cross-pod L1 invalidation (CacheInvalidationListener.apply,
+ * Redis Pub/Sub transport not involved).
+ *
+ * @since 2.0.0
+ */
+@DisplayName("CacheInvalidationListener Tests")
+class CacheInvalidationListenerTest {
+
+    private static final String OTHER_POD = "hemis-pod-2-1a2b3c4d";
+
+    private TwoLevelCache cache;
+    private ConcurrentMapCache l2;
+    private CacheInvalidationPublisher publisher;
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache("menu", true);
+        cache = new TwoLevelCache("menu", Caffeine.newBuilder().maximumSize(100).build(), l2);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.afterPropertiesSet();
+
+        publisher = new CacheInvalidationPublisher(null, new ObjectMapper());
+        listener = new CacheInvalidationListener(null, cacheManager, publisher, new ObjectMapper());
+    }
+
+    private CacheInvalidationMessage message(String origin, long version, List<String> keys) {
+        return CacheInvalidationMessage.builder()
+                .cache("menu")
+                .keys(keys)
+                .version(version)
+                .origin(origin)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should evict only listed keys from L1 and keep L2")
+    void testKeys_EvictOnlyAffectedL1Entries() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        cache.put("u1:uz-UZ", "menu-1");
+        cache.put("u2:uz-UZ", "menu-2");
+        cache.put(userId, "permissions");
+
+        // When - String and UUID keys arrive in string form
+        listener.apply(message(OTHER_POD, 1, List.of("u1:uz-UZ", userId.toString())));
+
+        // Then - L1 lost only the two entries, L2 untouched (served again from Redis)
+        assertThat(cache.estimatedL1Size()).isEqualTo(1);
+        assertThat(l2.get("u1:uz-UZ")).isNotNull();
+        assertThat(cache.get("u2:uz-UZ").get()).isEqualTo("menu-2");
+        assertThat(listener.getStatistics()).containsEntry("keysEvicted", 2L);
+    }
+
+    @Test
+    @DisplayName("Should ignore messages published by this pod")
+    void testOwnOrigin_Ignored() {
+        // Given
+        cache.put("u1:uz-UZ", "menu-1");
+
+        // When
+        listener.apply(message(publisher.getOrigin(), 1, List.of("u1:uz-UZ")));
+
+        // Then
+        assertThat(cache.estimatedL1Size()).isEqualTo(1);
+        assertThat(listener.getStatistics()).containsEntry("ignoredOwn", 1L);
+    }
+
+    @Test
+    @DisplayName("Should clear L1 for the cache when versions from an origin have a gap")
+    void testVersionGap_ClearsLocalL1() {
+        // Given
+        cache.put("u1:uz-UZ", "menu-1");
+        cache.put("u2:uz-UZ", "menu-2");
+        listener.apply(message(OTHER_POD, 1, List.of("unrelated")));
+
+        // When - versions 2..4 were missed
+        listener.apply(message(OTHER_POD, 5, List.of("u1:uz-UZ")));
+
+        // Then
+        assertThat(cache.estimatedL1Size()).isZero();
+        assertThat(l2.get("u2:uz-UZ")).isNotNull();
+        assertThat(listener.getStatistics()).containsEntry("gapsDetected", 1L);
+    }
+}
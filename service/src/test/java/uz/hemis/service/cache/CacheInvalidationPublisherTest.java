@@ -0,0 +1,79 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for invalidation message numbering (Redis replaced with a mock).
+ *
+ * @since 2.0.0
+ */
+@DisplayName("CacheInvalidationPublisher Tests")
+class CacheInvalidationPublisherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RedisTemplate<String, String> redisMessageTemplate;
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisMessageTemplate = mock(RedisTemplate.class);
+        publisher = new CacheInvalidationPublisher(redisMessageTemplate, objectMapper);
+    }
+
+    /**
+     * Publish inside a (simulated) transaction and return its synchronizations
+     */
+    private List<TransactionSynchronization> publishInTransaction(String key) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publishKeys("menu", List.of(key));
+            return new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should number messages when sent, not when the transaction registers them")
+    void testVersion_AssignedAtSend() throws Exception {
+        // Given - A rolls back, B commits after C was published outside a transaction
+        List<TransactionSynchronization> rolledBack = publishInTransaction("a");
+        List<TransactionSynchronization> committed = publishInTransaction("b");
+        publisher.publishKeys("menu", List.of("c"));
+
+        // When
+        rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        committed.forEach(TransactionSynchronization::afterCommit);
+
+        // Then - contiguous versions in send order, no gap for the rolled-back message
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisMessageTemplate, times(2))
+                .convertAndSend(eq(CacheInvalidationPublisher.CHANNEL), json.capture());
+        List<CacheInvalidationMessage> sent = new ArrayList<>();
+        for (String value : json.getAllValues()) {
+            sent.add(objectMapper.readValue(value, CacheInvalidationMessage.class));
+        }
+        assertThat(sent).extracting(CacheInvalidationMessage::getKeys)
+                .containsExactly(List.of("c"), List.of("b"));
+        assertThat(sent).extracting(CacheInvalidationMessage::getVersion)
+                .containsExactly(1L, 2L);
+    }
+}
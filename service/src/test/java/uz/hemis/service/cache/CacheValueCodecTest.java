@@ -0,0 +1,102 @@
+package uz.hemis.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.SerializationException;
+import uz.hemis.service.config.TwoLevelCacheProperties.ValueCodec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CacheValueCodec (Smile + LZ4 L2 values, JSON fallback).
+ *
+ * @since 2.0.0
+ */
+@DisplayName("CacheValueCodec Tests")
+class CacheValueCodecTest {
+
+    private ObjectMapper smileMapper;
+    private SerializationPair<Object> json;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.activateDefaultTyping(
+                objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        smileMapper = CacheValueCodec.smileMapper(objectMapper);
+        json = SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+    }
+
+    private static Map<String, String> translations(int size) {
+        Map<String, String> messages = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            messages.put("menu.students.item" + i, "Talabalar ro'yxati " + i);
+        }
+        return messages;
+    }
+
+    @Test
+    @DisplayName("Should compress large values and read them back")
+    void testBinary_CompressedRoundTrip() {
+        // Given
+        CacheValueCodec codec = new CacheValueCodec(smileMapper, json, ValueCodec.BINARY, 1024);
+        Map<String, String> messages = translations(500);
+
+        // When
+        byte[] bytes = codec.serialize(messages);
+
+        // Then
+        assertThat(bytes[0]).isEqualTo(CacheValueCodec.MAGIC);
+        assertThat(bytes[2] & CacheValueCodec.FLAG_LZ4).isEqualTo((int) CacheValueCodec.FLAG_LZ4);
+        assertThat(bytes.length).isLessThan(json.getWriter().write(messages).remaining());
+        assertThat(codec.deserialize(bytes)).isEqualTo(messages);
+    }
+
+    @Test
+    @DisplayName("Should keep small values uncompressed")
+    void testBinary_SmallValueNotCompressed() {
+        CacheValueCodec codec = new CacheValueCodec(smileMapper, json, ValueCodec.BINARY, 1024);
+        Map<String, String> messages = translations(2);
+
+        byte[] bytes = codec.serialize(messages);
+
+        assertThat(bytes[2] & CacheValueCodec.FLAG_LZ4).isZero();
+        assertThat(codec.deserialize(bytes)).isEqualTo(messages);
+    }
+
+    @Test
+    @DisplayName("Should read legacy JSON entries and entries of the other write format")
+    void testRead_AcceptsBothFormats() {
+        // Given - pods during a rollout: one writes JSON, one writes BINARY
+        CacheValueCodec jsonWriter = new CacheValueCodec(smileMapper, json, ValueCodec.JSON, 1024);
+        CacheValueCodec binaryWriter = new CacheValueCodec(smileMapper, json, ValueCodec.BINARY, 1024);
+        Map<String, String> messages = translations(50);
+
+        // Then
+        assertThat(binaryWriter.deserialize(jsonWriter.serialize(messages))).isEqualTo(messages);
+        assertThat(jsonWriter.deserialize(binaryWriter.serialize(messages))).isEqualTo(messages);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown format version")
+    void testRead_UnknownVersion() {
+        CacheValueCodec codec = new CacheValueCodec(smileMapper, json, ValueCodec.BINARY, 1024);
+        byte[] bytes = codec.serialize(translations(2));
+        bytes[1] = 99;
+
+        assertThatThrownBy(() -> codec.deserialize(bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version");
+    }
+}
@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.*;
  * - Versioned key generation
  * - Distributed lock acquisition
  * - Pub/Sub invalidation
+ * - Local version table (messages + reconcile)
  *
  * @author Senior Architect
  * @since 2025-11-13
@@ -102,6 +103,26 @@ class CacheVersionServiceTest {
         assertThat(newVersion).isEqualTo(versionBefore + 1);
     }
 
+    @Test
+    @DisplayName("Should build versioned keys from local table updated by version messages")
+    void testBuildVersionedKey_LocalTable() {
+        // Given
+        cacheVersionService.getCurrentVersion(TEST_NAMESPACE); // v1 in Redis and local table
+
+        // When - another pod published a bump (Redis not re-read)
+        cacheVersionService.applyVersionMessage(TEST_NAMESPACE, "v7-1767000000000");
+
+        // Then
+        assertThat(cacheVersionService.buildVersionedKey(TEST_NAMESPACE, "messages:uz-UZ"))
+                .isEqualTo("test-cache:v7:messages:uz-UZ");
+
+        // When - reconcile restores the authoritative Redis value
+        cacheVersionService.reconcileVersions();
+
+        // Then
+        assertThat(cacheVersionService.getLocalVersion(TEST_NAMESPACE)).isEqualTo(1L);
+    }
+
     @Test
     @DisplayName("Should acquire and release distributed lock")
     void testDistributedLock() {
@@ -109,28 +130,34 @@ class CacheVersionServiceTest {
         String lockKey = "test-operation";
 
         // When - First lock acquisition
-        boolean acquired1 = cacheVersionService.acquireLock(lockKey);
+        String token1 = cacheVersionService.acquireLock(lockKey);
 
         // Then
-        assertThat(acquired1).isTrue();
+        assertThat(token1).isNotNull();
 
         // When - Try to acquire same lock (should fail)
-        boolean acquired2 = cacheVersionService.acquireLock(lockKey);
+        String token2 = cacheVersionService.acquireLock(lockKey);
+
+        // Then
+        assertThat(token2).isNull();
+
+        // When - Release with a foreign token (e.g. expired leader) - lock stays
+        cacheVersionService.releaseLock(lockKey, "not-the-owner");
 
         // Then
-        assertThat(acquired2).isFalse();
+        assertThat(cacheVersionService.acquireLock(lockKey)).isNull();
 
         // When - Release lock
-        cacheVersionService.releaseLock(lockKey);
+        cacheVersionService.releaseLock(lockKey, token1);
 
         // When - Acquire lock again (should succeed now)
-        boolean acquired3 = cacheVersionService.acquireLock(lockKey);
+        String token3 = cacheVersionService.acquireLock(lockKey);
 
         // Then
-        assertThat(acquired3).isTrue();
+        assertThat(token3).isNotNull().isNotEqualTo(token1);
 
         // Cleanup
-        cacheVersionService.releaseLock(lockKey);
+        cacheVersionService.releaseLock(lockKey, token3);
     }
 
     @Test
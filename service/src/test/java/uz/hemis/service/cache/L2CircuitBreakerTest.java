@@ -0,0 +1,113 @@
+package uz.hemis.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import uz.hemis.service.config.TwoLevelCacheProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for L2CircuitBreaker + CircuitBreakingRedisCache
+ * (Redis replaced with a ConcurrentMapCache that can be switched to fail).
+ *
+ * @since 2.0.0
+ */
+@DisplayName("L2CircuitBreaker Tests")
+class L2CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+
+    private L2CircuitBreaker breaker;
+    private ConcurrentMapCache redis;
+    private CircuitBreakingRedisCache l2;
+
+    @BeforeEach
+    void setUp() {
+        TwoLevelCacheProperties.CircuitBreaker config = new TwoLevelCacheProperties.CircuitBreaker();
+        config.setFailureThreshold(3);
+        config.setOpenDuration(Duration.ofSeconds(30));
+        config.setLatencyBudget(Duration.ofMillis(100));
+        breaker = new L2CircuitBreaker(config, nanos::get, Runnable::run);  // replay inline
+
+        redis = new ConcurrentMapCache("test", true) {
+            @Override
+            public ValueWrapper get(Object key) {
+                failIfDown();
+                return super.get(key);
+            }
+
+            @Override
+            public void put(Object key, Object value) {
+                failIfDown();
+                super.put(key, value);
+            }
+
+            @Override
+            public void evict(Object key) {
+                failIfDown();
+                super.evict(key);
+            }
+        };
+        l2 = new CircuitBreakingRedisCache(redis, breaker);
+    }
+
+    private void failIfDown() {
+        if (redisDown.get()) {
+            throw new IllegalStateException("Redis connection refused");
+        }
+    }
+
+    @Test
+    @DisplayName("Should open after threshold failures and treat Redis errors as misses")
+    void testTrip_ShortCircuitsAfterThreshold() {
+        // Given
+        redisDown.set(true);
+
+        // When - failures never propagate to caller
+        for (int i = 0; i < 3; i++) {
+            assertThat(l2.get("key")).isNull();
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.OPEN);
+        assertThat(l2.get("key")).isNull();
+        assertThat(breaker.getShortCircuited()).isEqualTo(1);
+        assertThat(breaker.getTrips()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should queue writes while open and replay them as evicts after probe")
+    void testHalfOpenProbe_ReplaysQueuedWrites() {
+        // Given - open breaker
+        redisDown.set(true);
+        for (int i = 0; i < 3; i++) {
+            l2.get("probe");
+        }
+        redis.getNativeCache().put("a", "0");
+        redis.getNativeCache().put("stale", "old");
+
+        // When - writes during outage are queued
+        l2.put("a", "1");
+        l2.put("a", "2");
+        l2.evict("stale");
+        assertThat(breaker.getPendingWrites()).isEqualTo(2);
+
+        // Redis recovers, open duration elapses, next call is the probe
+        redisDown.set(false);
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(l2.get("probe")).isNull();
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.CLOSED);
+
+        // Then - queued put is not written back (its value may be stale), the key is evicted
+        assertThat(redis.get("a")).isNull();
+        assertThat(redis.get("stale")).isNull();
+        assertThat(breaker.getPendingWrites()).isZero();
+    }
+}
@@ -0,0 +1,292 @@
+package uz.hemis.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for TwoLevelCache (L2 Redis replaced with in-memory ConcurrentMapCache).
+ *
+ * Tests:
+ * - Single-flight loading (one loader per key per JVM)
+ * - Loader failure propagation to waiting threads
+ * - Stale-while-revalidate (soft TTL, age from the load time stored with the value)
+ * - Bulk get (L1 → L2 → one bulk loader call)
+ * - Micrometer meters per layer
+ * - Tag index eviction (evictByTag)
+ * - Cross-pod invalidation only for explicit writes (not loader fills)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("TwoLevelCache Tests")
+class TwoLevelCacheTest {
+
+    private TwoLevelCache cache;
+    private ConcurrentMapCache l2;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache("test", true);
+        cache = new TwoLevelCache(
+                "test",
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(),
+                l2
+        );
+    }
+
+    @Test
+    @DisplayName("Should run loader once for concurrent misses on same key")
+    void testSingleFlight_CoalescesConcurrentLoads() throws Exception {
+        // Given
+        int threads = 16;
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return cache.get("all", () -> {
+                    loaderCalls.incrementAndGet();
+                    Thread.sleep(200);
+                    return "stats";
+                });
+            }));
+        }
+        start.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("stats");
+        }
+        pool.shutdown();
+
+        assertThat(loaderCalls.get()).isEqualTo(1);
+        assertThat(l2.get("all")).isNotNull();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> loads = (Map<String, Object>) cache.getStatistics().get("loads");
+        assertThat(loads.get("leaderLoads")).isEqualTo(1L);
+        assertThat(loads.get("inFlight")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should not call loader when value is in L2")
+    void testGet_L2HitSkipsLoader() {
+        // Given
+        l2.put("key", "from-redis");
+
+        // When
+        String value = cache.get("key", () -> "from-db");
+
+        // Then
+        assertThat(value).isEqualTo("from-redis");
+    }
+
+    @Test
+    @DisplayName("Should propagate loader failure and allow retry")
+    void testGet_LoaderFailure() {
+        // When / Then
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(RuntimeException.class)
+           .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        // Next call is a fresh leader (failed future removed)
+        assertThat(cache.get("key", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should serve stale value and refresh in background after soft TTL")
+    void testGet_StaleWhileRevalidate() {
+        // Given - L1 with controllable clock, refresh runs inline
+        AtomicLong nanos = new AtomicLong();
+        TwoLevelCache swrCache = new TwoLevelCache(
+                "swr",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(Duration.ofMinutes(30))
+                        .ticker(nanos::get)
+                        .build(),
+                new ConcurrentMapCache("swr", true)
+        );
+        swrCache.enableRefreshAhead(Duration.ofMinutes(10), Runnable::run);
+        swrCache.setWallClock(() -> TimeUnit.NANOSECONDS.toMillis(nanos.get()));
+        swrCache.put("all", "v1");
+
+        // When - before soft TTL
+        String fresh = swrCache.get("all", () -> "v2");
+
+        // Then
+        assertThat(fresh).isEqualTo("v1");
+
+        // When - after soft TTL, first caller gets stale value and triggers refresh
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        String stale = swrCache.get("all", () -> "v2");
+
+        // Then
+        assertThat(stale).isEqualTo("v1");
+        assertThat(swrCache.get("all", () -> "v3")).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should measure staleness from the load time stored in L2, not the L1 copy")
+    void testGet_StalenessFromL2LoadTime() {
+        // Given - another pod loaded "v1" 11 minutes ago; this pod has an empty L1
+        AtomicLong millis = new AtomicLong(Duration.ofHours(1).toMillis());
+        ConcurrentMapCache sharedL2 = new ConcurrentMapCache("swr", true);
+        sharedL2.put("all", new TwoLevelCache.LoadedValue("v1", millis.get() - Duration.ofMinutes(11).toMillis()));
+        TwoLevelCache swrCache = new TwoLevelCache(
+                "swr",
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(30)).build(),
+                sharedL2
+        );
+        swrCache.enableRefreshAhead(Duration.ofMinutes(10), Runnable::run);
+        swrCache.setWallClock(millis::get);
+
+        // When - L2 hit is copied into L1 and is already past soft TTL
+        String stale = swrCache.get("all", () -> "v2");
+
+        // Then - served as-is, refreshed in background, stamped with the new load time
+        assertThat(stale).isEqualTo("v1");
+        assertThat(swrCache.get("all", () -> "v3")).isEqualTo("v2");
+        assertThat(swrCache.get("all", String.class)).isEqualTo("v2");
+        assertThat(sharedL2.get("all").get())
+                .isEqualTo(new TwoLevelCache.LoadedValue("v2", millis.get()));
+    }
+
+    @Test
+    @DisplayName("Should resolve bulk get from L1, L2 and a single loader call")
+    void testGetAll_LayersAndSingleBulkLoad() {
+        // Given - "a" in L1+L2, "b" only in L2, "c" and "d" nowhere
+        cache.put("a", "A");
+        l2.put("b", "B");
+        List<Set<String>> loaderCalls = new ArrayList<>();
+
+        // When
+        Map<String, String> values = cache.getAll(List.of("d", "a", "b", "c"), missing -> {
+            loaderCalls.add(missing);
+            Map<String, String> loaded = new HashMap<>();
+            loaded.put("c", "C");  // "d" does not exist in DB
+            return loaded;
+        });
+
+        // Then
+        assertThat(values).containsExactly(
+                Map.entry("a", "A"), Map.entry("b", "B"), Map.entry("c", "C"));
+        assertThat(loaderCalls).containsExactly(Set.of("c", "d"));
+        assertThat(l2.get("c")).isNotNull();
+        assertThat(l2.get("d")).isNull();
+
+        // Second call is served from L1 without loader
+        Map<String, String> cached = cache.getAll(List.of("a", "b", "c"), missing -> {
+            throw new AssertionError("loader must not be called");
+        });
+        assertThat(cached).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should publish per-layer hit/miss and loader meters tagged by cache")
+    void testMetrics_PerLayerCounters() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.setMetrics(new TwoLevelCacheMetrics("test", registry));
+
+        // When - miss both layers + load, then L1 hit
+        cache.get("key", () -> "value");
+        cache.get("key", () -> "other");
+
+        // Then
+        assertThat(registry.get("hemis.cache.requests")
+                .tags("cache", "test", "layer", "l1", "result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("hemis.cache.requests")
+                .tags("cache", "test", "layer", "l2", "result", "miss").counter().count()).isGreaterThanOrEqualTo(1.0);
+        assertThat(registry.get("hemis.cache.load")
+                .tags("cache", "test", "type", "single", "result", "success").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("hemis.cache.puts")
+                .tags("cache", "test", "layer", "l2").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should evict only entries indexed under the tag from L1 and L2")
+    void testEvictByTag_EvictsOnlyTaggedEntries() {
+        // Given - two ru-RU menus and one uz-UZ menu
+        cache.put("u1:ru-RU", "menu-1");
+        cache.put("u2:ru-RU", "menu-2");
+        cache.put("u1:uz-UZ", "menu-3");
+        cache.tag("u1:ru-RU", List.of("user:u1", "locale:ru-RU"));
+        cache.tag("u2:ru-RU", List.of("user:u2", "locale:ru-RU"));
+        cache.tag("u1:uz-UZ", List.of("user:u1", "locale:uz-UZ"));
+
+        // When
+        cache.evictByTag("locale:ru-RU");
+
+        // Then
+        assertThat(cache.estimatedL1Size()).isEqualTo(1);
+        assertThat(l2.get("u1:ru-RU")).isNull();
+        assertThat(l2.get("u2:ru-RU")).isNull();
+        assertThat(cache.get("u1:uz-UZ").get()).isEqualTo("menu-3");
+
+        // Other tags of the evicted keys still resolve (stale keys are harmless)
+        cache.evictByTag("user:u1");
+        assertThat(cache.estimatedL1Size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should broadcast explicit puts but not loader fills or background refreshes")
+    void testInvalidationBroadcast_OnlyExplicitWrites() {
+        // Given - refresh runs inline
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        AtomicLong nanos = new AtomicLong();
+        TwoLevelCache broadcastCache = new TwoLevelCache(
+                "broadcast",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(Duration.ofMinutes(30))
+                        .ticker(nanos::get)
+                        .build(),
+                new ConcurrentMapCache("broadcast", true)
+        );
+        broadcastCache.enableRefreshAhead(Duration.ofMinutes(10), Runnable::run);
+        broadcastCache.setWallClock(() -> TimeUnit.NANOSECONDS.toMillis(nanos.get()));
+        broadcastCache.enableInvalidationBroadcast(publisher);
+
+        // When - miss + loader fill, then stale hit + background refresh
+        broadcastCache.get("key", () -> "v1");
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        broadcastCache.get("key", () -> "v2");
+
+        // Then
+        assertThat(broadcastCache.get("key", () -> "v3")).isEqualTo("v2");
+        verify(publisher, never()).publishKeys(any(), any());
+
+        // When - explicit write
+        broadcastCache.put("key", "v4");
+
+        // Then
+        verify(publisher).publishKeys("broadcast", List.of("key"));
+    }
+}
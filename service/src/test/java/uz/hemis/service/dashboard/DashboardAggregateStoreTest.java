@@ -0,0 +1,83 @@
+package uz.hemis.service.dashboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uz.hemis.service.dashboard.StudentStatsCube.Dimension;
+import uz.hemis.service.dashboard.dto.OverviewStatsDto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for dashboard aggregate counters (reconciliation + snapshot reads)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("DashboardAggregateStore Tests")
+class DashboardAggregateStoreTest {
+
+    @Test
+    @DisplayName("Should reconcile counters from the cube and read the overview back")
+    void testReconcileAndOverview() {
+        // Given - status, payment, gender, region, language, eduType, eduForm, university
+        StudentStatsCube cube = StudentStatsCube.builder()
+                .add(new String[]{"11", "11", "11", "Toshkent", "O'zbek", "11", "Kunduzgi", "U1"}, null, 100)
+                .add(new String[]{"11", "12", "12", "Toshkent", "Rus", "11", "Sirtqi", "U1"}, null, 300)
+                .add(new String[]{"14", "12", "12", "Samarqand", "O'zbek", "11", "Kunduzgi", "U2"}, null, 70)
+                .build();
+
+        // When
+        Map<String, Long> counters = DashboardAggregateReconciler.studentCounters(cube);
+        DashboardAggregateStore.Snapshot snapshot = new DashboardAggregateStore.Snapshot(counters, Instant.now());
+
+        // Then - global
+        OverviewStatsDto all = snapshot.overview(null);
+        assertThat(all.getTotalStudents()).isEqualTo(470);
+        assertThat(all.getTotalUniversities()).isEqualTo(2);
+        assertThat(all.getActiveStudents()).isEqualTo(400);
+        assertThat(all.getGraduatedStudents()).isEqualTo(70);
+        assertThat(all.getGrantStudents()).isEqualTo(100);
+        assertThat(all.getContractStudents()).isEqualTo(300);
+        assertThat(all.getFemaleCount()).isEqualTo(300);
+
+        // Then - per university, same numbers as the cube
+        OverviewStatsDto u2 = snapshot.overview("U2");
+        assertThat(u2.getTotalStudents())
+                .isEqualTo(cube.query().where(Dimension.UNIVERSITY, "U2").count())
+                .isEqualTo(70);
+        assertThat(u2.getActiveStudents()).isZero();
+        assertThat(u2.getTotalUniversities()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should name counters so that university fields never count as global")
+    void testFieldNames() {
+        assertThat(DashboardAggregateStore.students(null, "11")).isEqualTo("s:11");
+        assertThat(DashboardAggregateStore.studentsByPayment("U1", "11", "12")).isEqualTo("u:U1:s:11:p:12");
+        assertThat(DashboardAggregateStore.studentsByGender(null, "14", "11")).isEqualTo("s:14:g:11");
+
+        DashboardAggregateStore.Snapshot snapshot = new DashboardAggregateStore.Snapshot(Map.of(
+                "s:11", 5L, "s:11:p:11", 5L, "u:U1:s:11", 5L), Instant.now());
+        assertThat(snapshot.overview(null).getTotalStudents()).isEqualTo(5);
+        assertThat(snapshot.overview("U1").getTotalStudents()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not prefer counters reconciled from an older cube")
+    void testIsCurrentFor() {
+        // Given
+        StudentStatsCube cube = StudentStatsCube.builder()
+                .add(new String[]{"11", "11", "11", "Toshkent", "O'zbek", "11", "Kunduzgi", "U1"}, null, 1)
+                .build();
+        DashboardAggregateStore.Snapshot sameCube = new DashboardAggregateStore.Snapshot(Map.of(), cube.getBuiltAt());
+        DashboardAggregateStore.Snapshot olderCube = new DashboardAggregateStore.Snapshot(Map.of(),
+                cube.getBuiltAt().minusSeconds(600));
+
+        // Then
+        assertThat(sameCube.isCurrentFor(cube)).isTrue();
+        assertThat(olderCube.isCurrentFor(cube)).isFalse();
+        assertThat(olderCube.isCurrentFor(null)).isTrue();
+    }
+}
@@ -0,0 +1,146 @@
+package uz.hemis.service.dashboard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import uz.hemis.service.dashboard.DashboardAssembler.Assembly;
+import uz.hemis.service.dashboard.DashboardAssembler.Section;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DashboardAssembler
+ *
+ * @since 2.0.0
+ */
+@DisplayName("DashboardAssembler Tests")
+class DashboardAssemblerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DashboardAssembler assembler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(meterRegistry);
+        assembler = new DashboardAssembler(4, 300, provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assembler.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run sections concurrently")
+    void testSections_RunInParallel() {
+        // Given - each section waits until all three have started
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Assembly assembly = assembler.start("all");
+        Section<String> a = assembly.submit("a", () -> awaitAll(allStarted, "A"));
+        Section<String> b = assembly.submit("b", () -> awaitAll(allStarted, "B"));
+        Section<String> c = assembly.submit("c", () -> awaitAll(allStarted, "C"));
+
+        // Then - sequential execution would time out every section
+        assertThat(assembly.get(a)).isEqualTo("A");
+        assertThat(assembly.get(b)).isEqualTo("B");
+        assertThat(assembly.get(c)).isEqualTo("C");
+        assertThat(assembly.unavailable()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return partial result when a section fails or times out")
+    void testSections_PartialResult() {
+        // Given
+        Assembly assembly = assembler.start("all");
+        Section<String> ok = assembly.submit("ok", () -> "fine");
+        Section<String> failing = assembly.submit("failing", () -> {
+            throw new IllegalStateException("replica down");
+        });
+        Section<String> slow = assembly.submit("slow", () -> sleep(2_000, "late"));
+
+        // Then
+        assertThat(assembly.get(ok)).isEqualTo("fine");
+        assertThat(assembly.get(failing)).isNull();
+        assertThat(assembly.get(slow)).isNull();
+        assertThat(assembly.unavailable()).containsExactly("failing", "slow");
+        assertThat(meterRegistry.get("hemis.dashboard.section.duration")
+                .tag("section", "slow").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the last good value of an unavailable section")
+    void testSections_StaleFallback() {
+        // Given - first assembly succeeds
+        Assembly first = assembler.start("all");
+        assertThat(first.get(first.submit("overview", () -> "v1"))).isEqualTo("v1");
+
+        // When - second assembly fails
+        Assembly second = assembler.start("all");
+        String value = second.get(second.submit("overview", () -> {
+            throw new IllegalStateException("timeout");
+        }));
+
+        // Then
+        assertThat(value).isEqualTo("v1");
+        assertThat(second.unavailable()).containsExactly("overview");
+    }
+
+    @Test
+    @DisplayName("Should never fall back to the value of another scope")
+    void testSections_FallbackIsolatedPerScope() {
+        // Given - national and university U1 dashboards succeeded
+        Assembly national = assembler.start("all");
+        assertThat(national.get(national.submit("recentActivities", () -> "all students"))).isEqualTo("all students");
+        Assembly u1 = assembler.start("university:U1");
+        assertThat(u1.get(u1.submit("recentActivities", () -> "U1 students"))).isEqualTo("U1 students");
+
+        // When - the same section fails for university U2
+        Assembly u2 = assembler.start("university:U2");
+        String value = u2.get(u2.submit("recentActivities", () -> {
+            throw new IllegalStateException("replica down");
+        }));
+
+        // Then - no data of other tenants, section reported unavailable
+        assertThat(value).isNull();
+        assertThat(u2.unavailable()).containsExactly("recentActivities");
+
+        // And - U1 still falls back to its own value
+        Assembly u1Again = assembler.start("university:U1");
+        assertThat(u1Again.get(u1Again.submit("recentActivities", () -> {
+            throw new IllegalStateException("replica down");
+        }))).isEqualTo("U1 students");
+    }
+
+    private static String awaitAll(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            latch.await(250, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (latch.getCount() > 0) {
+            throw new IllegalStateException("sections did not run concurrently");
+        }
+        return value;
+    }
+
+    private static String sleep(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package uz.hemis.service.dashboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uz.hemis.service.dashboard.DashboardService.Scope;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for per-tenant dashboard scopes (cache keys, SQL predicate, cube filter, existence)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("DashboardService Scope Tests")
+class DashboardScopeTest {
+
+    private final StudentStatsCube cube = StudentStatsCube.builder()
+            .add(new String[]{"11", "11", "11", "Toshkent", "O'zbek", "11", "Kunduzgi", "U1"}, null, 100)
+            .add(new String[]{"11", "12", "12", "Toshkent", "Rus", "11", "Sirtqi", "U2"}, null, 300)
+            .add(new String[]{"11", "12", "12", "Samarqand", "O'zbek", "11", "Kunduzgi", "U3"}, null, 70)
+            .build();
+
+    @Test
+    @DisplayName("Should key university and region dashboards like the tenantStats cache")
+    void testKeys() {
+        assertThat(Scope.ALL.key()).isEqualTo("all");
+        assertThat(Scope.university("U1").key())
+                .isEqualTo(DashboardService.UNIVERSITY_KEY_PREFIX + "U1")
+                .isEqualTo("university:U1");
+        assertThat(Scope.region("Toshkent").key()).isEqualTo("region:Toshkent");
+    }
+
+    @Test
+    @DisplayName("Should bind the tenant value instead of inlining it into SQL")
+    void testPredicate() {
+        // Given
+        Scope university = Scope.university("U1' OR '1'='1");
+
+        // Then
+        assertThat(university.predicate()).isEqualTo("AND university_code = ?");
+        assertThat(university.args()).containsExactly("U1' OR '1'='1");
+        assertThat(Scope.ALL.predicate()).isEmpty();
+        assertThat(Scope.ALL.args()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should restrict cube sections to the scope")
+    void testCubeQuery() {
+        assertThat(Scope.ALL.query(cube).count()).isEqualTo(470);
+        assertThat(Scope.university("U2").query(cube).count()).isEqualTo(300);
+        assertThat(Scope.region("Toshkent").query(cube).count()).isEqualTo(400);
+        assertThat(Scope.region("Toshkent").query(cube).distinct(StudentStatsCube.Dimension.UNIVERSITY)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should check scope existence in the cube when built, in the replica otherwise")
+    void testIsKnown() {
+        // Given
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        StudentStatsCubeService cubeService = mock(StudentStatsCubeService.class);
+        DashboardService dashboardService = new DashboardService(jdbcTemplate, mock(DashboardAssembler.class),
+                cubeService, mock(DashboardAggregateStore.class));
+
+        // When - cube built: no database query
+        when(cubeService.current()).thenReturn(Optional.of(cube));
+
+        // Then
+        assertThat(dashboardService.isKnownUniversity("U2")).isTrue();
+        assertThat(dashboardService.isKnownUniversity("UNKNOWN")).isFalse();
+        assertThat(dashboardService.isKnownRegion("Samarqand")).isTrue();
+        verifyNoInteractions(jdbcTemplate);
+
+        // When - cube disabled or not built yet
+        when(cubeService.current()).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForObject(contains("AND university_code = ?"), eq(Boolean.class), eq("U9")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("AND university_region_name = ?"), eq(Boolean.class), anyString()))
+                .thenReturn(false);
+
+        // Then
+        assertThat(dashboardService.isKnownUniversity("U9")).isTrue();
+        assertThat(dashboardService.isKnownRegion("Atlantis")).isFalse();
+    }
+}
@@ -0,0 +1,113 @@
+package uz.hemis.service.dashboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uz.hemis.service.dashboard.StudentStatsCube.Dimension;
+import uz.hemis.service.dashboard.StudentStatsCube.Group;
+import uz.hemis.service.dashboard.dto.OverviewStatsDto;
+import uz.hemis.service.dashboard.dto.TopUniversityDto;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for StudentStatsCube and cube-based dashboard sections
+ *
+ * @since 2.0.0
+ */
+@DisplayName("StudentStatsCube Tests")
+class StudentStatsCubeTest {
+
+    private StudentStatsCube cube;
+    private StudentStatsCubeService cubeService;
+
+    @BeforeEach
+    void setUp() {
+        // status, payment, gender, region, language, eduType, eduForm, university
+        cube = StudentStatsCube.builder()
+                .add(row("11", "11", "11", "Toshkent", "O'zbek", "11", "Kunduzgi", "U1"), labels("Bakalavr", "TDTU"), 100)
+                .add(row("11", "12", "12", "Toshkent", "Rus", "11", "Sirtqi", "U1"), labels("Bakalavr", "TDTU"), 300)
+                .add(row("11", "12", "11", "Samarqand", "O'zbek", "12", "Kunduzgi", "U2"), labels("Magistr", "SamDU"), 50)
+                .add(row("14", "12", "12", "Samarqand", "O'zbek", "11", "Kunduzgi", "U2"), labels("Bakalavr", "SamDU"), 70)
+                .add(row("11", "11", "12", null, null, "11", null, "U3"), labels("Bakalavr", "UzMU"), 5)
+                .build();
+        cubeService = new StudentStatsCubeService(mock(DataSource.class), false, 120);
+    }
+
+    @Test
+    @DisplayName("Should count and group under combined filters")
+    void testQuery_FiltersAndGroups() {
+        // Then
+        assertThat(cube.size()).isEqualTo(5);
+        assertThat(cube.query().count()).isEqualTo(525);
+        assertThat(cube.query().where(Dimension.STATUS, "11").where(Dimension.PAYMENT, "12").count()).isEqualTo(350);
+        assertThat(cube.query().where(Dimension.UNIVERSITY, "U1", "U2").where(Dimension.GENDER, "12").count())
+                .isEqualTo(370);
+        assertThat(cube.query().where(Dimension.UNIVERSITY, "UNKNOWN").count()).isZero();
+        assertThat(cube.contains(Dimension.UNIVERSITY, "U2")).isTrue();
+        assertThat(cube.contains(Dimension.UNIVERSITY, "UNKNOWN")).isFalse();
+        assertThat(cube.contains(Dimension.REGION, "Samarqand")).isTrue();
+
+        List<Group> byRegion = cube.query().where(Dimension.STATUS, "11").groupBy(Dimension.REGION);
+        assertThat(byRegion).containsExactly(
+                new Group("Toshkent", "Toshkent", 400),
+                new Group("Samarqand", "Samarqand", 50));
+        assertThat(cube.query().whereNotNull(Dimension.REGION).count()).isEqualTo(520);
+    }
+
+    @Test
+    @DisplayName("Should build overview counts like the dashboard SQL")
+    void testOverview() {
+        // When
+        OverviewStatsDto overview = cubeService.overview(cube.query());
+
+        // Then
+        assertThat(overview.getTotalStudents()).isEqualTo(525);
+        assertThat(overview.getTotalUniversities()).isEqualTo(3);
+        assertThat(overview.getActiveStudents()).isEqualTo(455);
+        assertThat(overview.getGraduatedStudents()).isEqualTo(70);
+        assertThat(overview.getGrantStudents()).isEqualTo(105);
+        assertThat(overview.getContractStudents()).isEqualTo(350);
+        assertThat(overview.getMaleCount()).isEqualTo(150);
+        assertThat(overview.getFemaleCount()).isEqualTo(305);
+    }
+
+    @Test
+    @DisplayName("Should rank universities with gender and payment split")
+    void testTopUniversities() {
+        // When
+        List<TopUniversityDto> top = cubeService.topUniversities(cube.query(), 2);
+
+        // Then
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getCode()).isEqualTo("U1");
+        assertThat(top.get(0).getName()).isEqualTo("TDTU");
+        assertThat(top.get(0).getStudentCount()).isEqualTo(400);
+        assertThat(top.get(0).getMaleCount()).isEqualTo(100);
+        assertThat(top.get(0).getContractCount()).isEqualTo(300);
+        assertThat(top.get(1).getRank()).isEqualTo(2);
+        assertThat(top.get(1).getStudentCount()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should report no drill-down before the cube is built")
+    void testDrillDown_NotReady() {
+        assertThat(cubeService.drillDown(Dimension.REGION, Map.of())).isEmpty();
+    }
+
+    private static String[] row(String... codes) {
+        return codes;
+    }
+
+    private static String[] labels(String eduTypeName, String universityName) {
+        String[] labels = new String[Dimension.values().length];
+        labels[Dimension.EDU_TYPE.ordinal()] = eduTypeName;
+        labels[Dimension.UNIVERSITY.ordinal()] = universityName;
+        return labels;
+    }
+}
@@ -0,0 +1,78 @@
+package uz.hemis.service.menu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.CacheManager;
+import uz.hemis.domain.repository.MenuRepository;
+import uz.hemis.domain.repository.UserRepository;
+import uz.hemis.service.I18nService;
+import uz.hemis.service.cache.CacheVersionService;
+import uz.hemis.service.cache.TwoLevelCache;
+import uz.hemis.service.config.LanguageProperties;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MenuService permission-set cache keys and menu snapshot rebuilds
+ *
+ * @since 2.0.0
+ */
+@DisplayName("MenuService Tests")
+class MenuServiceTest {
+
+    @Test
+    @DisplayName("Should hash equal permission sets to the same key regardless of order")
+    void testPermissionHash_StableForSameSet() {
+        // Given
+        String hash = MenuService.permissionHash(List.of("students.view", "reports.*", "dashboard.view"));
+
+        // Then
+        assertThat(MenuService.permissionHash(List.of("dashboard.view", "students.view", "reports.*", "students.view")))
+                .isEqualTo(hash);
+        assertThat(MenuService.permissionHash(List.of("students.view", "reports.*")))
+                .isNotEqualTo(hash);
+        assertThat(MenuService.permissionHash(List.of("students.viewreports.*")))
+                .isNotEqualTo(MenuService.permissionHash(List.of("students.view", "reports.*")));
+        assertThat(hash).hasSize(22);
+    }
+
+    @Test
+    @DisplayName("Should drop local translation copies before rebuilding the snapshot for a new i18n version")
+    void testSnapshot_I18nBumpEvictsLocalTranslations() {
+        // Given
+        MenuRepository menuRepository = mock(MenuRepository.class);
+        I18nService i18nService = mock(I18nService.class);
+        CacheVersionService cacheVersionService = mock(CacheVersionService.class);
+        LanguageProperties languageProperties = mock(LanguageProperties.class);
+        CacheManager cacheManager = mock(CacheManager.class);
+        TwoLevelCache i18nCache = mock(TwoLevelCache.class);
+        when(menuRepository.findAllActive()).thenReturn(List.of());
+        when(languageProperties.getSupported()).thenReturn(List.of("uz-UZ"));
+        when(cacheManager.getCache("i18n")).thenReturn(i18nCache);
+        when(cacheVersionService.getLocalVersion("menu")).thenReturn(1L);
+        when(cacheVersionService.getLocalVersion("i18n")).thenReturn(1L);
+
+        MenuService menuService = new MenuService(menuRepository, mock(PermissionService.class), i18nService,
+                mock(UserRepository.class), cacheVersionService, languageProperties, cacheManager);
+        menuService.currentSnapshot();
+        verify(i18nCache, never()).evictLocalByPrefix("messages:");
+
+        // When - translations updated on another pod
+        when(cacheVersionService.getLocalVersion("i18n")).thenReturn(2L);
+        MenuTreeSnapshot rebuilt = menuService.currentSnapshot();
+
+        // Then - labels are re-read past this pod's L1
+        assertThat(rebuilt.i18nVersion()).isEqualTo(2L);
+        InOrder order = inOrder(i18nCache, i18nService);
+        order.verify(i18nCache).evictLocalByPrefix("messages:");
+        order.verify(i18nService).getAllMessages("uz-UZ");
+    }
+}
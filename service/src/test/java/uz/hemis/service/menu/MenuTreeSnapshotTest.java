@@ -0,0 +1,60 @@
+package uz.hemis.service.menu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uz.hemis.domain.entity.Menu;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MenuTreeSnapshot (immutable menu tree)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("MenuTreeSnapshot Tests")
+class MenuTreeSnapshotTest {
+
+    private Menu menu(String code, Menu parent, int order) {
+        Menu menu = new Menu();
+        menu.setId(UUID.randomUUID());
+        menu.setCode(code);
+        menu.setI18nKey("menu." + code);
+        menu.setParent(parent);
+        menu.setOrderNumber(order);
+        return menu;
+    }
+
+    @Test
+    @DisplayName("Should build a sorted, translated, read-only tree")
+    void testBuild_SortedTranslatedTree() {
+        // Given
+        Menu registry = menu("registry", null, 2);
+        Menu dashboard = menu("dashboard", null, 1);
+        Menu faculty = menu("faculty", registry, 2);
+        Menu students = menu("students", registry, 1);
+        Map<String, Map<String, String>> translations = Map.of(
+                "uz-UZ", Map.of("menu.registry", "Reyestr"),
+                "ru-RU", Map.of("menu.registry", "Реестр"));
+
+        // When
+        MenuTreeSnapshot snapshot = MenuTreeSnapshot.build(3, 7,
+                List.of(faculty, registry, students, dashboard), translations);
+
+        // Then
+        assertThat(snapshot.isVersion(3, 7)).isTrue();
+        assertThat(snapshot.isVersion(4, 7)).isFalse();
+        assertThat(snapshot.itemCount()).isEqualTo(4);
+        assertThat(snapshot.roots()).extracting(MenuTreeSnapshot.Node::id).containsExactly("dashboard", "registry");
+
+        MenuTreeSnapshot.Node registryNode = snapshot.roots().get(1);
+        assertThat(registryNode.children()).extracting(MenuTreeSnapshot.Node::id).containsExactly("students", "faculty");
+        assertThat(registryNode.labels()).containsEntry("ru-RU", "Реестр").containsEntry("uz-UZ", "Reyestr");
+        assertThat(snapshot.roots().get(0).labels()).containsEntry("ru-RU", "menu.dashboard");
+        assertThatThrownBy(() -> registryNode.children().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package uz.hemis.service.menu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PermissionMatcher (compiled permission trie)
+ *
+ * @since 2.0.0
+ */
+@DisplayName("PermissionMatcher Tests")
+class PermissionMatcherTest {
+
+    @Test
+    @DisplayName("Should match exact codes and prefix wildcards on segment boundaries")
+    void testMatches_ExactAndWildcard() {
+        // Given
+        PermissionMatcher matcher = PermissionMatcher.compile(
+                List.of("students.view", "reports.*", "registry.faculty.*"));
+
+        // Then
+        assertThat(matcher.matches("students.view")).isTrue();
+        assertThat(matcher.matches("students.edit")).isFalse();
+        assertThat(matcher.matches("students")).isFalse();
+        assertThat(matcher.matches("reports.view")).isTrue();
+        assertThat(matcher.matches("reports.daily.export")).isTrue();
+        assertThat(matcher.matches("reports.*")).isTrue();
+        assertThat(matcher.matches("reports")).isFalse();
+        assertThat(matcher.matches("reportsx.view")).isFalse();
+        assertThat(matcher.matches("registry.faculty.view")).isTrue();
+        assertThat(matcher.matches("registry.department.view")).isFalse();
+        assertThat(matcher.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should grant public items always and everything to super admin")
+    void testMatches_PublicAndSuperAdmin() {
+        // Given
+        PermissionMatcher none = PermissionMatcher.compile(List.of());
+        PermissionMatcher admin = PermissionMatcher.compile(List.of("*"));
+
+        // Then
+        assertThat(none.matches(null)).isTrue();
+        assertThat(none.matches("")).isTrue();
+        assertThat(none.matches("students.view")).isFalse();
+        assertThat(admin.matches("anything.at.all")).isTrue();
+    }
+}
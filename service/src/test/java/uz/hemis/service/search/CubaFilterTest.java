@@ -0,0 +1,206 @@
+package uz.hemis.service.search;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import uz.hemis.common.exception.BadRequestException;
+import uz.hemis.service.search.CubaFilter.Condition;
+import uz.hemis.service.search.CubaFilter.Group;
+import uz.hemis.service.search.CubaFilter.Operator;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CUBA REST filter parsing and compilation to JPA Specifications
+ *
+ * @since 2.0.0
+ */
+@DisplayName("CubaFilter Tests")
+class CubaFilterTest {
+
+    @Test
+    @DisplayName("Should parse conditions and nested groups")
+    void testParse() {
+        // Given
+        String json = """
+            {"conditions": [
+                {"property": "university", "operator": "=", "value": "520"},
+                {"group": "OR", "conditions": [
+                    {"property": "lastname", "operator": "startsWith", "value": "ALI"},
+                    {"property": "studentStatus", "operator": "in", "value": ["11", "13"]}
+                ]}
+            ]}
+            """;
+
+        // When
+        CubaFilter filter = CubaFilter.parse(json);
+
+        // Then
+        List<CubaFilter.Node> conditions = filter.getRoot().conditions();
+        assertThat(conditions).hasSize(2);
+        assertThat(conditions.get(0)).isEqualTo(new Condition("university", Operator.EQUAL, "520"));
+        Group or = (Group) conditions.get(1);
+        assertThat(or.type()).isEqualTo(CubaFilter.GroupType.OR);
+        assertThat(or.conditions()).containsExactly(
+                new Condition("lastname", Operator.STARTS_WITH, "ALI"),
+                new Condition("studentStatus", Operator.IN, List.of("11", "13")));
+    }
+
+    @Test
+    @DisplayName("Should treat a missing filter as match-all and reject malformed filters")
+    void testInvalidFilters() {
+        assertThat(CubaFilter.parse((String) null).isEmpty()).isTrue();
+        assertThat(CubaFilter.parse(Map.of()).isEmpty()).isTrue();
+
+        assertThatThrownBy(() -> CubaFilter.parse("{not json"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CubaFilter.parse("""
+                {"conditions": [{"property": "code", "operator": "like", "value": "1"}]}"""))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("like");
+        assertThatThrownBy(() -> CubaFilter.parse("""
+                {"conditions": [{"property": "code", "operator": "in", "value": "1"}]}"""))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CubaFilter.parse("""
+                {"conditions": [{"property": "code", "operator": "="}]}"""))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should bound the number of conditions")
+    void testConditionLimit() {
+        // Given
+        StringBuilder json = new StringBuilder("{\"conditions\": [");
+        for (int i = 0; i <= CubaFilter.MAX_CONDITIONS; i++) {
+            json.append(i > 0 ? "," : "").append("{\"property\": \"code\", \"operator\": \"=\", \"value\": \"").append(i).append("\"}");
+        }
+        json.append("]}");
+
+        // Then
+        assertThatThrownBy(() -> CubaFilter.parse(json.toString()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(CubaFilter.MAX_CONDITIONS));
+    }
+
+    @Test
+    @DisplayName("Should compile conditions to bound criteria predicates")
+    @SuppressWarnings("unchecked")
+    void testSpecification() {
+        // Given
+        Root<Object> root = mock(Root.class);
+        CriteriaQuery<?> query = mock(CriteriaQuery.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Path<Object> university = mock(Path.class);
+        Path<String> lastname = mock(Path.class);
+        doReturn(String.class).when(university).getJavaType();
+        doReturn(String.class).when(lastname).getJavaType();
+        doReturn(university).when(root).get("university");
+        doReturn(lastname).when(root).get("lastname");
+        Predicate and = mock(Predicate.class);
+        when(cb.and(any(Predicate[].class))).thenReturn(and);
+
+        CubaFilter filter = CubaFilter.parse("""
+            {"conditions": [
+                {"property": "university.code", "operator": "=", "value": "520"},
+                {"property": "lastname", "operator": "startsWith", "value": "50%_"}
+            ]}
+            """);
+
+        // When
+        Predicate predicate = CubaFilterSpecification.of(filter).toPredicate(root, query, cb);
+
+        // Then - reference path resolves to the stored code, LIKE wildcards escaped
+        assertThat(predicate).isSameAs(and);
+        verify(cb).equal(university, "520");
+        verify(cb).like(lastname, "50\\%\\_%", '\\');
+    }
+
+    @Test
+    @DisplayName("Should reject unknown properties")
+    @SuppressWarnings("unchecked")
+    void testUnknownProperty() {
+        // Given
+        Root<Object> root = mock(Root.class);
+        doThrow(new IllegalArgumentException("no attribute")).when(root).get("password");
+        CubaFilter filter = CubaFilter.parse("""
+            {"conditions": [{"property": "password", "operator": "isNull"}]}""");
+
+        // Then
+        assertThatThrownBy(() -> CubaFilterSpecification.of(filter)
+                .toPredicate(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    @DisplayName("Should convert filter values to the attribute type")
+    void testConvert() {
+        Condition condition = new Condition("x", Operator.EQUAL, null);
+        UUID id = UUID.randomUUID();
+
+        assertThat(CubaFilterSpecification.convert(condition, UUID.class, id.toString())).isEqualTo(id);
+        assertThat(CubaFilterSpecification.convert(condition, Integer.class, 3)).isEqualTo(3);
+        assertThat(CubaFilterSpecification.convert(condition, Integer.class, "3")).isEqualTo(3);
+        assertThat(CubaFilterSpecification.convert(condition, Boolean.class, "true")).isEqualTo(true);
+        assertThat(CubaFilterSpecification.convert(condition, LocalDate.class, "2024-09-01 00:00:00.000"))
+                .isEqualTo(LocalDate.of(2024, 9, 1));
+        assertThatThrownBy(() -> CubaFilterSpecification.convert(condition, UUID.class, "not-a-uuid"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should always page and sort searches")
+    void testSearchRequest() {
+        // Default: bounded page, stable order
+        Pageable defaults = CubaSearchRequest.of((String) null, null, null, null).pageable();
+        assertThat(defaults.getPageSize()).isEqualTo(CubaSearchRequest.DEFAULT_LIMIT);
+        assertThat(defaults.getSort()).isEqualTo(Sort.by("id"));
+
+        // Limit capped, CUBA sort syntax, id appended as tiebreaker
+        CubaSearchRequest request = CubaSearchRequest.of((String) null, 100_000, 0, "-createTs,lastname");
+        assertThat(request.limit()).isEqualTo(CubaSearchRequest.MAX_LIMIT);
+        assertThat(request.sort()).isEqualTo(
+                Sort.by(Sort.Order.desc("createTs"), Sort.Order.asc("lastname"), Sort.Order.asc("id")));
+        assertThat(CubaSearchRequest.sort("lastname,DESC"))
+                .isEqualTo(Sort.by(Sort.Order.desc("lastname"), Sort.Order.asc("id")));
+
+        // Client sort by id is kept as given (no duplicate id order)
+        assertThat(CubaSearchRequest.sort("-id")).isEqualTo(Sort.by(Sort.Order.desc("id")));
+        assertThat(CubaSearchRequest.sort("lastname,id")).isEqualTo(Sort.by("lastname", "id"));
+
+        // POST body with paging
+        CubaSearchRequest body = CubaSearchRequest.of(Map.of(
+                "filter", Map.of("conditions", List.of(Map.of("property", "code", "operator", "=", "value", "1"))),
+                "limit", 20, "offset", 40), null, null, null);
+        assertThat(body.filter().isEmpty()).isFalse();
+        assertThat(body.pageable().getOffset()).isEqualTo(40);
+        assertThat(body.pageable().getPageSize()).isEqualTo(20);
+
+        // Offset is exact, not rounded down to a multiple of limit
+        Pageable unaligned = CubaSearchRequest.of((String) null, 20, 30, null).pageable();
+        assertThat(unaligned.getOffset()).isEqualTo(30);
+        assertThat(unaligned.next().getOffset()).isEqualTo(50);
+        assertThat(unaligned.previousOrFirst().getOffset()).isEqualTo(10);
+
+        assertThatThrownBy(() -> CubaSearchRequest.of((String) null, 0, null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+}